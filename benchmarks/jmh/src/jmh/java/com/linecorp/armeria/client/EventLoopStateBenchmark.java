@@ -29,6 +29,8 @@ import org.openjdk.jmh.annotations.TearDown;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Streams;
 
+import com.linecorp.armeria.client.endpoint.EndpointGroup;
+import com.linecorp.armeria.common.SessionProtocol;
 import com.linecorp.armeria.common.util.EventLoopGroups;
 
 import io.netty.channel.EventLoop;
@@ -36,8 +38,12 @@ import io.netty.channel.EventLoopGroup;
 
 @State(Scope.Benchmark)
 public class EventLoopStateBenchmark {
+    private static final Endpoint endpoint = Endpoint.of("127.0.0.1", 8080);
+
     private AbstractEventLoopState state;
     private AbstractEventLoopEntry[] acquired;
+    private DefaultEventLoopScheduler scheduler;
+    private EndpointGroup endpointGroup;
     private EventLoopGroup eventLoopGroup;
 
     @Param({ "32", "64", "128", "256" })
@@ -50,7 +56,7 @@ public class EventLoopStateBenchmark {
         acquired = new AbstractEventLoopEntry[maxNumEventLoops];
 
         eventLoopGroup = EventLoopGroups.newEventLoopGroup(maxNumEventLoops);
-        final DefaultEventLoopScheduler scheduler = new DefaultEventLoopScheduler(
+        scheduler = new DefaultEventLoopScheduler(
                 eventLoopGroup, maxNumEventLoops, maxNumEventLoops, ImmutableList.of());
         final List<EventLoop> eventLoops = Streams.stream(eventLoopGroup)
                                                   .map(EventLoop.class::cast)
@@ -61,6 +67,8 @@ public class EventLoopStateBenchmark {
             state = new HeapBasedEventLoopState(eventLoops, maxNumEventLoops, scheduler);
         }
 
+        endpointGroup = EndpointGroup.of(endpoint);
+
         // Acquire as many as the number of eventLoops so that the active request of all states are
         // greater than 1.
         for (int i = 0; i < maxNumEventLoops; i++) {
@@ -92,4 +100,14 @@ public class EventLoopStateBenchmark {
             acquired[i].release();
         }
     }
+
+    /**
+     * Measures the cost of acquiring an {@link EventLoop} from the {@link DefaultEventLoopScheduler}, which
+     * includes the state lookup. This is the fallback path of
+     * {@link ClientFactoryBuilder#preferContextEventLoop(boolean)}.
+     */
+    @Benchmark
+    public void schedulerAcquireAndRelease() {
+        scheduler.acquire(SessionProtocol.H2C, endpointGroup, endpoint).release();
+    }
 }
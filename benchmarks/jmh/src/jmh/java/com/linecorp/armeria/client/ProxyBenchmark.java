@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.client;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.server.Server;
+
+/**
+ * Measures the throughput of a proxy-like service which sends a request to a backend for each request,
+ * with and without {@link ClientFactoryBuilder#preferContextEventLoop(boolean)}.
+ */
+@State(Scope.Benchmark)
+public class ProxyBenchmark {
+
+    private static final int NUM_EVENT_LOOPS = 4;
+
+    private Server server;
+    private ClientFactory backendFactory;
+    private ClientFactory frontendFactory;
+    private WebClient client;
+
+    @Param({ "false", "true" })
+    private boolean preferContextEventLoop;
+
+    @Setup
+    public void setUp() {
+        final WebClient[] backendClient = new WebClient[1];
+        final Server server =
+                Server.builder()
+                      .workerGroup(NUM_EVENT_LOOPS)
+                      .service("/backend", (ctx, req) -> HttpResponse.of("Hello! Armeria"))
+                      .service("/proxy", (ctx, req) -> backendClient[0].get("/backend"))
+                      .build();
+        server.start().join();
+        this.server = server;
+
+        // Share the worker group with the server and connect to the backend from all event loops
+        // so that the event loop of a service always has a connection to the backend.
+        backendFactory = ClientFactory.builder()
+                                      .workerGroup(server.config().workerGroup(), false)
+                                      .maxNumEventLoopsPerEndpoint(NUM_EVENT_LOOPS)
+                                      .maxNumEventLoopsPerHttp1Endpoint(NUM_EVENT_LOOPS)
+                                      .preferContextEventLoop(preferContextEventLoop)
+                                      .build();
+        backendClient[0] = WebClient.builder("h2c://127.0.0.1:" + server.activeLocalPort())
+                                    .factory(backendFactory)
+                                    .build();
+        // Open multiple connections to the proxy so that the requests are handled by all event loops.
+        frontendFactory = ClientFactory.builder()
+                                       .maxNumEventLoopsPerEndpoint(NUM_EVENT_LOOPS)
+                                       .build();
+        client = WebClient.builder("h2c://127.0.0.1:" + server.activeLocalPort())
+                          .factory(frontendFactory)
+                          .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        frontendFactory.close();
+        backendFactory.close();
+        server.stop().join();
+    }
+
+    @Benchmark
+    @Threads(NUM_EVENT_LOOPS * 2)
+    public AggregatedHttpResponse proxy() {
+        return client.get("/proxy").aggregate().join();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.common.multipart;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.stream.StreamMessage;
+
+/**
+ * Microbenchmarks of the boundary scanning of {@link MimeParser}.
+ */
+public class MimeParserBenchmark {
+
+    private static final String BOUNDARY = "----WebKitFormBoundary7MA4YWxkTrZu0gW";
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    @State(Scope.Benchmark)
+    public static class FormState {
+
+        @Param({ "5", "50" })
+        private int numFields;
+
+        private byte[][] chunks;
+
+        @Setup
+        public void setUp() {
+            final StringBuilder form = new StringBuilder();
+            for (int i = 0; i < numFields; i++) {
+                form.append("--").append(BOUNDARY).append("\r\n")
+                    .append("Content-Disposition: form-data; name=\"field").append(i).append("\"\r\n")
+                    .append("\r\n")
+                    .append("value-").append(i).append("\r\n");
+            }
+            form.append("--").append(BOUNDARY).append("--\r\n");
+            chunks = split(form.toString().getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class FileState {
+
+        @Param({ "65536", "16777216" })
+        private int fileSize;
+
+        private byte[][] chunks;
+
+        @Setup
+        public void setUp() {
+            final byte[] header = ("--" + BOUNDARY + "\r\n" +
+                                   "Content-Disposition: form-data; name=\"file\"; filename=\"file.bin\"\r\n" +
+                                   "Content-Type: application/octet-stream\r\n" +
+                                   "\r\n").getBytes(StandardCharsets.US_ASCII);
+            final byte[] footer = ("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+            final byte[] content = new byte[fileSize];
+            new Random(42).nextBytes(content);
+            final byte[] file = new byte[header.length + fileSize + footer.length];
+            System.arraycopy(header, 0, file, 0, header.length);
+            System.arraycopy(content, 0, file, header.length, fileSize);
+            System.arraycopy(footer, 0, file, header.length + fileSize, footer.length);
+            chunks = split(file);
+        }
+    }
+
+    @Benchmark
+    public long smallFieldForm(FormState state) {
+        return parse(state.chunks);
+    }
+
+    @Benchmark
+    public long largeBinaryUpload(FileState state) {
+        return parse(state.chunks);
+    }
+
+    private static long parse(byte[][] chunks) {
+        final HttpData[] data = new HttpData[chunks.length];
+        for (int i = 0; i < chunks.length; i++) {
+            data[i] = HttpData.wrap(chunks[i]);
+        }
+        final List<Long> lengths =
+                Multipart.from(BOUNDARY, StreamMessage.of(data))
+                         .collect(part -> part.content()
+                                              .collect()
+                                              .thenApply(contents -> {
+                                                  long length = 0;
+                                                  for (HttpData content : contents) {
+                                                      length += content.length();
+                                                  }
+                                                  return length;
+                                              }))
+                         .join();
+        long sum = 0;
+        for (Long length : lengths) {
+            sum += length;
+        }
+        return sum;
+    }
+
+    private static byte[][] split(byte[] data) {
+        final List<byte[]> chunks = new ArrayList<>();
+        for (int i = 0; i < data.length; i += CHUNK_SIZE) {
+            chunks.add(Arrays.copyOfRange(data, i, Math.min(i + CHUNK_SIZE, data.length)));
+        }
+        return chunks.toArray(new byte[0][]);
+    }
+}
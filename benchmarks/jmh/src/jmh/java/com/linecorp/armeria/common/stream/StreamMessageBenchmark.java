@@ -16,6 +16,7 @@
 
 package com.linecorp.armeria.common.stream;
 
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 
 import org.openjdk.jmh.annotations.Benchmark;
@@ -31,6 +32,8 @@ import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.util.UnmodifiableFuture;
 import com.linecorp.armeria.shared.EventLoopJmhExecutor;
 
 import io.netty.channel.DefaultEventLoop;
@@ -48,6 +51,10 @@ public class StreamMessageBenchmark {
 
     private static final EventLoop ANOTHER_EVENT_LOOP = new DefaultEventLoop();
 
+    private static final int BATCH_SIZE = 16;
+    private static final int NUM_CHUNKS = 1000;
+    private static final int COALESCED_CHUNK_SIZE = 8192;
+
     @TearDown(Level.Trial)
     public void closeEventLoops() {
         ANOTHER_EVENT_LOOP.shutdownGracefully().syncUninterruptibly();
@@ -158,6 +165,110 @@ public class StreamMessageBenchmark {
         return streamObjects.computedSum(stream);
     }
 
+    // Measures the overhead of grouping the elements into batches and mapping each batch into an element.
+    @Benchmark
+    public long buffered(StreamObjects streamObjects) {
+        final StreamMessage<Integer> stream = newStream(streamObjects);
+        final StreamMessage<Integer> buffered =
+                stream.buffer(BATCH_SIZE).map(StreamMessageBenchmark::sum);
+        buffered.subscribe(streamObjects.subscriber, EventLoopJmhExecutor.currentEventLoop());
+        streamObjects.writeAllValues(stream);
+        return streamObjects.computedSum(buffered);
+    }
+
+    @Benchmark
+    public long coalesced(HttpDataObjects httpDataObjects) {
+        StreamMessage<HttpData> stream = StreamMessage.of(httpDataObjects.chunks);
+        if (httpDataObjects.coalesce) {
+            stream = StreamMessages.coalesce(stream, COALESCED_CHUNK_SIZE);
+        }
+        final List<HttpData> collected =
+                stream.collect(EventLoopJmhExecutor.currentEventLoop(), SubscriptionOption.WITH_POOLED_OBJECTS)
+                      .join();
+        long length = 0;
+        for (HttpData data : collected) {
+            length += data.length();
+            data.close();
+        }
+        return length;
+    }
+
+    // Measures the overhead of chaining the operators. Run with '-prof gc' to see the allocation per operation.
+    @Benchmark
+    public long chained(ChainedObjects chainedObjects) {
+        StreamMessage<Integer> stream = StreamMessage.of(chainedObjects.values);
+        for (int i = 0; i < chainedObjects.numStages; i++) {
+            switch (i % 3) {
+                case 0:
+                    stream = stream.map(x -> x + 1);
+                    break;
+                case 1:
+                    stream = stream.filter(x -> x >= 0);
+                    break;
+                default:
+                    stream = stream.peek(x -> {});
+            }
+        }
+        if (chainedObjects.async) {
+            stream = stream.mapParallel(UnmodifiableFuture::completedFuture, BATCH_SIZE);
+        }
+        final List<Integer> collected = stream.collect(EventLoopJmhExecutor.currentEventLoop()).join();
+        long sum = 0;
+        for (Integer value : collected) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    private static Integer sum(List<Integer> batch) {
+        int sum = 0;
+        for (Integer value : batch) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @State(Scope.Thread)
+    public static class HttpDataObjects {
+
+        @Param({ "16", "256" })
+        private int chunkSize;
+
+        @Param({ "false", "true" })
+        private boolean coalesce;
+
+        private HttpData[] chunks;
+
+        @Setup(Level.Invocation)
+        public void setChunks() {
+            chunks = new HttpData[NUM_CHUNKS];
+            final byte[] chunk = new byte[chunkSize];
+            for (int i = 0; i < NUM_CHUNKS; i++) {
+                chunks[i] = HttpData.wrap(chunk);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ChainedObjects {
+
+        @Param({ "1", "2", "5", "10" })
+        private int numStages;
+
+        @Param({ "false", "true" })
+        private boolean async;
+
+        private Integer[] values;
+
+        @Setup(Level.Trial)
+        public void setValues() {
+            values = new Integer[NUM_CHUNKS];
+            for (int i = 0; i < NUM_CHUNKS; i++) {
+                values[i] = i;
+            }
+        }
+    }
+
     static StreamMessage<Integer> newStream(StreamObjects streamObjects) {
         switch (streamObjects.streamType) {
             case DEFAULT_STREAM_MESSAGE:
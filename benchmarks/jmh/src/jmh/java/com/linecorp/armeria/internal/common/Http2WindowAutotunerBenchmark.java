@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.internal.common;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.linecorp.armeria.client.ClientFactory;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.internal.testing.LatencyInjectingProxy;
+import com.linecorp.armeria.server.Server;
+
+/**
+ * Compares the time to download a large response over a link with a high round-trip time, with and without
+ * the HTTP/2 flow-control window autotuning of the client. Without autotuning, the transfer is bounded by
+ * the initial window size per round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class Http2WindowAutotunerBenchmark {
+
+    private static final int INITIAL_WINDOW_SIZE = 65535;
+    private static final byte[] CONTENT = new byte[2 * 1024 * 1024];
+
+    /**
+     * The maximum window size of the client. {@code 0} disables the autotuning.
+     */
+    @Param({ "0", "8388608" })
+    private int maxWindowSize;
+
+    @Param("25")
+    private long oneWayDelayMillis;
+
+    private Server server;
+    private LatencyInjectingProxy proxy;
+    private ClientFactory clientFactory;
+    private WebClient client;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = Server.builder()
+                       .http(0)
+                       .http2InitialConnectionWindowSize(INITIAL_WINDOW_SIZE)
+                       .http2InitialStreamWindowSize(INITIAL_WINDOW_SIZE)
+                       .service("/download", (ctx, req) -> HttpResponse.of(HttpStatus.OK,
+                                                                           MediaType.OCTET_STREAM, CONTENT))
+                       .build();
+        server.start().join();
+        proxy = new LatencyInjectingProxy(server.activeLocalPort(), oneWayDelayMillis);
+        clientFactory = ClientFactory.builder()
+                                     .http2InitialConnectionWindowSize(INITIAL_WINDOW_SIZE)
+                                     .http2InitialStreamWindowSize(INITIAL_WINDOW_SIZE)
+                                     .http2WindowAutotuningMaxSize(maxWindowSize)
+                                     .build();
+        client = WebClient.builder("h2c://127.0.0.1:" + proxy.port())
+                          .factory(clientFactory)
+                          .responseTimeoutMillis(0)
+                          .maxResponseLength(0)
+                          .build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        clientFactory.close();
+        proxy.close();
+        server.stop().join();
+    }
+
+    /**
+     * Downloads the content on a connection which is reused across the invocations, so that the windows
+     * grown by the autotuning are kept as they are in a long-lived connection.
+     */
+    @Benchmark
+    public int download() {
+        return client.get("/download").aggregate().join().content().length();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.internal.common.metric;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.common.logging.RequestLog;
+import com.linecorp.armeria.common.metric.MoreMeters;
+import com.linecorp.armeria.common.prometheus.PrometheusMeterRegistries;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Measures the cost of recording a duration into a {@link Timer} shared by all benchmark threads.
+ * {@code micrometer} is a {@link Timer} created by
+ * {@link MoreMeters#newTimer(MeterRegistry, String, Iterable)} with the default
+ * {@code DistributionStatisticConfig}, and {@code logLinear} is a {@link LogLinearHistogramTimer}.
+ * Run with {@code -t 1}, {@code -t 4}, {@code -t 16} and {@code -t 64} to see how the cost grows with
+ * the number of recording threads. {@link #recordRequest()} also offers the request to the exemplar
+ * reservoir of a {@link LogLinearHistogramTimer}; run it with {@code -prof gc} to see that it does not
+ * allocate.
+ */
+@State(Scope.Benchmark)
+public class LogLinearHistogramTimerBenchmark {
+
+    @Param({ "micrometer", "logLinear" })
+    private String timerType;
+
+    private Timer timer;
+    private RequestLog log;
+
+    @Setup
+    public void setUp() {
+        final MeterRegistry registry = PrometheusMeterRegistries.newRegistry();
+        if ("micrometer".equals(timerType)) {
+            timer = MoreMeters.newTimer(registry, "benchmark.duration", Tags.empty());
+        } else {
+            timer = LogLinearHistogramTimer.register(registry, "benchmark.duration", Tags.empty());
+        }
+
+        final ServiceRequestContext ctx = ServiceRequestContext.of(HttpRequest.of(HttpMethod.GET, "/"));
+        ctx.logBuilder().endRequest();
+        ctx.logBuilder().responseHeaders(ResponseHeaders.of(HttpStatus.OK));
+        ctx.logBuilder().endResponse();
+        log = ctx.log().ensureComplete();
+    }
+
+    @Benchmark
+    public void record() {
+        // Between 100 microseconds and 100 milliseconds.
+        timer.record(ThreadLocalRandom.current().nextLong(100_000, 100_000_000), TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void recordRequest() {
+        final long durationNanos = ThreadLocalRandom.current().nextLong(100_000, 100_000_000);
+        if (timer instanceof LogLinearHistogramTimer) {
+            ((LogLinearHistogramTimer) timer).record(durationNanos, log);
+        } else {
+            timer.record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -17,10 +17,17 @@
 package com.linecorp.armeria.internal.common.metric;
 
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
 
+import com.linecorp.armeria.common.Flags;
 import com.linecorp.armeria.common.HttpMethod;
 import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.ResponseHeaders;
 import com.linecorp.armeria.common.RpcRequest;
+import com.linecorp.armeria.common.SuccessFunction;
 import com.linecorp.armeria.common.logging.RequestLog;
 import com.linecorp.armeria.common.logging.RequestLogBuilder;
 import com.linecorp.armeria.common.metric.MeterIdPrefix;
@@ -28,8 +35,21 @@ import com.linecorp.armeria.common.metric.MeterIdPrefixFunction;
 import com.linecorp.armeria.common.metric.NoopMeterRegistry;
 import com.linecorp.armeria.server.ServiceRequestContext;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.util.AttributeKey;
+
+/**
+ * Measures the cost of resolving the request meters. Run with {@code -prof gc} to compare the allocation rate
+ * of {@link #fullRequestMetricsUpdate()} with the default {@link MeterIdPrefixFunction}, whose meters are
+ * cached by their tag values, and with a customized one, whose {@link MeterIdPrefix} is built for every
+ * request.
+ */
+@State(Scope.Benchmark)
 public class RequestMetricSupportBenchmark {
 
+    private static final AttributeKey<Boolean> REQUEST_METRICS_SET =
+            AttributeKey.valueOf(RequestMetricSupportBenchmark.class, "REQUEST_METRICS_SET");
     private static final MeterIdPrefixFunction PREFIX_FUNC = MeterIdPrefixFunction.ofDefault("benchmark");
     private static final RequestLog REQUEST_LOG;
 
@@ -46,6 +66,19 @@ public class RequestMetricSupportBenchmark {
         REQUEST_LOG = builder.ensureComplete();
     }
 
+    @Param({ "default", "custom" })
+    private String prefixFunction;
+
+    private MeterIdPrefixFunction meterIdPrefixFunction;
+    private MeterRegistry registry;
+
+    @Setup
+    public void setUp() {
+        meterIdPrefixFunction = "default".equals(prefixFunction) ? MeterIdPrefixFunction.ofDefault("benchmark")
+                                                                 : PREFIX_FUNC.withTags("custom", "true");
+        registry = new SimpleMeterRegistry();
+    }
+
     @Benchmark
     public String registerSameTags() {
         final MeterIdPrefix prefix = PREFIX_FUNC.completeRequestPrefix(NoopMeterRegistry.get(), REQUEST_LOG);
@@ -55,4 +88,21 @@ public class RequestMetricSupportBenchmark {
                                        String.class,
                                        (u1, u2) -> "foo");
     }
+
+    @Benchmark
+    public RequestLog fullRequestMetricsUpdate() {
+        final ServiceRequestContext ctx =
+                ServiceRequestContext.builder(HttpRequest.of(HttpMethod.GET, "/"))
+                                     .meterRegistry(registry)
+                                     .build();
+        RequestMetricSupport.setup(ctx, REQUEST_METRICS_SET, meterIdPrefixFunction, true,
+                                   SuccessFunction.ofDefault(), Flags.distributionStatisticConfig());
+        final RequestLogBuilder builder = ctx.logBuilder();
+        builder.requestLength(128);
+        builder.endRequest();
+        builder.responseHeaders(ResponseHeaders.of(200));
+        builder.responseLength(256);
+        builder.endResponse();
+        return builder.ensureComplete();
+    }
 }
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.server;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Strings;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpRequestWriter;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.stream.StreamMessage;
+import com.linecorp.armeria.server.annotation.JacksonRequestConverterFunction;
+import com.linecorp.armeria.server.annotation.Post;
+import com.linecorp.armeria.server.annotation.RequestObject;
+
+/**
+ * Uploads a large JSON array to an annotated service and reports the peak heap and direct memory usage
+ * and the time until the service observes the first element. {@link #streaming()} takes the array as
+ * a {@code StreamMessage<Row>} which is parsed element by element as the content arrives, while
+ * {@link #aggregated()} takes it as a {@code List<Row>} which is parsed after the whole content is received.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class JsonRequestStreamingBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(JsonRequestStreamingBenchmark.class);
+
+    private static final String ROW = "{\"id\":1,\"name\":\"" + Strings.repeat("a", 32) + "\"}";
+    private static final byte[] CHUNK =
+            Strings.repeat(ROW + ',', 16 * 1024 / (ROW.length() + 1)).getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicLong peakHeapBytes = new AtomicLong();
+    private final AtomicLong peakDirectBytes = new AtomicLong();
+    private final AtomicLong firstElementNanos = new AtomicLong();
+    private volatile long startNanos;
+
+    // 100 MiB by default.
+    @Param("104857600")
+    private long contentSize;
+
+    private Server server;
+    private WebClient client;
+    private ScheduledExecutorService memorySampler;
+
+    @Setup(Level.Trial)
+    public void startServer() {
+        server = Server.builder()
+                       .http(0)
+                       .maxRequestLength(0)
+                       .requestTimeoutMillis(0)
+                       .annotatedService(new Object() {
+                           @Post("/streaming")
+                           public HttpResponse streaming(@RequestObject StreamMessage<Row> rows) {
+                               final CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+                               rows.subscribe(new CountingSubscriber(future));
+                               return HttpResponse.of(future);
+                           }
+
+                           @Post("/aggregated")
+                           public HttpResponse aggregated(@RequestObject List<Row> rows) {
+                               recordFirstElement();
+                               return HttpResponse.of(String.valueOf(rows.size()));
+                           }
+                       }, JacksonRequestConverterFunction.ofStreaming())
+                       .build();
+        server.start().join();
+        client = WebClient.builder("h2c://127.0.0.1:" + server.activeLocalPort())
+                          .responseTimeoutMillis(0)
+                          .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        server.stop().join();
+    }
+
+    @Setup(Level.Iteration)
+    public void startMemorySampler() {
+        peakHeapBytes.set(0);
+        peakDirectBytes.set(0);
+        firstElementNanos.set(0);
+        final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+        final BufferPoolMXBean directPool =
+                ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                                 .filter(pool -> "direct".equals(pool.getName()))
+                                 .findFirst()
+                                 .orElseThrow(IllegalStateException::new);
+        memorySampler = Executors.newSingleThreadScheduledExecutor();
+        memorySampler.scheduleAtFixedRate(() -> {
+            peakHeapBytes.accumulateAndGet(memoryBean.getHeapMemoryUsage().getUsed(), Math::max);
+            peakDirectBytes.accumulateAndGet(directPool.getMemoryUsed(), Math::max);
+        }, 0, 10, TimeUnit.MILLISECONDS);
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopMemorySampler() throws InterruptedException {
+        memorySampler.shutdownNow();
+        memorySampler.awaitTermination(1, TimeUnit.SECONDS);
+        logger.info("Uploaded {} bytes. Time to first element: {} ms, peak heap: {} MiB, " +
+                    "peak direct memory: {} MiB",
+                    contentSize, TimeUnit.NANOSECONDS.toMillis(firstElementNanos.get()),
+                    peakHeapBytes.get() >> 20, peakDirectBytes.get() >> 20);
+    }
+
+    @Benchmark
+    public AggregatedHttpResponse streaming() {
+        return upload("/streaming");
+    }
+
+    @Benchmark
+    public AggregatedHttpResponse aggregated() {
+        return upload("/aggregated");
+    }
+
+    private AggregatedHttpResponse upload(String path) {
+        final HttpRequestWriter req = HttpRequest.streaming(
+                RequestHeaders.builder(HttpMethod.POST, path).contentType(MediaType.JSON).build());
+        startNanos = System.nanoTime();
+        req.write(HttpData.ofUtf8("["));
+        writeChunks(req, contentSize);
+        final AggregatedHttpResponse res = client.execute(req).aggregate().join();
+        if (!res.status().isSuccess()) {
+            throw new IllegalStateException("Unexpected response: " + res);
+        }
+        return res;
+    }
+
+    /**
+     * Writes the next chunk only after the previous chunk is consumed, so that the client does not
+     * buffer the whole content.
+     */
+    private static void writeChunks(HttpRequestWriter writer, long remaining) {
+        if (remaining <= CHUNK.length) {
+            writer.write(HttpData.ofUtf8(ROW + ']'));
+            writer.close();
+            return;
+        }
+        if (!writer.tryWrite(HttpData.wrap(CHUNK))) {
+            return;
+        }
+        writer.whenConsumed().thenRun(() -> writeChunks(writer, remaining - CHUNK.length));
+    }
+
+    private void recordFirstElement() {
+        firstElementNanos.compareAndSet(0, System.nanoTime() - startNanos);
+    }
+
+    private final class CountingSubscriber implements Subscriber<Row> {
+
+        private final CompletableFuture<HttpResponse> future;
+        private long count;
+
+        CountingSubscriber(CompletableFuture<HttpResponse> future) {
+            this.future = future;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            s.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Row row) {
+            if (count++ == 0) {
+                recordFirstElement();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            future.completeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+            future.complete(HttpResponse.of(String.valueOf(count)));
+        }
+    }
+
+    public static final class Row {
+        public int id;
+        public String name;
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.server;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.ContentDisposition;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.MediaTypeNames;
+import com.linecorp.armeria.common.multipart.BodyPart;
+import com.linecorp.armeria.common.multipart.Multipart;
+import com.linecorp.armeria.common.multipart.MultipartFile;
+import com.linecorp.armeria.common.stream.StreamMessage;
+import com.linecorp.armeria.common.stream.StreamWriter;
+import com.linecorp.armeria.server.annotation.Consumes;
+import com.linecorp.armeria.server.annotation.Param;
+import com.linecorp.armeria.server.annotation.Post;
+
+/**
+ * Uploads a large file through an annotated service which takes a {@link MultipartFile} and reports
+ * the peak heap and direct memory usage observed while uploading. The file is generated on the fly,
+ * so the memory usage reflects only the buffers held by the client and the server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class MultipartUploadBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(MultipartUploadBenchmark.class);
+
+    private static final byte[] CHUNK = new byte[16 * 1024];
+
+    private final AtomicLong peakHeapBytes = new AtomicLong();
+    private final AtomicLong peakDirectBytes = new AtomicLong();
+
+    // 10 GiB by default. Specify a smaller value with '-p uploadSize=<bytes>' for a quick run.
+    @Param("10737418240")
+    private long uploadSize;
+
+    private Server server;
+    private WebClient client;
+    private ScheduledExecutorService memorySampler;
+
+    @Setup(Level.Trial)
+    public void startServer() {
+        server = Server.builder()
+                       .http(0)
+                       .maxRequestLength(0)
+                       .requestTimeoutMillis(0)
+                       .annotatedService(new Object() {
+                           @Post("/upload")
+                           @Consumes(MediaTypeNames.MULTIPART_FORM_DATA)
+                           public HttpResponse upload(@Param MultipartFile file) {
+                               return HttpResponse.of(String.valueOf(file.file().length()));
+                           }
+                       })
+                       .build();
+        server.start().join();
+        client = WebClient.builder("h2c://127.0.0.1:" + server.activeLocalPort())
+                          .responseTimeoutMillis(0)
+                          .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        server.stop().join();
+    }
+
+    @Setup(Level.Iteration)
+    public void startMemorySampler() {
+        peakHeapBytes.set(0);
+        peakDirectBytes.set(0);
+        final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+        final BufferPoolMXBean directPool =
+                ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                                 .filter(pool -> "direct".equals(pool.getName()))
+                                 .findFirst()
+                                 .orElseThrow(IllegalStateException::new);
+        memorySampler = Executors.newSingleThreadScheduledExecutor();
+        memorySampler.scheduleAtFixedRate(() -> {
+            peakHeapBytes.accumulateAndGet(memoryBean.getHeapMemoryUsage().getUsed(), Math::max);
+            peakDirectBytes.accumulateAndGet(directPool.getMemoryUsed(), Math::max);
+        }, 0, 10, TimeUnit.MILLISECONDS);
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopMemorySampler() throws InterruptedException {
+        memorySampler.shutdownNow();
+        memorySampler.awaitTermination(1, TimeUnit.SECONDS);
+        logger.info("Uploaded {} bytes. Peak heap: {} MiB, peak direct memory: {} MiB",
+                    uploadSize, peakHeapBytes.get() >> 20, peakDirectBytes.get() >> 20);
+    }
+
+    @Benchmark
+    public AggregatedHttpResponse upload() {
+        final BodyPart filePart = BodyPart.of(ContentDisposition.of("form-data", "file", "large.bin"),
+                                              newContent(uploadSize));
+        final AggregatedHttpResponse res = client.execute(Multipart.of(filePart).toHttpRequest("/upload"))
+                                                 .aggregate().join();
+        if (!res.contentUtf8().equals(String.valueOf(uploadSize))) {
+            throw new IllegalStateException("Unexpected response: " + res);
+        }
+        return res;
+    }
+
+    /**
+     * Returns a {@link StreamMessage} which produces the next chunk only after the previous chunk is
+     * consumed, so that the client does not buffer the whole content.
+     */
+    private static StreamMessage<HttpData> newContent(long length) {
+        final StreamWriter<HttpData> writer = StreamMessage.streaming();
+        writeChunks(writer, length);
+        return writer;
+    }
+
+    private static void writeChunks(StreamWriter<HttpData> writer, long remaining) {
+        if (remaining <= 0) {
+            writer.close();
+            return;
+        }
+        final int length = (int) Math.min(CHUNK.length, remaining);
+        if (!writer.tryWrite(HttpData.wrap(CHUNK, 0, length))) {
+            return;
+        }
+        writer.whenConsumed().thenRun(() -> writeChunks(writer, remaining - length));
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.linecorp.armeria.common.Flags;
+import com.linecorp.armeria.common.HttpResponse;
+
+import io.netty.channel.EventLoop;
+
+/**
+ * Measures how fast a {@link Server} accepts a storm of new connections and how evenly the connections are
+ * distributed across the worker event loops, with and without
+ * {@link ServerBuilder#reusePortAcceptors(boolean)}. The per-event-loop connection skew, i.e. the ratio of
+ * the busiest event loop to the average, is logged at the end of each iteration. {@code SO_REUSEPORT} is
+ * used only when {@link Flags#transportType()} is {@code EPOLL} or {@code IO_URING}; otherwise both modes use
+ * a boss thread.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class ReusePortAcceptorBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReusePortAcceptorBenchmark.class);
+
+    private static final int CONNECTIONS_PER_INVOCATION = 64;
+
+    @Param({ "false", "true" })
+    private boolean reusePortAcceptors;
+
+    @Param("8")
+    private int numWorkers;
+
+    private final Map<EventLoop, LongAdder> acceptedConnections = new ConcurrentHashMap<>();
+    private final LongAdder totalAcceptedConnections = new LongAdder();
+    private final LongAdder totalOpenedConnections = new LongAdder();
+    private Server server;
+    private int port;
+
+    @Setup(Level.Trial)
+    public void startServer() {
+        server = Server.builder()
+                       .http(0)
+                       .workerGroup(numWorkers)
+                       .reusePortAcceptors(reusePortAcceptors)
+                       .childChannelPipelineCustomizer(pipeline -> {
+                           acceptedConnections.computeIfAbsent(pipeline.channel().eventLoop(),
+                                                               unused -> new LongAdder())
+                                              .increment();
+                           totalAcceptedConnections.increment();
+                       })
+                       .service("/", (ctx, req) -> HttpResponse.of(200))
+                       .build();
+        server.start().join();
+        port = server.activeLocalPort();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        server.stop().join();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounters() {
+        acceptedConnections.clear();
+        totalAcceptedConnections.reset();
+        totalOpenedConnections.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void logSkew() {
+        long max = 0;
+        long sum = 0;
+        for (LongAdder adder : acceptedConnections.values()) {
+            final long count = adder.sum();
+            max = Math.max(max, count);
+            sum += count;
+        }
+        final double average = (double) sum / numWorkers;
+        logger.info("Accepted {} connections on {} of {} event loops; max/avg skew: {}",
+                    sum, acceptedConnections.size(), numWorkers,
+                    String.format("%.2f", average > 0 ? max / average : 0));
+    }
+
+    /**
+     * Opens {@value #CONNECTIONS_PER_INVOCATION} connections, waits until the server accepts them all and
+     * closes them.
+     */
+    @Benchmark
+    @OperationsPerInvocation(CONNECTIONS_PER_INVOCATION)
+    public void acceptConnections() throws IOException {
+        final Socket[] sockets = new Socket[CONNECTIONS_PER_INVOCATION];
+        try {
+            for (int i = 0; i < sockets.length; i++) {
+                sockets[i] = new Socket(InetAddress.getLoopbackAddress(), port);
+                totalOpenedConnections.increment();
+            }
+            // Also waits for the connections opened by the other threads, which only makes the measured
+            // accept rate conservative.
+            final long opened = totalOpenedConnections.sum();
+            while (totalAcceptedConnections.sum() < opened) {
+                Thread.yield();
+            }
+        } finally {
+            for (Socket socket : sockets) {
+                if (socket != null) {
+                    socket.setSoLinger(true, 0);
+                    socket.close();
+                }
+            }
+        }
+    }
+}
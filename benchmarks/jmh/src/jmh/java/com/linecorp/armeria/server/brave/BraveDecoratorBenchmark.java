@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.server.brave;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.linecorp.armeria.client.ClientRequestContext;
+import com.linecorp.armeria.client.HttpClient;
+import com.linecorp.armeria.client.brave.BraveClient;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.RequestContext;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.common.brave.RequestContextCurrentTraceContext;
+import com.linecorp.armeria.common.logging.RequestLogBuilder;
+import com.linecorp.armeria.common.util.SafeCloseable;
+import com.linecorp.armeria.server.HttpService;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+import brave.Tracing;
+import brave.handler.SpanHandler;
+import brave.sampler.Sampler;
+
+/**
+ * Measures the cost of tracing a request through a decorator chain where a {@link BraveService} serves
+ * a request by sending a request with a {@link BraveClient}. Run with {@code -prof gc} to compare
+ * the allocation rate. {@code sampled} requests are sampled by the server, and {@code unsampled} requests
+ * carry the B3 headers of a caller which decided not to sample them, so that only the IDs are propagated.
+ */
+@State(Scope.Benchmark)
+public class BraveDecoratorBenchmark {
+
+    private static final ResponseHeaders OK = ResponseHeaders.of(HttpStatus.OK);
+
+    @Param({ "sampled", "unsampled" })
+    private String sampling;
+
+    private Tracing tracing;
+    private HttpService service;
+    private RequestHeaders requestHeaders;
+
+    @Setup
+    public void setUp() {
+        final boolean sampled = "sampled".equals(sampling);
+        tracing = Tracing.newBuilder()
+                         .currentTraceContext(RequestContextCurrentTraceContext.ofDefault())
+                         .sampler(sampled ? Sampler.ALWAYS_SAMPLE : Sampler.NEVER_SAMPLE)
+                         .addSpanHandler(new SpanHandler() {})
+                         .build();
+
+        final HttpClient client = BraveClient.newDecorator(tracing).apply((ctx, req) -> HttpResponse.of(OK));
+        service = BraveService.newDecorator(tracing).apply((ctx, req) -> {
+            final HttpRequest clientReq = HttpRequest.of(HttpMethod.GET, "/backend");
+            final ClientRequestContext clientCtx = ClientRequestContext.of(clientReq);
+            final HttpResponse res = client.execute(clientCtx, clientReq);
+            complete(clientCtx);
+            return res;
+        });
+
+        if (sampled) {
+            requestHeaders = RequestHeaders.of(HttpMethod.GET, "/");
+        } else {
+            requestHeaders = RequestHeaders.of(HttpMethod.GET, "/",
+                                               "x-b3-traceid", "463ac35c9f6413ad",
+                                               "x-b3-spanid", "a2fb4a1d1a96d312",
+                                               "x-b3-sampled", "0");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        tracing.close();
+    }
+
+    @Benchmark
+    public HttpResponse serve() throws Exception {
+        final HttpRequest req = HttpRequest.of(requestHeaders);
+        final ServiceRequestContext ctx = ServiceRequestContext.of(req);
+        final HttpResponse res;
+        try (SafeCloseable ignored = ctx.push()) {
+            res = service.serve(ctx, req);
+        }
+        complete(ctx);
+        return res;
+    }
+
+    private static void complete(RequestContext ctx) {
+        final RequestLogBuilder logBuilder = ctx.logBuilder();
+        logBuilder.endRequest();
+        logBuilder.responseHeaders(OK);
+        logBuilder.endResponse();
+    }
+}
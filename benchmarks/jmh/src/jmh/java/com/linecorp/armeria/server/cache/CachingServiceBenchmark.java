@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.server.cache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.google.common.base.Strings;
+
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.common.cache.ResponseCacheStore;
+import com.linecorp.armeria.server.HttpService;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+/**
+ * Compares the latency of serving a response from a {@link CachingService} with invoking a trivial
+ * {@link HttpService} which builds the same response on every request.
+ */
+@State(Scope.Benchmark)
+public class CachingServiceBenchmark {
+
+    private static final ResponseHeaders HEADERS =
+            ResponseHeaders.builder(HttpStatus.OK)
+                           .contentType(MediaType.PLAIN_TEXT_UTF_8)
+                           .set(HttpHeaderNames.CACHE_CONTROL, "max-age=3600")
+                           .build();
+
+    @Param({ "heap", "direct" })
+    private String storeType;
+
+    @Param({ "128", "16384" })
+    private int contentLength;
+
+    private HttpService trivialService;
+    private HttpService cachingService;
+
+    @Setup
+    public void setUp() throws Exception {
+        final String content = Strings.repeat("a", contentLength);
+        trivialService = (ctx, req) -> HttpResponse.of(HEADERS, HttpData.ofUtf8(content));
+        final ResponseCacheStore store = "heap".equals(storeType) ? ResponseCacheStore.ofHeap(64 << 20)
+                                                                  : ResponseCacheStore.ofDirect(64 << 20);
+        cachingService = CachingService.builder().store(store).build(trivialService);
+        // Populate the cache.
+        serve(cachingService);
+    }
+
+    @Benchmark
+    public AggregatedHttpResponse trivialService() throws Exception {
+        return serve(trivialService);
+    }
+
+    @Benchmark
+    public AggregatedHttpResponse cacheHit() throws Exception {
+        return serve(cachingService);
+    }
+
+    private static AggregatedHttpResponse serve(HttpService service) throws Exception {
+        final HttpRequest req = HttpRequest.of(HttpMethod.GET, "/foo");
+        final ServiceRequestContext ctx = ServiceRequestContext.of(req);
+        return service.serve(ctx, req).aggregate().join();
+    }
+}
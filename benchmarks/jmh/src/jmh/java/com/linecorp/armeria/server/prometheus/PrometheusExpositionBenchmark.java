@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.server.prometheus;
+
+import java.time.Duration;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.server.Server;
+
+import io.prometheus.metrics.core.metrics.Counter;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+
+/**
+ * Scrapes a {@link PrometheusRegistry} with 100k series through {@link PrometheusExpositionService}.
+ * Run with {@code -prof gc} to see the allocation rate of each mode:
+ * <ul>
+ *   <li>{@code streaming} - the exposition is streamed in 16 KiB chunks.</li>
+ *   <li>{@code gzip} - the exposition is compressed with gzip and streamed in 16 KiB chunks.</li>
+ *   <li>{@code snapshot} - the last scrape is reused for 10 seconds.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+public class PrometheusExpositionBenchmark {
+
+    @Param({ "streaming", "gzip", "snapshot" })
+    private String mode;
+
+    @Param("100000")
+    private int numSeries;
+
+    private Server server;
+    private WebClient client;
+    private RequestHeaders headers;
+
+    @Setup
+    public void startServer() {
+        final PrometheusRegistry registry = new PrometheusRegistry();
+        final Counter counter = Counter.builder()
+                                       .name("benchmark_requests")
+                                       .help("The number of requests")
+                                       .labelNames("service", "method")
+                                       .register(registry);
+        for (int i = 0; i < numSeries; i++) {
+            counter.labelValues("service-" + i % 100, "method-" + i).inc(i);
+        }
+
+        final PrometheusExpositionServiceBuilder builder = PrometheusExpositionService.builder(registry);
+        if ("gzip".equals(mode)) {
+            builder.gzip(true);
+        } else if ("snapshot".equals(mode)) {
+            builder.snapshotInterval(Duration.ofSeconds(10));
+        }
+        server = Server.builder()
+                       .http(0)
+                       .service("/metrics", builder.build())
+                       .build();
+        server.start().join();
+        client = WebClient.builder("http://127.0.0.1:" + server.activeLocalPort())
+                          .maxResponseLength(0)
+                          .build();
+        headers = RequestHeaders.builder(HttpMethod.GET, "/metrics")
+                                .set(HttpHeaderNames.ACCEPT_ENCODING, "gzip")
+                                .build();
+    }
+
+    @TearDown
+    public void stopServer() {
+        server.stop().join();
+    }
+
+    @Benchmark
+    public long scrape() {
+        return client.execute(headers).aggregate().join().content().length();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.server.streaming;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpObject;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.common.stream.StreamMessage;
+import com.linecorp.armeria.common.stream.SubscriptionOption;
+import com.linecorp.armeria.common.util.Exceptions;
+
+/**
+ * Measures the cost of streaming rows as JSON Lines. Run with {@code -prof gc} to compare the allocation rate
+ * of {@link #perElement()}, which serializes each row into a new heap array as {@link JsonLines} used to do,
+ * with {@link #fromStream()} and {@link #fromPublisher()}, which reuse a {@code JsonGenerator} writing into
+ * pooled buffers.
+ */
+@State(Scope.Benchmark)
+public class JsonLinesBenchmark {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final byte LINE_FEED = 0x0A;
+
+    @Param({ "100", "10000" })
+    private int numRows;
+
+    private Row[] rows;
+
+    @Setup
+    public void setUp() {
+        rows = IntStream.range(0, numRows)
+                        .mapToObj(i -> new Row(i, "name-" + i, i * 0.5))
+                        .toArray(Row[]::new);
+    }
+
+    @Benchmark
+    public long perElement() {
+        final HttpResponse res = HttpResponse.of(
+                ResponseHeaders.of(200),
+                StreamMessage.of(rows).map(row -> {
+                    try {
+                        final byte[] json = mapper.writeValueAsBytes(row);
+                        final byte[] line = new byte[json.length + 1];
+                        System.arraycopy(json, 0, line, 0, json.length);
+                        line[json.length] = LINE_FEED;
+                        return HttpData.wrap(line);
+                    } catch (Exception e) {
+                        return Exceptions.throwUnsafely(e);
+                    }
+                }));
+        return consume(res);
+    }
+
+    @Benchmark
+    public long fromStream() {
+        return consume(JsonLines.fromStream(Arrays.stream(rows), MoreExecutors.directExecutor(), mapper));
+    }
+
+    @Benchmark
+    public long fromPublisher() {
+        return consume(JsonLines.fromPublisher(StreamMessage.of(rows), mapper));
+    }
+
+    private static long consume(HttpResponse res) {
+        final List<HttpObject> objects = res.collect(SubscriptionOption.WITH_POOLED_OBJECTS).join();
+        long length = 0;
+        for (HttpObject object : objects) {
+            if (object instanceof HttpData) {
+                final HttpData data = (HttpData) object;
+                length += data.length();
+                data.close();
+            }
+        }
+        return length;
+    }
+
+    public static final class Row {
+        public final int id;
+        public final String name;
+        public final double score;
+
+        Row(int id, String name, double score) {
+            this.id = id;
+            this.name = name;
+            this.score = score;
+        }
+    }
+}
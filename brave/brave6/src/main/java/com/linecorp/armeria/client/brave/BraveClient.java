@@ -44,9 +44,13 @@ import brave.Tracing;
 import brave.http.HttpClientHandler;
 import brave.http.HttpClientRequest;
 import brave.http.HttpClientResponse;
+import brave.http.HttpRequestParser;
 import brave.http.HttpTracing;
 import brave.propagation.CurrentTraceContext;
 import brave.propagation.CurrentTraceContext.Scope;
+import brave.propagation.Propagation.Setter;
+import brave.propagation.TraceContext;
+import brave.propagation.TraceContext.Injector;
 
 /**
  * Decorates an {@link HttpClient} to trace outbound {@link HttpRequest}s using
@@ -94,8 +98,15 @@ public final class BraveClient extends SimpleDecoratingHttpClient {
         return delegate -> new BraveClient(delegate, httpTracing);
     }
 
+    private static final HttpRequestParser NOOP_REQUEST_PARSER = (request, context, span) -> {};
+    private static final Setter<RequestHeadersBuilder, String> SETTER =
+            (builder, name, value) -> builder.set(name, value);
+
     private final Tracer tracer;
     private final HttpClientHandler<HttpClientRequest, HttpClientResponse> handler;
+    private final HttpRequestParser requestParser;
+    private final CurrentTraceContext braveCurrentTraceContext;
+    private final Injector<RequestHeadersBuilder> injector;
     @Nullable
     private final RequestContextCurrentTraceContext currentTraceContext;
 
@@ -106,8 +117,15 @@ public final class BraveClient extends SimpleDecoratingHttpClient {
         super(delegate);
         final Tracing tracing = httpTracing.tracing();
         tracer = tracing.tracer();
-        handler = HttpClientHandler.create(httpTracing);
+        // Parse the request when the response is received, so that the tags are recorded only once
+        // from the complete RequestLog.
+        requestParser = httpTracing.clientRequestParser();
+        handler = HttpClientHandler.create(httpTracing.toBuilder()
+                                                      .clientRequestParser(NOOP_REQUEST_PARSER)
+                                                      .build());
+        injector = tracing.propagation().injector(SETTER);
         final CurrentTraceContext currentTraceContext = tracing.currentTraceContext();
+        braveCurrentTraceContext = currentTraceContext;
         if (currentTraceContext instanceof RequestContextCurrentTraceContext) {
             this.currentTraceContext = (RequestContextCurrentTraceContext) currentTraceContext;
         } else {
@@ -117,6 +135,17 @@ public final class BraveClient extends SimpleDecoratingHttpClient {
 
     @Override
     public HttpResponse execute(ClientRequestContext ctx, HttpRequest req) throws Exception {
+        final TraceContext parent = braveCurrentTraceContext.get();
+        if (parent != null && Boolean.FALSE.equals(parent.sampled())) {
+            final Span span = tracer.newChild(parent);
+            if (span.isNoop()) {
+                return executeUnsampled(ctx, req, span);
+            }
+            // The span is recorded locally even though the parent was not sampled, e.g. when
+            // 'alwaysSampleLocal' is enabled. Drop it and trace the request as usual.
+            span.abandon();
+        }
+
         final RequestHeadersBuilder newHeaders = req.headers().toBuilder();
         final HttpClientRequest braveReq = ClientRequestContextAdapter.asHttpClientRequest(ctx, newHeaders);
         final Span span = handler.handleSend(braveReq);
@@ -137,6 +166,23 @@ public final class BraveClient extends SimpleDecoratingHttpClient {
         }
     }
 
+    /**
+     * Propagates only the IDs of the specified no-op child span of the unsampled parent, without creating
+     * the request adapter or running the parsers. A no-op span is never reported, so it does not have to be
+     * finished.
+     */
+    private HttpResponse executeUnsampled(ClientRequestContext ctx, HttpRequest req,
+                                          Span span) throws Exception {
+        final RequestHeadersBuilder newHeaders = req.headers().toBuilder();
+        injector.inject(span.context(), newHeaders);
+        req = req.withHeaders(newHeaders);
+        ctx.updateRequest(req);
+        TraceContextUtil.setTraceContext(ctx, span.context());
+        try (SpanInScope ignored = tracer.withSpanInScope(span)) {
+            return unwrap().execute(ctx, req);
+        }
+    }
+
     private void maybeAddTagsToSpan(ClientRequestContext ctx, HttpClientRequest braveReq, Span span) {
         if (span.isNoop()) {
             // For no-op spans, we only need to inject into headers and don't set any other attributes.
@@ -185,6 +231,7 @@ public final class BraveClient extends SimpleDecoratingHttpClient {
                 }
             }
 
+            requestParser.parse(braveReq, span.context(), span.customizer());
             final HttpClientResponse braveRes = ClientRequestContextAdapter.asHttpClientResponse(log, braveReq);
             handler.handleReceive(braveRes, span);
         });
@@ -104,6 +104,18 @@ public final class RequestContextCurrentTraceContext extends CurrentTraceContext
         }
     };
 
+    private static final Scope CLEARING_SCOPE = new Scope() {
+        @Override
+        public void close() {
+            InternalTraceContextUtil.set(null);
+        }
+
+        @Override
+        public String toString() {
+            return "ThreadLocalScope";
+        }
+    };
+
     private final boolean scopeDecoratorAdded;
 
     RequestContextCurrentTraceContext(CurrentTraceContext.Builder builder, boolean scopeDecoratorAdded) {
@@ -135,11 +147,16 @@ public final class RequestContextCurrentTraceContext extends CurrentTraceContext
         final TraceContext threadPrev = InternalTraceContextUtil.get();
         if (threadPrev == currentSpan) {
             // a custom noop scope is used to avoid special behavior in built-in scope decorators
-            return decorateScope(currentSpan, NOOP_SCOPE);
+            return scopeDecoratorAdded ? decorateScope(currentSpan, NOOP_SCOPE) : NOOP_SCOPE;
         }
 
         InternalTraceContextUtil.set(currentSpan);
 
+        if (threadPrev == null) {
+            // Reuse the scope which clears the thread local, because it is the most common case.
+            return scopeDecoratorAdded ? decorateScope(currentSpan, CLEARING_SCOPE) : CLEARING_SCOPE;
+        }
+
         class ThreadLocalContextScope implements Scope {
             @Override
             public void close() {
@@ -152,7 +169,8 @@ public final class RequestContextCurrentTraceContext extends CurrentTraceContext
             }
         }
 
-        return decorateScope(currentSpan, new ThreadLocalContextScope());
+        final Scope scope = new ThreadLocalContextScope();
+        return scopeDecoratorAdded ? decorateScope(currentSpan, scope) : scope;
     }
 
     @UnstableApi
@@ -20,6 +20,7 @@ import static com.linecorp.armeria.server.brave.ArmeriaServerParser.annotateWire
 import static com.linecorp.armeria.server.brave.BraveService.SERVICE_REQUEST_DECORATING_SCOPE;
 
 import com.linecorp.armeria.common.Request;
+import com.linecorp.armeria.common.RequestHeaders;
 import com.linecorp.armeria.common.Response;
 import com.linecorp.armeria.common.brave.RequestContextCurrentTraceContext;
 import com.linecorp.armeria.common.logging.RequestLog;
@@ -33,21 +34,29 @@ import com.linecorp.armeria.server.TransientServiceOption;
 import brave.Span;
 import brave.Tracer;
 import brave.Tracer.SpanInScope;
+import brave.Tracing;
+import brave.propagation.Propagation.Getter;
+import brave.propagation.TraceContext;
+import brave.propagation.TraceContext.Extractor;
+import brave.propagation.TraceContextOrSamplingFlags;
 
 abstract class AbstractBraveService<BI extends brave.Request, BO extends brave.Response,
         I extends Request, O extends Response> extends SimpleDecoratingService<I, O> {
 
+    private static final Getter<RequestHeaders, String> GETTER = RequestHeaders::get;
+
     private final Tracer tracer;
     private final RequestContextCurrentTraceContext currentTraceContext;
+    private final Extractor<RequestHeaders> extractor;
 
     /**
      * Creates a new instance that decorates the specified {@link Service}.
      */
-    protected AbstractBraveService(Service<I, O> delegate, Tracer tracer,
-                                   RequestContextCurrentTraceContext currentTraceContext) {
+    protected AbstractBraveService(Service<I, O> delegate, Tracing tracing) {
         super(delegate);
-        this.tracer = tracer;
-        this.currentTraceContext = currentTraceContext;
+        tracer = tracing.tracer();
+        currentTraceContext = (RequestContextCurrentTraceContext) tracing.currentTraceContext();
+        extractor = tracing.propagation().extractor(GETTER);
     }
 
     @Override
@@ -55,6 +64,24 @@ abstract class AbstractBraveService<BI extends brave.Request, BO extends brave.R
         if (!ctx.config().transientServiceOptions().contains(TransientServiceOption.WITH_TRACING)) {
             return unwrap().serve(ctx, req);
         }
+
+        final TraceContextOrSamplingFlags extracted = extractor.extract(ctx.request().headers());
+        if (Boolean.FALSE.equals(extracted.sampled())) {
+            // The caller decided not to sample this request. Propagate only the IDs with a no-op span
+            // without creating the request adapter or running the sampler and the parsers.
+            final TraceContext context = extracted.context();
+            final Span span = context != null ? tracer.joinSpan(context) : tracer.nextSpan(extracted);
+            if (span.isNoop()) {
+                TraceContextUtil.setTraceContext(ctx, span.context());
+                try (SpanInScope ignored = tracer.withSpanInScope(span)) {
+                    return unwrap().serve(ctx, req);
+                }
+            }
+            // The span is recorded locally even though the caller did not sample it, e.g. when
+            // 'alwaysSampleLocal' is enabled. Drop it and trace the request as usual.
+            span.abandon();
+        }
+
         final BI braveReq = braveRequest(ctx);
         final Span span = handleReceive(braveReq);
         TraceContextUtil.setTraceContext(ctx, span.context());
@@ -23,7 +23,6 @@ import java.util.function.Function;
 import com.linecorp.armeria.common.RpcRequest;
 import com.linecorp.armeria.common.RpcResponse;
 import com.linecorp.armeria.common.annotation.UnstableApi;
-import com.linecorp.armeria.common.brave.RequestContextCurrentTraceContext;
 import com.linecorp.armeria.common.logging.RequestLog;
 import com.linecorp.armeria.server.RpcService;
 import com.linecorp.armeria.server.ServiceRequestContext;
@@ -78,8 +77,7 @@ public final class BraveRpcService extends AbstractBraveService<RpcServerRequest
     private final RpcServerHandler handler;
 
     private BraveRpcService(RpcService delegate, RpcTracing rpcTracing) {
-        super(delegate, rpcTracing.tracing().tracer(),
-              (RequestContextCurrentTraceContext) rpcTracing.tracing().currentTraceContext());
+        super(delegate, rpcTracing.tracing());
         handler = RpcServerHandler.create(rpcTracing);
     }
 
@@ -24,7 +24,6 @@ import com.google.common.annotations.VisibleForTesting;
 
 import com.linecorp.armeria.common.HttpRequest;
 import com.linecorp.armeria.common.HttpResponse;
-import com.linecorp.armeria.common.brave.RequestContextCurrentTraceContext;
 import com.linecorp.armeria.common.logging.RequestLog;
 import com.linecorp.armeria.server.HttpService;
 import com.linecorp.armeria.server.ServiceRequestContext;
@@ -88,15 +87,22 @@ public final class BraveService extends AbstractBraveService<HttpServerRequest,
         return service -> new BraveService(service, httpTracing);
     }
 
+    private static final HttpRequestParser NOOP_REQUEST_PARSER = (request, context, span) -> {};
+
     private final HttpServerHandler<HttpServerRequest, HttpServerResponse> handler;
+    private final HttpRequestParser requestParser;
 
     /**
      * Creates a new instance.
      */
     private BraveService(HttpService delegate, HttpTracing httpTracing) {
-        super(delegate, httpTracing.tracing().tracer(),
-              (RequestContextCurrentTraceContext) httpTracing.tracing().currentTraceContext());
-        handler = HttpServerHandler.create(httpTracing);
+        super(delegate, httpTracing.tracing());
+        // Parse the request when the response is sent, so that the tags are recorded only once
+        // from the complete RequestLog.
+        requestParser = httpTracing.serverRequestParser();
+        handler = HttpServerHandler.create(httpTracing.toBuilder()
+                                                      .serverRequestParser(NOOP_REQUEST_PARSER)
+                                                      .build());
     }
 
     @Override
@@ -116,6 +122,7 @@ public final class BraveService extends AbstractBraveService<HttpServerRequest,
 
     @Override
     void handleSend(HttpServerResponse response, Span span) {
+        requestParser.parse(response.request(), span.context(), span.customizer());
         handler.handleSend(response, span);
     }
 }
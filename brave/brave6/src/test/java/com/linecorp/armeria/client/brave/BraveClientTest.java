@@ -55,6 +55,7 @@ import com.linecorp.armeria.common.brave.RequestContextCurrentTraceContext;
 import com.linecorp.armeria.common.brave.TestSpanCollector;
 import com.linecorp.armeria.common.logging.RequestLog;
 import com.linecorp.armeria.common.util.SafeCloseable;
+import com.linecorp.armeria.internal.common.brave.TraceContextUtil;
 import com.linecorp.armeria.internal.testing.ImmediateEventLoop;
 
 import brave.Span.Kind;
@@ -62,7 +63,9 @@ import brave.Tracing;
 import brave.handler.MutableSpan;
 import brave.http.HttpTracing;
 import brave.propagation.CurrentTraceContext;
+import brave.propagation.CurrentTraceContext.Scope;
 import brave.propagation.CurrentTraceContext.ScopeDecorator;
+import brave.propagation.TraceContext;
 import brave.sampler.Sampler;
 import testing.brave.TestService;
 
@@ -204,6 +207,49 @@ class BraveClientTest {
         assertThat(collector.spans().poll(1, TimeUnit.SECONDS)).isNull();
     }
 
+    @Test
+    void shouldPropagateIdsOnlyWhenParentIsNotSampled() throws Exception {
+        final TestSpanCollector collector = new TestSpanCollector();
+        final Tracing tracing = Tracing.newBuilder()
+                                       .addSpanHandler(collector)
+                                       .currentTraceContext(RequestContextCurrentTraceContext.ofDefault())
+                                       .sampler(Sampler.ALWAYS_SAMPLE)
+                                       .build();
+        final TraceContext parent = TraceContext.newBuilder().traceId(1).spanId(2).sampled(false).build();
+        try (Scope ignored = tracing.currentTraceContext().newScope(parent)) {
+            final RequestLog log = testRemoteInvocation(tracing, null);
+            final TraceContext context = TraceContextUtil.traceContext(log.context());
+            assertThat(context.traceId()).isEqualTo(1);
+            assertThat(context.parentId()).isEqualTo(2);
+            assertThat(context.sampled()).isFalse();
+        }
+
+        assertThat(collector.spans().poll(1, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    void shouldRecordSpanWhenParentIsNotSampledButSampledLocally() throws Exception {
+        final TestSpanCollector collector = new TestSpanCollector();
+        final Tracing tracing = Tracing.newBuilder()
+                                       .localServiceName(TEST_SERVICE)
+                                       .addSpanHandler(collector)
+                                       .currentTraceContext(RequestContextCurrentTraceContext.ofDefault())
+                                       .alwaysSampleLocal()
+                                       .build();
+        final TraceContext parent = TraceContext.newBuilder().traceId(1).spanId(2).sampled(false).build();
+        try (Scope ignored = tracing.currentTraceContext().newScope(parent)) {
+            testRemoteInvocation(tracing, null);
+        }
+
+        // The locally sampled span goes through the usual path and is finished with the tags.
+        final MutableSpan span = collector.spans().poll(10, TimeUnit.SECONDS);
+        assertThat(span).isNotNull();
+        assertThat(span.traceId()).isEqualTo(parent.traceIdString());
+        assertThat(span.parentId()).isEqualTo(parent.spanIdString());
+        assertTags(span);
+        assertThat(collector.spans().poll(1, TimeUnit.SECONDS)).isNull();
+    }
+
     @Test
     void testEmptyEndpointTags() {
         final TestSpanCollector collector = new TestSpanCollector();
@@ -28,6 +28,7 @@ import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -47,6 +48,7 @@ import com.linecorp.armeria.common.brave.TestSpanCollector;
 import com.linecorp.armeria.common.logging.RequestLog;
 import com.linecorp.armeria.common.logging.RequestLogBuilder;
 import com.linecorp.armeria.common.util.SafeCloseable;
+import com.linecorp.armeria.internal.common.brave.TraceContextUtil;
 import com.linecorp.armeria.internal.testing.ImmediateEventLoop;
 import com.linecorp.armeria.server.HttpService;
 import com.linecorp.armeria.server.ServiceRequestContext;
@@ -60,6 +62,7 @@ import brave.handler.SpanHandler;
 import brave.http.HttpTracing;
 import brave.propagation.CurrentTraceContext;
 import brave.propagation.CurrentTraceContext.ScopeDecorator;
+import brave.propagation.TraceContext;
 import brave.sampler.Sampler;
 import testing.brave.TestService;
 
@@ -132,6 +135,47 @@ class BraveServiceTest {
         assertThat(collector.spans().poll(1, TimeUnit.SECONDS)).isNull();
     }
 
+    @Test
+    void shouldPropagateIdsOnlyWhenCallerDidNotSample() throws Exception {
+        final TestSpanCollector collector = new TestSpanCollector();
+        final Tracing tracing = Tracing.newBuilder()
+                                       .localServiceName(TEST_SERVICE)
+                                       .addSpanHandler(collector)
+                                       .currentTraceContext(RequestContextCurrentTraceContext.ofDefault())
+                                       .sampler(Sampler.ALWAYS_SAMPLE)
+                                       .build();
+
+        final HttpRequest req = HttpRequest.of(RequestHeaders.of(HttpMethod.GET, "/hello/trustin",
+                                                                 HttpHeaderNames.SCHEME, "http",
+                                                                 HttpHeaderNames.AUTHORITY, "foo.com",
+                                                                 "x-b3-traceid", "463ac35c9f6413ad",
+                                                                 "x-b3-spanid", "a2fb4a1d1a96d312",
+                                                                 "x-b3-sampled", "0"));
+        final ServiceRequestContext ctx = ServiceRequestContext.builder(req)
+                                                               .eventLoop(ImmediateEventLoop.INSTANCE)
+                                                               .build();
+        final RequestLogBuilder logBuilder = ctx.logBuilder();
+        logBuilder.endRequest();
+
+        final AtomicReference<TraceContext> traceContext = new AtomicReference<>();
+        try (SafeCloseable ignored = ctx.push()) {
+            final BraveService service = BraveService.newDecorator(tracing).apply((ctx0, req0) -> {
+                traceContext.set(tracing.currentTraceContext().get());
+                return HttpResponse.of(HttpStatus.OK);
+            });
+            final AggregatedHttpResponse res = service.serve(ctx, req).aggregate().join();
+            logBuilder.responseHeaders(res.headers());
+            logBuilder.endResponse();
+        }
+
+        assertThat(traceContext.get()).isNotNull();
+        assertThat(traceContext.get().traceIdString()).isEqualTo("463ac35c9f6413ad");
+        assertThat(traceContext.get().sampled()).isFalse();
+        assertThat(TraceContextUtil.traceContext(ctx)).isSameAs(traceContext.get());
+        // don't submit any spans
+        assertThat(collector.spans().poll(1, TimeUnit.SECONDS)).isNull();
+    }
+
     @Test
     void scopeDecorator() throws Exception {
         final AtomicInteger scopeDecoratorCallingCounter = new AtomicInteger();
@@ -17,6 +17,7 @@
 package com.linecorp.armeria.client;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.function.Function;
 
 import com.google.common.collect.ImmutableList;
@@ -129,4 +130,21 @@ public final class ClientDecoration {
         }
         return client;
     }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+        final ClientDecoration that = (ClientDecoration) object;
+        return decorators.equals(that.decorators) && rpcDecorators.equals(that.rpcDecorators);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(decorators, rpcDecorators);
+    }
 }
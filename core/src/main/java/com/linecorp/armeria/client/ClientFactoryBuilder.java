@@ -66,6 +66,7 @@ import com.linecorp.armeria.common.TlsProvider;
 import com.linecorp.armeria.common.TlsSetters;
 import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.annotation.UnstableApi;
+import com.linecorp.armeria.common.metric.MeterIdPrefix;
 import com.linecorp.armeria.common.outlier.OutlierDetection;
 import com.linecorp.armeria.common.util.EventLoopGroups;
 import com.linecorp.armeria.common.util.TlsEngineType;
@@ -661,6 +662,23 @@ public final class ClientFactoryBuilder implements TlsSetters {
         return this;
     }
 
+    /**
+     * Enables the HTTP/2 flow-control window autotuning and sets the maximum size which the connection-level
+     * and stream-level windows can grow up to. When enabled, the client estimates the bandwidth-delay product
+     * of a connection by counting the bytes received during the round trip of a {@code PING} frame, and
+     * grows the windows of the connection whenever the estimate approaches the current window size, so that
+     * a large download over a high-latency link is not limited by the window. The windows start from
+     * {@link #http2InitialConnectionWindowSize(int)} and {@link #http2InitialStreamWindowSize(int)} and never
+     * shrink. {@code 0} disables the autotuning, which is the default.
+     */
+    @UnstableApi
+    public ClientFactoryBuilder http2WindowAutotuningMaxSize(int http2WindowAutotuningMaxSize) {
+        checkArgument(http2WindowAutotuningMaxSize >= 0,
+                      "http2WindowAutotuningMaxSize: %s (expected: >= 0)", http2WindowAutotuningMaxSize);
+        option(ClientFactoryOptions.HTTP2_WINDOW_AUTOTUNING_MAX_SIZE, http2WindowAutotuningMaxSize);
+        return this;
+    }
+
     /**
      * Sets the
      * <a href="https://datatracker.ietf.org/doc/html/rfc7540#section-6.5.2">SETTINGS_MAX_FRAME_SIZE</a>
@@ -886,6 +904,70 @@ public final class ClientFactoryBuilder implements TlsSetters {
         return this;
     }
 
+    /**
+     * Sets the number of HTTP/2 connections to keep per endpoint in each connection pool, which is bound
+     * to an event loop. When there are fewer connections than the specified number, a new connection is
+     * opened in the background while the requests are spread over the existing connections using the
+     * {@link Http2ConnectionSelectionStrategy}. Using more than one connection can increase the throughput
+     * when a server processes each connection with a single core. The default is {@code 1}.
+     *
+     * <p>Note that this option is effective only when the {@link Http2ConnectionSelectionStrategy} is not
+     * {@link Http2ConnectionSelectionStrategy#FIRST_AVAILABLE}. {@link #build()} will fail with an
+     * {@link IllegalStateException} if more than one connection is specified with
+     * {@link Http2ConnectionSelectionStrategy#FIRST_AVAILABLE}.
+     *
+     * @see #http2ConnectionSelectionStrategy(Http2ConnectionSelectionStrategy)
+     */
+    @UnstableApi
+    public ClientFactoryBuilder http2ConnectionsPerEndpoint(int http2ConnectionsPerEndpoint) {
+        checkArgument(http2ConnectionsPerEndpoint > 0,
+                      "http2ConnectionsPerEndpoint: %s (expected: > 0)", http2ConnectionsPerEndpoint);
+        option(ClientFactoryOptions.HTTP2_CONNECTIONS_PER_ENDPOINT, http2ConnectionsPerEndpoint);
+        return this;
+    }
+
+    /**
+     * Sets the {@link Http2ConnectionSelectionStrategy} which determines which HTTP/2 connection a new
+     * request is sent over. {@link Http2ConnectionSelectionStrategy#FIRST_AVAILABLE} is used by default.
+     *
+     * <p>With any other strategy, the following meters are collected per endpoint, tagged with
+     * {@code remote.address}:
+     * <ul>
+     *   <li>{@code armeria.client.connections.http2.pooled.connections{state=active|idle}} - the number of
+     *       the pooled HTTP/2 connections with and without in-flight streams</li>
+     *   <li>{@code armeria.client.connections.http2.in.flight.streams} - the number of the in-flight
+     *       streams of each connection acquired from the pool</li>
+     * </ul>
+     *
+     * @see #http2ConnectionsPerEndpoint(int)
+     */
+    @UnstableApi
+    public ClientFactoryBuilder http2ConnectionSelectionStrategy(
+            Http2ConnectionSelectionStrategy http2ConnectionSelectionStrategy) {
+        option(ClientFactoryOptions.HTTP2_CONNECTION_SELECTION_STRATEGY,
+               requireNonNull(http2ConnectionSelectionStrategy, "http2ConnectionSelectionStrategy"));
+        return this;
+    }
+
+    /**
+     * Sets whether to prefer the {@link EventLoop} of the current {@code ServiceRequestContext} when the
+     * connection pool bound to the {@link EventLoop} has a usable connection to the {@link Endpoint}.
+     * If enabled, a request sent from a service does not have to be handed over to another
+     * {@link EventLoop}, which reduces the context switches of a proxy-like service. If there is no usable
+     * connection, the {@link EventLoop} is acquired from the {@link EventLoopScheduler} as usual.
+     * This option is disabled by default.
+     *
+     * <p>Note that this option is effective only when the {@link ClientFactory} and the {@code Server}
+     * share the same worker {@link EventLoopGroup}. The number of the acquisitions which used the
+     * {@link EventLoop} of the {@code ServiceRequestContext} is recorded in the
+     * {@code armeria.client.event.loop.affinity} counter of the {@link #meterRegistry(MeterRegistry)}.
+     */
+    @UnstableApi
+    public ClientFactoryBuilder preferContextEventLoop(boolean preferContextEventLoop) {
+        option(ClientFactoryOptions.PREFER_CONTEXT_EVENT_LOOP, preferContextEventLoop);
+        return this;
+    }
+
     /**
      * Sets whether to use <a href="https://en.wikipedia.org/wiki/HTTP_pipelining">HTTP pipelining</a> for
      * HTTP/1 connections. This does not affect HTTP/2 connections. This option is disabled by default.
@@ -962,6 +1044,33 @@ public final class ClientFactoryBuilder implements TlsSetters {
         return this;
     }
 
+    /**
+     * Sets whether to collect the statistics of each connection, such as the bytes read and written,
+     * the HTTP/2 flow-control stalls and the keep-alive PING round-trip time. When enabled, the statistics
+     * are exported as the {@code armeria.client.connection.*} meters. This option is disabled by default
+     * because it adds a handler to the pipeline of every connection.
+     *
+     * @see #connectionStatsMeterIdPrefix(MeterIdPrefix)
+     */
+    @UnstableApi
+    public ClientFactoryBuilder connectionStatsEnabled(boolean connectionStatsEnabled) {
+        option(ClientFactoryOptions.CONNECTION_STATS_ENABLED, connectionStatsEnabled);
+        return this;
+    }
+
+    /**
+     * Sets the {@link MeterIdPrefix} of the meters exported when
+     * {@link #connectionStatsEnabled(boolean)} is enabled. Specify a distinct name or tags when more than
+     * one {@link ClientFactory} share the same {@link MeterRegistry}; otherwise, their meters clash.
+     * {@code armeria.client.connection} without any tags is used by default.
+     */
+    @UnstableApi
+    public ClientFactoryBuilder connectionStatsMeterIdPrefix(MeterIdPrefix connectionStatsMeterIdPrefix) {
+        option(ClientFactoryOptions.CONNECTION_STATS_METER_ID_PREFIX,
+               requireNonNull(connectionStatsMeterIdPrefix, "connectionStatsMeterIdPrefix"));
+        return this;
+    }
+
     /**
      * Sets the {@link ProxyConfig} which contains proxy related configuration.
      */
@@ -1122,9 +1231,17 @@ public final class ClientFactoryBuilder implements TlsSetters {
 
     /**
      * Returns a newly-created {@link ClientFactory} based on the properties of this builder.
+     *
+     * @throws IllegalStateException if {@link #http2ConnectionsPerEndpoint(int)} is greater than {@code 1}
+     *                               while {@link Http2ConnectionSelectionStrategy#FIRST_AVAILABLE} is used
      */
     public ClientFactory build() {
         final ClientFactoryOptions options = buildOptions();
+        final Http2ConnectionSelectionStrategy strategy = options.http2ConnectionSelectionStrategy();
+        checkState(options.http2ConnectionsPerEndpoint() == 1 ||
+                   strategy != Http2ConnectionSelectionStrategy.FIRST_AVAILABLE,
+                   "http2ConnectionsPerEndpoint: %s (expected: 1 when http2ConnectionSelectionStrategy is %s)",
+                   options.http2ConnectionsPerEndpoint(), Http2ConnectionSelectionStrategy.FIRST_AVAILABLE);
         final ClientTlsSpec baseClientTlsSpec = buildTlsSpec(clientTlsSpec, tlsNoVerifySet, insecureHosts);
         return new DefaultClientFactory(new HttpClientFactory(
                 options, autoCloseConnectionPoolListener, baseClientTlsSpec));
@@ -39,6 +39,7 @@ import com.linecorp.armeria.common.SessionProtocol;
 import com.linecorp.armeria.common.TlsKeyPair;
 import com.linecorp.armeria.common.TlsProvider;
 import com.linecorp.armeria.common.annotation.UnstableApi;
+import com.linecorp.armeria.common.metric.MeterIdPrefix;
 import com.linecorp.armeria.common.outlier.OutlierDetection;
 import com.linecorp.armeria.common.util.AbstractOptions;
 import com.linecorp.armeria.common.util.TlsEngineType;
@@ -171,6 +172,14 @@ public final class ClientFactoryOptions
             ClientFactoryOption.define("HTTP2_STREAM_WINDOW_UPDATE_RATIO",
                                        Flags.defaultHttp2StreamWindowUpdateRatio());
 
+    /**
+     * The maximum size which the HTTP/2 flow-control windows can grow up to by the autotuning.
+     * {@code 0} disables the autotuning.
+     */
+    @UnstableApi
+    public static final ClientFactoryOption<Integer> HTTP2_WINDOW_AUTOTUNING_MAX_SIZE =
+            ClientFactoryOption.define("HTTP2_WINDOW_AUTOTUNING_MAX_SIZE", 0);
+
     /**
      * The <a href="https://datatracker.ietf.org/doc/html/rfc7540#section-6.5.2">SETTINGS_MAX_FRAME_SIZE</a>
      * that indicates the size of the largest frame payload that this client is willing to receive.
@@ -291,6 +300,31 @@ public final class ClientFactoryOptions
     public static final ClientFactoryOption<Boolean> USE_HTTP2_WITHOUT_ALPN =
             ClientFactoryOption.define("USE_HTTP2_WITHOUT_ALPN", Flags.defaultUseHttp2WithoutAlpn());
 
+    /**
+     * The number of HTTP/2 connections to keep per endpoint in each connection pool.
+     */
+    @UnstableApi
+    public static final ClientFactoryOption<Integer> HTTP2_CONNECTIONS_PER_ENDPOINT =
+            ClientFactoryOption.define("HTTP2_CONNECTIONS_PER_ENDPOINT", 1);
+
+    /**
+     * The {@link Http2ConnectionSelectionStrategy} which determines which HTTP/2 connection a new request
+     * is sent over.
+     */
+    @UnstableApi
+    public static final ClientFactoryOption<Http2ConnectionSelectionStrategy>
+            HTTP2_CONNECTION_SELECTION_STRATEGY =
+            ClientFactoryOption.define("HTTP2_CONNECTION_SELECTION_STRATEGY",
+                                       Http2ConnectionSelectionStrategy.FIRST_AVAILABLE);
+
+    /**
+     * Whether to prefer the {@link EventLoop} of the current {@code ServiceRequestContext} when it has
+     * a usable connection to the {@link Endpoint}.
+     */
+    @UnstableApi
+    public static final ClientFactoryOption<Boolean> PREFER_CONTEXT_EVENT_LOOP =
+            ClientFactoryOption.define("PREFER_CONTEXT_EVENT_LOOP", false);
+
     /**
      * Whether to use <a href="https://en.wikipedia.org/wiki/HTTP_pipelining">HTTP pipelining</a> for
      * HTTP/1 connections.
@@ -317,6 +351,21 @@ public final class ClientFactoryOptions
     public static final ClientFactoryOption<MeterRegistry> METER_REGISTRY =
             ClientFactoryOption.define("METER_REGISTRY", Flags.meterRegistry());
 
+    /**
+     * Whether to collect the statistics of each connection.
+     */
+    @UnstableApi
+    public static final ClientFactoryOption<Boolean> CONNECTION_STATS_ENABLED =
+            ClientFactoryOption.define("CONNECTION_STATS_ENABLED", false);
+
+    /**
+     * The {@link MeterIdPrefix} of the meters of the connection statistics.
+     */
+    @UnstableApi
+    public static final ClientFactoryOption<MeterIdPrefix> CONNECTION_STATS_METER_ID_PREFIX =
+            ClientFactoryOption.define("CONNECTION_STATS_METER_ID_PREFIX",
+                                       new MeterIdPrefix("armeria.client.connection"));
+
     /**
      * The {@link ProxyConfigSelector} which determines the {@link ProxyConfig} to be used.
      */
@@ -526,6 +575,15 @@ public final class ClientFactoryOptions
         return get(HTTP2_STREAM_WINDOW_UPDATE_RATIO);
     }
 
+    /**
+     * Returns the maximum size which the HTTP/2 flow-control windows can grow up to by the autotuning,
+     * or {@code 0} if the autotuning is disabled.
+     */
+    @UnstableApi
+    public int http2WindowAutotuningMaxSize() {
+        return get(HTTP2_WINDOW_AUTOTUNING_MAX_SIZE);
+    }
+
     /**
      * Returns the <a href="https://datatracker.ietf.org/doc/html/rfc7540#section-6.5.2">SETTINGS_MAX_FRAME_SIZE</a>
      * that indicates the size of the largest frame payload that this client is willing to receive.
@@ -638,6 +696,32 @@ public final class ClientFactoryOptions
         return get(USE_HTTP2_WITHOUT_ALPN);
     }
 
+    /**
+     * Returns the number of HTTP/2 connections to keep per endpoint in each connection pool.
+     */
+    @UnstableApi
+    public int http2ConnectionsPerEndpoint() {
+        return get(HTTP2_CONNECTIONS_PER_ENDPOINT);
+    }
+
+    /**
+     * Returns the {@link Http2ConnectionSelectionStrategy} which determines which HTTP/2 connection
+     * a new request is sent over.
+     */
+    @UnstableApi
+    public Http2ConnectionSelectionStrategy http2ConnectionSelectionStrategy() {
+        return get(HTTP2_CONNECTION_SELECTION_STRATEGY);
+    }
+
+    /**
+     * Returns whether to prefer the {@link EventLoop} of the current {@code ServiceRequestContext} when it
+     * has a usable connection to the {@link Endpoint}.
+     */
+    @UnstableApi
+    public boolean preferContextEventLoop() {
+        return get(PREFER_CONTEXT_EVENT_LOOP);
+    }
+
     /**
      * Returns whether to use <a href="https://en.wikipedia.org/wiki/HTTP_pipelining">HTTP pipelining</a> for
      * HTTP/1 connections.
@@ -675,6 +759,22 @@ public final class ClientFactoryOptions
         return get(METER_REGISTRY);
     }
 
+    /**
+     * Returns whether the statistics of each connection are collected.
+     */
+    @UnstableApi
+    public boolean connectionStatsEnabled() {
+        return get(CONNECTION_STATS_ENABLED);
+    }
+
+    /**
+     * Returns the {@link MeterIdPrefix} of the meters of the connection statistics.
+     */
+    @UnstableApi
+    public MeterIdPrefix connectionStatsMeterIdPrefix() {
+        return get(CONNECTION_STATS_METER_ID_PREFIX);
+    }
+
     /**
      * The {@link ProxyConfigSelector} which determines the {@link ProxyConfig} to be used.
      */
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.client;
+
+import static java.util.Objects.requireNonNull;
+
+import com.linecorp.armeria.client.endpoint.EndpointGroup;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.util.ReleasableHolder;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.EventLoop;
+
+/**
+ * An {@link EventLoopScheduler} which prefers the {@link EventLoop} of the current
+ * {@link ServiceRequestContext} if the connection pool bound to the {@link EventLoop} has a usable
+ * connection to the {@link Endpoint}. By doing so, a proxy-like service can send a request to a backend
+ * without handing it over to another {@link EventLoop}. Otherwise, the {@link EventLoop} is acquired from
+ * the delegate {@link EventLoopScheduler}.
+ */
+final class ContextAffinityEventLoopScheduler implements EventLoopScheduler {
+
+    private final EventLoopScheduler delegate;
+    private final HttpClientFactory clientFactory;
+    private final Counter hits;
+    private final Counter misses;
+
+    ContextAffinityEventLoopScheduler(EventLoopScheduler delegate, HttpClientFactory clientFactory,
+                                      MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.clientFactory = clientFactory;
+        hits = meterRegistry.counter("armeria.client.event.loop.affinity", "result", "hit");
+        misses = meterRegistry.counter("armeria.client.event.loop.affinity", "result", "miss");
+    }
+
+    @Override
+    public ReleasableHolder<EventLoop> acquire(SessionProtocol sessionProtocol,
+                                               EndpointGroup endpointGroup,
+                                               @Nullable Endpoint endpoint) {
+        requireNonNull(sessionProtocol, "sessionProtocol");
+        requireNonNull(endpointGroup, "endpointGroup");
+        if (endpoint == null) {
+            return delegate.acquire(sessionProtocol, endpointGroup, null);
+        }
+
+        final ServiceRequestContext ctx = ServiceRequestContext.currentOrNull();
+        if (ctx == null) {
+            return delegate.acquire(sessionProtocol, endpointGroup, endpoint);
+        }
+
+        final EventLoop eventLoop = ctx.eventLoop().withoutContext();
+        // The pool is accessed only from its event loop, so check the connections only when the current
+        // thread is the event loop of the service.
+        if (eventLoop.inEventLoop()) {
+            final HttpChannelPool pool = clientFactory.poolIfExists(eventLoop);
+            if (pool != null &&
+                pool.hasAcquirableChannel(sessionProtocol, endpoint.withDefaultPort(sessionProtocol))) {
+                hits.increment();
+                return new AffinityEventLoopEntry(eventLoop);
+            }
+        }
+        misses.increment();
+        return delegate.acquire(sessionProtocol, endpointGroup, endpoint);
+    }
+
+    private static final class AffinityEventLoopEntry implements ReleasableHolder<EventLoop> {
+
+        private final EventLoop eventLoop;
+
+        AffinityEventLoopEntry(EventLoop eventLoop) {
+            this.eventLoop = eventLoop;
+        }
+
+        @Override
+        public EventLoop get() {
+            return eventLoop;
+        }
+
+        @Override
+        public void release() {}
+    }
+}
@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableList;
 import com.linecorp.armeria.common.SessionProtocol;
 import com.linecorp.armeria.common.metric.MoreMeters;
 import com.linecorp.armeria.internal.common.AbstractHttp2ConnectionHandler;
+import com.linecorp.armeria.internal.common.Http2WindowAutotuner;
 import com.linecorp.armeria.internal.common.KeepAliveHandler;
 import com.linecorp.armeria.internal.common.NoopKeepAliveHandler;
 
@@ -45,8 +46,11 @@ final class Http2ClientConnectionHandler extends AbstractHttp2ConnectionHandler
         super(decoder, encoder, initialSettings,
               newKeepAliveHandler(encoder, channel, clientFactory, protocol));
 
+        final Http2WindowAutotuner windowAutotuner = new Http2WindowAutotuner(
+                channel, encoder, clientFactory.http2InitialConnectionWindowSize(),
+                clientFactory.http2InitialStreamWindowSize(), clientFactory.http2WindowAutotuningMaxSize());
         responseDecoder = new Http2ResponseDecoder(channel, encoder(), decoder, clientFactory,
-                                                   keepAliveHandler());
+                                                   keepAliveHandler(), windowAutotuner);
         connection().addListener(responseDecoder);
         decoder.frameListener(responseDecoder);
     }
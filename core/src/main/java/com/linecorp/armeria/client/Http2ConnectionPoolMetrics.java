@@ -0,0 +1,144 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.linecorp.armeria.internal.client.HttpSession;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.netty.channel.Channel;
+
+/**
+ * Collects the metrics of the pooled HTTP/2 connections of an {@link HttpClientFactory} per endpoint,
+ * which are used to tune {@link ClientFactoryOptions#http2ConnectionsPerEndpoint()}:
+ * <ul>
+ *   <li>{@code armeria.client.connections.http2.pooled.connections{state=active|idle}} - the number of
+ *       the pooled connections with and without in-flight streams</li>
+ *   <li>{@code armeria.client.connections.http2.in.flight.streams} - the number of the in-flight streams of
+ *       the connection acquired from the pool</li>
+ * </ul>
+ * The meters of an endpoint are removed when all its connections are closed.
+ *
+ * <p>Note that the number of bytes in flight is not exported. The load used by
+ * {@link Http2ConnectionSelectionStrategy#LEAST_IN_FLIGHT_BYTES} is
+ * {@link io.netty.channel.ChannelOutboundBuffer#totalPendingWriteBytes()}, which only approximates it:
+ * it excludes the data held back by the HTTP/2 flow controller and the data which has already been
+ * written to the socket but not yet received by the server.
+ */
+final class Http2ConnectionPoolMetrics {
+
+    private static final String PREFIX = "armeria.client.connections.http2.";
+    private static final String REMOTE_ADDRESS = "remote.address";
+    private static final String STATE = "state";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<Endpoint, EndpointMeters> endpointMeters = new ConcurrentHashMap<>();
+
+    Http2ConnectionPoolMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    void connectionOpened(Endpoint endpoint, Channel channel) {
+        endpointMeters.compute(endpoint, (unused, meters) -> {
+            if (meters == null) {
+                meters = new EndpointMeters(remoteAddress(endpoint));
+            }
+            meters.channels.add(channel);
+            return meters;
+        });
+    }
+
+    void connectionClosed(Endpoint endpoint, Channel channel) {
+        endpointMeters.computeIfPresent(endpoint, (unused, meters) -> {
+            meters.channels.remove(channel);
+            if (meters.channels.isEmpty()) {
+                meters.remove();
+                return null;
+            }
+            return meters;
+        });
+    }
+
+    void recordInFlightStreams(Endpoint endpoint, int numInFlightStreams) {
+        final EndpointMeters meters = endpointMeters.get(endpoint);
+        if (meters != null) {
+            meters.inFlightStreams.record(numInFlightStreams);
+        }
+    }
+
+    /**
+     * Returns the value of the {@code remote.address} tag, e.g. {@code "example.com:443/192.168.0.1"}.
+     */
+    private static String remoteAddress(Endpoint endpoint) {
+        final String ipAddr = endpoint.ipAddr();
+        if (ipAddr == null || endpoint.isIpAddrOnly()) {
+            return endpoint.authority();
+        }
+        return endpoint.authority() + '/' + ipAddr;
+    }
+
+    private final class EndpointMeters {
+
+        final Set<Channel> channels = ConcurrentHashMap.newKeySet();
+        final DistributionSummary inFlightStreams;
+        private final Gauge active;
+        private final Gauge idle;
+
+        EndpointMeters(String remoteAddress) {
+            final Tags tags = Tags.of(REMOTE_ADDRESS, remoteAddress);
+            inFlightStreams =
+                    DistributionSummary.builder(PREFIX + "in.flight.streams")
+                                       .description("The number of in-flight streams of the HTTP/2 " +
+                                                    "connection acquired from the pool")
+                                       .tags(tags)
+                                       .register(meterRegistry);
+            active = Gauge.builder(PREFIX + "pooled.connections", this, EndpointMeters::numActiveConnections)
+                          .tags(tags)
+                          .tag(STATE, "active")
+                          .register(meterRegistry);
+            idle = Gauge.builder(PREFIX + "pooled.connections", this, EndpointMeters::numIdleConnections)
+                        .tags(tags)
+                        .tag(STATE, "idle")
+                        .register(meterRegistry);
+        }
+
+        double numActiveConnections() {
+            int numActive = 0;
+            for (Channel channel : channels) {
+                if (HttpSession.get(channel).numUnfinishedResponses() > 0) {
+                    numActive++;
+                }
+            }
+            return numActive;
+        }
+
+        double numIdleConnections() {
+            return channels.size() - numActiveConnections();
+        }
+
+        void remove() {
+            meterRegistry.remove(inFlightStreams);
+            meterRegistry.remove(active);
+            meterRegistry.remove(idle);
+        }
+    }
+}
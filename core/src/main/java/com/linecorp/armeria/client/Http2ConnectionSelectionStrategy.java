@@ -0,0 +1,46 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.client;
+
+import com.linecorp.armeria.common.annotation.UnstableApi;
+
+/**
+ * The strategy that determines which pooled HTTP/2 connection a new request is sent over
+ * when there is more than one connection to the same endpoint.
+ *
+ * @see ClientFactoryBuilder#http2ConnectionSelectionStrategy(Http2ConnectionSelectionStrategy)
+ * @see ClientFactoryBuilder#http2ConnectionsPerEndpoint(int)
+ */
+@UnstableApi
+public enum Http2ConnectionSelectionStrategy {
+    /**
+     * Uses the most recently opened connection which can accept a new stream. A new connection is opened
+     * only when all connections reached the {@code MAX_CONCURRENT_STREAMS} limit. This is the default.
+     */
+    FIRST_AVAILABLE,
+    /**
+     * Uses the connection with the least number of in-flight streams.
+     */
+    LEAST_IN_FLIGHT_STREAMS,
+    /**
+     * Uses the connection with the least number of bytes waiting to be written to the socket.
+     * The number of in-flight streams is used to break a tie. Note that the pending bytes of the outbound
+     * buffer only approximate the bytes in flight because they exclude the data held back by
+     * the HTTP/2 flow controller.
+     */
+    LEAST_IN_FLIGHT_BYTES
+}
@@ -34,7 +34,9 @@ import com.linecorp.armeria.common.ResponseHeaders;
 import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.stream.ClosedStreamException;
 import com.linecorp.armeria.internal.common.ArmeriaHttpUtil;
+import com.linecorp.armeria.internal.common.ConnectionStats;
 import com.linecorp.armeria.internal.common.Http2GoAwayHandler;
+import com.linecorp.armeria.internal.common.Http2WindowAutotuner;
 import com.linecorp.armeria.internal.common.InboundTrafficController;
 import com.linecorp.armeria.internal.common.KeepAliveHandler;
 import com.linecorp.armeria.internal.common.NoopKeepAliveHandler;
@@ -63,18 +65,23 @@ final class Http2ResponseDecoder extends AbstractHttpResponseDecoder implements
     private final Http2ConnectionEncoder encoder;
     private final Http2GoAwayHandler goAwayHandler;
     private final KeepAliveHandler keepAliveHandler;
+    private final Http2WindowAutotuner windowAutotuner;
+    @Nullable
+    private final ConnectionStats connectionStats;
 
     Http2ResponseDecoder(Channel channel, Http2ConnectionEncoder encoder, Http2ConnectionDecoder decoder,
                          HttpClientFactory clientFactory,
-                         KeepAliveHandler keepAliveHandler) {
+                         KeepAliveHandler keepAliveHandler, Http2WindowAutotuner windowAutotuner) {
+        // Raised in onPingAckRead() as the window autotuner grows the connection-level window.
         super(channel,
-              InboundTrafficController.ofHttp2(channel, decoder,
-                                               clientFactory.http2InitialConnectionWindowSize()));
+              InboundTrafficController.ofHttp2(channel, decoder, windowAutotuner.connectionWindowSize()));
         conn = encoder.connection();
         this.encoder = encoder;
         assert keepAliveHandler instanceof Http2ClientKeepAliveHandler ||
                keepAliveHandler instanceof NoopKeepAliveHandler;
         this.keepAliveHandler = keepAliveHandler;
+        this.windowAutotuner = windowAutotuner;
+        connectionStats = ConnectionStats.get(channel);
         goAwayHandler = new Http2GoAwayHandler();
     }
 
@@ -253,6 +260,7 @@ final class Http2ResponseDecoder extends AbstractHttpResponseDecoder implements
         keepAliveChannelRead();
 
         final int dataLength = data.readableBytes();
+        windowAutotuner.onDataRead(ctx, dataLength + padding);
         final HttpResponseWrapper res = getResponse(streamIdToId(streamId));
         if (res == null || !res.isOpen()) {
             if (conn.streamMayHaveExisted(streamId)) {
@@ -345,6 +353,10 @@ final class Http2ResponseDecoder extends AbstractHttpResponseDecoder implements
 
     @Override
     public void onPingAckRead(ChannelHandlerContext ctx, long data) {
+        if (windowAutotuner.onPingAckRead(ctx, data)) {
+            inboundTrafficController().growConnectionWindowSize(windowAutotuner.connectionWindowSize());
+            return;
+        }
         if (keepAliveHandler.isHttp2()) {
             keepAliveHandler.onPingAck(data);
         }
@@ -354,7 +366,11 @@ final class Http2ResponseDecoder extends AbstractHttpResponseDecoder implements
     public void onGoAwayRead(ChannelHandlerContext ctx, int lastStreamId, long errorCode, ByteBuf debugData) {}
 
     @Override
-    public void onWindowUpdateRead(ChannelHandlerContext ctx, int streamId, int windowSizeIncrement) {}
+    public void onWindowUpdateRead(ChannelHandlerContext ctx, int streamId, int windowSizeIncrement) {
+        if (connectionStats != null) {
+            connectionStats.onWindowUpdateRead(conn, streamId, windowSizeIncrement);
+        }
+    }
 
     @Override
     public void onUnknownFrame(ChannelHandlerContext ctx, byte frameType, int streamId, Http2Flags flags,
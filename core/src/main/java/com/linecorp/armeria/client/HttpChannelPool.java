@@ -23,6 +23,8 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Deque;
 import java.util.EnumMap;
 import java.util.HashMap;
@@ -52,6 +54,7 @@ import com.linecorp.armeria.common.NonBlocking;
 import com.linecorp.armeria.common.SerializationFormat;
 import com.linecorp.armeria.common.SessionProtocol;
 import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.logging.ClientConnectionTimings;
 import com.linecorp.armeria.common.logging.ClientConnectionTimingsBuilder;
 import com.linecorp.armeria.common.util.AsyncCloseable;
 import com.linecorp.armeria.common.util.AsyncCloseableSupport;
@@ -67,6 +70,7 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelOutboundBuffer;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.EventLoop;
 import io.netty.handler.codec.http.HttpHeaders;
@@ -84,6 +88,7 @@ final class HttpChannelPool implements AsyncCloseable {
 
     private static final Logger logger = LoggerFactory.getLogger(HttpChannelPool.class);
     private static final Channel[] EMPTY_CHANNELS = new Channel[0];
+    private static final PooledChannel[] EMPTY_POOLED_CHANNELS = new PooledChannel[0];
 
     static final AttributeKey<ClientConnectionTimingsBuilder> TIMINGS_BUILDER_KEY =
             AttributeKey.valueOf(HttpChannelPool.class, "TIMINGS_BUILDER_KEY");
@@ -94,10 +99,19 @@ final class HttpChannelPool implements AsyncCloseable {
 
     // Fields for pooling connections:
     private final Map<PoolKey, Deque<PooledChannel>>[] pool;
+    // The most recently pooled key of each host and port, used for looking up a pool without a PoolKey:
+    private final Map<Endpoint, PoolKey>[] poolKeys;
     private final Map<PoolKey, ChannelAcquisitionFuture>[] pendingAcquisitions;
     private final Map<Channel, Boolean> allChannels;
     private final ConnectionPoolListener listener;
 
+    // Fields for balancing the requests over multiple HTTP/2 connections:
+    private final int http2ConnectionsPerEndpoint;
+    @Nullable
+    private final Comparator<PooledChannel> http2LoadComparator;
+    @Nullable
+    private final Http2ConnectionPoolMetrics http2Metrics;
+
     // Fields for creating a new connection:
     private final Bootstraps bootstraps;
     private final int connectTimeoutMillis;
@@ -110,8 +124,24 @@ final class HttpChannelPool implements AsyncCloseable {
 
         pool = newEnumMap(ImmutableSet.of(SessionProtocol.H1, SessionProtocol.H1C,
                                           SessionProtocol.H2, SessionProtocol.H2C));
+        poolKeys = newEnumMap(ImmutableSet.of(SessionProtocol.H1, SessionProtocol.H1C,
+                                              SessionProtocol.H2, SessionProtocol.H2C));
         pendingAcquisitions = newEnumMap(httpAndHttpsValues());
         allChannels = new IdentityHashMap<>();
+
+        http2ConnectionsPerEndpoint = clientFactory.http2ConnectionsPerEndpoint();
+        switch (clientFactory.http2ConnectionSelectionStrategy()) {
+            case LEAST_IN_FLIGHT_STREAMS:
+                http2LoadComparator = Comparator.comparingInt(HttpChannelPool::numInFlightStreams);
+                break;
+            case LEAST_IN_FLIGHT_BYTES:
+                http2LoadComparator = Comparator.comparingLong(HttpChannelPool::numInFlightBytes)
+                                                .thenComparingInt(HttpChannelPool::numInFlightStreams);
+                break;
+            default:
+                http2LoadComparator = null;
+        }
+        http2Metrics = clientFactory.http2ConnectionPoolMetrics();
         final Integer connectTimeoutMillisBoxed =
                 (Integer) clientFactory.options()
                                        .channelOptions()
@@ -170,10 +200,10 @@ final class HttpChannelPool implements AsyncCloseable {
     /**
      * Returns an array whose index signifies {@link SessionProtocol#ordinal()}. Similar to {@link EnumMap}.
      */
-    private static <T> Map<PoolKey, T>[] newEnumMap(Set<SessionProtocol> allowedProtocols) {
+    private static <K, V> Map<K, V>[] newEnumMap(Set<SessionProtocol> allowedProtocols) {
         @SuppressWarnings("unchecked")
-        final Map<PoolKey, T>[] maps =
-                (Map<PoolKey, T>[]) Array.newInstance(Map.class, SessionProtocol.values().length);
+        final Map<K, V>[] maps =
+                (Map<K, V>[]) Array.newInstance(Map.class, SessionProtocol.values().length);
         // Attempting to access the array with an unallowed protocol will trigger NPE,
         // which will help us find a bug.
         for (SessionProtocol p : allowedProtocols) {
@@ -247,6 +277,57 @@ final class HttpChannelPool implements AsyncCloseable {
         return ch;
     }
 
+    /**
+     * Returns whether this pool has a healthy {@link Channel} to the specified {@link Endpoint} which can
+     * accept a new request. Unlike {@link #acquireNow(SessionProtocol, SerializationFormat, PoolKey)},
+     * this method does not acquire the {@link Channel} and matches the {@link Endpoint} without its
+     * IP address if the IP address has not been resolved yet.
+     * This method must be invoked from the {@link EventLoop} of this pool.
+     */
+    boolean hasAcquirableChannel(SessionProtocol desiredProtocol, Endpoint endpointWithPort) {
+        assert eventLoop.inEventLoop();
+        switch (desiredProtocol) {
+            case HTTP:
+                return hasAcquirableChannelExact(SessionProtocol.H2C, endpointWithPort) ||
+                       hasAcquirableChannelExact(SessionProtocol.H1C, endpointWithPort);
+            case HTTPS:
+                return hasAcquirableChannelExact(SessionProtocol.H2, endpointWithPort) ||
+                       hasAcquirableChannelExact(SessionProtocol.H1, endpointWithPort);
+            default:
+                return hasAcquirableChannelExact(desiredProtocol, endpointWithPort);
+        }
+    }
+
+    private boolean hasAcquirableChannelExact(SessionProtocol protocol, Endpoint endpointWithPort) {
+        final Endpoint endpoint = endpointWithPort.withoutTrailingDot();
+        final PoolKey key = poolKeys[protocol.ordinal()].get(withoutIpAddr(endpoint));
+        if (key == null) {
+            return false;
+        }
+        final String ipAddr = endpoint.ipAddr();
+        if (ipAddr != null && !ipAddr.equals(key.endpoint.ipAddr())) {
+            return false;
+        }
+
+        final Deque<PooledChannel> queue = getPool(protocol, key);
+        if (queue == null) {
+            return false;
+        }
+        for (PooledChannel pooledChannel : queue) {
+            if (isHealthy(pooledChannel)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Endpoint withoutIpAddr(Endpoint endpoint) {
+        if (!endpoint.hasIpAddr() || endpoint.isIpAddrOnly()) {
+            return endpoint;
+        }
+        return endpoint.withIpAddr(null);
+    }
+
     @Nullable
     private PooledChannel acquireNowExact(PoolKey key, SessionProtocol protocol,
                                           SerializationFormat serializationFormat) {
@@ -258,6 +339,10 @@ final class HttpChannelPool implements AsyncCloseable {
             return null;
         }
 
+        if (http2LoadComparator != null && protocol.isMultiplex()) {
+            return acquireLeastLoaded(key, protocol, serializationFormat, queue, http2LoadComparator);
+        }
+
         // Find the most recently released channel while cleaning up the unhealthy channels.
         for (int i = queue.size(); i > 0; i--) {
             final PooledChannel pooledChannel = queue.peekLast();
@@ -285,6 +370,68 @@ final class HttpChannelPool implements AsyncCloseable {
         return null;
     }
 
+    /**
+     * Acquires the least loaded HTTP/2 {@link Channel} while opening a new connection in the background
+     * if there are fewer connections than {@link ClientFactoryOptions#http2ConnectionsPerEndpoint()}.
+     */
+    @Nullable
+    private PooledChannel acquireLeastLoaded(PoolKey key, SessionProtocol protocol,
+                                             SerializationFormat serializationFormat,
+                                             Deque<PooledChannel> queue,
+                                             Comparator<PooledChannel> loadComparator) {
+        queue.removeIf(pooledChannel -> !isHealthy(pooledChannel));
+        if (queue.isEmpty()) {
+            return null;
+        }
+        if (queue.size() < http2ConnectionsPerEndpoint) {
+            openHttp2ConnectionInBackground(key, protocol, serializationFormat);
+        }
+
+        final PooledChannel[] candidates = queue.toArray(EMPTY_POOLED_CHANNELS);
+        if (candidates.length > 1) {
+            Arrays.sort(candidates, loadComparator);
+        }
+        for (PooledChannel candidate : candidates) {
+            final HttpSession session = HttpSession.get(candidate.get());
+            if (session.incrementNumUnfinishedResponses()) {
+                assert http2Metrics != null;
+                http2Metrics.recordInFlightStreams(key.endpoint, session.numUnfinishedResponses());
+                return candidate;
+            }
+            // The channel is full of streams. Try the next least loaded one.
+        }
+        return null;
+    }
+
+    private void openHttp2ConnectionInBackground(PoolKey key, SessionProtocol protocol,
+                                                 SerializationFormat serializationFormat) {
+        if (closeable.isClosing() || getPendingAcquisition(protocol, key) != null) {
+            // Open one connection at a time.
+            return;
+        }
+
+        final ChannelAcquisitionFuture promise = new ChannelAcquisitionFuture();
+        connect(protocol, serializationFormat, key, promise, ClientConnectionTimings.builder());
+        promise.handle((pooledChannel, cause) -> {
+            if (pooledChannel != null) {
+                // Release the stream reserved for this acquisition because no request will be sent.
+                HttpSession.get(pooledChannel.get()).decrementNumUnfinishedResponses();
+            } else {
+                logger.debug("Failed to open an additional HTTP/2 connection to {}", key, cause);
+            }
+            return null;
+        });
+    }
+
+    private static int numInFlightStreams(PooledChannel pooledChannel) {
+        return HttpSession.get(pooledChannel.get()).numUnfinishedResponses();
+    }
+
+    private static long numInFlightBytes(PooledChannel pooledChannel) {
+        final ChannelOutboundBuffer outboundBuffer = pooledChannel.get().unsafe().outboundBuffer();
+        return outboundBuffer != null ? outboundBuffer.totalPendingWriteBytes() : 0;
+    }
+
     private static boolean isHealthy(PooledChannel pooledChannel) {
         final Channel ch = pooledChannel.get();
         return ch.isActive() && HttpSession.get(ch).isAcquirable();
@@ -507,6 +654,9 @@ final class HttpChannelPool implements AsyncCloseable {
                 final HttpSession session = HttpSession.get(channel);
                 if (session.incrementNumUnfinishedResponses()) {
                     if (protocol.isMultiplex()) {
+                        if (http2Metrics != null) {
+                            http2Metrics.connectionOpened(key.endpoint, channel);
+                        }
                         final Http2PooledChannel pooledChannel = new Http2PooledChannel(channel, protocol);
                         addToPool(protocol, key, pooledChannel);
                         promise.complete(pooledChannel);
@@ -522,6 +672,9 @@ final class HttpChannelPool implements AsyncCloseable {
 
                 channel.closeFuture().addListener(f -> {
                     allChannels.remove(channel);
+                    if (http2Metrics != null && protocol.isMultiplex()) {
+                        http2Metrics.connectionClosed(key.endpoint, channel);
+                    }
 
                     // Clean up old unhealthy channels by iterating from the beginning of the queue.
                     final Deque<PooledChannel> queue = getPool(protocol, key);
@@ -562,6 +715,7 @@ final class HttpChannelPool implements AsyncCloseable {
     private void addToPool(SessionProtocol actualProtocol, PoolKey key, PooledChannel pooledChannel) {
         assert eventLoop.inEventLoop() : Thread.currentThread().getName();
         getOrCreatePool(actualProtocol, key).addLast(pooledChannel);
+        poolKeys[actualProtocol.ordinal()].put(withoutIpAddr(key.endpoint), key);
     }
 
     @Override
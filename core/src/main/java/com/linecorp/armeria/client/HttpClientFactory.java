@@ -54,6 +54,7 @@ import com.linecorp.armeria.common.util.ShutdownHooks;
 import com.linecorp.armeria.common.util.TransportType;
 import com.linecorp.armeria.internal.client.ClientBuilderParamsUtil;
 import com.linecorp.armeria.internal.common.ClientSslContextFactory;
+import com.linecorp.armeria.internal.common.ConnectionStatsRegistry;
 import com.linecorp.armeria.internal.common.RequestTargetCache;
 import com.linecorp.armeria.internal.common.util.ChannelUtil;
 
@@ -92,6 +93,7 @@ final class HttpClientFactory implements ClientFactory {
     private final int http2InitialConnectionWindowSize;
     private final int http2InitialStreamWindowSize;
     private final float http2StreamWindowUpdateRatio;
+    private final int http2WindowAutotuningMaxSize;
     private final int http2MaxFrameSize;
     private final long http2MaxHeaderListSize;
     private final int http1MaxInitialLineLength;
@@ -104,6 +106,10 @@ final class HttpClientFactory implements ClientFactory {
     private final int maxNumRequestsPerConnection;
     private final boolean useHttp2Preface;
     private final boolean useHttp2WithoutAlpn;
+    private final int http2ConnectionsPerEndpoint;
+    private final Http2ConnectionSelectionStrategy http2ConnectionSelectionStrategy;
+    @Nullable
+    private final Http2ConnectionPoolMetrics http2ConnectionPoolMetrics;
     private final boolean useHttp1Pipelining;
     private final ConnectionPoolListener connectionPoolListener;
     private final long http2GracefulShutdownTimeoutMillis;
@@ -123,6 +129,8 @@ final class HttpClientFactory implements ClientFactory {
     private final boolean autoCloseConnectionPoolListener;
     private final AsyncCloseableSupport closeable = AsyncCloseableSupport.of(this::closeAsync);
     private final BootstrapSslContexts bootstrapSslContexts;
+    @Nullable
+    private final ConnectionStatsRegistry connectionStats;
 
     HttpClientFactory(ClientFactoryOptions options, boolean autoCloseConnectionPoolListener,
                       ClientTlsSpec baseClientTlsSpec) {
@@ -138,7 +146,13 @@ final class HttpClientFactory implements ClientFactory {
         bootstrap.resolver(addressResolverGroup);
 
         shutdownWorkerGroupOnClose = options.shutdownWorkerGroupOnClose();
-        eventLoopScheduler = options.eventLoopSchedulerFactory().apply(workerGroup);
+        final EventLoopScheduler eventLoopScheduler = options.eventLoopSchedulerFactory().apply(workerGroup);
+        if (options.preferContextEventLoop()) {
+            this.eventLoopScheduler = new ContextAffinityEventLoopScheduler(eventLoopScheduler, this,
+                                                                            options.meterRegistry());
+        } else {
+            this.eventLoopScheduler = eventLoopScheduler;
+        }
 
         // Initialize the base Bootstrap used for connecting to an InetSocketAddress.
         inetBaseBootstrap = bootstrap.clone();
@@ -177,6 +191,7 @@ final class HttpClientFactory implements ClientFactory {
         http2InitialConnectionWindowSize = options.http2InitialConnectionWindowSize();
         http2InitialStreamWindowSize = options.http2InitialStreamWindowSize();
         http2StreamWindowUpdateRatio = options.http2StreamWindowUpdateRatio();
+        http2WindowAutotuningMaxSize = options.http2WindowAutotuningMaxSize();
         http2MaxFrameSize = options.http2MaxFrameSize();
         http2MaxHeaderListSize = options.http2MaxHeaderListSize();
         pingIntervalMillis = options.pingIntervalMillis();
@@ -187,6 +202,8 @@ final class HttpClientFactory implements ClientFactory {
         keepAliveOnPing = options.keepAliveOnPing();
         useHttp2Preface = options.useHttp2Preface();
         useHttp2WithoutAlpn = options.useHttp2WithoutAlpn();
+        http2ConnectionsPerEndpoint = options.http2ConnectionsPerEndpoint();
+        http2ConnectionSelectionStrategy = options.http2ConnectionSelectionStrategy();
         useHttp1Pipelining = options.useHttp1Pipelining();
         connectionPoolListener = options.connectionPoolListener();
         http2GracefulShutdownTimeoutMillis = options.http2GracefulShutdownTimeoutMillis();
@@ -202,6 +219,18 @@ final class HttpClientFactory implements ClientFactory {
 
         clientDelegate = new HttpClientDelegate(this, addressResolverGroup);
         RequestTargetCache.registerClientMetrics(meterRegistry);
+        if (http2ConnectionSelectionStrategy != Http2ConnectionSelectionStrategy.FIRST_AVAILABLE) {
+            http2ConnectionPoolMetrics = new Http2ConnectionPoolMetrics(meterRegistry);
+        } else {
+            http2ConnectionPoolMetrics = null;
+        }
+        if (options.connectionStatsEnabled()) {
+            connectionStats = new ConnectionStatsRegistry("client", this,
+                                                          options.connectionStatsMeterIdPrefix());
+            connectionStats.bindTo(meterRegistry);
+        } else {
+            connectionStats = null;
+        }
     }
 
     /**
@@ -238,6 +267,10 @@ final class HttpClientFactory implements ClientFactory {
         return http2StreamWindowUpdateRatio;
     }
 
+    int http2WindowAutotuningMaxSize() {
+        return http2WindowAutotuningMaxSize;
+    }
+
     int http2MaxFrameSize() {
         return http2MaxFrameSize;
     }
@@ -286,6 +319,23 @@ final class HttpClientFactory implements ClientFactory {
         return useHttp2WithoutAlpn;
     }
 
+    int http2ConnectionsPerEndpoint() {
+        return http2ConnectionsPerEndpoint;
+    }
+
+    Http2ConnectionSelectionStrategy http2ConnectionSelectionStrategy() {
+        return http2ConnectionSelectionStrategy;
+    }
+
+    /**
+     * Returns the {@link Http2ConnectionPoolMetrics}, or {@code null} if the pooled HTTP/2 connections are
+     * not balanced.
+     */
+    @Nullable
+    Http2ConnectionPoolMetrics http2ConnectionPoolMetrics() {
+        return http2ConnectionPoolMetrics;
+    }
+
     boolean useHttp1Pipelining() {
         return useHttp1Pipelining;
     }
@@ -311,6 +361,11 @@ final class HttpClientFactory implements ClientFactory {
         return addressResolverGroup;
     }
 
+    @Nullable
+    ConnectionStatsRegistry connectionStats() {
+        return connectionStats;
+    }
+
     Consumer<? super ChannelPipeline> channelPipelineCustomizer() {
         return channelPipelineCustomizer;
     }
@@ -512,6 +567,14 @@ final class HttpClientFactory implements ClientFactory {
                                                               sslContextFactory, connectionPoolListener()));
     }
 
+    /**
+     * Returns the {@link HttpChannelPool} bound to the specified {@link EventLoop} if it has been created.
+     */
+    @Nullable
+    HttpChannelPool poolIfExists(EventLoop eventLoop) {
+        return pools.get(eventLoop);
+    }
+
     @VisibleForTesting
     ClientSslContextFactory sslContextFactory() {
         return sslContextFactory;
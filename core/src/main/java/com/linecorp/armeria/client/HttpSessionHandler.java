@@ -54,6 +54,7 @@ import com.linecorp.armeria.common.util.SafeCloseable;
 import com.linecorp.armeria.internal.client.DecodedHttpResponse;
 import com.linecorp.armeria.internal.client.HttpSession;
 import com.linecorp.armeria.internal.client.PooledChannel;
+import com.linecorp.armeria.internal.common.ConnectionStats;
 import com.linecorp.armeria.internal.common.Http2GoAwayHandler;
 import com.linecorp.armeria.internal.common.InboundTrafficController;
 import com.linecorp.armeria.internal.common.KeepAliveHandler;
@@ -159,6 +160,10 @@ final class HttpSessionHandler extends ChannelDuplexHandler implements HttpSessi
             outlierDetector = null;
             outlierRule = null;
         }
+        final ConnectionStats connectionStats = ConnectionStats.get(channel);
+        if (connectionStats != null) {
+            connectionStats.activeStreams(this::numUnfinishedResponses);
+        }
 
         if (!poolKey.proxyConfig.proxyType().isForwardProxy()) {
             scheduleSessionTimeout(channel, sessionPromise, connectionTimeoutMillis, desiredProtocol);
@@ -214,6 +219,20 @@ final class HttpSessionHandler extends ChannelDuplexHandler implements HttpSessi
         return responseDecoder.reserveUnfinishedResponse(maxUnfinishedResponses);
     }
 
+    @Override
+    public void decrementNumUnfinishedResponses() {
+        assert responseDecoder != null;
+        responseDecoder.decrementUnfinishedResponses();
+    }
+
+    @Override
+    public int numUnfinishedResponses() {
+        if (responseDecoder == null) {
+            return 0;
+        }
+        return responseDecoder.unfinishedResponses();
+    }
+
     @Override
     public boolean canSendRequest() {
         assert responseDecoder != null;
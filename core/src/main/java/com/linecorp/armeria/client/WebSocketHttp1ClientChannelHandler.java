@@ -121,6 +121,11 @@ final class WebSocketHttp1ClientChannelHandler extends ChannelDuplexHandler impl
         return res != null;
     }
 
+    @Override
+    public int unfinishedResponses() {
+        return res != null ? 1 : 0;
+    }
+
     @Override
     public boolean reserveUnfinishedResponse(int unused) {
         return true;
@@ -0,0 +1,427 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client.cache;
+
+import static com.linecorp.armeria.internal.client.ClientUtil.executeWithFallback;
+import static com.linecorp.armeria.internal.common.HttpCacheUtil.ageNanos;
+import static com.linecorp.armeria.internal.common.HttpCacheUtil.freshnessLifetimeNanos;
+import static com.linecorp.armeria.internal.common.HttpCacheUtil.isCacheableStatus;
+import static com.linecorp.armeria.internal.common.HttpCacheUtil.matchesSelectedHeaders;
+import static com.linecorp.armeria.internal.common.HttpCacheUtil.parseResponseDirectives;
+import static com.linecorp.armeria.internal.common.HttpCacheUtil.selectedHeaders;
+import static com.linecorp.armeria.internal.common.HttpCacheUtil.updateHeaders;
+import static com.linecorp.armeria.internal.common.HttpCacheUtil.varyHeaderNames;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.linecorp.armeria.client.ClientRequestContext;
+import com.linecorp.armeria.client.HttpClient;
+import com.linecorp.armeria.client.SimpleDecoratingHttpClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.ClientCacheControl;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.RequestHeadersBuilder;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+import com.linecorp.armeria.common.cache.CachedResponse;
+import com.linecorp.armeria.common.cache.ResponseCacheStore;
+import com.linecorp.armeria.common.logging.RequestLogBuilder;
+import com.linecorp.armeria.common.util.Exceptions;
+import com.linecorp.armeria.common.util.Ticker;
+import com.linecorp.armeria.internal.common.HttpCacheUtil.ResponseCacheDirectives;
+
+import io.netty.util.AsciiString;
+
+/**
+ * Decorates an {@link HttpClient} to serve the responses of {@code GET} requests from
+ * a {@link ResponseCacheStore} while they are fresh, following the semantics of a private cache defined in
+ * <a href="https://datatracker.ietf.org/doc/html/rfc9111">RFC 9111</a>:
+ * <ul>
+ *   <li>The freshness of a response is determined by its {@code "cache-control: max-age"} or
+ *       {@code "expires"} header, and a response is selected by its {@code "vary"} header.</li>
+ *   <li>A stale response with an {@code "etag"} or a {@code "last-modified"} header is revalidated with
+ *       a conditional request, and is served again if the server responds with {@code 304 Not Modified}.</li>
+ *   <li>A stale response within its {@code "stale-while-revalidate"} window is served immediately while
+ *       it's revalidated in the background.</li>
+ *   <li>Concurrent requests to the same resource which are not served from the cache share
+ *       one request to the server.</li>
+ * </ul>
+ * The {@code "no-cache"}, {@code "no-store"}, {@code "max-age"}, {@code "min-fresh"} and
+ * {@code "only-if-cached"} directives of a request are honored. The response of a cacheable request is
+ * aggregated before it's returned, so a request which may receive a large response should not be sent via
+ * a {@link CachingClient}. Note that the {@link ClientRequestContext#log()} of a request served from
+ * the cache contains only the served response, and that of a revalidated request contains the
+ * {@code 304 Not Modified} response received from the server.
+ */
+@UnstableApi
+public final class CachingClient extends SimpleDecoratingHttpClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingClient.class);
+
+    private static final AsciiString ANY = AsciiString.cached("*");
+
+    /**
+     * Returns a new {@link HttpClient} decorator which caches the responses in a new
+     * {@link ResponseCacheStore#ofHeap(long)} with the maximum size of 64 MiB.
+     */
+    public static Function<? super HttpClient, CachingClient> newDecorator() {
+        return builder().newDecorator();
+    }
+
+    /**
+     * Returns a new {@link HttpClient} decorator which caches the responses in the specified
+     * {@link ResponseCacheStore}.
+     */
+    public static Function<? super HttpClient, CachingClient> newDecorator(ResponseCacheStore store) {
+        requireNonNull(store, "store");
+        return builder().store(store).newDecorator();
+    }
+
+    /**
+     * Returns a new {@link CachingClientBuilder}.
+     */
+    public static CachingClientBuilder builder() {
+        return new CachingClientBuilder();
+    }
+
+    private final ResponseCacheStore store;
+    private final Ticker ticker;
+    private final CachingClientMetrics metrics;
+    private final ConcurrentMap<String, CompletableFuture<CachedResponse>> inflights =
+            new ConcurrentHashMap<>();
+
+    CachingClient(HttpClient delegate, ResponseCacheStore store, Ticker ticker,
+                  CachingClientMetrics metrics) {
+        super(delegate);
+        this.store = store;
+        this.ticker = ticker;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public HttpResponse execute(ClientRequestContext ctx, HttpRequest req) throws Exception {
+        final RequestHeaders headers = req.headers();
+        final String key = cacheKey(ctx, req);
+        if (key == null) {
+            return unwrap().execute(ctx, req);
+        }
+        final ClientCacheControl cacheControl =
+                ClientCacheControl.parse(headers.getAll(HttpHeaderNames.CACHE_CONTROL));
+        if (cacheControl.noStore()) {
+            return unwrap().execute(ctx, req);
+        }
+
+        CachedResponse cached = toUnpooled(store.get(key));
+        if (cached != null && !matches(cached, headers)) {
+            // Stored for a request with different selecting headers.
+            cached = null;
+        }
+
+        if (cached != null && !cacheControl.noCache()) {
+            final long now = ticker.read();
+            final ResponseHeaders storedHeaders = cached.response().headers();
+            final ResponseCacheDirectives directives = parseResponseDirectives(storedHeaders);
+            final long ageNanos = ageNanos(storedHeaders) + now - cached.storedAtNanos();
+            long lifetimeNanos = directives.noCache() ? 0 : freshnessLifetimeNanos(storedHeaders, directives,
+                                                                                  false);
+            if (cacheControl.maxAgeSeconds() >= 0) {
+                lifetimeNanos = Math.min(lifetimeNanos, TimeUnit.SECONDS.toNanos(cacheControl.maxAgeSeconds()));
+            }
+            final long minFreshNanos = TimeUnit.SECONDS.toNanos(Math.max(cacheControl.minFreshSeconds(), 0));
+            if (ageNanos + minFreshNanos < lifetimeNanos) {
+                metrics.onHit();
+                return serve(ctx, req, cached.response(), ageNanos);
+            }
+            if (ageNanos < lifetimeNanos + directives.staleWhileRevalidateNanos()) {
+                metrics.onStaleHit();
+                revalidateInBackground(ctx, key, headers, cached);
+                return serve(ctx, req, cached.response(), ageNanos);
+            }
+        }
+
+        if (cacheControl.onlyIfCached()) {
+            return serve(ctx, req, AggregatedHttpResponse.of(HttpStatus.GATEWAY_TIMEOUT), 0);
+        }
+        return fetch(ctx, req, key, cached);
+    }
+
+    /**
+     * Returns the key of the specified request in the {@link ResponseCacheStore}, or {@code null} if
+     * the response of the request must not be cached.
+     */
+    @Nullable
+    private static String cacheKey(ClientRequestContext ctx, HttpRequest req) {
+        final RequestHeaders headers = req.headers();
+        if (headers.method() != HttpMethod.GET || !req.isEmpty()) {
+            return null;
+        }
+        if (headers.contains(HttpHeaderNames.RANGE) ||
+            headers.contains(HttpHeaderNames.IF_NONE_MATCH) ||
+            headers.contains(HttpHeaderNames.IF_MODIFIED_SINCE) ||
+            headers.contains(HttpHeaderNames.IF_MATCH) ||
+            headers.contains(HttpHeaderNames.IF_UNMODIFIED_SINCE) ||
+            headers.contains(HttpHeaderNames.IF_RANGE)) {
+            // A partial or conditional response is meant for the caller only.
+            return null;
+        }
+        final String authority = ctx.authority();
+        if (authority == null) {
+            return null;
+        }
+        final String query = ctx.query();
+        final String scheme = ctx.sessionProtocol().isTls() ? "https://" : "http://";
+        if (query == null) {
+            return scheme + authority + ctx.path();
+        }
+        return scheme + authority + ctx.path() + '?' + query;
+    }
+
+    /**
+     * Copies the content of the specified {@link CachedResponse} into the heap if it's pooled, because
+     * a cached response may be shared with the concurrent requests and stored again after revalidation.
+     */
+    @Nullable
+    private static CachedResponse toUnpooled(@Nullable CachedResponse cached) {
+        if (cached == null || !cached.response().content().isPooled()) {
+            return cached;
+        }
+        final AggregatedHttpResponse res = cached.response();
+        final HttpData content;
+        try (HttpData pooled = res.content()) {
+            content = HttpData.wrap(pooled.array());
+        }
+        return CachedResponse.of(AggregatedHttpResponse.of(res.informationals(), res.headers(), content,
+                                                           res.trailers()),
+                                 cached.requestHeaders(), cached.storedAtNanos());
+    }
+
+    private static boolean matches(CachedResponse cached, RequestHeaders headers) {
+        return matchesSelectedHeaders(headers, cached.requestHeaders(),
+                                      varyHeaderNames(cached.response().headers()));
+    }
+
+    /**
+     * Sends the specified request to the server, or waits for the response of the concurrent request to
+     * the same resource.
+     */
+    private HttpResponse fetch(ClientRequestContext ctx, HttpRequest req, String key,
+                               @Nullable CachedResponse stale) {
+        final CompletableFuture<CachedResponse> future = new CompletableFuture<>();
+        final CompletableFuture<CachedResponse> inflight = inflights.putIfAbsent(key, future);
+        if (inflight != null) {
+            return HttpResponse.of(inflight.handleAsync((cached, unused) -> {
+                if (cached != null && matches(cached, req.headers())) {
+                    metrics.onCoalescedHit();
+                    return serve(ctx, req, cached.response(), ageNanos(cached.response().headers()));
+                }
+                // The response of the other request can't be shared with this request.
+                metrics.onMiss();
+                return executeWithFallback(unwrap(), ctx, (context, cause) -> HttpResponse.ofFailure(cause),
+                                           req, false);
+            }, ctx.eventLoop()));
+        }
+
+        metrics.onMiss();
+        final RequestHeaders headers = req.headers();
+        final HttpRequest actualReq;
+        if (stale != null && hasValidator(stale.response().headers())) {
+            actualReq = req.withHeaders(conditionalHeaders(headers, stale.response().headers()));
+            ctx.updateRequest(actualReq);
+        } else {
+            actualReq = req;
+            stale = null;
+        }
+
+        final HttpResponse res;
+        try {
+            res = unwrap().execute(ctx, actualReq);
+        } catch (Throwable t) {
+            complete(key, future, null);
+            return Exceptions.throwUnsafely(t);
+        }
+
+        final CachedResponse revalidated = stale;
+        return HttpResponse.of(res.aggregate().handle((aggregated, cause) -> {
+            if (cause != null) {
+                complete(key, future, null);
+                return HttpResponse.ofFailure(cause);
+            }
+            final CachedResponse stored = store(key, headers, revalidated, aggregated);
+            complete(key, future, stored);
+            if (revalidated != null && stored != null && aggregated.status() == HttpStatus.NOT_MODIFIED) {
+                return stored.response().toHttpResponse();
+            }
+            return aggregated.toHttpResponse();
+        }));
+    }
+
+    /**
+     * Revalidates the specified stale response with a new request whose log is not recorded in the log of
+     * the current request.
+     */
+    private void revalidateInBackground(ClientRequestContext ctx, String key, RequestHeaders headers,
+                                        CachedResponse stale) {
+        final CompletableFuture<CachedResponse> future = new CompletableFuture<>();
+        if (inflights.putIfAbsent(key, future) != null) {
+            // Being fetched already.
+            return;
+        }
+
+        final ResponseHeaders storedHeaders = stale.response().headers();
+        final RequestHeaders revalidationHeaders;
+        final CachedResponse revalidated;
+        if (hasValidator(storedHeaders)) {
+            revalidationHeaders = conditionalHeaders(headers, storedHeaders);
+            revalidated = stale;
+        } else {
+            revalidationHeaders = headers;
+            revalidated = null;
+        }
+
+        final HttpRequest req = HttpRequest.of(revalidationHeaders);
+        final ClientRequestContext derivedCtx;
+        try {
+            derivedCtx = ctx.newDerivedContext(ctx.options().requestIdGenerator().get(), req, null,
+                                               ctx.endpoint());
+        } catch (Throwable t) {
+            logger.warn("{} Failed to create a context for revalidating a cached response: {}", ctx, key, t);
+            complete(key, future, null);
+            return;
+        }
+
+        final HttpResponse res = executeWithFallback(unwrap(), derivedCtx,
+                                                     (context, cause) -> HttpResponse.ofFailure(cause),
+                                                     req, true);
+        res.aggregate().handle((aggregated, cause) -> {
+            if (cause != null) {
+                logger.debug("{} Failed to revalidate a cached response: {}", derivedCtx, key, cause);
+                complete(key, future, null);
+            } else {
+                complete(key, future, store(key, headers, revalidated, aggregated));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Stores the specified response if it's cacheable, and returns the stored {@link CachedResponse}.
+     */
+    @Nullable
+    private CachedResponse store(String key, RequestHeaders headers, @Nullable CachedResponse revalidated,
+                                 AggregatedHttpResponse res) {
+        final long now = ticker.read();
+        if (revalidated != null) {
+            final boolean notModified = res.status() == HttpStatus.NOT_MODIFIED;
+            metrics.onRevalidated(notModified);
+            if (notModified) {
+                final AggregatedHttpResponse stored = revalidated.response();
+                final ResponseHeaders updatedHeaders = updateHeaders(stored.headers(), res.headers());
+                final CachedResponse updated = CachedResponse.of(
+                        AggregatedHttpResponse.of(updatedHeaders, stored.content(), stored.trailers()),
+                        revalidated.requestHeaders(), now);
+                store.put(key, updated);
+                return updated;
+            }
+        }
+
+        final ResponseHeaders resHeaders = res.headers();
+        final ResponseCacheDirectives directives = parseResponseDirectives(resHeaders);
+        final Set<AsciiString> varyHeaderNames = varyHeaderNames(resHeaders);
+        if (!isStorable(resHeaders, directives, varyHeaderNames)) {
+            // The previously stored response must not be served anymore.
+            store.remove(key);
+            return null;
+        }
+        final CachedResponse cached = CachedResponse.of(res, selectedHeaders(headers, varyHeaderNames), now);
+        store.put(key, cached);
+        return cached;
+    }
+
+    private static boolean isStorable(ResponseHeaders headers, ResponseCacheDirectives directives,
+                                      Set<AsciiString> varyHeaderNames) {
+        final HttpStatus status = headers.status();
+        if (directives.noStore() || varyHeaderNames.contains(ANY) ||
+            status == HttpStatus.PARTIAL_CONTENT || status == HttpStatus.NOT_MODIFIED) {
+            return false;
+        }
+        if (directives.hasMaxAge() || headers.contains(HttpHeaderNames.EXPIRES)) {
+            return true;
+        }
+        // A response without an explicit freshness lifetime is useful only if it can be revalidated.
+        return isCacheableStatus(status) && hasValidator(headers);
+    }
+
+    private static boolean hasValidator(ResponseHeaders headers) {
+        return headers.contains(HttpHeaderNames.ETAG) || headers.contains(HttpHeaderNames.LAST_MODIFIED);
+    }
+
+    private static RequestHeaders conditionalHeaders(RequestHeaders headers, ResponseHeaders storedHeaders) {
+        final RequestHeadersBuilder builder = headers.toBuilder();
+        final String etag = storedHeaders.get(HttpHeaderNames.ETAG);
+        if (etag != null) {
+            builder.set(HttpHeaderNames.IF_NONE_MATCH, etag);
+        }
+        final String lastModified = storedHeaders.get(HttpHeaderNames.LAST_MODIFIED);
+        if (lastModified != null) {
+            builder.set(HttpHeaderNames.IF_MODIFIED_SINCE, lastModified);
+        }
+        return builder.build();
+    }
+
+    private void complete(String key, CompletableFuture<CachedResponse> future,
+                          @Nullable CachedResponse cached) {
+        inflights.remove(key, future);
+        future.complete(cached);
+    }
+
+    /**
+     * Completes the log of the specified {@link ClientRequestContext} and returns the specified response
+     * without sending the specified {@link HttpRequest}, which is aborted.
+     */
+    private static HttpResponse serve(ClientRequestContext ctx, HttpRequest req, AggregatedHttpResponse res,
+                                      long ageNanos) {
+        // Close the request stream which is never subscribed.
+        req.abort();
+        final ResponseHeaders headers =
+                res.headers().toBuilder()
+                   .setLong(HttpHeaderNames.AGE, TimeUnit.NANOSECONDS.toSeconds(Math.max(ageNanos, 0)))
+                   .build();
+        final RequestLogBuilder logBuilder = ctx.logBuilder();
+        logBuilder.endRequest();
+        logBuilder.responseHeaders(headers);
+        if (!res.trailers().isEmpty()) {
+            logBuilder.responseTrailers(res.trailers());
+        }
+        logBuilder.endResponse();
+        return AggregatedHttpResponse.of(headers, res.content(), res.trailers()).toHttpResponse();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client.cache;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.Function;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import com.linecorp.armeria.client.HttpClient;
+import com.linecorp.armeria.common.Flags;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+import com.linecorp.armeria.common.cache.ResponseCacheStore;
+import com.linecorp.armeria.common.metric.MeterIdPrefix;
+import com.linecorp.armeria.common.util.Ticker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Builds a new {@link CachingClient} or its decorator function.
+ */
+@UnstableApi
+public final class CachingClientBuilder {
+
+    /**
+     * The default maximum size of the {@link ResponseCacheStore}, which is 64 MiB.
+     */
+    static final long DEFAULT_MAX_SIZE_BYTES = 64 * 1024 * 1024;
+
+    private static final MeterIdPrefix DEFAULT_METER_ID_PREFIX = new MeterIdPrefix("armeria.client.cache");
+
+    @Nullable
+    private ResponseCacheStore store;
+    private MeterRegistry meterRegistry = Flags.meterRegistry();
+    private MeterIdPrefix meterIdPrefix = DEFAULT_METER_ID_PREFIX;
+    private Ticker ticker = Ticker.systemTicker();
+
+    CachingClientBuilder() {}
+
+    /**
+     * Sets the {@link ResponseCacheStore} which stores the responses. If unspecified,
+     * {@link ResponseCacheStore#ofHeap(long)} with the maximum size of 64 MiB is used.
+     */
+    public CachingClientBuilder store(ResponseCacheStore store) {
+        this.store = requireNonNull(store, "store");
+        return this;
+    }
+
+    /**
+     * Sets the {@link MeterRegistry} which collects the number of cache hits, misses and revalidations.
+     * If unspecified, {@link Flags#meterRegistry()} is used.
+     */
+    public CachingClientBuilder meterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = requireNonNull(meterRegistry, "meterRegistry");
+        return this;
+    }
+
+    /**
+     * Sets the {@link MeterIdPrefix} of the collected metrics. If unspecified,
+     * {@code "armeria.client.cache"} is used.
+     */
+    public CachingClientBuilder meterIdPrefix(MeterIdPrefix meterIdPrefix) {
+        this.meterIdPrefix = requireNonNull(meterIdPrefix, "meterIdPrefix");
+        return this;
+    }
+
+    @VisibleForTesting
+    CachingClientBuilder ticker(Ticker ticker) {
+        this.ticker = requireNonNull(ticker, "ticker");
+        return this;
+    }
+
+    /**
+     * Returns a newly-created {@link CachingClient} based on the properties of this builder.
+     */
+    public CachingClient build(HttpClient delegate) {
+        requireNonNull(delegate, "delegate");
+        return new CachingClient(delegate, store(), ticker, metrics());
+    }
+
+    /**
+     * Returns a newly-created decorator that decorates an {@link HttpClient} with a new {@link CachingClient}
+     * based on the properties of this builder. The {@link CachingClient}s created by the decorator share
+     * the same {@link ResponseCacheStore}.
+     */
+    public Function<? super HttpClient, CachingClient> newDecorator() {
+        final ResponseCacheStore store = store();
+        final CachingClientMetrics metrics = metrics();
+        final Ticker ticker = this.ticker;
+        return delegate -> new CachingClient(delegate, store, ticker, metrics);
+    }
+
+    private ResponseCacheStore store() {
+        if (store != null) {
+            return store;
+        }
+        return ResponseCacheStore.ofHeap(DEFAULT_MAX_SIZE_BYTES);
+    }
+
+    private CachingClientMetrics metrics() {
+        return new CachingClientMetrics(meterRegistry, meterIdPrefix);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client.cache;
+
+import com.linecorp.armeria.common.metric.MeterIdPrefix;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts how the requests to a {@link CachingClient} were served.
+ */
+final class CachingClientMetrics {
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter coalescedHits;
+    private final Counter misses;
+    private final Counter unmodified;
+    private final Counter modified;
+
+    CachingClientMetrics(MeterRegistry registry, MeterIdPrefix idPrefix) {
+        final String requests = idPrefix.name("requests");
+        hits = registry.counter(requests, idPrefix.tags("result", "hit"));
+        staleHits = registry.counter(requests, idPrefix.tags("result", "stale"));
+        coalescedHits = registry.counter(requests, idPrefix.tags("result", "coalesced"));
+        misses = registry.counter(requests, idPrefix.tags("result", "miss"));
+
+        final String revalidations = idPrefix.name("revalidations");
+        unmodified = registry.counter(revalidations, idPrefix.tags("result", "unmodified"));
+        modified = registry.counter(revalidations, idPrefix.tags("result", "modified"));
+    }
+
+    /**
+     * Invoked when a fresh response was served from the cache.
+     */
+    void onHit() {
+        hits.increment();
+    }
+
+    /**
+     * Invoked when a stale response was served from the cache while it's revalidated in the background.
+     */
+    void onStaleHit() {
+        staleHits.increment();
+    }
+
+    /**
+     * Invoked when a request was served with the response of another concurrent request.
+     */
+    void onCoalescedHit() {
+        coalescedHits.increment();
+    }
+
+    /**
+     * Invoked when a request was sent to the server, including a conditional request.
+     */
+    void onMiss() {
+        misses.increment();
+    }
+
+    /**
+     * Invoked when a stale response was revalidated with a conditional request.
+     */
+    void onRevalidated(boolean notModified) {
+        if (notModified) {
+            unmodified.increment();
+        } else {
+            modified.increment();
+        }
+    }
+}
@@ -99,6 +99,17 @@ public interface EndpointSelectionStrategy {
         return new StickyEndpointSelectionStrategy(requestContextHasher);
     }
 
+    /**
+     * Returns a new {@link ZoneAwareStrategyBuilder} that builds a zone-aware
+     * {@link EndpointSelectionStrategy} which prefers the {@link Endpoint}s in the specified
+     * {@code localZone} and spills the requests over to the other zones when the local zone is not healthy
+     * enough.
+     */
+    @UnstableApi
+    static ZoneAwareStrategyBuilder builderForZoneAware(String localZone) {
+        return new ZoneAwareStrategyBuilder(localZone);
+    }
+
     /**
      * Creates a new {@link EndpointSelector} that selects an {@link Endpoint} from the specified
      * {@link EndpointGroup}.
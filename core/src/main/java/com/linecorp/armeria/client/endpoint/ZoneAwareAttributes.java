@@ -0,0 +1,39 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client.endpoint;
+
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+
+import io.netty.util.AttributeKey;
+
+/**
+ * The {@link AttributeKey}s of the {@link Endpoint} attributes read by the zone-aware
+ * {@link EndpointSelectionStrategy}.
+ *
+ * @see EndpointSelectionStrategy#builderForZoneAware(String)
+ */
+@UnstableApi
+public final class ZoneAwareAttributes {
+
+    /**
+     * The {@link AttributeKey} of the zone of an {@link Endpoint}.
+     */
+    public static final AttributeKey<String> ZONE =
+            AttributeKey.valueOf(ZoneAwareAttributes.class, "ZONE");
+
+    private ZoneAwareAttributes() {}
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.client.endpoint;
+
+import static com.linecorp.armeria.internal.client.endpoint.EndpointAttributeKeys.healthy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import com.linecorp.armeria.client.ClientRequestContext;
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.loadbalancer.LoadBalancer;
+import com.linecorp.armeria.common.loadbalancer.SimpleLoadBalancer;
+import com.linecorp.armeria.common.metric.MeterIdPrefix;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * A zone-aware {@link EndpointSelectionStrategy} which prefers the {@link Endpoint}s in the local zone.
+ * See {@link ZoneAwareStrategyBuilder} for the details.
+ */
+final class ZoneAwareStrategy implements EndpointSelectionStrategy {
+
+    private static final String UNKNOWN_ZONE = "unknown";
+
+    private final String localZone;
+    private final Function<? super Endpoint, @Nullable String> zoneFunction;
+    private final double healthyThreshold;
+    private final int minLocalEndpoints;
+    private final MeterRegistry meterRegistry;
+    private final MeterIdPrefix meterIdPrefix;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    ZoneAwareStrategy(String localZone, Function<? super Endpoint, @Nullable String> zoneFunction,
+                      double healthyThreshold, int minLocalEndpoints, MeterRegistry meterRegistry,
+                      MeterIdPrefix meterIdPrefix) {
+        this.localZone = localZone;
+        this.zoneFunction = zoneFunction;
+        this.healthyThreshold = healthyThreshold;
+        this.minLocalEndpoints = minLocalEndpoints;
+        this.meterRegistry = meterRegistry;
+        this.meterIdPrefix = meterIdPrefix;
+    }
+
+    @Override
+    public EndpointSelector newSelector(EndpointGroup endpointGroup) {
+        return new ZoneAwareEndpointSelector(endpointGroup);
+    }
+
+    private Counter counter(String zone) {
+        return counters.computeIfAbsent(zone, key -> {
+            return meterRegistry.counter(meterIdPrefix.name("selections"),
+                                         meterIdPrefix.tags("zone", key,
+                                                            "local", String.valueOf(localZone.equals(key))));
+        });
+    }
+
+    /**
+     * Computes the share of the requests which should be sent to the local zone.
+     */
+    @VisibleForTesting
+    static double localShare(int numLocal, int numHealthyLocal, int numHealthyRemote,
+                             double healthyThreshold, int minLocalEndpoints) {
+        if (numHealthyLocal == 0 || numHealthyLocal < minLocalEndpoints) {
+            return 0;
+        }
+        if (numHealthyRemote == 0) {
+            return 1;
+        }
+        final double healthyRatio = (double) numHealthyLocal / numLocal;
+        if (healthyRatio >= healthyThreshold) {
+            return 1;
+        }
+        return healthyRatio / healthyThreshold;
+    }
+
+    private final class ZoneAwareEndpointSelector extends AbstractEndpointSelector {
+
+        @Nullable
+        private volatile State state;
+
+        ZoneAwareEndpointSelector(EndpointGroup endpointGroup) {
+            super(endpointGroup);
+            initialize();
+        }
+
+        @Override
+        protected void updateNewEndpoints(List<Endpoint> endpoints) {
+            final List<Endpoint> local = new ArrayList<>();
+            final List<Endpoint> remote = new ArrayList<>();
+            int numLocal = 0;
+            for (Endpoint endpoint : endpoints) {
+                final boolean isLocal = localZone.equals(zoneFunction.apply(endpoint));
+                if (isLocal) {
+                    numLocal++;
+                }
+                if (Boolean.FALSE.equals(healthy(endpoint))) {
+                    continue;
+                }
+                if (isLocal) {
+                    local.add(endpoint);
+                } else {
+                    remote.add(endpoint);
+                }
+            }
+
+            if (local.isEmpty() && remote.isEmpty()) {
+                // All endpoints are unhealthy. Use all endpoints rather than failing every request.
+                state = new State(null, LoadBalancer.ofWeightedRoundRobin(endpoints), 0);
+                return;
+            }
+            final double localShare = localShare(numLocal, local.size(), remote.size(),
+                                                 healthyThreshold, minLocalEndpoints);
+            state = new State(local.isEmpty() ? null : LoadBalancer.ofWeightedRoundRobin(local),
+                              remote.isEmpty() ? null : LoadBalancer.ofWeightedRoundRobin(remote),
+                              localShare);
+        }
+
+        @Nullable
+        @Override
+        public Endpoint selectNow(ClientRequestContext ctx) {
+            final State state = this.state;
+            if (state == null) {
+                return null;
+            }
+            final Endpoint endpoint = state.pick();
+            if (endpoint != null) {
+                final String zone = zoneFunction.apply(endpoint);
+                counter(zone != null ? zone : UNKNOWN_ZONE).increment();
+            }
+            return endpoint;
+        }
+    }
+
+    private static final class State {
+
+        @Nullable
+        private final SimpleLoadBalancer<Endpoint> local;
+        @Nullable
+        private final SimpleLoadBalancer<Endpoint> remote;
+        private final double localShare;
+
+        State(@Nullable SimpleLoadBalancer<Endpoint> local, @Nullable SimpleLoadBalancer<Endpoint> remote,
+              double localShare) {
+            this.local = local;
+            this.remote = remote;
+            this.localShare = localShare;
+        }
+
+        @Nullable
+        Endpoint pick() {
+            if (local == null) {
+                assert remote != null;
+                return remote.pick();
+            }
+            if (remote == null || localShare >= 1 ||
+                (localShare > 0 && ThreadLocalRandom.current().nextDouble() < localShare)) {
+                return local.pick();
+            }
+            return remote.pick();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.client.endpoint;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.Function;
+
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.common.Flags;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+import com.linecorp.armeria.common.metric.MeterIdPrefix;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Builds a zone-aware {@link EndpointSelectionStrategy} which prefers the {@link Endpoint}s in the local zone
+ * and spills the traffic over to the other zones when the local zone is not healthy enough.
+ *
+ * <p>The zone of an {@link Endpoint} is read from the {@link ZoneAwareAttributes#ZONE} attribute by default:
+ * <pre>{@code
+ * EndpointGroup group = EndpointGroup.of(
+ *         EndpointSelectionStrategy.builderForZoneAware("us-east-1a").build(),
+ *         Endpoint.of("10.0.0.1", 8080).withAttr(ZoneAwareAttributes.ZONE, "us-east-1a"),
+ *         Endpoint.of("10.0.1.1", 8080).withAttr(ZoneAwareAttributes.ZONE, "us-east-1b"));
+ * }</pre>
+ *
+ * <p>The {@link Endpoint}s in the local zone receive all requests as long as the ratio of the healthy
+ * {@link Endpoint}s in the local zone is equal to or greater than the {@link #healthyThreshold(double)}.
+ * Below the threshold, the local zone receives the share of requests proportional to its health, i.e.
+ * {@code healthyRatio / healthyThreshold}, and the rest is sent to the other zones. An {@link Endpoint} is
+ * considered unhealthy only if it has the health check attribute set to {@code false}, which is the case
+ * when a {@code HealthCheckedEndpointGroup} is configured to emit unhealthy {@link Endpoint}s as well.
+ */
+@UnstableApi
+public final class ZoneAwareStrategyBuilder {
+
+    private static final double DEFAULT_HEALTHY_THRESHOLD = 0.7;
+    private static final MeterIdPrefix DEFAULT_METER_ID_PREFIX =
+            new MeterIdPrefix("armeria.client.endpoint.zone.aware");
+
+    private final String localZone;
+    private Function<? super Endpoint, @Nullable String> zoneFunction =
+            endpoint -> endpoint.attr(ZoneAwareAttributes.ZONE);
+    private double healthyThreshold = DEFAULT_HEALTHY_THRESHOLD;
+    private int minLocalEndpoints = 1;
+    private MeterRegistry meterRegistry = Flags.meterRegistry();
+    private MeterIdPrefix meterIdPrefix = DEFAULT_METER_ID_PREFIX;
+
+    ZoneAwareStrategyBuilder(String localZone) {
+        this.localZone = requireNonNull(localZone, "localZone");
+    }
+
+    /**
+     * Sets the {@link Function} that returns the zone of an {@link Endpoint}. The {@link Endpoint}s whose
+     * zone is {@code null} are considered to be in a remote zone.
+     * If unspecified, the value of the {@link ZoneAwareAttributes#ZONE} attribute is used.
+     */
+    public ZoneAwareStrategyBuilder zoneFunction(Function<? super Endpoint, @Nullable String> zoneFunction) {
+        this.zoneFunction = requireNonNull(zoneFunction, "zoneFunction");
+        return this;
+    }
+
+    /**
+     * Sets the ratio of the healthy {@link Endpoint}s in the local zone below which the requests start to
+     * spill over to the other zones. {@code 0} disables the spillover unless there's no healthy
+     * {@link Endpoint} in the local zone. If unspecified, {@value DEFAULT_HEALTHY_THRESHOLD} is used.
+     */
+    public ZoneAwareStrategyBuilder healthyThreshold(double healthyThreshold) {
+        checkArgument(healthyThreshold >= 0 && healthyThreshold <= 1,
+                      "healthyThreshold: %s (expected: 0 <= healthyThreshold <= 1)", healthyThreshold);
+        this.healthyThreshold = healthyThreshold;
+        return this;
+    }
+
+    /**
+     * Sets the minimum number of the healthy {@link Endpoint}s in the local zone. If the local zone has fewer
+     * healthy {@link Endpoint}s, all requests are sent to the other zones. If unspecified, {@code 1} is used.
+     */
+    public ZoneAwareStrategyBuilder minLocalEndpoints(int minLocalEndpoints) {
+        checkArgument(minLocalEndpoints > 0, "minLocalEndpoints: %s (expected: > 0)", minLocalEndpoints);
+        this.minLocalEndpoints = minLocalEndpoints;
+        return this;
+    }
+
+    /**
+     * Sets the {@link MeterRegistry} which records the number of selections per zone.
+     * If unspecified, {@link Flags#meterRegistry()} is used.
+     */
+    public ZoneAwareStrategyBuilder meterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = requireNonNull(meterRegistry, "meterRegistry");
+        return this;
+    }
+
+    /**
+     * Sets the {@link MeterIdPrefix} of the selection metrics. The number of selections is recorded with
+     * the {@code <prefix>.selections} counter tagged with {@code zone} and {@code local}.
+     * If unspecified, {@code armeria.client.endpoint.zone.aware} is used.
+     */
+    public ZoneAwareStrategyBuilder meterIdPrefix(MeterIdPrefix meterIdPrefix) {
+        this.meterIdPrefix = requireNonNull(meterIdPrefix, "meterIdPrefix");
+        return this;
+    }
+
+    /**
+     * Returns a newly-created zone-aware {@link EndpointSelectionStrategy}.
+     */
+    public EndpointSelectionStrategy build() {
+        return new ZoneAwareStrategy(localZone, zoneFunction, healthyThreshold, minLocalEndpoints,
+                                     meterRegistry, meterIdPrefix);
+    }
+}
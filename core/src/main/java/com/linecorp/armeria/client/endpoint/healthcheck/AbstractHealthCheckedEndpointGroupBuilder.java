@@ -34,6 +34,8 @@ import com.linecorp.armeria.client.ClientOptions;
 import com.linecorp.armeria.client.ClientOptionsBuilder;
 import com.linecorp.armeria.client.ClientRequestContext;
 import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.client.ResponseTimeoutException;
+import com.linecorp.armeria.client.UnprocessedRequestException;
 import com.linecorp.armeria.client.endpoint.AbstractDynamicEndpointGroupBuilder;
 import com.linecorp.armeria.client.endpoint.EndpointGroup;
 import com.linecorp.armeria.client.retry.Backoff;
@@ -44,7 +46,9 @@ import com.linecorp.armeria.common.SessionProtocol;
 import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.annotation.UnstableApi;
 import com.linecorp.armeria.common.auth.AuthToken;
+import com.linecorp.armeria.common.logging.RequestLog;
 import com.linecorp.armeria.common.util.AsyncCloseable;
+import com.linecorp.armeria.common.util.Exceptions;
 
 /**
  * A skeletal builder implementation for creating a new {@link HealthCheckedEndpointGroup}.
@@ -57,11 +61,26 @@ public abstract class AbstractHealthCheckedEndpointGroupBuilder
     @VisibleForTesting
     static final Predicate<Endpoint> DEFAULT_ENDPOINT_PREDICATE =
             endpoint -> Boolean.TRUE.equals(endpoint.attr(HEALTHY_ATTR));
+    @VisibleForTesting
+    static final Predicate<RequestLog> DEFAULT_PASSIVE_FAILURE_PREDICATE = log -> {
+        final Throwable cause = log.responseCause();
+        if (cause != null) {
+            final Throwable peeled = Exceptions.peel(cause);
+            return peeled instanceof UnprocessedRequestException ||
+                   peeled instanceof ResponseTimeoutException;
+        }
+        return log.responseHeaders().status().isServerError();
+    };
 
     private final EndpointGroup delegate;
 
     private SessionProtocol protocol = SessionProtocol.HTTP;
     private Backoff retryBackoff = DEFAULT_HEALTH_CHECK_RETRY_BACKOFF;
+    private long maxRetryIntervalMillis;
+    @Nullable
+    private HealthCheckRegistry healthCheckRegistry;
+    @Nullable
+    private Predicate<? super RequestLog> passiveFailurePredicate;
     private ClientOptionsBuilder clientOptionsBuilder = ClientOptions.builder();
     private int port;
     @Nullable
@@ -140,6 +159,83 @@ public abstract class AbstractHealthCheckedEndpointGroupBuilder
         return self();
     }
 
+    /**
+     * Enables the adaptive interval between health check requests and sets its upper bound.
+     * When enabled, the interval determined by the {@link #retryBackoff(Backoff)} is doubled every time
+     * an {@link Endpoint} stays healthy for three consecutive checks, up to the specified
+     * {@code maxRetryInterval}. When the health of an {@link Endpoint} changes, the interval is reset and
+     * the next check is sent sooner to confirm the new state. The interval is not increased for the
+     * unhealthy {@link Endpoint}s, so that their recovery is detected without delay.
+     * {@link Duration#ZERO} disables the adaptive interval, which is the default.
+     */
+    @UnstableApi
+    public SELF maxRetryInterval(Duration maxRetryInterval) {
+        requireNonNull(maxRetryInterval, "maxRetryInterval");
+        checkArgument(!maxRetryInterval.isNegative(),
+                      "maxRetryInterval: %s (expected: >= 0)", maxRetryInterval);
+        return maxRetryIntervalMillis(maxRetryInterval.toMillis());
+    }
+
+    /**
+     * Enables the adaptive interval between health check requests and sets its upper bound in milliseconds.
+     * {@code 0} disables the adaptive interval, which is the default.
+     *
+     * @see #maxRetryInterval(Duration)
+     */
+    @UnstableApi
+    public SELF maxRetryIntervalMillis(long maxRetryIntervalMillis) {
+        checkArgument(maxRetryIntervalMillis >= 0,
+                      "maxRetryIntervalMillis: %s (expected: >= 0)", maxRetryIntervalMillis);
+        this.maxRetryIntervalMillis = maxRetryIntervalMillis;
+        return self();
+    }
+
+    /**
+     * Sets the {@link HealthCheckRegistry} which shares the health checks with the other
+     * {@link HealthCheckedEndpointGroup}s that use the same {@link HealthCheckRegistry}.
+     * If unspecified, the health checks are not shared.
+     */
+    @UnstableApi
+    public SELF healthCheckRegistry(HealthCheckRegistry healthCheckRegistry) {
+        this.healthCheckRegistry = requireNonNull(healthCheckRegistry, "healthCheckRegistry");
+        return self();
+    }
+
+    /**
+     * Enables or disables the passive health check. When enabled, an {@link Endpoint} is marked unhealthy
+     * as soon as a real request to it fails with a connection failure, a response timeout or
+     * a {@code 5xx} response, and the health check requests are sent only until it recovers.
+     * The real requests are observed via the decorator returned by
+     * {@link HealthCheckedEndpointGroup#newPassiveHealthCheckDecorator()}.
+     * The passive health check is disabled by default.
+     *
+     * @see #passiveHealthCheck(Predicate)
+     */
+    @UnstableApi
+    public SELF passiveHealthCheck(boolean enabled) {
+        passiveFailurePredicate = enabled ? DEFAULT_PASSIVE_FAILURE_PREDICATE : null;
+        return self();
+    }
+
+    /**
+     * Enables the passive health check with the specified {@link Predicate} which returns {@code true}
+     * if the {@link RequestLog} of a real request indicates that its {@link Endpoint} is unhealthy.
+     * While an {@link Endpoint} is healthy, the health check requests are sent to it only every
+     * {@link #maxRetryInterval(Duration)}, or every 60 seconds if it is not set, so that an {@link Endpoint}
+     * which receives no real requests is still checked. Once a real request fails, the {@link Endpoint} is
+     * marked unhealthy immediately and the health check requests are sent at the interval determined by
+     * the {@link #retryBackoff(Backoff)} until it becomes healthy again.
+     *
+     * <p>Note that the passive health check works only for the clients decorated with
+     * {@link HealthCheckedEndpointGroup#newPassiveHealthCheckDecorator()}. The health check requests are
+     * sent at the usual interval until such a client is built.
+     */
+    @UnstableApi
+    public SELF passiveHealthCheck(Predicate<? super RequestLog> failurePredicate) {
+        passiveFailurePredicate = requireNonNull(failurePredicate, "failurePredicate");
+        return self();
+    }
+
     /**
      * Sets the {@link ClientOptions} of the {@link Client} that sends health check requests.
      * This method can be useful if you already have an Armeria client and want to reuse its configuration,
@@ -417,10 +513,11 @@ public abstract class AbstractHealthCheckedEndpointGroupBuilder
 
         return new HealthCheckedEndpointGroup(delegate, shouldAllowEmptyEndpoints(),
                                               initialSelectionTimeoutMillis, selectionTimeoutMillis,
-                                              protocol, port, retryBackoff,
+                                              protocol, port, retryBackoff, maxRetryIntervalMillis,
                                               clientOptionsBuilder.build(),
                                               newCheckerFactory(), healthCheckStrategy,
-                                              healthCheckedEndpointPredicate);
+                                              healthCheckedEndpointPredicate, healthCheckRegistry,
+                                              passiveFailurePredicate);
     }
 
     /**
@@ -18,6 +18,7 @@ package com.linecorp.armeria.client.endpoint.healthcheck;
 
 import static com.linecorp.armeria.internal.client.endpoint.EndpointAttributeKeys.healthCheckAttributes;
 
+import java.time.Duration;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,10 +31,13 @@ import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
+import com.google.common.math.LongMath;
 import com.google.errorprone.annotations.concurrent.GuardedBy;
 
 import com.linecorp.armeria.client.ClientOptions;
@@ -45,6 +49,8 @@ import com.linecorp.armeria.common.Attributes;
 import com.linecorp.armeria.common.ResponseHeaders;
 import com.linecorp.armeria.common.SessionProtocol;
 import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.logging.RequestLog;
+import com.linecorp.armeria.common.logging.RequestLogProperty;
 import com.linecorp.armeria.common.util.AsyncCloseable;
 import com.linecorp.armeria.common.util.EventLoopCheckingFuture;
 import com.linecorp.armeria.internal.common.util.ReentrantShortLock;
@@ -55,6 +61,22 @@ import io.netty.util.concurrent.Future;
 final class DefaultHealthCheckerContext
         extends AbstractExecutorService implements HealthCheckerContext, ScheduledExecutorService {
 
+    /**
+     * The number of the consecutive healthy checks after which the interval between health checks is doubled
+     * when {@code maxRetryIntervalMillis} is enabled. Keep it in sync with the documentation of
+     * {@link AbstractHealthCheckedEndpointGroupBuilder#maxRetryInterval(Duration)}.
+     */
+    @VisibleForTesting
+    static final int STABLE_CHECKS_PER_STEP = 3;
+
+    /**
+     * The interval between the health checks of a healthy {@link Endpoint} in the passive mode when
+     * {@code maxRetryIntervalMillis} is disabled. The active health checks are never stopped completely,
+     * so that an {@link Endpoint} which stops receiving real requests is still checked.
+     */
+    @VisibleForTesting
+    static final long DEFAULT_PASSIVE_CHECK_INTERVAL_MILLIS = 60_000;
+
     private final Endpoint originalEndpoint;
     private final Endpoint endpoint;
     private final SessionProtocol protocol;
@@ -63,13 +85,18 @@ final class DefaultHealthCheckerContext
 
     /**
      * Keeps the {@link Future}s which were scheduled via this {@link ScheduledExecutorService}.
-     * Note that this field is also used as a lock.
+     * The value is the delayed {@link Runnable} so that it can be run immediately via {@link #wakeUp()},
+     * or {@link Boolean#TRUE} for the other tasks.
      */
     @GuardedBy("lock")
-    private final Map<Future<?>, Boolean> scheduledFutures = new IdentityHashMap<>();
+    private final Map<Future<?>, Object> scheduledFutures = new IdentityHashMap<>();
     private final CompletableFuture<Void> initialCheckFuture = new EventLoopCheckingFuture<>();
+    private final int port;
     private final Backoff retryBackoff;
+    private final long maxRetryIntervalMillis;
+    private final BooleanSupplier passive;
     private final BiConsumer<Endpoint, Boolean> onUpdateHealth;
+    private volatile Consumer<RequestLog> passiveFailureHandler = this::handlePassiveFailure;
 
     @Nullable
     private AsyncCloseable handle;
@@ -77,10 +104,24 @@ final class DefaultHealthCheckerContext
     private int refCnt = 1;
     private Attributes endpointAttributes;
 
+    // The states for adapting the interval between health checks.
+    @Nullable
+    private volatile Boolean lastHealthy;
+    private volatile boolean flapped;
+    private volatile int numStableChecks;
+
     DefaultHealthCheckerContext(Endpoint endpoint, int port, SessionProtocol protocol,
                                 ClientOptions clientOptions, Backoff retryBackoff,
                                 BiConsumer<Endpoint, Boolean> onUpdateHealth) {
+        this(endpoint, port, protocol, clientOptions, retryBackoff, 0, () -> false, onUpdateHealth);
+    }
+
+    DefaultHealthCheckerContext(Endpoint endpoint, int port, SessionProtocol protocol,
+                                ClientOptions clientOptions, Backoff retryBackoff,
+                                long maxRetryIntervalMillis, BooleanSupplier passive,
+                                BiConsumer<Endpoint, Boolean> onUpdateHealth) {
         originalEndpoint = endpoint;
+        this.port = port;
 
         if (port == 0) {
             this.endpoint = endpoint.withoutDefaultPort(protocol);
@@ -92,10 +133,99 @@ final class DefaultHealthCheckerContext
         this.protocol = protocol;
         this.clientOptions = clientOptions;
         this.retryBackoff = retryBackoff;
+        this.maxRetryIntervalMillis = maxRetryIntervalMillis;
+        this.passive = passive;
         this.onUpdateHealth = onUpdateHealth;
         endpointAttributes = healthCheckAttributes(false, false);
     }
 
+    /**
+     * Returns a new {@link DefaultHealthCheckerContext} which has the same properties with this context
+     * but notifies the health updates to the specified {@code onUpdateHealth}.
+     */
+    DefaultHealthCheckerContext duplicate(BiConsumer<Endpoint, Boolean> onUpdateHealth) {
+        return duplicate(onUpdateHealth, passive);
+    }
+
+    /**
+     * Returns a new {@link DefaultHealthCheckerContext} which has the same properties with this context
+     * but notifies the health updates to the specified {@code onUpdateHealth} and determines whether
+     * the passive mode is enabled with the specified {@link BooleanSupplier}.
+     */
+    DefaultHealthCheckerContext duplicate(BiConsumer<Endpoint, Boolean> onUpdateHealth,
+                                          BooleanSupplier passive) {
+        return new DefaultHealthCheckerContext(originalEndpoint, port, protocol, clientOptions, retryBackoff,
+                                               maxRetryIntervalMillis, passive, onUpdateHealth);
+    }
+
+    Backoff retryBackoff() {
+        return retryBackoff;
+    }
+
+    long maxRetryIntervalMillis() {
+        return maxRetryIntervalMillis;
+    }
+
+    /**
+     * Returns whether the health is also updated with the results of the real requests, i.e. the passive
+     * mode is enabled.
+     */
+    boolean isPassive() {
+        return passive.getAsBoolean();
+    }
+
+    /**
+     * Sets the {@link Consumer} which handles the failures reported via
+     * {@link #reportPassiveFailure(RequestLog)}. It is used when the health checker of this context is
+     * shared via {@link HealthCheckRegistry}.
+     */
+    void passiveFailureHandler(Consumer<RequestLog> passiveFailureHandler) {
+        this.passiveFailureHandler = passiveFailureHandler;
+    }
+
+    /**
+     * Marks the {@link Endpoint} unhealthy because the specified {@link RequestLog} of a real request
+     * indicates a failure, and sends an active health check request immediately to detect its recovery.
+     */
+    void reportPassiveFailure(RequestLog log) {
+        if (!initialCheckFuture.isDone() || !Boolean.TRUE.equals(lastHealthy)) {
+            // Let the active health checks decide the health until the Endpoint becomes healthy.
+            return;
+        }
+        passiveFailureHandler.accept(log);
+    }
+
+    private void handlePassiveFailure(RequestLog log) {
+        updatePassiveFailure(this, log);
+        wakeUp();
+    }
+
+    static void updatePassiveFailure(HealthCheckerContext ctx, RequestLog log) {
+        ctx.updateHealth(0, (ClientRequestContext) log.context(),
+                         log.isAvailable(RequestLogProperty.RESPONSE_HEADERS) ? log.responseHeaders() : null,
+                         log.responseCause());
+    }
+
+    /**
+     * Runs the delayed tasks scheduled via this {@link ScheduledExecutorService} immediately.
+     */
+    void wakeUp() {
+        lock.lock();
+        try {
+            if (destroyed || scheduledFutures.isEmpty()) {
+                return;
+            }
+            final List<Map.Entry<Future<?>, Object>> copy = ImmutableList.copyOf(scheduledFutures.entrySet());
+            for (Map.Entry<Future<?>, Object> e : copy) {
+                if (e.getValue() instanceof Runnable && e.getKey().cancel(false)) {
+                    add(eventLoopGroup().submit((Runnable) e.getValue()));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
     void init(AsyncCloseable handle) {
         assert this.handle == null;
         this.handle = handle;
@@ -176,7 +306,45 @@ final class DefaultHealthCheckerContext
                     ": " + delayMillis);
         }
 
-        return delayMillis;
+        if (Boolean.TRUE.equals(lastHealthy) && !flapped && passive.getAsBoolean()) {
+            // Rely on the real requests while the Endpoint is healthy, but keep checking it at a bounded
+            // interval in case no real requests are sent to it. The next check will be sent sooner by
+            // wakeUp() when a real request fails.
+            final long passiveIntervalMillis =
+                    maxRetryIntervalMillis > 0 ? maxRetryIntervalMillis : DEFAULT_PASSIVE_CHECK_INTERVAL_MILLIS;
+            return Math.max(passiveIntervalMillis, delayMillis);
+        }
+        if (maxRetryIntervalMillis <= 0) {
+            return delayMillis;
+        }
+        if (flapped) {
+            // Check again quickly to confirm the new state.
+            return delayMillis / 2;
+        }
+        final int exponent = Math.min(numStableChecks / STABLE_CHECKS_PER_STEP, 30);
+        if (exponent == 0) {
+            return delayMillis;
+        }
+        return Math.min(Math.max(maxRetryIntervalMillis, delayMillis),
+                        LongMath.saturatedMultiply(delayMillis, 1L << exponent));
+    }
+
+    private void updateStableChecks(boolean isHealthy) {
+        final Boolean lastHealthy = this.lastHealthy;
+        this.lastHealthy = isHealthy;
+        if (lastHealthy == null) {
+            return;
+        }
+        if (lastHealthy != isHealthy) {
+            flapped = true;
+            numStableChecks = 0;
+            return;
+        }
+        flapped = false;
+        if (isHealthy) {
+            // Back off only for the healthy endpoints so that a recovery is detected without delay.
+            numStableChecks++;
+        }
     }
 
     @Override
@@ -189,6 +357,7 @@ final class DefaultHealthCheckerContext
     public void updateHealth(double health, @Nullable ClientRequestContext ctx,
                              @Nullable ResponseHeaders headers, @Nullable Throwable cause) {
         final boolean isHealthy = health > 0;
+        updateStableChecks(isHealthy);
         if (headers != null && headers.contains("x-envoy-degraded")) {
             endpointAttributes = healthCheckAttributes(isHealthy, true);
         } else {
@@ -227,7 +396,7 @@ final class DefaultHealthCheckerContext
         lock.lock();
         try {
             rejectIfDestroyed(command);
-            return add(eventLoopGroup().schedule(command, delay, unit));
+            return add(eventLoopGroup().schedule(command, delay, unit), command);
         } finally {
             lock.unlock();
         }
@@ -308,7 +477,13 @@ final class DefaultHealthCheckerContext
     // The caller who calls this method must have the lock.
     @SuppressWarnings("GuardedBy")
     private <T extends Future<U>, U> T add(T future) {
-        scheduledFutures.put(future, Boolean.TRUE);
+        return add(future, Boolean.TRUE);
+    }
+
+    // The caller who calls this method must have the lock.
+    @SuppressWarnings("GuardedBy")
+    private <T extends Future<U>, U> T add(T future, Object value) {
+        scheduledFutures.put(future, value);
         future.addListener(f -> {
             lock.lock();
             try {
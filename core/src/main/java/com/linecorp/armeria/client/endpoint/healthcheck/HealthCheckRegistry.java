@@ -0,0 +1,414 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.client.endpoint.healthcheck;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+
+import com.linecorp.armeria.client.ClientFactory;
+import com.linecorp.armeria.client.ClientOption;
+import com.linecorp.armeria.client.ClientOptionValue;
+import com.linecorp.armeria.client.ClientOptions;
+import com.linecorp.armeria.client.ClientRequestContext;
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.client.retry.Backoff;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+import com.linecorp.armeria.common.util.AsyncCloseable;
+import com.linecorp.armeria.common.util.UnmodifiableFuture;
+import com.linecorp.armeria.internal.common.util.ReentrantShortLock;
+
+/**
+ * A registry that shares the health checks between multiple {@link HealthCheckedEndpointGroup}s.
+ * When more than one {@link HealthCheckedEndpointGroup} which uses the same {@link HealthCheckRegistry}
+ * checks the same {@link Endpoint} with the same settings, only one health checker is started and its result
+ * is propagated to all the groups.
+ *
+ * <pre>{@code
+ * HealthCheckRegistry registry = HealthCheckRegistry.of();
+ * HealthCheckedEndpointGroup fooGroup =
+ *     HealthCheckedEndpointGroup.builder(fooDelegate, "/health")
+ *                               .healthCheckRegistry(registry)
+ *                               .build();
+ * HealthCheckedEndpointGroup barGroup =
+ *     HealthCheckedEndpointGroup.builder(barDelegate, "/health")
+ *                               .healthCheckRegistry(registry)
+ *                               .build();
+ * }</pre>
+ *
+ * <p>A health check is shared only when all of the following settings of the groups are the same:
+ * <ul>
+ *   <li>the {@link SessionProtocol} and the {@link ClientFactory},</li>
+ *   <li>the {@link ClientOptions}, whose user-specified option values are compared with
+ *       {@link Object#equals(Object)}, so the groups should use the same decorator instances,</li>
+ *   <li>the {@link AbstractHealthCheckedEndpointGroupBuilder#retryBackoff(Backoff) retry backoff}, which is
+ *       compared with {@link Object#equals(Object)}, and the
+ *       {@link AbstractHealthCheckedEndpointGroupBuilder#maxRetryInterval(Duration) maximum retry interval},
+ *       </li>
+ *   <li>the health checker. The health checkers are considered the same when their factories are equal
+ *       according to {@link Object#equals(Object)}. The built-in HTTP and xDS health checkers implement it,
+ *       but a custom checker factory, e.g.
+ *       {@link AbstractHealthCheckedEndpointGroupBuilder#newCheckerFactory()}, is shared only if it overrides
+ *       {@link Object#equals(Object)} and {@link Object#hashCode()} or the same instance is used by
+ *       the groups.</li>
+ * </ul>
+ * The groups with different settings get their own health checkers even if they use the same
+ * {@link HealthCheckRegistry}. A shared health checker relies on the real requests only if all the groups
+ * which share it enable the
+ * {@linkplain AbstractHealthCheckedEndpointGroupBuilder#passiveHealthCheck(boolean) passive mode}, so that
+ * no group misses the recovery of an {@link Endpoint} which it does not send real requests to.
+ */
+@UnstableApi
+public final class HealthCheckRegistry {
+
+    /**
+     * Returns a new {@link HealthCheckRegistry}.
+     */
+    public static HealthCheckRegistry of() {
+        return new HealthCheckRegistry();
+    }
+
+    private final ReentrantLock lock = new ReentrantShortLock();
+    @GuardedBy("lock")
+    private final Map<Key, SharedHealthCheckerContext> contexts = new HashMap<>();
+
+    private HealthCheckRegistry() {}
+
+    /**
+     * Returns a {@link Function} that subscribes to the shared health checker created by the specified
+     * {@code checkerFactory}.
+     */
+    Function<? super HealthCheckerContext, ? extends AsyncCloseable> decorate(
+            Function<? super HealthCheckerContext, ? extends AsyncCloseable> checkerFactory) {
+        requireNonNull(checkerFactory, "checkerFactory");
+        return ctx -> subscribe((DefaultHealthCheckerContext) ctx, checkerFactory);
+    }
+
+    private AsyncCloseable subscribe(
+            DefaultHealthCheckerContext ctx,
+            Function<? super HealthCheckerContext, ? extends AsyncCloseable> checkerFactory) {
+        final Key key = new Key(ctx, checkerFactory);
+        SharedHealthCheckerContext shared;
+        final boolean created;
+        lock.lock();
+        try {
+            shared = contexts.get(key);
+            created = shared == null;
+            if (created) {
+                shared = new SharedHealthCheckerContext(key, ctx);
+                contexts.put(key, shared);
+            }
+            shared.add(ctx);
+        } finally {
+            lock.unlock();
+        }
+
+        if (created) {
+            // Start the health checker outside the lock because a health checker may update the health
+            // of the other groups' contexts synchronously.
+            try {
+                shared.start(checkerFactory);
+            } catch (Throwable t) {
+                lock.lock();
+                try {
+                    contexts.remove(key, shared);
+                } finally {
+                    lock.unlock();
+                }
+                throw t;
+            }
+        }
+        final SharedHealthCheckerContext finalShared = shared;
+        return () -> unsubscribe(finalShared, ctx);
+    }
+
+    private CompletableFuture<?> unsubscribe(SharedHealthCheckerContext shared,
+                                             DefaultHealthCheckerContext ctx) {
+        lock.lock();
+        try {
+            if (!shared.remove(ctx)) {
+                return UnmodifiableFuture.completedFuture(null);
+            }
+            contexts.remove(shared.key, shared);
+        } finally {
+            lock.unlock();
+        }
+        // The last subscriber may be released while the health checker is still being started by another
+        // thread. Wait until it is started so that it is destroyed only after it is initialized.
+        return shared.whenStarted().thenCompose(started -> {
+            if (!started) {
+                return UnmodifiableFuture.completedFuture(null);
+            }
+            final CompletableFuture<?> closeFuture = shared.delegate.release();
+            return closeFuture != null ? closeFuture.thenApply(unused -> null)
+                                       : UnmodifiableFuture.completedFuture(null);
+        });
+    }
+
+    @VisibleForTesting
+    int numHealthCheckers() {
+        lock.lock();
+        try {
+            return contexts.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("numHealthCheckers", numHealthCheckers())
+                          .toString();
+    }
+
+    /**
+     * A {@link HealthCheckerContext} which propagates the result of a health check to all the
+     * {@link HealthCheckerContext}s that subscribe to it.
+     */
+    private static final class SharedHealthCheckerContext implements HealthCheckerContext {
+
+        final Key key;
+        final DefaultHealthCheckerContext delegate;
+        private final CopyOnWriteArrayList<DefaultHealthCheckerContext> subscribers =
+                new CopyOnWriteArrayList<>();
+        private final CompletableFuture<Boolean> startFuture = new CompletableFuture<>();
+
+        @Nullable
+        private volatile HealthCheckResult lastResult;
+
+        SharedHealthCheckerContext(Key key, DefaultHealthCheckerContext first) {
+            this.key = key;
+            // The delegate schedules the health checks and computes the next delay.
+            // The health of each group is updated by the subscribers.
+            delegate = first.duplicate((endpoint, healthy) -> {}, this::isPassive);
+        }
+
+        void start(Function<? super HealthCheckerContext, ? extends AsyncCloseable> checkerFactory) {
+            try {
+                delegate.init(checkerFactory.apply(this));
+            } catch (Throwable t) {
+                startFuture.complete(false);
+                throw t;
+            }
+            startFuture.complete(true);
+        }
+
+        /**
+         * Returns a {@link CompletableFuture} which is completed with whether the health checker has been
+         * started successfully.
+         */
+        CompletableFuture<Boolean> whenStarted() {
+            return startFuture;
+        }
+
+        void add(DefaultHealthCheckerContext ctx) {
+            ctx.passiveFailureHandler(log -> {
+                DefaultHealthCheckerContext.updatePassiveFailure(this, log);
+                delegate.wakeUp();
+            });
+            subscribers.add(ctx);
+            final HealthCheckResult lastResult = this.lastResult;
+            if (lastResult != null) {
+                // Replay the last result so that a late subscriber does not wait for the next check.
+                delegate.execute(() -> lastResult.notify(ctx));
+            }
+        }
+
+        /**
+         * Returns whether all subscribers are in the passive mode, so that the health checks can be sent
+         * less often while the {@link Endpoint} is healthy.
+         */
+        private boolean isPassive() {
+            for (DefaultHealthCheckerContext subscriber : subscribers) {
+                if (!subscriber.isPassive()) {
+                    return false;
+                }
+            }
+            return !subscribers.isEmpty();
+        }
+
+        /**
+         * Removes the specified subscriber and returns {@code true} if it was the last subscriber.
+         */
+        boolean remove(DefaultHealthCheckerContext ctx) {
+            return subscribers.remove(ctx) && subscribers.isEmpty();
+        }
+
+        @Override
+        public Endpoint endpoint() {
+            return delegate.endpoint();
+        }
+
+        @Override
+        public Endpoint originalEndpoint() {
+            return delegate.originalEndpoint();
+        }
+
+        @Override
+        public SessionProtocol protocol() {
+            return delegate.protocol();
+        }
+
+        @Override
+        public ClientOptions clientOptions() {
+            return delegate.clientOptions();
+        }
+
+        @Override
+        public ScheduledExecutorService executor() {
+            return delegate.executor();
+        }
+
+        @Override
+        public long nextDelayMillis() {
+            return delegate.nextDelayMillis();
+        }
+
+        @Override
+        public void updateHealth(double health) {
+            // Should use the new 'updateHealth()' API below.
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void updateHealth(double health, @Nullable ClientRequestContext ctx,
+                                 @Nullable ResponseHeaders headers, @Nullable Throwable cause) {
+            final HealthCheckResult result = new HealthCheckResult(health, ctx, headers, cause);
+            lastResult = result;
+            result.notify(delegate);
+            for (DefaultHealthCheckerContext subscriber : subscribers) {
+                result.notify(subscriber);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                              .add("endpoint", delegate.endpoint())
+                              .add("numSubscribers", subscribers.size())
+                              .toString();
+        }
+    }
+
+    private static final class HealthCheckResult {
+
+        private final double health;
+        @Nullable
+        private final ClientRequestContext ctx;
+        @Nullable
+        private final ResponseHeaders headers;
+        @Nullable
+        private final Throwable cause;
+
+        HealthCheckResult(double health, @Nullable ClientRequestContext ctx,
+                          @Nullable ResponseHeaders headers, @Nullable Throwable cause) {
+            this.health = health;
+            this.ctx = ctx;
+            this.headers = headers;
+            this.cause = cause;
+        }
+
+        void notify(HealthCheckerContext context) {
+            context.updateHealth(health, ctx, headers, cause);
+        }
+    }
+
+    private static final class Key {
+
+        private final Endpoint endpoint;
+        private final SessionProtocol protocol;
+        private final ClientOptions clientOptions;
+        private final Backoff retryBackoff;
+        private final long maxRetryIntervalMillis;
+        private final Function<?, ?> checkerFactory;
+
+        Key(DefaultHealthCheckerContext ctx, Function<?, ?> checkerFactory) {
+            endpoint = ctx.endpoint();
+            protocol = ctx.protocol();
+            clientOptions = ctx.clientOptions();
+            retryBackoff = ctx.retryBackoff();
+            maxRetryIntervalMillis = ctx.maxRetryIntervalMillis();
+            this.checkerFactory = checkerFactory;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+            // Endpoint.equals() does not compare the weight and attributes.
+            return endpoint.equals(that.endpoint) &&
+                   protocol == that.protocol &&
+                   maxRetryIntervalMillis == that.maxRetryIntervalMillis &&
+                   retryBackoff.equals(that.retryBackoff) &&
+                   checkerFactory.equals(that.checkerFactory) &&
+                   sameOptions(clientOptions, that.clientOptions);
+        }
+
+        /**
+         * Returns whether the specified {@link ClientOptions} have the same {@link ClientFactory} and the same
+         * user-specified option values. {@link ClientOptions} does not implement {@link Object#equals(Object)}.
+         */
+        private static boolean sameOptions(ClientOptions a, ClientOptions b) {
+            if (a == b) {
+                return true;
+            }
+            if (a.factory() != b.factory()) {
+                return false;
+            }
+            final Map<ClientOption<Object>, ClientOptionValue<Object>> aValues = a.asMap();
+            final Map<ClientOption<Object>, ClientOptionValue<Object>> bValues = b.asMap();
+            if (!aValues.keySet().equals(bValues.keySet())) {
+                return false;
+            }
+            for (Map.Entry<ClientOption<Object>, ClientOptionValue<Object>> e : aValues.entrySet()) {
+                final ClientOptionValue<Object> bValue = bValues.get(e.getKey());
+                assert bValue != null;
+                if (!Objects.equals(e.getValue().value(), bValue.value())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(endpoint, protocol, System.identityHashCode(clientOptions.factory()),
+                                maxRetryIntervalMillis, retryBackoff, checkerFactory);
+        }
+    }
+}
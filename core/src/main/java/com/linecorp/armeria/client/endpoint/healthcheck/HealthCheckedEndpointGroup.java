@@ -15,6 +15,7 @@
  */
 package com.linecorp.armeria.client.endpoint.healthcheck;
 
+import static com.google.common.base.Preconditions.checkState;
 import static com.linecorp.armeria.internal.client.endpoint.EndpointAttributeKeys.equalHealthCheckAttributes;
 import static com.linecorp.armeria.internal.common.util.CollectionUtil.truncate;
 import static java.util.Objects.requireNonNull;
@@ -46,12 +47,19 @@ import com.google.errorprone.annotations.concurrent.GuardedBy;
 import com.spotify.futures.CompletableFutures;
 
 import com.linecorp.armeria.client.ClientOptions;
+import com.linecorp.armeria.client.ClientRequestContext;
 import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.client.HttpClient;
+import com.linecorp.armeria.client.SimpleDecoratingHttpClient;
 import com.linecorp.armeria.client.endpoint.DynamicEndpointGroup;
 import com.linecorp.armeria.client.endpoint.EndpointGroup;
 import com.linecorp.armeria.client.retry.Backoff;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.SessionProtocol;
 import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+import com.linecorp.armeria.common.logging.RequestLog;
 import com.linecorp.armeria.common.metric.MeterIdPrefix;
 import com.linecorp.armeria.common.util.AsyncCloseable;
 import com.linecorp.armeria.internal.common.util.ReentrantShortLock;
@@ -111,11 +119,19 @@ public final class HealthCheckedEndpointGroup extends DynamicEndpointGroup {
     private final SessionProtocol protocol;
     private final int port;
     private final Backoff retryBackoff;
+    private final long maxRetryIntervalMillis;
     private final ClientOptions clientOptions;
     private final Function<? super HealthCheckerContext, ? extends AsyncCloseable> checkerFactory;
     @VisibleForTesting
     final HealthCheckStrategy healthCheckStrategy;
     private final Predicate<Endpoint> healthCheckedEndpointPredicate;
+    @Nullable
+    private final Predicate<? super RequestLog> passiveFailurePredicate;
+    /**
+     * Whether a client has been decorated with {@link #newPassiveHealthCheckDecorator()}. The active health
+     * checks are not relaxed until then, because no real requests would be reported.
+     */
+    private volatile boolean passiveDecoratorAttached;
 
     private final ReentrantLock lock = new ReentrantShortLock();
     @GuardedBy("lock")
@@ -139,6 +155,24 @@ public final class HealthCheckedEndpointGroup extends DynamicEndpointGroup {
             Function<? super HealthCheckerContext, ? extends AsyncCloseable> checkerFactory,
             HealthCheckStrategy healthCheckStrategy,
             Predicate<Endpoint> healthCheckedEndpointPredicate) {
+        this(delegate, allowEmptyEndpoints, initialSelectionTimeoutMillis, selectionTimeoutMillis,
+             protocol, port, retryBackoff, 0, clientOptions, checkerFactory, healthCheckStrategy,
+             healthCheckedEndpointPredicate, null, null);
+    }
+
+    /**
+     * Creates a new instance.
+     */
+    HealthCheckedEndpointGroup(
+            EndpointGroup delegate, boolean allowEmptyEndpoints,
+            long initialSelectionTimeoutMillis, long selectionTimeoutMillis,
+            SessionProtocol protocol, int port,
+            Backoff retryBackoff, long maxRetryIntervalMillis, ClientOptions clientOptions,
+            Function<? super HealthCheckerContext, ? extends AsyncCloseable> checkerFactory,
+            HealthCheckStrategy healthCheckStrategy,
+            Predicate<Endpoint> healthCheckedEndpointPredicate,
+            @Nullable HealthCheckRegistry healthCheckRegistry,
+            @Nullable Predicate<? super RequestLog> passiveFailurePredicate) {
 
         super(requireNonNull(delegate, "delegate").selectionStrategy(), allowEmptyEndpoints);
 
@@ -148,11 +182,18 @@ public final class HealthCheckedEndpointGroup extends DynamicEndpointGroup {
         this.protocol = requireNonNull(protocol, "protocol");
         this.port = port;
         this.retryBackoff = requireNonNull(retryBackoff, "retryBackoff");
+        this.maxRetryIntervalMillis = maxRetryIntervalMillis;
         this.clientOptions = requireNonNull(clientOptions, "clientOptions");
-        this.checkerFactory = requireNonNull(checkerFactory, "checkerFactory");
+        requireNonNull(checkerFactory, "checkerFactory");
+        if (healthCheckRegistry != null) {
+            this.checkerFactory = healthCheckRegistry.decorate(checkerFactory);
+        } else {
+            this.checkerFactory = checkerFactory;
+        }
         this.healthCheckStrategy = requireNonNull(healthCheckStrategy, "healthCheckStrategy");
         this.healthCheckedEndpointPredicate =
                 requireNonNull(healthCheckedEndpointPredicate, "healthCheckedEndpointPredicate");
+        this.passiveFailurePredicate = passiveFailurePredicate;
 
         clientOptions.factory().whenClosed().thenRun(this::closeAsync);
         delegate.addListener(this::setCandidates, true);
@@ -269,6 +310,7 @@ public final class HealthCheckedEndpointGroup extends DynamicEndpointGroup {
 
     private DefaultHealthCheckerContext newCheckerContext(Endpoint endpoint) {
         return new DefaultHealthCheckerContext(endpoint, port, protocol, clientOptions, retryBackoff,
+                                               maxRetryIntervalMillis, () -> passiveDecoratorAttached,
                                                this::updateHealth);
     }
 
@@ -316,6 +358,18 @@ public final class HealthCheckedEndpointGroup extends DynamicEndpointGroup {
         }
     }
 
+    private void onRequestComplete(RequestLog log) {
+        assert passiveFailurePredicate != null;
+        final Endpoint endpoint = ((ClientRequestContext) log.context()).endpoint();
+        if (endpoint == null || isClosing() || !passiveFailurePredicate.test(log)) {
+            return;
+        }
+        final DefaultHealthCheckerContext context = findContext(endpoint);
+        if (context != null) {
+            context.reportPassiveFailure(log);
+        }
+    }
+
     private void setEndpoints0(List<Endpoint> endpoints) {
         if (isClosing()) {
             return;
@@ -368,6 +422,31 @@ public final class HealthCheckedEndpointGroup extends DynamicEndpointGroup {
         }).handle((unused1, unused2) -> future.complete(null));
     }
 
+    /**
+     * Returns a new {@link HttpClient} decorator which reports the results of the real requests sent to
+     * the {@link Endpoint}s of this {@link HealthCheckedEndpointGroup}, so that an {@link Endpoint} is marked
+     * unhealthy as soon as a request to it fails. The decorator must be added to the clients which use this
+     * {@link HealthCheckedEndpointGroup}:
+     * <pre>{@code
+     * HealthCheckedEndpointGroup group =
+     *     HealthCheckedEndpointGroup.builder(delegate, "/health")
+     *                               .passiveHealthCheck(true)
+     *                               .build();
+     * WebClient client = WebClient.builder(SessionProtocol.HTTP, group)
+     *                             .decorator(group.newPassiveHealthCheckDecorator())
+     *                             .build();
+     * }</pre>
+     *
+     * @throws IllegalStateException if the passive health check is not enabled
+     *
+     * @see AbstractHealthCheckedEndpointGroupBuilder#passiveHealthCheck(Predicate)
+     */
+    @UnstableApi
+    public Function<? super HttpClient, ? extends HttpClient> newPassiveHealthCheckDecorator() {
+        checkState(passiveFailurePredicate != null, "passive health check is disabled.");
+        return PassiveHealthCheckClient::new;
+    }
+
     /**
      * Returns a newly-created {@link MeterBinder} which binds the stats about this
      * {@link HealthCheckedEndpointGroup} with the default meter names.
@@ -384,6 +463,20 @@ public final class HealthCheckedEndpointGroup extends DynamicEndpointGroup {
         return new HealthCheckedEndpointGroupMetrics(this, idPrefix);
     }
 
+    private final class PassiveHealthCheckClient extends SimpleDecoratingHttpClient {
+
+        PassiveHealthCheckClient(HttpClient delegate) {
+            super(delegate);
+            passiveDecoratorAttached = true;
+        }
+
+        @Override
+        public HttpResponse execute(ClientRequestContext ctx, HttpRequest req) throws Exception {
+            ctx.log().whenComplete().thenAccept(HealthCheckedEndpointGroup.this::onRequestComplete);
+            return unwrap().execute(ctx, req);
+        }
+    }
+
     @SuppressWarnings("GuardedBy")
     @Override
     public String toString() {
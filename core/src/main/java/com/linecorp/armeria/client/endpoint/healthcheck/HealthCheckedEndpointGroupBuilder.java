@@ -22,6 +22,7 @@ import java.util.function.Function;
 
 import com.linecorp.armeria.client.Endpoint;
 import com.linecorp.armeria.client.endpoint.EndpointGroup;
+import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.util.AsyncCloseable;
 import com.linecorp.armeria.internal.client.endpoint.healthcheck.DefaultHttpHealthChecker;
 
@@ -78,5 +79,22 @@ public final class HealthCheckedEndpointGroupBuilder
             checker.start();
             return checker;
         }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof HttpHealthCheckerFactory)) {
+                return false;
+            }
+            final HttpHealthCheckerFactory that = (HttpHealthCheckerFactory) o;
+            return useGet == that.useGet && path.equals(that.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return path.hashCode() * 31 + Boolean.hashCode(useGet);
+        }
     }
 }
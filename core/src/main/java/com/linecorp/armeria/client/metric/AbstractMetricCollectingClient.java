@@ -48,16 +48,18 @@ abstract class AbstractMetricCollectingClient<I extends Request, O extends Respo
     @Nullable
     private final BiPredicate<? super RequestContext, ? super RequestLog> successFunction;
     private final DistributionStatisticConfig distributionStatisticConfig;
+    private final boolean logLinearHistogram;
 
     AbstractMetricCollectingClient(
             Client<I, O> delegate, MeterIdPrefixFunction meterIdPrefixFunction,
             @Nullable BiPredicate<? super RequestContext, ? super RequestLog> successFunction,
-            DistributionStatisticConfig distributionStatisticConfig) {
+            DistributionStatisticConfig distributionStatisticConfig, boolean logLinearHistogram) {
         super(delegate);
         this.meterIdPrefixFunction = requireNonNull(meterIdPrefixFunction, "meterIdPrefixFunction");
         this.successFunction = successFunction;
         this.distributionStatisticConfig =
                 requireNonNull(distributionStatisticConfig, "distributionStatisticConfig");
+        this.logLinearHistogram = logLinearHistogram;
     }
 
     @Override
@@ -65,7 +67,7 @@ abstract class AbstractMetricCollectingClient<I extends Request, O extends Respo
         RequestMetricSupport.setup(ctx, REQUEST_METRICS_SET, meterIdPrefixFunction, false,
                                    successFunction != null ? successFunction::test
                                                            : ctx.options().successFunction(),
-                                   distributionStatisticConfig);
+                                   distributionStatisticConfig, logLinearHistogram);
         return unwrap().execute(ctx, req);
     }
 }
@@ -67,7 +67,9 @@ public final class MetricCollectingClient extends AbstractMetricCollectingClient
 
     MetricCollectingClient(HttpClient delegate, MeterIdPrefixFunction meterIdPrefixFunction,
                            @Nullable BiPredicate<? super RequestContext, ? super RequestLog> successFunction,
-                           DistributionStatisticConfig distributionStatisticConfig) {
-        super(delegate, meterIdPrefixFunction, successFunction, distributionStatisticConfig);
+                           DistributionStatisticConfig distributionStatisticConfig,
+                           boolean logLinearHistogram) {
+        super(delegate, meterIdPrefixFunction, successFunction, distributionStatisticConfig,
+              logLinearHistogram);
     }
 }
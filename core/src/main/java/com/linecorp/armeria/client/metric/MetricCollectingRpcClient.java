@@ -67,7 +67,8 @@ public final class MetricCollectingRpcClient extends AbstractMetricCollectingCli
     MetricCollectingRpcClient(
             RpcClient delegate, MeterIdPrefixFunction meterIdPrefixFunction,
             @Nullable BiPredicate<? super RequestContext, ? super RequestLog> successFunction,
-            DistributionStatisticConfig distributionStatisticConfig) {
-        super(delegate, meterIdPrefixFunction, successFunction, distributionStatisticConfig);
+            DistributionStatisticConfig distributionStatisticConfig, boolean logLinearHistogram) {
+        super(delegate, meterIdPrefixFunction, successFunction, distributionStatisticConfig,
+              logLinearHistogram);
     }
 }
@@ -50,6 +50,11 @@ public final class MetricCollectingRpcClientBuilder extends AbstractMetricCollec
                 super.distributionStatisticConfig(distributionStatisticConfig);
     }
 
+    @Override
+    public MetricCollectingRpcClientBuilder logLinearHistogram(boolean logLinearHistogram) {
+        return (MetricCollectingRpcClientBuilder) super.logLinearHistogram(logLinearHistogram);
+    }
+
     /**
      * Returns a newly-created {@link MetricCollectingRpcClient} decorating {@link RpcClient} based
      * on the properties of this builder.
@@ -57,7 +62,7 @@ public final class MetricCollectingRpcClientBuilder extends AbstractMetricCollec
     public MetricCollectingRpcClient build(RpcClient delegate) {
         requireNonNull(delegate, "delegate");
         return new MetricCollectingRpcClient(delegate, meterIdPrefixFunction(), successFunction(),
-                                             distributionStatisticConfig());
+                                             distributionStatisticConfig(), logLinearHistogram());
     }
 
     /**
@@ -54,6 +54,8 @@ final class DefaultFlagsProvider implements FlagsProvider {
     static final int NUM_COMMON_BLOCKING_TASK_THREADS = 200; // from Tomcat default maxThreads
     static final long DEFAULT_MAX_REQUEST_LENGTH = 10 * 1024 * 1024; // 10 MiB
     static final long DEFAULT_MAX_RESPONSE_LENGTH = 10 * 1024 * 1024; // 10 MiB
+    static final long DEFAULT_MULTIPART_MAX_PART_LENGTH = 0; // Unlimited
+    static final int DEFAULT_STREAMING_JSON_FLUSH_THRESHOLD = 8192; // 8 KiB
 
     // Use slightly greater value than the client-side default so that clients close the connection more often.
     static final long DEFAULT_SERVER_IDLE_TIMEOUT_MILLIS = 15000; // 15 seconds
@@ -498,6 +500,16 @@ final class DefaultFlagsProvider implements FlagsProvider {
         return MultipartRemovalStrategy.ON_RESPONSE_COMPLETION;
     }
 
+    @Override
+    public Long defaultMultipartMaxPartLength() {
+        return DEFAULT_MULTIPART_MAX_PART_LENGTH;
+    }
+
+    @Override
+    public Integer defaultStreamingJsonFlushThreshold() {
+        return DEFAULT_STREAMING_JSON_FLUSH_THRESHOLD;
+    }
+
     @Override
     public Sampler<? super RequestContext> requestContextLeakDetectionSampler() {
         return Sampler.never();
@@ -442,6 +442,14 @@ public final class Flags {
     private static final MultipartRemovalStrategy DEFAULT_MULTIPART_REMOVAL_STRATEGY =
             getValue(FlagsProvider::defaultMultipartRemovalStrategy, "defaultMultipartRemovalStrategy");
 
+    private static final long DEFAULT_MULTIPART_MAX_PART_LENGTH =
+            getValue(FlagsProvider::defaultMultipartMaxPartLength, "defaultMultipartMaxPartLength",
+                     value -> value >= 0);
+
+    private static final int DEFAULT_STREAMING_JSON_FLUSH_THRESHOLD =
+            getValue(FlagsProvider::defaultStreamingJsonFlushThreshold, "defaultStreamingJsonFlushThreshold",
+                     value -> value > 0);
+
     private static final Sampler<? super RequestContext> REQUEST_CONTEXT_LEAK_DETECTION_SAMPLER =
             getValue(FlagsProvider::requestContextLeakDetectionSampler, "requestContextLeakDetectionSampler");
 
@@ -1576,6 +1584,38 @@ public final class Flags {
         return DEFAULT_MULTIPART_REMOVAL_STRATEGY;
     }
 
+    /**
+     * Returns the default maximum length of a part in a {@code multipart/form-data} request which is decoded
+     * by an annotated service. A request is rejected with {@code 413 Request Entity Too Large} when one of its
+     * parts exceeds the limit, even if the request does not exceed the maximum length of a request.
+     * Note that this flag has no effect if a user specified the value explicitly via
+     * {@link ServerBuilder#multipartMaxPartLength(long)}.
+     *
+     * <p>The default value of this flag is {@value DefaultFlagsProvider#DEFAULT_MULTIPART_MAX_PART_LENGTH}.
+     * Specify the {@code -Dcom.linecorp.armeria.defaultMultipartMaxPartLength=<long>} to override
+     * the default value. {@code 0} disables the length limit.
+     */
+    @UnstableApi
+    public static long defaultMultipartMaxPartLength() {
+        return DEFAULT_MULTIPART_MAX_PART_LENGTH;
+    }
+
+    /**
+     * Returns the number of bytes of the JSON texts to accumulate before a chunk is written, when
+     * the objects published from a {@link org.reactivestreams.Publisher} or a {@link java.util.stream.Stream}
+     * are streamed as JSON Lines, JSON Text Sequences or a JSON array.
+     * A larger value reduces the number of writes, but delays the objects that are already encoded.
+     *
+     * <p>The default value of this flag is
+     * {@value DefaultFlagsProvider#DEFAULT_STREAMING_JSON_FLUSH_THRESHOLD}.
+     * Specify the {@code -Dcom.linecorp.armeria.defaultStreamingJsonFlushThreshold=<integer>} to override
+     * the default value.
+     */
+    @UnstableApi
+    public static int defaultStreamingJsonFlushThreshold() {
+        return DEFAULT_STREAMING_JSON_FLUSH_THRESHOLD;
+    }
+
     /**
      * Returns whether to allow double dots ({@code ..}) in a request path query string.
      *
@@ -1166,6 +1166,40 @@ public interface FlagsProvider {
         return null;
     }
 
+    /**
+     * Returns the default maximum length of a part in a {@code multipart/form-data} request which is decoded
+     * by an annotated service. A request is rejected with {@code 413 Request Entity Too Large} when one of its
+     * parts exceeds the limit, even if the request does not exceed the maximum length of a request.
+     * Note that this flag has no effect if a user specified the value explicitly via
+     * {@link ServerBuilder#multipartMaxPartLength(long)}.
+     *
+     * <p>The default value of this flag is {@value DefaultFlagsProvider#DEFAULT_MULTIPART_MAX_PART_LENGTH}.
+     * Specify the {@code -Dcom.linecorp.armeria.defaultMultipartMaxPartLength=<long>} to override
+     * the default value. {@code 0} disables the length limit.
+     */
+    @Nullable
+    @UnstableApi
+    default Long defaultMultipartMaxPartLength() {
+        return null;
+    }
+
+    /**
+     * Returns the number of bytes of the JSON texts to accumulate before a chunk is written, when
+     * the objects published from a {@link org.reactivestreams.Publisher} or a {@link java.util.stream.Stream}
+     * are streamed as JSON Lines, JSON Text Sequences or a JSON array.
+     * A larger value reduces the number of writes, but delays the objects that are already encoded.
+     *
+     * <p>The default value of this flag is
+     * {@value DefaultFlagsProvider#DEFAULT_STREAMING_JSON_FLUSH_THRESHOLD}.
+     * Specify the {@code -Dcom.linecorp.armeria.defaultStreamingJsonFlushThreshold=<integer>} to override
+     * the default value.
+     */
+    @Nullable
+    @UnstableApi
+    default Integer defaultStreamingJsonFlushThreshold() {
+        return null;
+    }
+
     /**
      * Returns the {@link Sampler} that determines whether to trace the stack trace of request contexts leaks
      * and how frequently to keeps stack trace. A sampled exception will have the stack trace while the others
@@ -597,6 +597,18 @@ final class SystemPropertyFlagsProvider implements FlagsProvider {
         }
     }
 
+    @Nullable
+    @Override
+    public Long defaultMultipartMaxPartLength() {
+        return getLong("defaultMultipartMaxPartLength");
+    }
+
+    @Nullable
+    @Override
+    public Integer defaultStreamingJsonFlushThreshold() {
+        return getInt("defaultStreamingJsonFlushThreshold");
+    }
+
     @Nullable
     @Override
     public Sampler<? super RequestContext> requestContextLeakDetectionSampler() {
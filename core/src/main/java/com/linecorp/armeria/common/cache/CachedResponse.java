@@ -0,0 +1,113 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.common.cache;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Map.Entry;
+
+import com.google.common.base.MoreObjects;
+
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpHeaders;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+
+import io.netty.util.AsciiString;
+
+/**
+ * An {@link AggregatedHttpResponse} stored in a {@link ResponseCacheStore}, along with the request headers
+ * which selected it and the time when it was stored.
+ */
+@UnstableApi
+public final class CachedResponse {
+
+    /**
+     * Returns a new {@link CachedResponse}.
+     *
+     * @param response the cached {@link AggregatedHttpResponse}. If its content is pooled, the returned
+     *                 {@link CachedResponse} is valid only until the content is released.
+     * @param requestHeaders the request headers which selected the {@code response}, e.g. the headers
+     *                       nominated by its {@code "vary"} header
+     * @param storedAtNanos the time when the {@code response} was stored, as returned by the
+     *                      {@link com.linecorp.armeria.common.util.Ticker} of the decorator which stored it
+     */
+    public static CachedResponse of(AggregatedHttpResponse response, HttpHeaders requestHeaders,
+                                    long storedAtNanos) {
+        requireNonNull(response, "response");
+        requireNonNull(requestHeaders, "requestHeaders");
+        return new CachedResponse(response, requestHeaders, storedAtNanos);
+    }
+
+    private final AggregatedHttpResponse response;
+    private final HttpHeaders requestHeaders;
+    private final long storedAtNanos;
+    private final int estimatedSize;
+
+    private CachedResponse(AggregatedHttpResponse response, HttpHeaders requestHeaders, long storedAtNanos) {
+        this.response = response;
+        this.requestHeaders = requestHeaders;
+        this.storedAtNanos = storedAtNanos;
+        estimatedSize = response.content().length() + estimateSize(response.headers()) +
+                        estimateSize(response.trailers()) + estimateSize(requestHeaders);
+    }
+
+    private static int estimateSize(HttpHeaders headers) {
+        int size = 0;
+        for (Entry<AsciiString, String> e : headers) {
+            size += e.getKey().length() + e.getValue().length();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the cached {@link AggregatedHttpResponse}.
+     */
+    public AggregatedHttpResponse response() {
+        return response;
+    }
+
+    /**
+     * Returns the request headers which selected the {@link #response()}.
+     */
+    public HttpHeaders requestHeaders() {
+        return requestHeaders;
+    }
+
+    /**
+     * Returns the time when the {@link #response()} was stored, in nanoseconds.
+     */
+    public long storedAtNanos() {
+        return storedAtNanos;
+    }
+
+    /**
+     * Returns the approximate number of bytes this {@link CachedResponse} occupies, which is used to bound
+     * the size of a {@link ResponseCacheStore}.
+     */
+    public int estimatedSize() {
+        return estimatedSize;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("response", response)
+                          .add("requestHeaders", requestHeaders)
+                          .add("storedAtNanos", storedAtNanos)
+                          .add("estimatedSize", estimatedSize)
+                          .toString();
+    }
+}
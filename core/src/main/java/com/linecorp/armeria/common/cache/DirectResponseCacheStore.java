@@ -0,0 +1,127 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.common.cache;
+
+import static java.util.Objects.requireNonNull;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.base.MoreObjects;
+
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpHeaders;
+import com.linecorp.armeria.common.annotation.Nullable;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.IllegalReferenceCountException;
+
+final class DirectResponseCacheStore implements ResponseCacheStore {
+
+    private final Cache<String, Entry> cache;
+    private final long maxSizeBytes;
+
+    DirectResponseCacheStore(long maxSizeBytes) {
+        this.maxSizeBytes = maxSizeBytes;
+        cache = Caffeine.newBuilder()
+                        .maximumWeight(maxSizeBytes)
+                        .weigher((String key, Entry value) -> key.length() + value.estimatedSize)
+                        // Free the buffer as soon as an entry is removed rather than in the common pool.
+                        .executor(Runnable::run)
+                        .removalListener((String key, Entry value, cause) -> {
+                            if (value != null) {
+                                value.content.release();
+                            }
+                        })
+                        .build();
+    }
+
+    @Nullable
+    @Override
+    public CachedResponse get(String key) {
+        requireNonNull(key, "key");
+        final Entry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+        final ByteBuf content;
+        try {
+            content = entry.content.retainedDuplicate();
+        } catch (IllegalReferenceCountException e) {
+            // Removed and freed by another thread.
+            return null;
+        }
+        final AggregatedHttpResponse response = entry.response;
+        return CachedResponse.of(AggregatedHttpResponse.of(response.informationals(), response.headers(),
+                                                           HttpData.wrap(content), response.trailers()),
+                                 entry.requestHeaders, entry.storedAtNanos);
+    }
+
+    @Override
+    public void put(String key, CachedResponse response) {
+        requireNonNull(key, "key");
+        requireNonNull(response, "response");
+        cache.put(key, new Entry(response));
+    }
+
+    @Override
+    public void remove(String key) {
+        requireNonNull(key, "key");
+        cache.invalidate(key);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("maxSizeBytes", maxSizeBytes)
+                          .add("estimatedEntries", cache.estimatedSize())
+                          .toString();
+    }
+
+    private static final class Entry {
+
+        /**
+         * The stored response without its content.
+         */
+        final AggregatedHttpResponse response;
+        final HttpHeaders requestHeaders;
+        final long storedAtNanos;
+        final int estimatedSize;
+        /**
+         * An unpooled direct buffer, which is never reused by another buffer once released, so that
+         * a concurrent {@link DirectResponseCacheStore#get(String)} can detect that it has been freed.
+         */
+        final ByteBuf content;
+
+        Entry(CachedResponse cached) {
+            final AggregatedHttpResponse response = cached.response();
+            this.response = AggregatedHttpResponse.of(response.informationals(), response.headers(),
+                                                      HttpData.empty(), response.trailers());
+            requestHeaders = cached.requestHeaders();
+            storedAtNanos = cached.storedAtNanos();
+            estimatedSize = cached.estimatedSize();
+
+            final HttpData data = response.content();
+            if (data.isEmpty()) {
+                content = Unpooled.EMPTY_BUFFER;
+            } else {
+                content = Unpooled.directBuffer(data.length());
+                content.writeBytes(data.byteBuf());
+            }
+        }
+    }
+}
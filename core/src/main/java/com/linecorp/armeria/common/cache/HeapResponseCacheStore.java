@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.common.cache;
+
+import static java.util.Objects.requireNonNull;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.base.MoreObjects;
+
+import com.linecorp.armeria.common.annotation.Nullable;
+
+final class HeapResponseCacheStore implements ResponseCacheStore {
+
+    private final Cache<String, CachedResponse> cache;
+    private final long maxSizeBytes;
+
+    HeapResponseCacheStore(long maxSizeBytes) {
+        this.maxSizeBytes = maxSizeBytes;
+        cache = Caffeine.newBuilder()
+                        .maximumWeight(maxSizeBytes)
+                        .weigher((String key, CachedResponse value) -> key.length() + value.estimatedSize())
+                        .build();
+    }
+
+    @Nullable
+    @Override
+    public CachedResponse get(String key) {
+        requireNonNull(key, "key");
+        return cache.getIfPresent(key);
+    }
+
+    @Override
+    public void put(String key, CachedResponse response) {
+        requireNonNull(key, "key");
+        requireNonNull(response, "response");
+        cache.put(key, response);
+    }
+
+    @Override
+    public void remove(String key) {
+        requireNonNull(key, "key");
+        cache.invalidate(key);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("maxSizeBytes", maxSizeBytes)
+                          .add("estimatedEntries", cache.estimatedSize())
+                          .toString();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.common.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+
+/**
+ * A store of {@link CachedResponse}s used by the response caching decorators.
+ * An implementation must be thread-safe.
+ */
+@UnstableApi
+public interface ResponseCacheStore {
+
+    /**
+     * Returns a new {@link ResponseCacheStore} which keeps {@link CachedResponse}s in the heap. When the sum of
+     * their {@link CachedResponse#estimatedSize()} exceeds the specified {@code maxSizeBytes}, the responses
+     * which are least likely to be used again are evicted. A response larger than {@code maxSizeBytes} is
+     * never retained.
+     */
+    static ResponseCacheStore ofHeap(long maxSizeBytes) {
+        checkArgument(maxSizeBytes > 0, "maxSizeBytes: %s (expected: > 0)", maxSizeBytes);
+        return new HeapResponseCacheStore(maxSizeBytes);
+    }
+
+    /**
+     * Returns a new {@link ResponseCacheStore} which keeps the contents of {@link CachedResponse}s in direct
+     * buffers outside the heap. When the sum of their {@link CachedResponse#estimatedSize()} exceeds
+     * the specified {@code maxSizeBytes}, the responses which are least likely to be used again are evicted
+     * and their buffers are freed immediately.
+     *
+     * <p>The content of a {@link CachedResponse} returned by {@link #get(String)} is a pooled
+     * {@link HttpData} which shares the stored buffer, so a response can be written without copying its
+     * content. The caller must release it.
+     */
+    static ResponseCacheStore ofDirect(long maxSizeBytes) {
+        checkArgument(maxSizeBytes > 0, "maxSizeBytes: %s (expected: > 0)", maxSizeBytes);
+        return new DirectResponseCacheStore(maxSizeBytes);
+    }
+
+    /**
+     * Returns the {@link CachedResponse} stored with the specified {@code key}, or {@code null} if there's
+     * no such response. If the content of the returned {@link CachedResponse} is pooled, the caller must
+     * release it.
+     */
+    @Nullable
+    CachedResponse get(String key);
+
+    /**
+     * Stores the specified {@link CachedResponse} with the specified {@code key}, replacing the previously
+     * stored one if exists. The caller retains the ownership of the content of the {@link CachedResponse},
+     * so an implementation which keeps the content in a different place must copy it.
+     */
+    void put(String key, CachedResponse response);
+
+    /**
+     * Removes the {@link CachedResponse} stored with the specified {@code key}.
+     */
+    void remove(String key);
+}
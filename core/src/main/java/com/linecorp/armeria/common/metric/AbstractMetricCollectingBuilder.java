@@ -23,9 +23,12 @@ import com.linecorp.armeria.client.ClientBuilder;
 import com.linecorp.armeria.common.RequestContext;
 import com.linecorp.armeria.common.SuccessFunction;
 import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.annotation.UnstableApi;
 import com.linecorp.armeria.common.logging.RequestLog;
 import com.linecorp.armeria.server.ServerBuilder;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 
 /**
@@ -40,6 +43,8 @@ public abstract class AbstractMetricCollectingBuilder {
 
     private DistributionStatisticConfig distributionStatisticConfig = MoreMeters.distributionStatisticConfig();
 
+    private boolean logLinearHistogram;
+
     /**
      * Creates a new instance with the specified {@link MeterIdPrefixFunction}.
      */
@@ -104,4 +109,32 @@ public abstract class AbstractMetricCollectingBuilder {
                                                           "distributionStatisticConfig");
         return this;
     }
+
+    /**
+     * Returns whether the durations are recorded into log-linear histograms.
+     */
+    @UnstableApi
+    protected final boolean logLinearHistogram() {
+        return logLinearHistogram;
+    }
+
+    /**
+     * Sets whether to record the durations into Armeria's log-linear histograms instead of the
+     * {@link Timer}s configured by {@link #distributionStatisticConfig(DistributionStatisticConfig)}.
+     * A log-linear histogram records a duration into one of the fixed buckets of a Prometheus native histogram
+     * of schema 3 without any lock, and the buckets are merged only when the metrics are scraped. It is much
+     * cheaper than the percentile histograms of Micrometer when enabled on every route and client.
+     *
+     * <p>The count and the total time of the durations are exported to any {@link MeterRegistry}.
+     * The buckets are exported as a Prometheus native and classic histogram only if the {@link MeterRegistry}
+     * is created by {@code PrometheusMeterRegistries} of the {@code armeria-prometheus1} module.
+     * The slowest recent request of each power-of-two bucket is kept as an exemplar, which is exported as
+     * an OpenMetrics exemplar and listed by {@code ManagementService}.
+     * This option is disabled by default.
+     */
+    @UnstableApi
+    public AbstractMetricCollectingBuilder logLinearHistogram(boolean logLinearHistogram) {
+        this.logLinearHistogram = logLinearHistogram;
+        return this;
+    }
 }
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.common.metric;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.util.ThreadFactories;
+import com.linecorp.armeria.internal.common.metric.EventLoopStalls;
+import com.linecorp.armeria.internal.common.metric.EventLoopStalls.Stall;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SingleThreadEventLoop;
+import io.netty.util.concurrent.EventExecutor;
+
+/**
+ * A {@link MeterBinder} which observes the health of each event loop of a Netty {@link EventLoopGroup}.
+ * A background thread submits a probe task to every event loop at a fixed interval and measures how long
+ * the probe waits in the task queue. If an event loop does not run the probe for longer than the stall
+ * threshold, the stack trace of the event loop thread is sampled and kept for {@code ManagementService}.
+ * The following stats are exported per event loop, tagged with its index as {@code "event.loop"}.
+ *
+ * <ul>
+ *   <li>"event.loop.task.delay" (timer) - the time a task waits in the queue before it is run</li>
+ *   <li>"event.loop.queue.depth" (gauge) - the number of tasks waiting to be run</li>
+ *   <li>"event.loop.cpu.utilization" (gauge) - the ratio of the CPU time used by the event loop thread,
+ *       i.e. the time spent on I/O and tasks, to the wall-clock time</li>
+ *   <li>"event.loop.stalls" (counter) - the number of the detected stalls</li>
+ * </ul>
+ */
+public final class EventLoopHealthMetrics extends AbstractCloseableMeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventLoopHealthMetrics.class);
+
+    private final EventLoopGroup eventLoopGroup;
+    private final MeterIdPrefix idPrefix;
+    private final long probeIntervalNanos;
+    private final long stallThresholdNanos;
+
+    EventLoopHealthMetrics(EventLoopGroup eventLoopGroup, MeterIdPrefix idPrefix,
+                           long probeIntervalNanos, long stallThresholdNanos) {
+        this.eventLoopGroup = requireNonNull(eventLoopGroup, "eventLoopGroup");
+        this.idPrefix = requireNonNull(idPrefix, "idPrefix");
+        this.probeIntervalNanos = probeIntervalNanos;
+        this.stallThresholdNanos = stallThresholdNanos;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        final ImmutableList.Builder<Probe> builder = ImmutableList.builder();
+        int index = 0;
+        for (EventExecutor eventLoop : eventLoopGroup) {
+            builder.add(new Probe(registry, idPrefix, eventLoop, index++, stallThresholdNanos));
+        }
+        final List<Probe> probes = builder.build();
+
+        final ScheduledExecutorService scheduler = new ScheduledThreadPoolExecutor(
+                1, ThreadFactories.newThreadFactory("armeria-event-loop-health", true));
+        final ScheduledFuture<?> future = scheduler.scheduleWithFixedDelay(() -> {
+            if (eventLoopGroup.isShuttingDown()) {
+                scheduler.shutdown();
+                return;
+            }
+            final long currentNanos = System.nanoTime();
+            for (Probe probe : probes) {
+                probe.tick(currentNanos);
+            }
+        }, probeIntervalNanos, probeIntervalNanos, TimeUnit.NANOSECONDS);
+
+        addClosingTask(() -> {
+            future.cancel(false);
+            scheduler.shutdown();
+        });
+    }
+
+    /**
+     * Probes an event loop. {@link #tick(long)} is invoked by the background thread and {@link #run()} is
+     * invoked by the event loop.
+     */
+    @VisibleForTesting
+    static final class Probe implements Runnable {
+
+        private static final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+        private final EventExecutor eventLoop;
+        private final long stallThresholdNanos;
+        private final Timer taskDelay;
+        private final Counter stalls;
+
+        @Nullable
+        private volatile Thread thread;
+        /**
+         * When the pending probe was submitted, or {@code 0} if no probe is pending.
+         */
+        private volatile long submittedNanos;
+        private volatile double cpuUtilization;
+
+        // Accessed only by the background thread.
+        private boolean stallReported;
+        private long lastCpuTimeNanos = -1;
+        private long lastSampledNanos;
+
+        Probe(MeterRegistry registry, MeterIdPrefix idPrefix, EventExecutor eventLoop, int index,
+              long stallThresholdNanos) {
+            this.eventLoop = eventLoop;
+            this.stallThresholdNanos = stallThresholdNanos;
+
+            final MeterIdPrefix prefix = idPrefix.withTags("event.loop", String.valueOf(index));
+            taskDelay = MoreMeters.newTimer(registry, prefix.name("event.loop.task.delay"), prefix.tags());
+            stalls = registry.counter(prefix.name("event.loop.stalls"), prefix.tags());
+            registry.gauge(prefix.name("event.loop.queue.depth"), prefix.tags(), this, Probe::queueDepth);
+            registry.gauge(prefix.name("event.loop.cpu.utilization"), prefix.tags(),
+                           this, probe -> probe.cpuUtilization);
+        }
+
+        void tick(long currentNanos) {
+            sampleCpuTime(currentNanos);
+
+            final long submittedNanos = this.submittedNanos;
+            if (submittedNanos != 0) {
+                // The previous probe has not been run yet.
+                final long delayNanos = currentNanos - submittedNanos;
+                if (delayNanos >= stallThresholdNanos && !stallReported) {
+                    stallReported = true;
+                    reportStall(delayNanos);
+                }
+                return;
+            }
+
+            stallReported = false;
+            this.submittedNanos = currentNanos;
+            try {
+                eventLoop.execute(this);
+            } catch (RejectedExecutionException ignored) {
+                // The event loop is shutting down.
+                this.submittedNanos = 0;
+            }
+        }
+
+        @Override
+        public void run() {
+            if (thread == null) {
+                thread = Thread.currentThread();
+            }
+            taskDelay.record(System.nanoTime() - submittedNanos, TimeUnit.NANOSECONDS);
+            submittedNanos = 0;
+        }
+
+        private void sampleCpuTime(long currentNanos) {
+            final Thread thread = this.thread;
+            if (thread == null) {
+                return;
+            }
+            final long cpuTimeNanos = threadMXBean.getThreadCpuTime(thread.getId());
+            if (cpuTimeNanos < 0) {
+                // Not supported or disabled.
+                return;
+            }
+            if (lastCpuTimeNanos >= 0 && currentNanos > lastSampledNanos) {
+                cpuUtilization = Math.min(1.0, (double) (cpuTimeNanos - lastCpuTimeNanos) /
+                                               (currentNanos - lastSampledNanos));
+            }
+            lastCpuTimeNanos = cpuTimeNanos;
+            lastSampledNanos = currentNanos;
+        }
+
+        private void reportStall(long delayNanos) {
+            stalls.increment();
+            final Thread thread = this.thread;
+            if (thread == null) {
+                return;
+            }
+            final StackTraceElement[] stackTrace = thread.getStackTrace();
+            EventLoopStalls.add(new Stall(thread.getName(), System.currentTimeMillis(), delayNanos,
+                                          stackTrace));
+            if (logger.isWarnEnabled()) {
+                final StringBuilder buf = new StringBuilder();
+                for (StackTraceElement e : stackTrace) {
+                    buf.append("\n\tat ").append(e);
+                }
+                logger.warn("{} has not run a task for {} ms:{}", thread.getName(),
+                            TimeUnit.NANOSECONDS.toMillis(delayNanos), buf);
+            }
+        }
+
+        double queueDepth() {
+            if (eventLoop instanceof SingleThreadEventLoop) {
+                return ((SingleThreadEventLoop) eventLoop).pendingTasks();
+            }
+            return 0;
+        }
+    }
+}
@@ -16,12 +16,14 @@
 
 package com.linecorp.armeria.common.metric;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import java.io.File;
 import java.io.InputStream;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
 
 import com.google.common.collect.ImmutableList;
 
@@ -29,6 +31,7 @@ import com.linecorp.armeria.common.Flags;
 import com.linecorp.armeria.common.annotation.UnstableApi;
 import com.linecorp.armeria.internal.common.util.CertificateUtil;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.binder.MeterBinder;
 import io.micrometer.core.instrument.binder.netty4.NettyAllocatorMetrics;
 import io.netty.buffer.ByteBufAllocator;
@@ -40,6 +43,9 @@ import io.netty.channel.EventLoopGroup;
  */
 public final class MoreMeterBinders {
 
+    private static final Duration DEFAULT_PROBE_INTERVAL = Duration.ofMillis(100);
+    private static final Duration DEFAULT_STALL_THRESHOLD = Duration.ofSeconds(1);
+
     static {
         // Bind the default Netty allocator metrics to the default MeterRegistry.
         final ByteBufAllocator alloc = ByteBufAllocator.DEFAULT;
@@ -81,6 +87,56 @@ public final class MoreMeterBinders {
         return new EventLoopMetrics(eventLoopGroup, meterIdPrefix);
     }
 
+    /**
+     * Returns a new {@link MeterBinder} to observe the health of each event loop of the specified
+     * {@link EventLoopGroup}. A probe task is submitted to every event loop every 100 milliseconds and
+     * a stall is reported if an event loop does not run the probe for a second. The following stats are
+     * exported per event loop, tagged with its index as {@code "event.loop"}.
+     *
+     * <ul>
+     *   <li>"event.loop.task.delay" (timer) - the time a task waits in the queue before it is run</li>
+     *   <li>"event.loop.queue.depth" (gauge) - the number of tasks waiting to be run</li>
+     *   <li>"event.loop.cpu.utilization" (gauge) - the ratio of the CPU time used by the event loop
+     *       thread to the wall-clock time</li>
+     *   <li>"event.loop.stalls" (counter) - the number of the detected stalls</li>
+     * </ul>
+     *
+     * <p>The stack traces sampled from the stalled event loops are available at
+     * {@code "/eventloop/stalls"} of {@code ManagementService}. Nothing is measured unless the returned
+     * {@link MeterBinder} is bound to a {@link MeterRegistry}.
+     */
+    @UnstableApi
+    public static CloseableMeterBinder eventLoopHealthMetrics(EventLoopGroup eventLoopGroup, String name) {
+        requireNonNull(name, "name");
+        return eventLoopHealthMetrics(eventLoopGroup, new MeterIdPrefix("armeria.netty." + name),
+                                      DEFAULT_PROBE_INTERVAL, DEFAULT_STALL_THRESHOLD);
+    }
+
+    /**
+     * Returns a new {@link MeterBinder} to observe the health of each event loop of the specified
+     * {@link EventLoopGroup}. See {@link #eventLoopHealthMetrics(EventLoopGroup, String)} for the exported
+     * stats.
+     *
+     * @param probeInterval the interval between the probe tasks submitted to each event loop
+     * @param stallThreshold the duration after which an event loop that has not run a probe task
+     *                       is considered stalled
+     */
+    @UnstableApi
+    public static CloseableMeterBinder eventLoopHealthMetrics(EventLoopGroup eventLoopGroup,
+                                                              MeterIdPrefix meterIdPrefix,
+                                                              Duration probeInterval, Duration stallThreshold) {
+        requireNonNull(eventLoopGroup, "eventLoopGroup");
+        requireNonNull(meterIdPrefix, "meterIdPrefix");
+        requireNonNull(probeInterval, "probeInterval");
+        requireNonNull(stallThreshold, "stallThreshold");
+        checkArgument(!probeInterval.isNegative() && !probeInterval.isZero(),
+                      "probeInterval: %s (expected: > 0)", probeInterval);
+        checkArgument(!stallThreshold.isNegative() && !stallThreshold.isZero(),
+                      "stallThreshold: %s (expected: > 0)", stallThreshold);
+        return new EventLoopHealthMetrics(eventLoopGroup, meterIdPrefix,
+                                          probeInterval.toNanos(), stallThreshold.toNanos());
+    }
+
     /**
      * Returns a new {@link MeterBinder} to observe the specified {@link X509Certificate}'s validity.
      * The following stats are currently exported per registered {@link MeterIdPrefix}.
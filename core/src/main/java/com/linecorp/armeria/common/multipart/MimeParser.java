@@ -44,6 +44,7 @@ import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.multipart.MultipartDecoder.BodyPartPublisher;
 import com.linecorp.armeria.common.stream.StreamDecoderInput;
 import com.linecorp.armeria.common.stream.StreamDecoderOutput;
+import com.linecorp.armeria.internal.common.stream.ByteBufsDecoderInput;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
@@ -94,6 +95,13 @@ final class MimeParser {
      */
     private final StreamDecoderInput in;
 
+    /**
+     * The input of multipart data if it can be scanned without calling {@link StreamDecoderInput#getByte(int)}
+     * for each byte.
+     */
+    @Nullable
+    private final ByteBufsDecoderInput scannableInput;
+
     /**
      * The output which the parsed {@link BodyPart}s are added to.
      */
@@ -142,6 +150,7 @@ final class MimeParser {
     MimeParser(StreamDecoderInput in, StreamDecoderOutput<BodyPart> out, String boundary,
                MultipartDecoder multipartDecoder) {
         this.in = in;
+        scannableInput = in instanceof ByteBufsDecoderInput ? (ByteBufsDecoderInput) in : null;
         this.out = out;
         boundaryBytes = getBytes("--" + boundary);
         this.multipartDecoder = multipartDecoder;
@@ -618,6 +627,14 @@ final class MimeParser {
         // Loop over all possible match positions in text
         NEXT:
         while (off <= last) {
+            if (scannableInput != null) {
+                // Skip to the next candidate, i.e. the first byte of the boundary, without calling getByte()
+                // for each byte. The candidate is verified below.
+                off = scannableInput.indexOf(boundaryBytes[0], off, last + 1);
+                if (off < 0) {
+                    return -1;
+                }
+            }
             // Loop over pattern from right to left
             for (int j = boundaryBytes.length - 1; j >= 0; j--) {
                 final byte ch = in.getByte(off + j);
@@ -16,6 +16,7 @@
 
 package com.linecorp.armeria.common.stream;
 
+import static com.linecorp.armeria.internal.common.stream.InternalStreamMessageUtil.containsWithPooledObjects;
 import static java.util.Objects.requireNonNull;
 
 import java.util.concurrent.CompletableFuture;
@@ -28,12 +29,24 @@ import com.google.common.math.IntMath;
 import com.google.common.math.LongMath;
 
 import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.stream.FuseableStreamMessage.MapperFunction;
 import com.linecorp.armeria.internal.common.stream.StreamMessageUtil;
 
 import io.netty.util.concurrent.EventExecutor;
 
 final class AsyncMapStreamMessage<T, U> implements StreamMessage<U> {
-    private final StreamMessage<T> source;
+
+    /**
+     * The maximum number of the elements which are requested from the upstream at once after
+     * the futures complete. Requesting the elements in a batch avoids calling
+     * {@link Subscription#request(long)} for each element.
+     */
+    private static final int MAX_REPLENISH_BATCH = 64;
+
+    private final StreamMessage<Object> source;
+    // The synchronous stages before this stage, which are fused into the subscriber of this stage.
+    @Nullable
+    private final MapperFunction<Object, T> prefix;
     private final Function<T, CompletableFuture<U>> function;
     private final int maxConcurrency;
 
@@ -44,7 +57,17 @@ final class AsyncMapStreamMessage<T, U> implements StreamMessage<U> {
         requireNonNull(source, "source");
         requireNonNull(function, "function");
 
-        this.source = (StreamMessage<T>) source;
+        if (source instanceof FuseableStreamMessage &&
+            ((FuseableStreamMessage<?, ?>) source).errorFunction() == null) {
+            // Fuse the synchronous stages, e.g. map() and filter(), into this stage so that the elements
+            // do not have to go through another subscriber.
+            final FuseableStreamMessage<?, T> cast = (FuseableStreamMessage<?, T>) source;
+            this.source = cast.upstream();
+            prefix = cast.function();
+        } else {
+            this.source = (StreamMessage<Object>) source;
+            prefix = null;
+        }
         this.function = (Function<T, CompletableFuture<U>>) function;
         this.maxConcurrency = maxConcurrency;
     }
@@ -76,8 +99,9 @@ final class AsyncMapStreamMessage<T, U> implements StreamMessage<U> {
         requireNonNull(executor, "executor");
         requireNonNull(options, "options");
 
-        source.subscribe(new AsyncMapSubscriber<>(subscriber, function, executor, maxConcurrency), executor,
-                         options);
+        source.subscribe(new AsyncMapSubscriber<>(subscriber, prefix, function, executor, maxConcurrency,
+                                                  containsWithPooledObjects(options)),
+                         executor, options);
     }
 
     @Override
@@ -91,11 +115,15 @@ final class AsyncMapStreamMessage<T, U> implements StreamMessage<U> {
         source.abort(cause);
     }
 
-    private static final class AsyncMapSubscriber<T, U> implements Subscriber<T>, Subscription {
+    private static final class AsyncMapSubscriber<T, U> implements Subscriber<Object>, Subscription {
         private final Subscriber<? super U> downstream;
+        @Nullable
+        private final MapperFunction<Object, T> prefix;
         private final Function<T, CompletableFuture<U>> function;
         private final EventExecutor executor;
         private final int maxConcurrency;
+        private final int replenishBatchSize;
+        private final boolean withPooledObjects;
 
         @Nullable
         private volatile Subscription upstream;
@@ -104,20 +132,26 @@ final class AsyncMapStreamMessage<T, U> implements StreamMessage<U> {
         private long requestedByDownstream;
         private int requestedFromUpstream;
         private int pendingFutures;
+        // The number of the elements which will be requested from the upstream in a batch.
+        private int pendingReplenishes;
         private boolean completed;
 
         AsyncMapSubscriber(Subscriber<? super U> downstream,
+                           @Nullable MapperFunction<Object, T> prefix,
                            Function<T, CompletableFuture<U>> function,
                            EventExecutor executor,
-                           int maxConcurrency) {
+                           int maxConcurrency, boolean withPooledObjects) {
             requireNonNull(downstream, "downstream");
             requireNonNull(function, "function");
             requireNonNull(executor, "executor");
 
             this.downstream = downstream;
+            this.prefix = prefix;
             this.function = function;
             this.executor = executor;
             this.maxConcurrency = maxConcurrency;
+            replenishBatchSize = Math.max(1, Math.min(maxConcurrency, MAX_REPLENISH_BATCH) / 2);
+            this.withPooledObjects = withPooledObjects;
         }
 
         @Override
@@ -128,7 +162,7 @@ final class AsyncMapStreamMessage<T, U> implements StreamMessage<U> {
         }
 
         @Override
-        public void onNext(T item) {
+        public void onNext(Object item) {
             requireNonNull(item, "item");
 
             if (canceled) {
@@ -140,8 +174,29 @@ final class AsyncMapStreamMessage<T, U> implements StreamMessage<U> {
                 requestedFromUpstream--;
             }
 
+            Object current = item;
             try {
-                final CompletableFuture<U> future = function.apply(item);
+                final T mapped;
+                if (prefix != null) {
+                    final T result = prefix.apply(item);
+                    if (result == null) {
+                        // Filtered out by the fused stages. Request another element instead.
+                        StreamMessageUtil.closeOrAbort(item);
+                        requestedFromUpstream = IntMath.saturatedAdd(requestedFromUpstream, 1);
+                        final Subscription upstream = this.upstream;
+                        assert upstream != null;
+                        upstream.request(1);
+                        return;
+                    }
+                    current = result;
+                    mapped = StreamMessageUtil.touchOrCopyAndClose(result, withPooledObjects);
+                    current = mapped;
+                } else {
+                    //noinspection unchecked
+                    mapped = (T) item;
+                }
+
+                final CompletableFuture<U> future = function.apply(mapped);
                 requireNonNull(future, "function.apply() returned null");
 
                 pendingFutures++;
@@ -155,7 +210,10 @@ final class AsyncMapStreamMessage<T, U> implements StreamMessage<U> {
                     return null;
                 });
             } catch (Throwable ex) {
-                StreamMessageUtil.closeOrAbort(item, ex);
+                StreamMessageUtil.closeOrAbort(current, ex);
+                if (current != item) {
+                    StreamMessageUtil.closeOrAbort(item, ex);
+                }
 
                 // onError(ex) should be called before upstream.cancel() that may close downstream with
                 // CancelledSubscriptionException.
@@ -197,9 +255,18 @@ final class AsyncMapStreamMessage<T, U> implements StreamMessage<U> {
                         if (requestedByDownstream != Long.MAX_VALUE) {
                             requestedByDownstream--;
                         }
+                        pendingReplenishes++;
+                    }
 
-                        requestedFromUpstream++;
-                        upstream.request(1);
+                    // Request in a batch, but flush early when no future is pending or the downstream
+                    // demand ran out. Otherwise, no further completion would flush the batch.
+                    if (pendingReplenishes > 0 &&
+                        (pendingReplenishes >= replenishBatchSize || pendingFutures == 0 ||
+                         requestedByDownstream == 0)) {
+                        final int n = pendingReplenishes;
+                        pendingReplenishes = 0;
+                        requestedFromUpstream = IntMath.saturatedAdd(requestedFromUpstream, n);
+                        upstream.request(n);
                     }
                 }
             } catch (Throwable ex) {
@@ -258,11 +325,16 @@ final class AsyncMapStreamMessage<T, U> implements StreamMessage<U> {
         }
 
         private void handleRequest(long n) {
-            requestedByDownstream = LongMath.saturatedAdd(requestedByDownstream, n);
-
-            if (maxConcurrency > IntMath.saturatedAdd(requestedFromUpstream, pendingFutures)) {
-                final int available = maxConcurrency - pendingFutures - requestedFromUpstream;
-                final long toRequest = Math.min(n, available);
+            // The replenishes which were not requested yet are not in flight. Give them back to the
+            // downstream demand so that they are requested together with the new demand.
+            final long demand = LongMath.saturatedAdd(n, pendingReplenishes);
+            pendingReplenishes = 0;
+            requestedByDownstream = LongMath.saturatedAdd(requestedByDownstream, demand);
+
+            final int inFlight = IntMath.saturatedAdd(requestedFromUpstream, pendingFutures);
+            if (maxConcurrency > inFlight) {
+                final int available = maxConcurrency - inFlight;
+                final long toRequest = Math.min(demand, available);
                 if (requestedByDownstream != Long.MAX_VALUE) {
                     requestedByDownstream -= toRequest;
                 }
@@ -0,0 +1,440 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.common.stream;
+
+import static com.linecorp.armeria.internal.common.stream.InternalStreamMessageUtil.containsNotifyCancellation;
+import static com.linecorp.armeria.internal.common.stream.InternalStreamMessageUtil.containsWithPooledObjects;
+import static com.linecorp.armeria.internal.common.stream.InternalStreamMessageUtil.toSubscriptionOptions;
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.google.common.math.LongMath;
+
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.util.EventLoopCheckingFuture;
+import com.linecorp.armeria.internal.common.stream.StreamMessageUtil;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+
+/**
+ * A {@link StreamMessage} which groups the elements of the upstream {@link StreamMessage} into batches.
+ * A batch is closed when it contains {@code maxCount} elements, when the total weight of its elements
+ * reaches {@code maxWeight} or when {@code maxDelayNanos} has passed since its first element arrived.
+ * A batch is converted into the element of this {@link StreamMessage} using a {@link BatchFunction}.
+ */
+final class BufferingStreamMessage<T, U> implements StreamMessage<U> {
+
+    /**
+     * The maximum number of elements requested from the upstream at once. This bounds the number of
+     * elements buffered when a batch is closed by its weight or delay before it is full.
+     */
+    private static final int MAX_PREFETCH = 128;
+
+    static <T> BufferingStreamMessage<T, List<T>> ofList(StreamMessage<? extends T> upstream, int maxCount,
+                                                         long maxWeight,
+                                                         @Nullable ToLongFunction<? super T> weigher,
+                                                         long maxDelayNanos) {
+        return new BufferingStreamMessage<>(upstream, maxCount, maxWeight, weigher, maxDelayNanos,
+                                            (batch, withPooledObjects) -> batch, false);
+    }
+
+    static BufferingStreamMessage<HttpData, HttpData> ofCoalescing(StreamMessage<? extends HttpData> upstream,
+                                                                   int maxBytes, long maxDelayNanos) {
+        return new BufferingStreamMessage<>(upstream, Integer.MAX_VALUE, maxBytes, HttpData::length,
+                                            maxDelayNanos, BufferingStreamMessage::merge, true);
+    }
+
+    /**
+     * Merges the specified {@link HttpData}s into one {@link HttpData}. A pooled buffer is allocated only
+     * when the downstream {@link Subscriber} accepts pooled objects.
+     */
+    private static HttpData merge(List<HttpData> batch, boolean withPooledObjects) {
+        final int size = batch.size();
+        final HttpData last = batch.get(size - 1);
+        if (size == 1) {
+            return StreamMessageUtil.touchOrCopyAndClose(last, withPooledObjects);
+        }
+
+        int length = 0;
+        for (int i = 0; i < size; i++) {
+            length += batch.get(i).length();
+        }
+
+        HttpData merged;
+        if (withPooledObjects) {
+            final ByteBuf buf = ByteBufAllocator.DEFAULT.buffer(length);
+            for (int i = 0; i < size; i++) {
+                final HttpData data = batch.get(i);
+                final ByteBuf src = data.byteBuf();
+                buf.writeBytes(src, src.readerIndex(), src.readableBytes());
+                data.close();
+            }
+            merged = HttpData.wrap(buf);
+        } else {
+            final byte[] array = new byte[length];
+            int offset = 0;
+            for (int i = 0; i < size; i++) {
+                final HttpData data = batch.get(i);
+                final ByteBuf src = data.byteBuf();
+                final int readableBytes = src.readableBytes();
+                src.getBytes(src.readerIndex(), array, offset, readableBytes);
+                offset += readableBytes;
+                data.close();
+            }
+            merged = HttpData.wrap(array);
+        }
+        if (last.isEndOfStream()) {
+            merged = merged.withEndOfStream();
+        }
+        return merged;
+    }
+
+    private final StreamMessage<T> upstream;
+    private final int maxCount;
+    private final long maxWeight;
+    @Nullable
+    private final ToLongFunction<? super T> weigher;
+    private final long maxDelayNanos;
+    private final BatchFunction<T, U> batchFunction;
+    private final boolean upstreamWithPooledObjects;
+
+    private final CompletableFuture<Void> completionFuture = new EventLoopCheckingFuture<>();
+    @Nullable
+    private volatile BufferingSubscriber<T, U> bufferingSubscriber;
+
+    @SuppressWarnings("unchecked")
+    private BufferingStreamMessage(StreamMessage<? extends T> upstream, int maxCount, long maxWeight,
+                                   @Nullable ToLongFunction<? super T> weigher, long maxDelayNanos,
+                                   BatchFunction<T, U> batchFunction, boolean upstreamWithPooledObjects) {
+        this.upstream = (StreamMessage<T>) requireNonNull(upstream, "upstream");
+        this.maxCount = maxCount;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.maxDelayNanos = maxDelayNanos;
+        this.batchFunction = batchFunction;
+        this.upstreamWithPooledObjects = upstreamWithPooledObjects;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !completionFuture.isDone();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        final BufferingSubscriber<T, U> bufferingSubscriber = this.bufferingSubscriber;
+        return !isOpen() && (bufferingSubscriber == null || !bufferingSubscriber.publishedAny);
+    }
+
+    @Override
+    public long demand() {
+        final BufferingSubscriber<T, U> bufferingSubscriber = this.bufferingSubscriber;
+        return bufferingSubscriber != null ? bufferingSubscriber.demand : 0;
+    }
+
+    @Override
+    public CompletableFuture<Void> whenComplete() {
+        return completionFuture;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super U> subscriber, EventExecutor executor,
+                          SubscriptionOption... options) {
+        requireNonNull(subscriber, "subscriber");
+        requireNonNull(executor, "executor");
+        requireNonNull(options, "options");
+
+        final boolean withPooledObjects = containsWithPooledObjects(options);
+        final BufferingSubscriber<T, U> bufferingSubscriber =
+                new BufferingSubscriber<>(this, subscriber, executor, withPooledObjects,
+                                          containsNotifyCancellation(options));
+        this.bufferingSubscriber = bufferingSubscriber;
+        if (upstreamWithPooledObjects) {
+            options = toSubscriptionOptions(true, containsNotifyCancellation(options));
+        }
+        upstream.subscribe(bufferingSubscriber, executor, options);
+    }
+
+    @Override
+    public void abort() {
+        upstream.abort();
+    }
+
+    @Override
+    public void abort(Throwable cause) {
+        requireNonNull(cause, "cause");
+        upstream.abort(cause);
+    }
+
+    @FunctionalInterface
+    interface BatchFunction<T, U> {
+        U apply(List<T> batch, boolean withPooledObjects);
+    }
+
+    private static final class BufferingSubscriber<T, U> implements Subscriber<T>, Subscription, Runnable {
+
+        private final BufferingStreamMessage<T, U> parent;
+        private final Subscriber<? super U> downstream;
+        private final EventExecutor executor;
+        private final boolean withPooledObjects;
+        private final boolean notifyCancellation;
+
+        private final ArrayDeque<U> readyBatches = new ArrayDeque<>();
+        private List<T> batch = new ArrayList<>();
+        private long batchWeight;
+        @Nullable
+        private ScheduledFuture<?> delayFuture;
+
+        @Nullable
+        private Subscription upstream;
+        // 'demand' and 'publishedAny' are updated only by the executor, but read by other threads
+        // via StreamMessage.demand() and isEmpty().
+        private volatile long demand;
+        private long pendingUpstreamRequests;
+        private boolean upstreamCompleted;
+        private boolean closed;
+        private volatile boolean publishedAny;
+
+        BufferingSubscriber(BufferingStreamMessage<T, U> parent, Subscriber<? super U> downstream,
+                            EventExecutor executor, boolean withPooledObjects, boolean notifyCancellation) {
+            this.parent = parent;
+            this.downstream = downstream;
+            this.executor = executor;
+            this.withPooledObjects = withPooledObjects;
+            this.notifyCancellation = notifyCancellation;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            requireNonNull(subscription, "subscription");
+            upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            requireNonNull(item, "item");
+            pendingUpstreamRequests--;
+            if (closed) {
+                StreamMessageUtil.closeOrAbort(item);
+                return;
+            }
+
+            if (batch.isEmpty() && parent.maxDelayNanos > 0) {
+                delayFuture = executor.schedule(this, parent.maxDelayNanos, TimeUnit.NANOSECONDS);
+            }
+            batch.add(item);
+            if (parent.weigher != null) {
+                batchWeight = LongMath.saturatedAdd(batchWeight, parent.weigher.applyAsLong(item));
+            }
+            if (batch.size() >= parent.maxCount || batchWeight >= parent.maxWeight) {
+                closeBatch();
+                flush();
+            }
+            requestUpstream();
+        }
+
+        /**
+         * Invoked when {@code maxDelayNanos} has passed since the first element of the current batch arrived.
+         */
+        @Override
+        public void run() {
+            delayFuture = null;
+            if (closed || batch.isEmpty()) {
+                return;
+            }
+            closeBatch();
+            flush();
+            requestUpstream();
+        }
+
+        @Override
+        public void onError(Throwable cause) {
+            requireNonNull(cause, "cause");
+            fail(cause, false);
+        }
+
+        private void fail(Throwable cause, boolean cancelUpstream) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            cancelDelay();
+            if (cancelUpstream) {
+                assert upstream != null;
+                upstream.cancel();
+            }
+            releaseBuffer(cause);
+            downstream.onError(cause);
+            parent.completionFuture.completeExceptionally(cause);
+        }
+
+        @Override
+        public void onComplete() {
+            if (closed) {
+                return;
+            }
+            upstreamCompleted = true;
+            if (!batch.isEmpty()) {
+                closeBatch();
+            }
+            flush();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                // Cancel the upstream as well because the downstream gets only the error.
+                final IllegalArgumentException cause = new IllegalArgumentException(
+                        "n: " + n + " (expected: > 0, see Reactive Streams specification rule 3.9)");
+                if (executor.inEventLoop()) {
+                    fail(cause, true);
+                } else {
+                    executor.execute(() -> fail(cause, true));
+                }
+                return;
+            }
+
+            if (executor.inEventLoop()) {
+                handleRequest(n);
+            } else {
+                executor.execute(() -> handleRequest(n));
+            }
+        }
+
+        private void handleRequest(long n) {
+            if (closed) {
+                return;
+            }
+            demand = LongMath.saturatedAdd(demand, n);
+            flush();
+            requestUpstream();
+        }
+
+        @Override
+        public void cancel() {
+            if (executor.inEventLoop()) {
+                cancel0();
+            } else {
+                executor.execute(this::cancel0);
+            }
+        }
+
+        private void cancel0() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            cancelDelay();
+            assert upstream != null;
+            upstream.cancel();
+            final CancelledSubscriptionException cause = CancelledSubscriptionException.get();
+            releaseBuffer(cause);
+            parent.completionFuture.completeExceptionally(cause);
+            if (notifyCancellation) {
+                downstream.onError(cause);
+            }
+        }
+
+        private void closeBatch() {
+            cancelDelay();
+            final List<T> batch = this.batch;
+            this.batch = new ArrayList<>();
+            batchWeight = 0;
+            readyBatches.add(parent.batchFunction.apply(batch, withPooledObjects));
+        }
+
+        private void flush() {
+            if (closed) {
+                return;
+            }
+            while (!readyBatches.isEmpty()) {
+                final long demand = this.demand;
+                if (demand == 0) {
+                    break;
+                }
+                this.demand = demand - 1;
+                publishedAny = true;
+                downstream.onNext(readyBatches.poll());
+                if (closed) {
+                    // Cancelled by the downstream.
+                    return;
+                }
+            }
+
+            if (upstreamCompleted && readyBatches.isEmpty()) {
+                closed = true;
+                downstream.onComplete();
+                parent.completionFuture.complete(null);
+            }
+        }
+
+        /**
+         * Requests the elements for the current batch from the upstream when the downstream is ready to
+         * receive a batch. At most one batch is requested at a time so that the upstream is not drained
+         * faster than the downstream consumes.
+         */
+        private void requestUpstream() {
+            if (closed || upstreamCompleted || demand == 0 || !readyBatches.isEmpty() ||
+                pendingUpstreamRequests > 0) {
+                return;
+            }
+            final int n = Math.min(parent.maxCount - batch.size(), MAX_PREFETCH);
+            pendingUpstreamRequests = n;
+            assert upstream != null;
+            upstream.request(n);
+        }
+
+        private void cancelDelay() {
+            final ScheduledFuture<?> delayFuture = this.delayFuture;
+            if (delayFuture != null) {
+                this.delayFuture = null;
+                delayFuture.cancel(false);
+            }
+        }
+
+        private void releaseBuffer(Throwable cause) {
+            for (T item : batch) {
+                StreamMessageUtil.closeOrAbort(item, cause);
+            }
+            batch.clear();
+            for (U readyBatch : readyBatches) {
+                if (readyBatch instanceof List) {
+                    for (Object item : (List<?>) readyBatch) {
+                        StreamMessageUtil.closeOrAbort(item, cause);
+                    }
+                } else {
+                    StreamMessageUtil.closeOrAbort(readyBatch, cause);
+                }
+            }
+            readyBatches.clear();
+        }
+    }
+}
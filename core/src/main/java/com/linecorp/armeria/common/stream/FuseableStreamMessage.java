@@ -20,6 +20,7 @@ import static com.linecorp.armeria.internal.common.stream.InternalStreamMessageU
 import static com.linecorp.armeria.internal.common.stream.InternalStreamMessageUtil.containsWithPooledObjects;
 import static java.util.Objects.requireNonNull;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
@@ -119,6 +120,38 @@ final class FuseableStreamMessage<T, U> implements StreamMessage<U> {
         return source;
     }
 
+    /**
+     * Returns the fused function of the synchronous stages, or {@code null} if this {@link StreamMessage}
+     * transforms only the errors.
+     */
+    @Nullable
+    MapperFunction<Object, U> function() {
+        return function;
+    }
+
+    /**
+     * Returns the fused error function, or {@code null} if this {@link StreamMessage} does not
+     * transform the errors.
+     */
+    @Nullable
+    Function<Throwable, Throwable> errorFunction() {
+        return errorFunction;
+    }
+
+    /**
+     * Returns the number of the synchronous stages which were fused into this {@link StreamMessage}.
+     */
+    @VisibleForTesting
+    int numFusedStages() {
+        if (function == null) {
+            return 0;
+        }
+        if (function instanceof FusedMapperFunction) {
+            return ((FusedMapperFunction) function).numFunctions();
+        }
+        return 1;
+    }
+
     @Override
     public boolean isOpen() {
         return source.isOpen();
@@ -387,16 +420,13 @@ final class FuseableStreamMessage<T, U> implements StreamMessage<U> {
             };
         }
 
+        /**
+         * Returns a {@link MapperFunction} which applies this function and then the specified {@code after}.
+         * The chained functions are flattened into a single {@link FusedMapperFunction} so that
+         * the depth of the call stack does not grow with the number of the chained stages.
+         */
         default <V> MapperFunction<T, V> and(MapperFunction<? super R, ? extends V> after) {
-            return in -> {
-                final R out = apply(in);
-                if (out != null) {
-                    return after.apply(out);
-                } else {
-                    // Stop chaining
-                    return null;
-                }
-            };
+            return FusedMapperFunction.of(this, after);
         }
 
         /**
@@ -425,4 +455,52 @@ final class FuseableStreamMessage<T, U> implements StreamMessage<U> {
         @Override
         R apply(T t);
     }
+
+    /**
+     * A {@link MapperFunction} which applies the chained {@link MapperFunction}s in a loop.
+     * The chain stops when a {@link MapperFunction} returns {@code null}.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static final class FusedMapperFunction implements MapperFunction<Object, Object> {
+
+        static <T, V> MapperFunction<T, V> of(MapperFunction<T, ?> first, MapperFunction<?, ?> second) {
+            final MapperFunction[] firstFunctions = functions(first);
+            final MapperFunction[] secondFunctions = functions(second);
+            final MapperFunction[] functions =
+                    Arrays.copyOf(firstFunctions, firstFunctions.length + secondFunctions.length);
+            System.arraycopy(secondFunctions, 0, functions, firstFunctions.length, secondFunctions.length);
+            return (MapperFunction<T, V>) (MapperFunction) new FusedMapperFunction(functions);
+        }
+
+        private static MapperFunction[] functions(MapperFunction<?, ?> function) {
+            if (function instanceof FusedMapperFunction) {
+                return ((FusedMapperFunction) function).functions;
+            }
+            return new MapperFunction[] { function };
+        }
+
+        private final MapperFunction[] functions;
+
+        private FusedMapperFunction(MapperFunction[] functions) {
+            this.functions = functions;
+        }
+
+        @Nullable
+        @Override
+        public Object apply(Object in) {
+            Object out = in;
+            for (MapperFunction function : functions) {
+                out = function.apply(out);
+                if (out == null) {
+                    // Stop chaining
+                    return null;
+                }
+            }
+            return out;
+        }
+
+        int numFunctions() {
+            return functions.length;
+        }
+    }
 }
@@ -38,6 +38,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
@@ -922,6 +923,74 @@ public interface StreamMessage<T> extends Publisher<T> {
         return new FlatMapStreamMessage<>(this, function, maxConcurrency);
     }
 
+    /**
+     * Groups the elements emitted by this {@link StreamMessage} into {@link List}s of up to
+     * {@code maxCount} elements. The last {@link List} may contain fewer elements.
+     *
+     * <p>Example:<pre>{@code
+     * StreamMessage<Integer> streamMessage = StreamMessage.of(1, 2, 3, 4, 5);
+     * StreamMessage<List<Integer>> buffered = streamMessage.buffer(2);
+     * }</pre>
+     * {@code buffered} will produce {@code [1, 2], [3, 4], [5]}.
+     *
+     * @see #buffer(int, Duration)
+     */
+    @UnstableApi
+    default StreamMessage<List<T>> buffer(int maxCount) {
+        checkArgument(maxCount > 0, "maxCount: %s (expected: > 0)", maxCount);
+        return BufferingStreamMessage.ofList(this, maxCount, Long.MAX_VALUE, null, 0);
+    }
+
+    /**
+     * Groups the elements emitted by this {@link StreamMessage} into {@link List}s of up to
+     * {@code maxCount} elements. A {@link List} is emitted with fewer elements if {@code maxDelay} has
+     * passed since its first element was received, so that a slow stream does not hold the elements for
+     * too long. This is useful for reducing the number of the messages sent to a peer, e.g. when
+     * emitting many small events.
+     *
+     * <p>The elements are requested from this {@link StreamMessage} only when the {@link Subscriber}
+     * requested a {@link List}, so the backpressure is preserved.
+     *
+     * <p>Example:<pre>{@code
+     * StreamMessage<Event> events = ...;
+     * // Emit up to 100 events at once, but do not wait for more than 10 milliseconds.
+     * StreamMessage<List<Event>> batches = events.buffer(100, Duration.ofMillis(10));
+     * }</pre>
+     */
+    @UnstableApi
+    default StreamMessage<List<T>> buffer(int maxCount, Duration maxDelay) {
+        checkArgument(maxCount > 0, "maxCount: %s (expected: > 0)", maxCount);
+        requireNonNull(maxDelay, "maxDelay");
+        checkArgument(!maxDelay.isNegative() && !maxDelay.isZero(), "maxDelay: %s (expected: > 0)", maxDelay);
+        return BufferingStreamMessage.ofList(this, maxCount, Long.MAX_VALUE, null, maxDelay.toNanos());
+    }
+
+    /**
+     * Groups the elements emitted by this {@link StreamMessage} into {@link List}s. A {@link List} is
+     * emitted when it contains {@code maxCount} elements, when the total weight of its elements computed by
+     * the specified {@code weigher} reaches {@code maxWeight} or when {@code maxDelay} has passed since
+     * its first element was received.
+     *
+     * <p>Example:<pre>{@code
+     * StreamMessage<HttpData> chunks = ...;
+     * // Emit up to 64 chunks or 16 KiB at once, but do not wait for more than 10 milliseconds.
+     * StreamMessage<List<HttpData>> batches =
+     *     chunks.buffer(64, 16 * 1024, HttpData::length, Duration.ofMillis(10));
+     * }</pre>
+     *
+     * @see StreamMessages#coalesce(StreamMessage, int, Duration)
+     */
+    @UnstableApi
+    default StreamMessage<List<T>> buffer(int maxCount, long maxWeight, ToLongFunction<? super T> weigher,
+                                          Duration maxDelay) {
+        checkArgument(maxCount > 0, "maxCount: %s (expected: > 0)", maxCount);
+        checkArgument(maxWeight > 0, "maxWeight: %s (expected: > 0)", maxWeight);
+        requireNonNull(weigher, "weigher");
+        requireNonNull(maxDelay, "maxDelay");
+        checkArgument(!maxDelay.isNegative() && !maxDelay.isZero(), "maxDelay: %s (expected: > 0)", maxDelay);
+        return BufferingStreamMessage.ofList(this, maxCount, maxWeight, weigher, maxDelay.toNanos());
+    }
+
     /**
      * Transforms an error emitted by this {@link StreamMessage} by applying the specified {@link Function}.
      * As per
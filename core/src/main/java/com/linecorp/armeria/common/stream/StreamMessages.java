@@ -16,15 +16,19 @@
 
 package com.linecorp.armeria.common.stream;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 
+import org.reactivestreams.Subscriber;
+
 import com.google.common.collect.ImmutableSet;
 
 import com.linecorp.armeria.common.CommonPools;
@@ -41,6 +45,42 @@ import io.netty.util.concurrent.EventExecutor;
 @UnstableApi
 public final class StreamMessages {
 
+    /**
+     * Returns a new {@link StreamMessage} which merges the consecutive {@link HttpData}s of the specified
+     * {@link StreamMessage} until the merged {@link HttpData} reaches {@code maxBytes}.
+     * This is useful for reducing the number of the writes and frames when a producer emits many small
+     * {@link HttpData}s. An {@link HttpData} larger than {@code maxBytes} is emitted as is.
+     *
+     * @see #coalesce(StreamMessage, int, Duration)
+     */
+    public static StreamMessage<HttpData> coalesce(StreamMessage<? extends HttpData> publisher, int maxBytes) {
+        requireNonNull(publisher, "publisher");
+        checkArgument(maxBytes > 0, "maxBytes: %s (expected: > 0)", maxBytes);
+        return BufferingStreamMessage.ofCoalescing(publisher, maxBytes, 0);
+    }
+
+    /**
+     * Returns a new {@link StreamMessage} which merges the consecutive {@link HttpData}s of the specified
+     * {@link StreamMessage} until the merged {@link HttpData} reaches {@code maxBytes} or {@code maxDelay}
+     * has passed since the first {@link HttpData} of the merged {@link HttpData} was received.
+     * The merged {@link HttpData} is allocated from the pooled buffers if the {@link Subscriber} subscribed
+     * with {@link SubscriptionOption#WITH_POOLED_OBJECTS}.
+     *
+     * <p>Example:<pre>{@code
+     * StreamMessage<HttpData> events = ...;
+     * // Send at least 8 KiB at once unless the events are not produced within 5 milliseconds.
+     * HttpResponse.of(ResponseHeaders.of(200), StreamMessages.coalesce(events, 8192, Duration.ofMillis(5)));
+     * }</pre>
+     */
+    public static StreamMessage<HttpData> coalesce(StreamMessage<? extends HttpData> publisher, int maxBytes,
+                                                   Duration maxDelay) {
+        requireNonNull(publisher, "publisher");
+        checkArgument(maxBytes > 0, "maxBytes: %s (expected: > 0)", maxBytes);
+        requireNonNull(maxDelay, "maxDelay");
+        checkArgument(!maxDelay.isNegative() && !maxDelay.isZero(), "maxDelay: %s (expected: > 0)", maxDelay);
+        return BufferingStreamMessage.ofCoalescing(publisher, maxBytes, maxDelay.toNanos());
+    }
+
     /**
      * Writes the specified {@link StreamMessage} to the given {@link Path} with {@link OpenOption}s.
      * If the {@link OpenOption}s are not specified, they default to {@link StandardOpenOption#CREATE},
@@ -69,6 +69,14 @@ public interface HttpSession {
             return false;
         }
 
+        @Override
+        public void decrementNumUnfinishedResponses() {}
+
+        @Override
+        public int numUnfinishedResponses() {
+            return 0;
+        }
+
         @Override
         public void invoke(PooledChannel pooledChannel, ClientRequestContext ctx,
                            HttpRequest req, DecodedHttpResponse res) {
@@ -156,6 +164,17 @@ public interface HttpSession {
 
     boolean incrementNumUnfinishedResponses();
 
+    /**
+     * Releases the reservation made by {@link #incrementNumUnfinishedResponses()} without sending a request.
+     */
+    void decrementNumUnfinishedResponses();
+
+    /**
+     * Returns the number of the requests which acquired this {@link HttpSession} and whose responses are
+     * not complete yet.
+     */
+    int numUnfinishedResponses();
+
     void invoke(PooledChannel pooledChannel, ClientRequestContext ctx,
                 HttpRequest req, DecodedHttpResponse res);
 
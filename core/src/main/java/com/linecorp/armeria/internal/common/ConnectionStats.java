@@ -0,0 +1,264 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common;
+
+import java.net.SocketAddress;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.IntSupplier;
+
+import com.google.common.base.MoreObjects;
+
+import com.linecorp.armeria.common.annotation.Nullable;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOutboundBuffer;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.Http2Exception;
+import io.netty.handler.codec.http2.Http2RemoteFlowController;
+import io.netty.handler.codec.http2.Http2Stream;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+
+/**
+ * The statistics of a connection, which are updated by the event loop of the connection and read by
+ * a {@link ConnectionStatsRegistry} from any thread. Every counter has a single writer, so it is updated
+ * with {@link AtomicLongFieldUpdater#lazySet(Object, long)} rather than an atomic read-modify-write operation.
+ */
+public final class ConnectionStats {
+
+    private static final AttributeKey<ConnectionStats> KEY =
+            AttributeKey.valueOf(ConnectionStats.class, "CONNECTION_STATS");
+
+    private static final IntSupplier NO_STREAMS = () -> 0;
+
+    private static final AtomicLongFieldUpdater<ConnectionStats> bytesReadUpdater =
+            AtomicLongFieldUpdater.newUpdater(ConnectionStats.class, "bytesRead");
+    private static final AtomicLongFieldUpdater<ConnectionStats> bytesWrittenUpdater =
+            AtomicLongFieldUpdater.newUpdater(ConnectionStats.class, "bytesWritten");
+    private static final AtomicLongFieldUpdater<ConnectionStats> flowControlStallsUpdater =
+            AtomicLongFieldUpdater.newUpdater(ConnectionStats.class, "flowControlStalls");
+
+    /**
+     * Returns the {@link ConnectionStats} of the specified {@link Channel}, or {@code null} if the
+     * {@link Channel} is not tracked by a {@link ConnectionStatsRegistry}.
+     */
+    @Nullable
+    public static ConnectionStats get(Channel channel) {
+        if (!channel.hasAttr(KEY)) {
+            return null;
+        }
+        return channel.attr(KEY).get();
+    }
+
+    static ConnectionStats set(Channel channel) {
+        final Attribute<ConnectionStats> attr = channel.attr(KEY);
+        final ConnectionStats stats = attr.get();
+        if (stats != null) {
+            return stats;
+        }
+        final ConnectionStats newStats = new ConnectionStats(channel);
+        attr.set(newStats);
+        return newStats;
+    }
+
+    private final Channel channel;
+    private final long openedNanos = System.nanoTime();
+
+    // Written only by the event loop of the connection.
+    private volatile long bytesRead;
+    private volatile long bytesWritten;
+    private volatile long flowControlStalls;
+    private volatile long pingRttNanos = -1;
+    private volatile int connectionWindowSize = -1;
+    private volatile int streamWindowSize = -1;
+    private volatile IntSupplier activeStreams = NO_STREAMS;
+
+    // Updated only by ConnectionStatsRegistry while holding its lock.
+    long lastSampledBytes;
+    long lastSampledNanos = openedNanos;
+
+    private ConnectionStats(Channel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Returns the {@link Channel} of the connection.
+     */
+    public Channel channel() {
+        return channel;
+    }
+
+    /**
+     * Returns the remote address of the connection.
+     */
+    @Nullable
+    public SocketAddress remoteAddress() {
+        return channel.remoteAddress();
+    }
+
+    /**
+     * Returns the {@link System#nanoTime()} when the connection was opened.
+     */
+    public long openedNanos() {
+        return openedNanos;
+    }
+
+    /**
+     * Returns the number of the bytes read from the connection, including the TLS overhead.
+     */
+    public long bytesRead() {
+        return bytesRead;
+    }
+
+    void addBytesRead(long bytes) {
+        bytesReadUpdater.lazySet(this, bytesRead + bytes);
+    }
+
+    /**
+     * Returns the number of the bytes written to the connection, including the TLS overhead.
+     */
+    public long bytesWritten() {
+        return bytesWritten;
+    }
+
+    void addBytesWritten(long bytes) {
+        bytesWrittenUpdater.lazySet(this, bytesWritten + bytes);
+    }
+
+    /**
+     * Returns how many times the DATA frames of the connection had to wait for a {@code WINDOW_UPDATE} frame
+     * because the flow-control window of a stream or the connection was exhausted.
+     */
+    public long flowControlStalls() {
+        return flowControlStalls;
+    }
+
+    /**
+     * Counts an HTTP/2 flow-control stall if the specified {@code WINDOW_UPDATE} frame replenished a send
+     * window which was exhausted while DATA frames were waiting for it. Must be invoked by the event loop
+     * of the connection after the window has been incremented by the frame. The state of the flow
+     * controller is read only when a {@code WINDOW_UPDATE} frame arrives, so no listener is needed.
+     */
+    public void onWindowUpdateRead(Http2Connection connection, int streamId, int windowSizeIncrement) {
+        final Http2Stream stream = connection.stream(streamId);
+        if (stream == null) {
+            return;
+        }
+        final Http2RemoteFlowController flowController = connection.remote().flowController();
+        if ((long) flowController.windowSize(stream) - windowSizeIncrement > 0) {
+            // The window was not exhausted.
+            return;
+        }
+
+        final boolean blocked;
+        if (streamId == Http2CodecUtil.CONNECTION_STREAM_ID) {
+            blocked = hasFlowControlledStreams(connection, flowController);
+        } else {
+            blocked = flowController.hasFlowControlled(stream);
+        }
+        if (blocked) {
+            flowControlStallsUpdater.lazySet(this, flowControlStalls + 1);
+        }
+    }
+
+    private static boolean hasFlowControlledStreams(Http2Connection connection,
+                                                    Http2RemoteFlowController flowController) {
+        try {
+            return connection.forEachActiveStream(stream -> !flowController.hasFlowControlled(stream)) != null;
+        } catch (Http2Exception e) {
+            // Never happens because the visitor does not throw.
+            return false;
+        }
+    }
+
+    /**
+     * Returns the round-trip time measured with the last acknowledged PING, or {@code -1} if no PING has
+     * been acknowledged yet.
+     */
+    public long pingRttNanos() {
+        return pingRttNanos;
+    }
+
+    /**
+     * Sets the round-trip time measured with a PING.
+     */
+    public void pingRttNanos(long pingRttNanos) {
+        this.pingRttNanos = pingRttNanos;
+    }
+
+    /**
+     * Returns the size of the local HTTP/2 connection-level flow-control window, or {@code -1} if the
+     * connection is not an HTTP/2 connection.
+     */
+    public int connectionWindowSize() {
+        return connectionWindowSize;
+    }
+
+    /**
+     * Returns the size of the local HTTP/2 initial stream-level flow-control window, or {@code -1} if the
+     * connection is not an HTTP/2 connection.
+     */
+    public int streamWindowSize() {
+        return streamWindowSize;
+    }
+
+    /**
+     * Sets the sizes of the local HTTP/2 flow-control windows.
+     */
+    public void receiveWindowSizes(int connectionWindowSize, int streamWindowSize) {
+        this.connectionWindowSize = connectionWindowSize;
+        this.streamWindowSize = streamWindowSize;
+    }
+
+    /**
+     * Returns the number of the requests or HTTP/2 streams in progress on the connection.
+     */
+    public int activeStreams() {
+        return activeStreams.getAsInt();
+    }
+
+    /**
+     * Sets the {@link IntSupplier} which returns the number of the requests in progress on the connection.
+     * The {@link IntSupplier} may be invoked from any thread.
+     */
+    public void activeStreams(IntSupplier activeStreams) {
+        this.activeStreams = activeStreams;
+    }
+
+    /**
+     * Returns the number of the bytes queued in the outbound buffer of the connection but not flushed to
+     * the socket yet.
+     */
+    public long writeQueueBytes() {
+        // Only reads the volatile counter of the buffer, so it is safe to call from any thread.
+        final ChannelOutboundBuffer outboundBuffer = channel.unsafe().outboundBuffer();
+        return outboundBuffer != null ? outboundBuffer.totalPendingWriteBytes() : 0;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("channel", channel)
+                          .add("bytesRead", bytesRead)
+                          .add("bytesWritten", bytesWritten)
+                          .add("flowControlStalls", flowControlStalls)
+                          .add("pingRttNanos", pingRttNanos)
+                          .add("connectionWindowSize", connectionWindowSize)
+                          .add("streamWindowSize", streamWindowSize)
+                          .toString();
+    }
+}
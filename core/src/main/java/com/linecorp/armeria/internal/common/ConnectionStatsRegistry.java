@@ -0,0 +1,396 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.MapMaker;
+
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.metric.MeterIdPrefix;
+import com.linecorp.armeria.internal.common.util.ReentrantShortLock;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.FileRegion;
+
+/**
+ * Keeps track of the {@link ConnectionStats} of the connections of a {@code Server} or
+ * a {@code ClientFactory}, and finds the hottest connections by their recent throughput.
+ */
+public final class ConnectionStatsRegistry {
+
+    /**
+     * The number of the hottest connections exported as meters.
+     */
+    public static final int NUM_TOP_CONNECTIONS = 5;
+
+    /**
+     * The minimum interval between two samplings of the throughput. A sampling within the interval returns
+     * the result of the previous one, so that the meters and {@code ManagementService} see the same rates.
+     */
+    private static final long MIN_SAMPLING_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    // Weak, so that a registry disappears when its Server or ClientFactory is garbage-collected.
+    private static final Map<Object, ConnectionStatsRegistry> registries =
+            new MapMaker().weakKeys().makeMap();
+
+    /**
+     * Returns the {@link ConnectionStatsRegistry} of the specified owner, or {@code null} if the owner
+     * does not collect the statistics of its connections.
+     */
+    @Nullable
+    public static ConnectionStatsRegistry get(Object owner) {
+        requireNonNull(owner, "owner");
+        return registries.get(owner);
+    }
+
+    private final String type;
+    private final MeterIdPrefix meterIdPrefix;
+    private final Set<ConnectionStats> connections = ConcurrentHashMap.newKeySet();
+
+    // The counters of the closed connections, so that the total counters never decrease.
+    private final LongAdder closedBytesRead = new LongAdder();
+    private final LongAdder closedBytesWritten = new LongAdder();
+    private final LongAdder closedFlowControlStalls = new LongAdder();
+
+    private final ReentrantShortLock lock = new ReentrantShortLock();
+    // Guarded by lock.
+    private List<Sample> lastSamples = ImmutableList.of();
+    private long lastSamplingNanos;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param type the type of the owner of the connections, e.g. {@code "server"}
+     * @param owner the owner of the connections, which can be used to look up the new instance with
+     *              {@link #get(Object)}
+     * @param meterIdPrefix the {@link MeterIdPrefix} of the meters, which is specified by the owner so that
+     *                      the meters of the different owners do not clash
+     */
+    public ConnectionStatsRegistry(String type, Object owner, MeterIdPrefix meterIdPrefix) {
+        this.type = requireNonNull(type, "type");
+        requireNonNull(owner, "owner");
+        this.meterIdPrefix = requireNonNull(meterIdPrefix, "meterIdPrefix");
+        registries.put(owner, this);
+    }
+
+    /**
+     * Returns the type of the owner of the connections, e.g. {@code "server"}.
+     */
+    public String type() {
+        return type;
+    }
+
+    /**
+     * Returns the {@link MeterIdPrefix} of the meters registered by {@link #bindTo(MeterRegistry)}.
+     */
+    public MeterIdPrefix meterIdPrefix() {
+        return meterIdPrefix;
+    }
+
+    /**
+     * Returns a new {@link ChannelHandler} which must be added to the head of the pipeline of a connection
+     * to track.
+     */
+    public ChannelHandler newHandler() {
+        return new ConnectionStatsHandler();
+    }
+
+    /**
+     * Returns the {@link ConnectionStats} of the open connections.
+     */
+    public Set<ConnectionStats> connections() {
+        return ImmutableSet.copyOf(connections);
+    }
+
+    /**
+     * Returns the total number of the bytes read from all connections including the closed ones.
+     */
+    public long bytesRead() {
+        return closedBytesRead.sum() + sum(ConnectionStats::bytesRead);
+    }
+
+    /**
+     * Returns the total number of the bytes written to all connections including the closed ones.
+     */
+    public long bytesWritten() {
+        return closedBytesWritten.sum() + sum(ConnectionStats::bytesWritten);
+    }
+
+    /**
+     * Returns the total number of the HTTP/2 flow-control window stalls of all connections including
+     * the closed ones.
+     */
+    public long flowControlStalls() {
+        return closedFlowControlStalls.sum() + sum(ConnectionStats::flowControlStalls);
+    }
+
+    /**
+     * Returns the number of the bytes queued in the outbound buffers of the open connections.
+     */
+    public long writeQueueBytes() {
+        return sum(ConnectionStats::writeQueueBytes);
+    }
+
+    /**
+     * Returns the total size of the HTTP/2 connection-level flow-control windows of the open connections,
+     * which bounds the number of the bytes the peers may send without being read.
+     */
+    public long connectionWindowBytes() {
+        return sum(stats -> Math.max(stats.connectionWindowSize(), 0));
+    }
+
+    /**
+     * Returns the largest HTTP/2 connection-level flow-control window of the open connections.
+     */
+    public long maxConnectionWindowBytes() {
+        return max(ConnectionStats::connectionWindowSize);
+    }
+
+    /**
+     * Returns the largest HTTP/2 initial stream-level flow-control window of the open connections.
+     */
+    public long maxStreamWindowBytes() {
+        return max(ConnectionStats::streamWindowSize);
+    }
+
+    private long sum(ToLongFunction<ConnectionStats> function) {
+        long sum = 0;
+        for (ConnectionStats stats : connections) {
+            sum += function.applyAsLong(stats);
+        }
+        return sum;
+    }
+
+    private long max(ToLongFunction<ConnectionStats> function) {
+        long max = 0;
+        for (ConnectionStats stats : connections) {
+            max = Math.max(max, function.applyAsLong(stats));
+        }
+        return max;
+    }
+
+    /**
+     * Returns the {@link Sample}s of the open connections, sorted by the throughput since the previous
+     * sampling in descending order.
+     */
+    public List<Sample> sample() {
+        lock.lock();
+        try {
+            final long now = System.nanoTime();
+            if (now - lastSamplingNanos < MIN_SAMPLING_INTERVAL_NANOS) {
+                return lastSamples;
+            }
+            final List<Sample> samples = new ArrayList<>(connections.size());
+            for (ConnectionStats stats : connections) {
+                final long bytes = stats.bytesRead() + stats.bytesWritten();
+                final long elapsedNanos = now - stats.lastSampledNanos;
+                final double bytesPerSecond =
+                        elapsedNanos > 0 ? (bytes - stats.lastSampledBytes) * 1e9 / elapsedNanos : 0;
+                stats.lastSampledBytes = bytes;
+                stats.lastSampledNanos = now;
+                samples.add(new Sample(stats, bytesPerSecond));
+            }
+            samples.sort(Comparator.comparingDouble(Sample::bytesPerSecond).reversed());
+            lastSamples = ImmutableList.copyOf(samples);
+            lastSamplingNanos = now;
+            return lastSamples;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Registers the meters of the connections to the specified {@link MeterRegistry} with
+     * the {@link #meterIdPrefix()}.
+     * <ul>
+     *   <li>{@code <prefix>.bytes} - the total bytes read and written, tagged with {@code direction}</li>
+     *   <li>{@code <prefix>.flow.control.stalls} - the total HTTP/2 flow-control window stalls</li>
+     *   <li>{@code <prefix>.write.queue.bytes} - the bytes queued in the outbound buffers</li>
+     *   <li>{@code <prefix>.receive.window.bytes} - the total HTTP/2 connection-level flow-control windows</li>
+     *   <li>{@code <prefix>.max.receive.window.bytes} - the largest HTTP/2 flow-control window, tagged with
+     *       {@code level} which is either {@code connection} or {@code stream}</li>
+     *   <li>{@code <prefix>.top.throughput} - the throughput of the {@value #NUM_TOP_CONNECTIONS} hottest
+     *       connections in bytes per second, tagged with their {@code rank}</li>
+     *   <li>{@code <prefix>.top.active.streams} - the number of the streams in progress on the hottest
+     *       connections, tagged with their {@code rank}</li>
+     * </ul>
+     */
+    public void bindTo(MeterRegistry registry) {
+        requireNonNull(registry, "registry");
+        final MeterIdPrefix idPrefix = meterIdPrefix;
+        FunctionCounter.builder(idPrefix.name("bytes"), this, ConnectionStatsRegistry::bytesRead)
+                       .tags(idPrefix.tags("direction", "in"))
+                       .register(registry);
+        FunctionCounter.builder(idPrefix.name("bytes"), this, ConnectionStatsRegistry::bytesWritten)
+                       .tags(idPrefix.tags("direction", "out"))
+                       .register(registry);
+        FunctionCounter.builder(idPrefix.name("flow.control.stalls"), this,
+                                ConnectionStatsRegistry::flowControlStalls)
+                       .tags(idPrefix.tags())
+                       .register(registry);
+        Gauge.builder(idPrefix.name("write.queue.bytes"), this, ConnectionStatsRegistry::writeQueueBytes)
+             .tags(idPrefix.tags())
+             .register(registry);
+        Gauge.builder(idPrefix.name("receive.window.bytes"), this,
+                      ConnectionStatsRegistry::connectionWindowBytes)
+             .tags(idPrefix.tags())
+             .register(registry);
+        Gauge.builder(idPrefix.name("max.receive.window.bytes"), this,
+                      ConnectionStatsRegistry::maxConnectionWindowBytes)
+             .tags(idPrefix.tags("level", "connection"))
+             .register(registry);
+        Gauge.builder(idPrefix.name("max.receive.window.bytes"), this,
+                      ConnectionStatsRegistry::maxStreamWindowBytes)
+             .tags(idPrefix.tags("level", "stream"))
+             .register(registry);
+        for (int i = 0; i < NUM_TOP_CONNECTIONS; i++) {
+            final int rank = i;
+            final String rankTag = String.valueOf(rank + 1);
+            Gauge.builder(idPrefix.name("top.throughput"), this,
+                          topConnection(rank, Sample::bytesPerSecond))
+                 .tags(idPrefix.tags("rank", rankTag))
+                 .register(registry);
+            Gauge.builder(idPrefix.name("top.active.streams"), this,
+                          topConnection(rank, sample -> sample.stats().activeStreams()))
+                 .tags(idPrefix.tags("rank", rankTag))
+                 .register(registry);
+        }
+    }
+
+    private static ToDoubleFunction<ConnectionStatsRegistry> topConnection(
+            int rank, ToDoubleFunction<Sample> function) {
+        return registry -> {
+            final List<Sample> samples = registry.sample();
+            return rank < samples.size() ? function.applyAsDouble(samples.get(rank)) : 0;
+        };
+    }
+
+    private void add(ConnectionStats stats) {
+        connections.add(stats);
+    }
+
+    private void remove(ConnectionStats stats) {
+        if (connections.remove(stats)) {
+            closedBytesRead.add(stats.bytesRead());
+            closedBytesWritten.add(stats.bytesWritten());
+            closedFlowControlStalls.add(stats.flowControlStalls());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionStatsRegistry{" + type + ", " + meterIdPrefix + '}';
+    }
+
+    /**
+     * The {@link ConnectionStats} of a connection and its throughput sampled by
+     * {@link ConnectionStatsRegistry#sample()}.
+     */
+    public static final class Sample {
+
+        private final ConnectionStats stats;
+        private final double bytesPerSecond;
+
+        Sample(ConnectionStats stats, double bytesPerSecond) {
+            this.stats = stats;
+            this.bytesPerSecond = bytesPerSecond;
+        }
+
+        /**
+         * Returns the {@link ConnectionStats} of the connection.
+         */
+        public ConnectionStats stats() {
+            return stats;
+        }
+
+        /**
+         * Returns the number of the bytes read and written per second since the previous sampling.
+         */
+        public double bytesPerSecond() {
+            return bytesPerSecond;
+        }
+    }
+
+    private final class ConnectionStatsHandler extends ChannelDuplexHandler {
+
+        @Nullable
+        private ConnectionStats stats;
+
+        @Override
+        public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+            stats = ConnectionStats.set(ctx.channel());
+            add(stats);
+        }
+
+        @Override
+        public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+            if (stats != null) {
+                remove(stats);
+            }
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+            if (stats != null) {
+                stats.addBytesRead(size(msg));
+            }
+            ctx.fireChannelRead(msg);
+        }
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+            if (stats != null) {
+                stats.addBytesWritten(size(msg));
+            }
+            ctx.write(msg, promise);
+        }
+
+        private long size(Object msg) {
+            if (msg instanceof ByteBuf) {
+                return ((ByteBuf) msg).readableBytes();
+            }
+            if (msg instanceof ByteBufHolder) {
+                return ((ByteBufHolder) msg).content().readableBytes();
+            }
+            if (msg instanceof FileRegion) {
+                return ((FileRegion) msg).count();
+            }
+            return 0;
+        }
+    }
+}
@@ -66,6 +66,7 @@ public abstract class Http2KeepAliveHandler extends AbstractKeepAliveHandler {
     private final Channel channel;
 
     private long lastPingPayload;
+    private long lastPingNanos;
 
     protected Http2KeepAliveHandler(Channel channel, Http2FrameWriter frameWriter, String name,
                                     Timer keepAliveTimer, long idleTimeoutMillis, long pingIntervalMillis,
@@ -85,6 +86,7 @@ public abstract class Http2KeepAliveHandler extends AbstractKeepAliveHandler {
     @Override
     protected final ChannelFuture writePing(ChannelHandlerContext ctx) {
         lastPingPayload = random.nextLong();
+        lastPingNanos = System.nanoTime();
         final ChannelFuture future = frameWriter.writePing(ctx, false, lastPingPayload, ctx.newPromise());
         ctx.flush();
         return future;
@@ -98,6 +100,10 @@ public abstract class Http2KeepAliveHandler extends AbstractKeepAliveHandler {
         }
 
         onPing();
+        final ConnectionStats connectionStats = ConnectionStats.get(channel);
+        if (connectionStats != null) {
+            connectionStats.pingRttNanos(System.nanoTime() - lastPingNanos);
+        }
         final Future<?> shutdownFuture = shutdownFuture();
         if (shutdownFuture != null) {
             final boolean isCancelled = shutdownFuture.cancel(false);
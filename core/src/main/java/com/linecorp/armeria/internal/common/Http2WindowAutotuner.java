@@ -0,0 +1,196 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common;
+
+import static io.netty.handler.codec.http2.Http2CodecUtil.DEFAULT_WINDOW_SIZE;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.MoreObjects;
+
+import com.linecorp.armeria.common.annotation.Nullable;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.Http2ConnectionEncoder;
+import io.netty.handler.codec.http2.Http2Exception;
+import io.netty.handler.codec.http2.Http2Settings;
+
+/**
+ * Grows the local HTTP/2 flow-control windows of a connection based on the bandwidth-delay product (BDP)
+ * of the connection. When a DATA frame is received and no probe is in progress, a {@code PING} frame is
+ * sent and the bytes of the DATA frames received until its {@code PING ACK} are counted as an estimate of
+ * the BDP. If the estimate reaches two thirds of the current window, the sender is likely to be limited by
+ * the window, so the connection-level window and the initial stream-level window are grown to twice the
+ * estimate, up to the configured maximum. The windows never shrink.
+ *
+ * <p>This class is not thread-safe and all methods must be called from the event loop of the connection.
+ */
+public final class Http2WindowAutotuner {
+
+    private static final Logger logger = LoggerFactory.getLogger(Http2WindowAutotuner.class);
+
+    /**
+     * The payload of the {@code PING} frames sent to estimate the BDP, which is distinguished from
+     * the random payload of the {@code PING} frames sent by a {@link KeepAliveHandler}.
+     */
+    private static final long BDP_PING_PAYLOAD = 0x4244505F50494E47L; // "BDP_PING"
+
+    private final Channel channel;
+    private final Http2ConnectionEncoder encoder;
+    private final Http2Connection connection;
+    private final int maxWindowSize;
+    @Nullable
+    private final ConnectionStats connectionStats;
+
+    private int connectionWindowSize;
+    private int streamWindowSize;
+    private boolean enabled;
+    private boolean probing;
+    private long probeStartNanos;
+    private long probeBytes;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param initialConnectionWindowSize the configured connection-level window size
+     * @param initialStreamWindowSize the configured initial stream-level window size
+     * @param maxWindowSize the maximum size of the windows, or {@code 0} to only report the window sizes
+     *                      to the {@link ConnectionStats} without growing them
+     */
+    public Http2WindowAutotuner(Channel channel, Http2ConnectionEncoder encoder,
+                                int initialConnectionWindowSize, int initialStreamWindowSize,
+                                int maxWindowSize) {
+        this.channel = channel;
+        this.encoder = encoder;
+        connection = encoder.connection();
+        this.maxWindowSize = maxWindowSize;
+        // The connection-level window is never shrunk below the default size defined by the specification.
+        connectionWindowSize = Math.max(initialConnectionWindowSize, DEFAULT_WINDOW_SIZE);
+        streamWindowSize = initialStreamWindowSize;
+        enabled = maxWindowSize > windowSize();
+        connectionStats = ConnectionStats.get(channel);
+        updateStats();
+    }
+
+    /**
+     * Returns the current connection-level window size.
+     */
+    public int connectionWindowSize() {
+        return connectionWindowSize;
+    }
+
+    /**
+     * Returns the current initial stream-level window size.
+     */
+    public int streamWindowSize() {
+        return streamWindowSize;
+    }
+
+    /**
+     * Invoked when a DATA frame is received. Starts a new probe if no probe is in progress.
+     *
+     * @param numBytes the number of the bytes of the DATA frame, including the padding
+     */
+    public void onDataRead(ChannelHandlerContext ctx, int numBytes) {
+        if (!enabled) {
+            return;
+        }
+        if (!probing) {
+            probing = true;
+            probeBytes = 0;
+            probeStartNanos = System.nanoTime();
+            // Flushed by Http2ConnectionHandler when the current read is complete.
+            encoder.writePing(ctx, false, BDP_PING_PAYLOAD, ctx.newPromise());
+        }
+        probeBytes += numBytes;
+    }
+
+    /**
+     * Invoked when a {@code PING ACK} frame is received.
+     *
+     * @return {@code true} if the {@code PING ACK} is for a probe and thus must not be handled further.
+     */
+    public boolean onPingAckRead(ChannelHandlerContext ctx, long data) {
+        if (data != BDP_PING_PAYLOAD) {
+            return false;
+        }
+        if (!probing) {
+            return true;
+        }
+        probing = false;
+        if (!enabled || probeBytes * 3 < windowSize() * 2L) {
+            return true;
+        }
+
+        final int newWindowSize = (int) Math.min(maxWindowSize, probeBytes * 2);
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} Growing the HTTP/2 flow-control windows to {} bytes; BDP: {} bytes, RTT: {} ns",
+                         channel, newWindowSize, probeBytes, System.nanoTime() - probeStartNanos);
+        }
+        grow(ctx, newWindowSize);
+        enabled = maxWindowSize > windowSize();
+        return true;
+    }
+
+    private void grow(ChannelHandlerContext ctx, int newWindowSize) {
+        if (newWindowSize > connectionWindowSize) {
+            try {
+                connection.local().flowController().incrementWindowSize(
+                        connection.connectionStream(), newWindowSize - connectionWindowSize);
+                connectionWindowSize = newWindowSize;
+            } catch (Http2Exception e) {
+                logger.warn("{} Failed to increment the connection-level window size to {}",
+                            channel, newWindowSize, e);
+                enabled = false;
+                return;
+            }
+        }
+        if (newWindowSize > streamWindowSize) {
+            // The new initial window size is applied to all streams when the SETTINGS frame is acknowledged.
+            encoder.writeSettings(ctx, new Http2Settings().initialWindowSize(newWindowSize), ctx.newPromise());
+            streamWindowSize = newWindowSize;
+        }
+        ctx.flush();
+        updateStats();
+    }
+
+    /**
+     * Returns the window which limits the throughput of a single stream.
+     */
+    private int windowSize() {
+        return Math.min(connectionWindowSize, streamWindowSize);
+    }
+
+    private void updateStats() {
+        if (connectionStats != null) {
+            connectionStats.receiveWindowSizes(connectionWindowSize, streamWindowSize);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("channel", channel)
+                          .add("connectionWindowSize", connectionWindowSize)
+                          .add("streamWindowSize", streamWindowSize)
+                          .add("maxWindowSize", maxWindowSize)
+                          .add("enabled", enabled)
+                          .toString();
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common;
+
+import static com.linecorp.armeria.internal.common.ArmeriaHttpUtil.parseDirectiveValueAsSeconds;
+import static com.linecorp.armeria.internal.common.ArmeriaHttpUtil.parseDirectives;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Ascii;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableSet;
+
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpHeaders;
+import com.linecorp.armeria.common.HttpHeadersBuilder;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.common.ResponseHeadersBuilder;
+
+import io.netty.util.AsciiString;
+
+/**
+ * Utilities for caching HTTP responses as specified in
+ * <a href="https://datatracker.ietf.org/doc/html/rfc9111">RFC 9111</a>.
+ */
+public final class HttpCacheUtil {
+
+    /**
+     * The statuses whose responses are cacheable by default.
+     * See <a href="https://datatracker.ietf.org/doc/html/rfc9110#section-15.1">RFC 9110, Section 15.1</a>.
+     */
+    private static final Set<HttpStatus> cacheableStatuses =
+            ImmutableSet.of(HttpStatus.OK, HttpStatus.NON_AUTHORITATIVE_INFORMATION, HttpStatus.NO_CONTENT,
+                            HttpStatus.MULTIPLE_CHOICES, HttpStatus.MOVED_PERMANENTLY, HttpStatus.NOT_FOUND,
+                            HttpStatus.METHOD_NOT_ALLOWED, HttpStatus.GONE, HttpStatus.REQUEST_URI_TOO_LONG,
+                            HttpStatus.NOT_IMPLEMENTED);
+
+    /**
+     * The headers of a {@code 304 Not Modified} response which must not update a stored response.
+     * See <a href="https://datatracker.ietf.org/doc/html/rfc9111#section-3.2">RFC 9111, Section 3.2</a>.
+     */
+    private static final Set<AsciiString> nonUpdatableHeaders =
+            ImmutableSet.of(HttpHeaderNames.CONTENT_LENGTH, HttpHeaderNames.CONTENT_ENCODING,
+                            HttpHeaderNames.CONTENT_TYPE, HttpHeaderNames.TRANSFER_ENCODING,
+                            HttpHeaderNames.CONTENT_RANGE);
+
+    private static final Splitter varySplitter = Splitter.on(',').trimResults().omitEmptyStrings();
+
+    /**
+     * Returns whether a response with the specified {@link HttpStatus} can be stored without
+     * an explicit freshness lifetime.
+     */
+    public static boolean isCacheableStatus(HttpStatus status) {
+        return cacheableStatuses.contains(status);
+    }
+
+    /**
+     * Parses the {@code "cache-control"} header of the specified {@link ResponseHeaders}.
+     */
+    public static ResponseCacheDirectives parseResponseDirectives(ResponseHeaders headers) {
+        final ResponseCacheDirectives directives = new ResponseCacheDirectives();
+        for (String value : headers.getAll(HttpHeaderNames.CACHE_CONTROL)) {
+            parseDirectives(value, (name, arg) -> {
+                switch (Ascii.toLowerCase(name)) {
+                    case "no-store":
+                        directives.noStore = true;
+                        break;
+                    case "no-cache":
+                        directives.noCache = true;
+                        break;
+                    case "private":
+                        directives.cachePrivate = true;
+                        break;
+                    case "must-revalidate":
+                    case "proxy-revalidate":
+                        directives.mustRevalidate = true;
+                        break;
+                    case "max-age":
+                        directives.maxAgeSeconds = parseDirectiveValueAsSeconds(arg);
+                        break;
+                    case "s-maxage":
+                        directives.sMaxAgeSeconds = parseDirectiveValueAsSeconds(arg);
+                        break;
+                    case "stale-while-revalidate":
+                        directives.staleWhileRevalidateSeconds = parseDirectiveValueAsSeconds(arg);
+                        break;
+                }
+            });
+        }
+        return directives;
+    }
+
+    /**
+     * Returns the freshness lifetime of a response in nanoseconds, or {@code 0} if the response does not
+     * specify it. {@code "s-maxage"} is honored only if the cache is {@code shared}.
+     * See <a href="https://datatracker.ietf.org/doc/html/rfc9111#section-4.2.1">RFC 9111, Section 4.2.1</a>.
+     */
+    public static long freshnessLifetimeNanos(ResponseHeaders headers, ResponseCacheDirectives directives,
+                                              boolean shared) {
+        if (shared && directives.sMaxAgeSeconds >= 0) {
+            return TimeUnit.SECONDS.toNanos(directives.sMaxAgeSeconds);
+        }
+        if (directives.maxAgeSeconds >= 0) {
+            return TimeUnit.SECONDS.toNanos(directives.maxAgeSeconds);
+        }
+        final Long expires = headers.getTimeMillis(HttpHeaderNames.EXPIRES);
+        final Long date = headers.getTimeMillis(HttpHeaderNames.DATE);
+        if (expires == null || date == null || expires <= date) {
+            return 0;
+        }
+        return TimeUnit.MILLISECONDS.toNanos(expires - date);
+    }
+
+    /**
+     * Returns the value of the {@code "age"} header of the specified {@link ResponseHeaders} in nanoseconds,
+     * or {@code 0} if absent or invalid.
+     */
+    public static long ageNanos(ResponseHeaders headers) {
+        final Long age = headers.getLong(HttpHeaderNames.AGE);
+        return age != null && age > 0 ? TimeUnit.SECONDS.toNanos(age) : 0;
+    }
+
+    /**
+     * Returns the header names listed in the {@code "vary"} header of the specified {@link ResponseHeaders}.
+     * The returned {@link Set} contains {@code "*"} if the response varies on anything other than
+     * the request headers.
+     */
+    public static Set<AsciiString> varyHeaderNames(ResponseHeaders headers) {
+        final List<String> values = headers.getAll(HttpHeaderNames.VARY);
+        if (values.isEmpty()) {
+            return ImmutableSet.of();
+        }
+        final ImmutableSet.Builder<AsciiString> builder = ImmutableSet.builder();
+        for (String value : values) {
+            for (String name : varySplitter.split(value)) {
+                builder.add(HttpHeaderNames.of(name));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the request headers nominated by the specified {@code varyHeaderNames}.
+     */
+    public static HttpHeaders selectedHeaders(RequestHeaders headers, Set<AsciiString> varyHeaderNames) {
+        if (varyHeaderNames.isEmpty()) {
+            return HttpHeaders.of();
+        }
+        final HttpHeadersBuilder builder = HttpHeaders.builder();
+        for (AsciiString name : varyHeaderNames) {
+            builder.add(name, headers.getAll(name));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns whether the specified {@link RequestHeaders} have the same values with
+     * the {@code selectedHeaders} for all header names in {@code varyHeaderNames}.
+     */
+    public static boolean matchesSelectedHeaders(RequestHeaders headers, HttpHeaders selectedHeaders,
+                                                 Set<AsciiString> varyHeaderNames) {
+        for (AsciiString name : varyHeaderNames) {
+            if (!Objects.equals(headers.getAll(name), selectedHeaders.getAll(name))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the headers of a stored response updated with the headers of a {@code 304 Not Modified}
+     * response. See <a href="https://datatracker.ietf.org/doc/html/rfc9111#section-4.3.4">
+     * RFC 9111, Section 4.3.4</a>.
+     */
+    public static ResponseHeaders updateHeaders(ResponseHeaders stored, ResponseHeaders notModified) {
+        final ResponseHeadersBuilder builder = stored.toBuilder();
+        for (AsciiString name : notModified.names()) {
+            if (name.byteAt(0) == ':' || nonUpdatableHeaders.contains(name)) {
+                continue;
+            }
+            builder.set(name, notModified.getAll(name));
+        }
+        return builder.build();
+    }
+
+    /**
+     * The directives of a {@code "cache-control"} response header.
+     */
+    public static final class ResponseCacheDirectives {
+
+        boolean noStore;
+        boolean noCache;
+        boolean cachePrivate;
+        boolean mustRevalidate;
+        long maxAgeSeconds = -1;
+        long sMaxAgeSeconds = -1;
+        long staleWhileRevalidateSeconds = -1;
+
+        ResponseCacheDirectives() {}
+
+        public boolean noStore() {
+            return noStore;
+        }
+
+        public boolean noCache() {
+            return noCache;
+        }
+
+        public boolean cachePrivate() {
+            return cachePrivate;
+        }
+
+        public boolean mustRevalidate() {
+            return mustRevalidate;
+        }
+
+        /**
+         * Returns whether the response specifies its freshness lifetime explicitly.
+         */
+        public boolean hasMaxAge() {
+            return maxAgeSeconds >= 0 || sMaxAgeSeconds >= 0;
+        }
+
+        /**
+         * Returns the value of the {@code "stale-while-revalidate"} directive in nanoseconds, or {@code 0} if
+         * absent or stale responses must not be served.
+         */
+        public long staleWhileRevalidateNanos() {
+            if (mustRevalidate || noCache || staleWhileRevalidateSeconds <= 0) {
+                return 0;
+            }
+            return TimeUnit.SECONDS.toNanos(staleWhileRevalidateSeconds);
+        }
+    }
+
+    private HttpCacheUtil() {}
+}
@@ -55,15 +55,17 @@ public final class InboundTrafficController extends AtomicInteger {
     //               using HTTP/2 flow control.
     public static InboundTrafficController ofHttp2(Channel channel, Http2ConnectionDecoder decoder,
                                                    int connectionWindowSize) {
-        // Compensate for protocol overhead traffic incurred by frame headers, etc.
-        // This is a very rough estimate, but it should not hurt.
-        connectionWindowSize = IntMath.saturatedAdd(connectionWindowSize, 1024);
-
-        final int highWatermark = connectionWindowSize;
+        final int highWatermark = http2HighWatermark(connectionWindowSize);
         final int lowWatermark = highWatermark >>> 1;
         return new InboundTrafficController(channel, decoder, highWatermark, lowWatermark);
     }
 
+    private static int http2HighWatermark(int connectionWindowSize) {
+        // Compensate for protocol overhead traffic incurred by frame headers, etc.
+        // This is a very rough estimate, but it should not hurt.
+        return IntMath.saturatedAdd(connectionWindowSize, 1024);
+    }
+
     public static InboundTrafficController disabled() {
         return DISABLED;
     }
@@ -74,8 +76,8 @@ public final class InboundTrafficController extends AtomicInteger {
     private final ChannelConfig cfg;
     @Nullable
     private final Http2ConnectionDecoder decoder;
-    private final int highWatermark;
-    private final int lowWatermark;
+    private volatile int highWatermark;
+    private volatile int lowWatermark;
     private volatile boolean suspended;
 
     private InboundTrafficController(@Nullable Channel channel,
@@ -119,6 +121,26 @@ public final class InboundTrafficController extends AtomicInteger {
         }
     }
 
+    /**
+     * Raises the watermarks of this HTTP/2 controller when the connection-level window has grown.
+     * Must be called from the event loop of the channel.
+     */
+    public void growConnectionWindowSize(int connectionWindowSize) {
+        assert decoder != null && channel != null;
+        final int newHighWatermark = http2HighWatermark(connectionWindowSize);
+        if (newHighWatermark <= highWatermark) {
+            return;
+        }
+        highWatermark = newHighWatermark;
+        lowWatermark = newHighWatermark >>> 1;
+        if (suspended && get() <= lowWatermark) {
+            // Already below the new low watermark, so dec() will never cross it.
+            assert cfg != null;
+            cfg.setAutoRead(true);
+            suspended = false;
+        }
+    }
+
     private void consumeHttp2Bytes(int streamId, int numConsumedBytes) {
         assert decoder != null && channel != null;
         final Http2Stream stream = decoder.connection().stream(streamId);
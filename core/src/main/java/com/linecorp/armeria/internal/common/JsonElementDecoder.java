@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.stream.HttpDecoder;
+import com.linecorp.armeria.common.stream.StreamDecoderInput;
+import com.linecorp.armeria.common.stream.StreamDecoderOutput;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * An {@link HttpDecoder} which parses a JSON content incrementally with a non-blocking {@link JsonParser}
+ * as the chunks arrive, and emits the elements of the top-level JSON array one by one. If the content is
+ * a sequence of JSON values such as JSON Lines or the top-level value is not an array, each top-level value
+ * is emitted as an element. Only the tokens of the element being parsed are buffered, so the whole content
+ * is never held in memory.
+ */
+public final class JsonElementDecoder<T> implements HttpDecoder<T> {
+
+    private final ObjectReader reader;
+    private final boolean unwrapArray;
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+
+    /**
+     * The current nesting level of the parsed tokens, including the top-level array.
+     */
+    private int depth;
+    private boolean inTopLevelArray;
+    @Nullable
+    private TokenBuffer element;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param reader the {@link ObjectReader} which converts an element into an object
+     * @param unwrapArray whether to emit the elements of a top-level JSON array rather than the array itself
+     */
+    public JsonElementDecoder(ObjectReader reader, boolean unwrapArray) {
+        this.reader = requireNonNull(reader, "reader");
+        this.unwrapArray = unwrapArray;
+        try {
+            parser = reader.getFactory().createNonBlockingByteBufferParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("failed to create a non-blocking JSON parser", e);
+        }
+        feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    @Override
+    public void process(StreamDecoderInput in, StreamDecoderOutput<T> out) throws Exception {
+        final int readableBytes = in.readableBytes();
+        if (readableBytes == 0) {
+            return;
+        }
+        final ByteBuf buf = in.readBytes(readableBytes);
+        try {
+            // The parser refers to the fed buffer until all tokens in it are consumed.
+            feeder.feedInput(buf.nioBuffer());
+            parse(out);
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Override
+    public void processOnComplete(StreamDecoderInput in, StreamDecoderOutput<T> out) throws Exception {
+        feeder.endOfInput();
+        parse(out);
+        parser.close();
+    }
+
+    @Override
+    public void processOnError(Throwable cause) {
+        try {
+            parser.close();
+        } catch (IOException ignored) {
+            // The parser does not own any resources.
+        }
+    }
+
+    private void parse(StreamDecoderOutput<T> out) throws IOException {
+        for (;;) {
+            final JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.NOT_AVAILABLE) {
+                return;
+            }
+
+            if (unwrapArray && element == null) {
+                if (depth == 0 && token == JsonToken.START_ARRAY) {
+                    inTopLevelArray = true;
+                    depth++;
+                    continue;
+                }
+                if (inTopLevelArray && depth == 1 && token == JsonToken.END_ARRAY) {
+                    inTopLevelArray = false;
+                    depth--;
+                    continue;
+                }
+            }
+
+            TokenBuffer element = this.element;
+            if (element == null) {
+                element = this.element = new TokenBuffer(parser, null);
+            }
+            element.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+
+            if (depth == (inTopLevelArray ? 1 : 0)) {
+                // The element is complete.
+                this.element = null;
+                final T value;
+                try (JsonParser elementParser = element.asParser()) {
+                    value = reader.readValue(elementParser);
+                }
+                if (value == null) {
+                    throw new IllegalArgumentException("A JSON element must not be null.");
+                }
+                out.add(value);
+            }
+        }
+    }
+}
@@ -40,6 +40,7 @@ import io.micrometer.core.instrument.Tag;
 public final class DefaultMeterIdPrefixFunction implements MeterIdPrefixFunction {
 
     private final String name;
+    private final RequestMeterCache meterCache = new RequestMeterCache();
 
     public static MeterIdPrefixFunction of(String name) {
         return new DefaultMeterIdPrefixFunction(name);
@@ -65,6 +66,14 @@ public final class DefaultMeterIdPrefixFunction implements MeterIdPrefixFunction
         return new MeterIdPrefix(name, tagListBuilder.build());
     }
 
+    /**
+     * Returns the cache of the request meters resolved with the {@link MeterIdPrefix}es created by
+     * this function.
+     */
+    RequestMeterCache meterCache() {
+        return meterCache;
+    }
+
     /**
      * Adds the active request tags in lexicographical order for better sort performance.
      * This adds {@code hostname.pattern}, {@code method} and {@code service}, in order.
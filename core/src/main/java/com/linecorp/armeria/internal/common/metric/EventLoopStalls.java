@@ -0,0 +1,133 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common.metric;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.internal.common.util.ReentrantShortLock;
+
+/**
+ * Keeps the most recent stalls of the event loops detected by {@code EventLoopHealthMetrics}, so that they
+ * can be inspected via {@code ManagementService}.
+ */
+public final class EventLoopStalls {
+
+    private static final int MAX_STALLS = 32;
+
+    private static final ArrayDeque<Stall> stalls = new ArrayDeque<>(MAX_STALLS);
+    private static final ReentrantShortLock lock = new ReentrantShortLock();
+
+    /**
+     * Adds the specified {@link Stall}, evicting the oldest one if there are too many.
+     */
+    public static void add(Stall stall) {
+        requireNonNull(stall, "stall");
+        lock.lock();
+        try {
+            if (stalls.size() == MAX_STALLS) {
+                stalls.removeFirst();
+            }
+            stalls.addLast(stall);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the most recent {@link Stall}s, from the oldest to the newest.
+     */
+    public static List<Stall> recent() {
+        lock.lock();
+        try {
+            return ImmutableList.copyOf(stalls);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A stall of an event loop which did not run a task for longer than a threshold.
+     */
+    public static final class Stall {
+
+        private final String threadName;
+        private final long timestampMillis;
+        private final long durationNanos;
+        private final List<StackTraceElement> stackTrace;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param threadName the name of the stalled event loop thread
+         * @param timestampMillis when the stall was detected, in milliseconds since the epoch
+         * @param durationNanos how long the event loop had not run a task when the stall was detected
+         * @param stackTrace the stack trace of the event loop thread sampled when the stall was detected
+         */
+        public Stall(String threadName, long timestampMillis, long durationNanos,
+                     StackTraceElement[] stackTrace) {
+            this.threadName = requireNonNull(threadName, "threadName");
+            this.timestampMillis = timestampMillis;
+            this.durationNanos = durationNanos;
+            this.stackTrace = ImmutableList.copyOf(requireNonNull(stackTrace, "stackTrace"));
+        }
+
+        /**
+         * Returns the name of the stalled event loop thread.
+         */
+        public String threadName() {
+            return threadName;
+        }
+
+        /**
+         * Returns when the stall was detected, in milliseconds since the epoch.
+         */
+        public long timestampMillis() {
+            return timestampMillis;
+        }
+
+        /**
+         * Returns how long the event loop had not run a task when the stall was detected.
+         */
+        public long durationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * Returns the stack trace of the event loop thread sampled when the stall was detected, which
+         * usually points to the task that blocks the event loop.
+         */
+        public List<StackTraceElement> stackTrace() {
+            return stackTrace;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                              .add("threadName", threadName)
+                              .add("timestampMillis", timestampMillis)
+                              .add("durationNanos", durationNanos)
+                              .toString();
+        }
+    }
+
+    private EventLoopStalls() {}
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common.metric;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.LongSupplier;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.RequestId;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.logging.RequestLog;
+
+import io.netty.util.AsciiString;
+
+/**
+ * A fixed-size reservoir which keeps the slowest recent request of each power-of-two bucket of
+ * a {@link LogLinearHistogram} as an exemplar, so that a spike of a high percentile can be linked to
+ * the request which caused it.
+ *
+ * <p>An exemplar is replaced when a slower request is offered to its bucket or when it becomes older than
+ * {@value #MAX_AGE_MILLIS} milliseconds. {@link #offer(long, RequestLog)} never allocates nor blocks;
+ * it stores the references to the immutable values of the {@link RequestLog} into a preallocated slot
+ * guarded by a sequence lock, and gives up if another thread is updating the same slot.
+ */
+public final class ExemplarReservoir {
+
+    /**
+     * The age of an exemplar after which it is replaced even by a faster request.
+     */
+    @VisibleForTesting
+    static final long MAX_AGE_MILLIS = 60_000;
+
+    private static final AsciiString TRACEPARENT = HttpHeaderNames.of("traceparent");
+    private static final AsciiString X_B3_TRACEID = HttpHeaderNames.of("x-b3-traceid");
+
+    private static final int SUB_BUCKETS = 1 << LogLinearHistogram.SCHEMA;
+
+    // One slot for the zero bucket and one for each power of two from 2^(MIN_EXPONENT + 1) to 2^MAX_EXPONENT.
+    private static final int MIN_EXPONENT = (LogLinearHistogram.MIN_INDEX - 1) / SUB_BUCKETS;
+    private static final int MAX_EXPONENT = LogLinearHistogram.MAX_INDEX / SUB_BUCKETS;
+    private static final int NUM_SLOTS = MAX_EXPONENT - MIN_EXPONENT + 1;
+
+    private final Slot[] slots = new Slot[NUM_SLOTS];
+    private final LongSupplier currentTimeMillis;
+
+    /**
+     * Creates a new instance.
+     */
+    public ExemplarReservoir() {
+        this(System::currentTimeMillis);
+    }
+
+    @VisibleForTesting
+    ExemplarReservoir(LongSupplier currentTimeMillis) {
+        this.currentTimeMillis = currentTimeMillis;
+        for (int i = 0; i < NUM_SLOTS; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    /**
+     * Offers the specified duration of the specified {@link RequestLog}, which must be complete. It is kept
+     * as the exemplar of its bucket if it is slower than the current exemplar or the current exemplar is
+     * too old.
+     */
+    public void offer(long durationNanos, RequestLog log) {
+        if (durationNanos < 0) {
+            return;
+        }
+        final Slot slot = slots[slot(durationNanos)];
+        final long version = slot.version;
+        if ((version & 1) != 0) {
+            // Being updated by another thread.
+            return;
+        }
+        final long nowMillis = currentTimeMillis.getAsLong();
+        if (version != 0 && durationNanos < slot.durationNanos &&
+            nowMillis - slot.timestampMillis < MAX_AGE_MILLIS) {
+            return;
+        }
+
+        // Read everything before locking the slot, so that the slot is never left locked by an exception.
+        final RequestHeaders headers = log.requestHeaders();
+        String traceHeader = headers.get(TRACEPARENT);
+        if (traceHeader == null) {
+            traceHeader = headers.get(X_B3_TRACEID);
+        }
+        final RequestId requestId = log.context().id();
+        final int statusCode = log.responseHeaders().status().code();
+
+        if (!Slot.versionUpdater.compareAndSet(slot, version, version + 1)) {
+            return;
+        }
+        slot.durationNanos = durationNanos;
+        slot.timestampMillis = nowMillis;
+        slot.requestId = requestId;
+        slot.traceHeader = traceHeader;
+        slot.method = headers.method();
+        slot.path = headers.path();
+        slot.statusCode = statusCode;
+        slot.version = version + 2;
+    }
+
+    /**
+     * Returns the exemplar of each bucket, from the fastest to the slowest.
+     */
+    public List<Exemplar> exemplars() {
+        final ImmutableList.Builder<Exemplar> builder = ImmutableList.builder();
+        for (Slot slot : slots) {
+            final Exemplar exemplar = slot.read();
+            if (exemplar != null) {
+                builder.add(exemplar);
+            }
+        }
+        return builder.build();
+    }
+
+    private static int slot(long durationNanos) {
+        final double seconds = durationNanos / 1e9;
+        if (seconds <= LogLinearHistogram.ZERO_THRESHOLD) {
+            return 0;
+        }
+        final int exponent = Math.getExponent(seconds);
+        // The bucket whose upper bound is the smallest power of two not less than the duration.
+        final int upperExponent = Math.scalb(seconds, -exponent) == 1.0 ? exponent : exponent + 1;
+        return Math.min(upperExponent, MAX_EXPONENT) - MIN_EXPONENT;
+    }
+
+    private static final class Slot {
+
+        static final AtomicLongFieldUpdater<Slot> versionUpdater =
+                AtomicLongFieldUpdater.newUpdater(Slot.class, "version");
+
+        /**
+         * Zero if empty, odd while being updated, and even otherwise.
+         */
+        volatile long version;
+        volatile long durationNanos;
+        volatile long timestampMillis;
+        @Nullable
+        volatile RequestId requestId;
+        @Nullable
+        volatile String traceHeader;
+        @Nullable
+        volatile HttpMethod method;
+        @Nullable
+        volatile String path;
+        volatile int statusCode;
+
+        @Nullable
+        Exemplar read() {
+            for (;;) {
+                final long version = this.version;
+                if (version == 0) {
+                    return null;
+                }
+                if ((version & 1) != 0) {
+                    // A writer updates only a few fields, so spin until it finishes.
+                    continue;
+                }
+                final long durationNanos = this.durationNanos;
+                final long timestampMillis = this.timestampMillis;
+                final RequestId requestId = this.requestId;
+                final String traceHeader = this.traceHeader;
+                final HttpMethod method = this.method;
+                final String path = this.path;
+                final int statusCode = this.statusCode;
+                if (this.version == version) {
+                    assert requestId != null && method != null && path != null;
+                    return new Exemplar(durationNanos, timestampMillis, requestId, traceId(traceHeader),
+                                        method, stripQuery(path), statusCode);
+                }
+            }
+        }
+    }
+
+    /**
+     * Strips the query string from the specified path, which may contain credentials or personal
+     * information that must not be exposed with the metrics. This is done when an exemplar is read rather
+     * than when it's offered, so that {@link #offer(long, RequestLog)} does not allocate.
+     */
+    private static String stripQuery(String path) {
+        final int queryIndex = path.indexOf('?');
+        return queryIndex < 0 ? path : path.substring(0, queryIndex);
+    }
+
+    /**
+     * Returns the trace ID from the value of a {@code traceparent} header, i.e.
+     * {@code <version>-<trace-id>-<parent-id>-<trace-flags>}, or an {@code x-b3-traceid} header.
+     */
+    @Nullable
+    private static String traceId(@Nullable String traceHeader) {
+        if (traceHeader == null) {
+            return null;
+        }
+        final int start = traceHeader.indexOf('-');
+        if (start < 0) {
+            return traceHeader;
+        }
+        final int end = traceHeader.indexOf('-', start + 1);
+        return end < 0 ? traceHeader.substring(start + 1) : traceHeader.substring(start + 1, end);
+    }
+
+    /**
+     * A request kept in an {@link ExemplarReservoir}.
+     */
+    public static final class Exemplar {
+
+        private final long durationNanos;
+        private final long timestampMillis;
+        private final RequestId requestId;
+        @Nullable
+        private final String traceId;
+        private final HttpMethod method;
+        private final String path;
+        private final int statusCode;
+
+        Exemplar(long durationNanos, long timestampMillis, RequestId requestId, @Nullable String traceId,
+                 HttpMethod method, String path, int statusCode) {
+            this.durationNanos = durationNanos;
+            this.timestampMillis = timestampMillis;
+            this.requestId = requestId;
+            this.traceId = traceId;
+            this.method = method;
+            this.path = path;
+            this.statusCode = statusCode;
+        }
+
+        /**
+         * Returns the recorded duration of the request.
+         */
+        public long durationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * Returns when the request was kept, in milliseconds since the epoch.
+         */
+        public long timestampMillis() {
+            return timestampMillis;
+        }
+
+        /**
+         * Returns the {@link RequestId} of the request.
+         */
+        public RequestId requestId() {
+            return requestId;
+        }
+
+        /**
+         * Returns the trace ID propagated with the request, or {@code null} if the request had neither
+         * a {@code traceparent} nor an {@code x-b3-traceid} header.
+         */
+        @Nullable
+        public String traceId() {
+            return traceId;
+        }
+
+        /**
+         * Returns the {@link HttpMethod} of the request.
+         */
+        public HttpMethod method() {
+            return method;
+        }
+
+        /**
+         * Returns the path of the request, without the query string.
+         */
+        public String path() {
+            return path;
+        }
+
+        /**
+         * Returns the status code of the response.
+         */
+        public int statusCode() {
+            return statusCode;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).omitNullValues()
+                              .add("durationNanos", durationNanos)
+                              .add("timestampMillis", timestampMillis)
+                              .add("requestId", requestId)
+                              .add("traceId", traceId)
+                              .add("method", method)
+                              .add("path", path)
+                              .add("statusCode", statusCode)
+                              .toString();
+        }
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common.metric;
+
+import static io.netty.util.internal.MathUtil.findNextPositivePowerOfTwo;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * A histogram of durations which records into fixed log-linear buckets without any lock. The buckets are
+ * the same with the ones of a Prometheus native histogram of schema {@value #SCHEMA}, i.e. the bucket
+ * whose index is {@code i} counts the durations in {@code (2^((i - 1) / 8), 2^(i / 8)]} seconds, so that
+ * the relative error of a bucket is less than 9%.
+ *
+ * <p>A recording thread updates one of the stripes chosen by its ID, so that the threads such as event loops
+ * rarely contend with each other. Like {@link java.util.concurrent.atomic.LongAdder}, a histogram starts
+ * with a single stripe and doubles the number of stripes only when the recording threads contend, up to
+ * the number of the available processors. The stripes are merged only when a {@link Snapshot} is taken.
+ */
+public final class LogLinearHistogram {
+
+    /**
+     * The Prometheus native histogram schema of the buckets. There are {@code 2^SCHEMA} buckets for
+     * each power of two.
+     */
+    public static final int SCHEMA = 3;
+
+    private static final int SUB_BUCKETS = 1 << SCHEMA;
+
+    /**
+     * The durations shorter than or equal to {@code 2^-30} seconds, i.e. about a nanosecond, are counted
+     * in the zero bucket.
+     */
+    private static final int MIN_EXPONENT = -30;
+
+    /**
+     * The durations longer than {@code 2^12} seconds, i.e. about 68 minutes, are counted in the last bucket.
+     */
+    private static final int MAX_EXPONENT = 12;
+
+    /**
+     * The upper bound of the zero bucket in seconds.
+     */
+    public static final double ZERO_THRESHOLD = Math.scalb(1.0, MIN_EXPONENT);
+
+    /**
+     * The index of the first bucket after the zero bucket.
+     */
+    public static final int MIN_INDEX = MIN_EXPONENT * SUB_BUCKETS + 1;
+
+    /**
+     * The index of the last bucket.
+     */
+    public static final int MAX_INDEX = MAX_EXPONENT * SUB_BUCKETS;
+
+    // The slots of a stripe: the zero bucket, the buckets from MIN_INDEX to MAX_INDEX, the sum and the max.
+    private static final int ZERO_SLOT = 0;
+    private static final int NUM_BUCKET_SLOTS = MAX_INDEX - MIN_INDEX + 2;
+    private static final int SUM_SLOT = NUM_BUCKET_SLOTS;
+    private static final int MAX_SLOT = SUM_SLOT + 1;
+    private static final int NUM_SLOTS = MAX_SLOT + 1;
+
+    /**
+     * {@code 2^(k / 8)} for {@code k} in {@code [1, 8]}.
+     */
+    private static final double[] SUB_BUCKET_UPPER_BOUNDS = new double[SUB_BUCKETS];
+
+    private static final int MAX_NUM_STRIPES =
+            Math.min(findNextPositivePowerOfTwo(Runtime.getRuntime().availableProcessors()), 64);
+
+    private static final AtomicIntegerFieldUpdater<LogLinearHistogram> numStripesUpdater =
+            AtomicIntegerFieldUpdater.newUpdater(LogLinearHistogram.class, "numStripes");
+
+    static {
+        for (int i = 0; i < SUB_BUCKETS; i++) {
+            SUB_BUCKET_UPPER_BOUNDS[i] = Math.pow(2, (double) (i + 1) / SUB_BUCKETS);
+        }
+        // Make sure the last upper bound is exactly 2.0.
+        SUB_BUCKET_UPPER_BOUNDS[SUB_BUCKETS - 1] = 2.0;
+    }
+
+    /**
+     * The stripes which are allocated lazily, because most of the durations are recorded by a few threads.
+     */
+    private final AtomicReferenceArray<AtomicLongArray> stripes =
+            new AtomicReferenceArray<>(MAX_NUM_STRIPES);
+
+    /**
+     * The number of the stripes in use, which is a power of two.
+     */
+    private volatile int numStripes = 1;
+
+    /**
+     * Records the specified duration. A negative duration is ignored.
+     */
+    public void record(long durationNanos) {
+        if (durationNanos < 0) {
+            return;
+        }
+        final int slot = slot(durationNanos);
+        final int numStripes = this.numStripes;
+        AtomicLongArray stripe = stripe(numStripes);
+        final long count = stripe.get(slot);
+        if (!stripe.compareAndSet(slot, count, count + 1)) {
+            // Contended with another thread. Spread the threads over more stripes.
+            if (numStripes < MAX_NUM_STRIPES) {
+                numStripesUpdater.compareAndSet(this, numStripes, numStripes << 1);
+            }
+            stripe = stripe(this.numStripes);
+            stripe.incrementAndGet(slot);
+        }
+        stripe.addAndGet(SUM_SLOT, durationNanos);
+        if (durationNanos > stripe.get(MAX_SLOT)) {
+            stripe.accumulateAndGet(MAX_SLOT, durationNanos, Math::max);
+        }
+    }
+
+    private AtomicLongArray stripe(int numStripes) {
+        final long threadId = Thread.currentThread().getId();
+        final int index = (int) ((threadId * 0x9E3779B97F4A7C15L) >>> 32) & (numStripes - 1);
+        final AtomicLongArray stripe = stripes.get(index);
+        if (stripe != null) {
+            return stripe;
+        }
+        final AtomicLongArray newStripe = new AtomicLongArray(NUM_SLOTS);
+        if (stripes.compareAndSet(index, null, newStripe)) {
+            return newStripe;
+        }
+        return stripes.get(index);
+    }
+
+    @VisibleForTesting
+    int numStripes() {
+        return numStripes;
+    }
+
+    /**
+     * Returns the slot of the bucket which counts the specified duration.
+     */
+    private static int slot(long durationNanos) {
+        final int index = bucketIndex(durationNanos / 1e9);
+        return index < MIN_INDEX ? ZERO_SLOT : index - MIN_INDEX + 1;
+    }
+
+    /**
+     * Returns the native histogram bucket index of the specified duration in seconds, which is less than
+     * {@link #MIN_INDEX} for the zero bucket.
+     */
+    @VisibleForTesting
+    static int bucketIndex(double seconds) {
+        if (seconds <= ZERO_THRESHOLD) {
+            return MIN_INDEX - 1;
+        }
+        final int exponent = Math.getExponent(seconds);
+        if (exponent >= MAX_EXPONENT) {
+            return MAX_INDEX;
+        }
+        // In [1.0, 2.0).
+        final double fraction = Math.scalb(seconds, -exponent);
+        if (fraction == 1.0) {
+            // A power of two is the upper bound of the last bucket of the previous exponent.
+            return exponent * SUB_BUCKETS;
+        }
+        // Find the first sub-bucket whose upper bound is greater than or equal to the fraction.
+        int low = 0;
+        int high = SUB_BUCKETS - 1;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (fraction <= SUB_BUCKET_UPPER_BOUNDS[mid]) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return exponent * SUB_BUCKETS + low + 1;
+    }
+
+    /**
+     * Returns the upper bound of the bucket of the specified index in seconds.
+     */
+    public static double upperBound(int bucketIndex) {
+        final int exponent = Math.floorDiv(bucketIndex, SUB_BUCKETS);
+        final int subBucket = Math.floorMod(bucketIndex, SUB_BUCKETS);
+        if (subBucket == 0) {
+            return Math.scalb(1.0, exponent);
+        }
+        return Math.scalb(SUB_BUCKET_UPPER_BOUNDS[subBucket - 1], exponent);
+    }
+
+    /**
+     * Merges all stripes into a new {@link Snapshot}. The recordings made while the snapshot is taken may
+     * or may not be included.
+     */
+    public Snapshot snapshot() {
+        final long[] counts = new long[NUM_BUCKET_SLOTS];
+        long sumNanos = 0;
+        long maxNanos = 0;
+        for (int i = 0; i < MAX_NUM_STRIPES; i++) {
+            final AtomicLongArray stripe = stripes.get(i);
+            if (stripe == null) {
+                continue;
+            }
+            for (int j = 0; j < NUM_BUCKET_SLOTS; j++) {
+                counts[j] += stripe.get(j);
+            }
+            sumNanos += stripe.get(SUM_SLOT);
+            maxNanos = Math.max(maxNanos, stripe.get(MAX_SLOT));
+        }
+        return new Snapshot(counts, sumNanos, maxNanos);
+    }
+
+    /**
+     * A merged snapshot of a {@link LogLinearHistogram}.
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long sumNanos;
+        private final long maxNanos;
+
+        Snapshot(long[] counts, long sumNanos, long maxNanos) {
+            this.counts = counts;
+            long count = 0;
+            for (long c : counts) {
+                count += c;
+            }
+            this.count = count;
+            this.sumNanos = sumNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        /**
+         * Returns the total number of the recorded durations.
+         */
+        public long count() {
+            return count;
+        }
+
+        /**
+         * Returns the sum of the recorded durations in nanoseconds.
+         */
+        public long sumNanos() {
+            return sumNanos;
+        }
+
+        /**
+         * Returns the longest recorded duration in nanoseconds.
+         */
+        public long maxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * Returns the number of the durations shorter than or equal to {@link #ZERO_THRESHOLD}.
+         */
+        public long zeroCount() {
+            return counts[ZERO_SLOT];
+        }
+
+        /**
+         * Returns the number of the durations in the bucket of the specified index.
+         */
+        public long count(int bucketIndex) {
+            if (bucketIndex < MIN_INDEX || bucketIndex > MAX_INDEX) {
+                return 0;
+            }
+            return counts[bucketIndex - MIN_INDEX + 1];
+        }
+
+        /**
+         * Invokes the specified {@link BucketConsumer} for each non-empty bucket in ascending order,
+         * excluding the zero bucket.
+         */
+        public void forEachBucket(BucketConsumer consumer) {
+            for (int i = 1; i < counts.length; i++) {
+                final long count = counts[i];
+                if (count != 0) {
+                    consumer.accept(i - 1 + MIN_INDEX, count);
+                }
+            }
+        }
+    }
+
+    /**
+     * Consumes the index and the count of a bucket.
+     */
+    @FunctionalInterface
+    public interface BucketConsumer {
+        /**
+         * Consumes the index and the count of a bucket.
+         */
+        void accept(int bucketIndex, long count);
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common.metric;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.MapMaker;
+
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.logging.RequestLog;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.noop.NoopFunctionTimer;
+import io.micrometer.core.instrument.util.TimeUtils;
+
+/**
+ * A {@link Timer} which records into a {@link LogLinearHistogram} instead of the histograms configured by
+ * a {@code DistributionStatisticConfig}.
+ *
+ * <p>Micrometer does not allow registering a custom {@link Timer} implementation, so the count and the
+ * total time of the timer are registered to the {@link MeterRegistry} as a {@link FunctionTimer}, unless
+ * the {@link MeterRegistry} {@linkplain #exportNatively(MeterRegistry) exports} the buckets by itself,
+ * e.g. as a Prometheus native histogram.
+ */
+public final class LogLinearHistogramTimer implements Timer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogLinearHistogramTimer.class);
+
+    private static final ConcurrentMap<MeterRegistry, Registrations> registrations =
+            new MapMaker().weakKeys().makeMap();
+
+    /**
+     * Creates a new {@link LogLinearHistogramTimer} and registers it to the specified {@link MeterRegistry}.
+     * The {@code MeterFilter}s and the common tags of the {@link MeterRegistry} are applied to the ID of
+     * the timer. The timer registered already is returned if there is one with the same ID.
+     */
+    public static LogLinearHistogramTimer register(MeterRegistry registry, String name, Iterable<Tag> tags) {
+        requireNonNull(registry, "registry");
+        requireNonNull(name, "name");
+        requireNonNull(tags, "tags");
+
+        final Registrations registrations = registrations(registry);
+        final boolean exportNatively = registrations.exportedNatively;
+        final Clock clock = registry.config().clock();
+
+        // Register a FunctionTimer even if the buckets are exported natively, because Micrometer does not
+        // provide a way to apply the MeterFilters to an ID other than registering a meter.
+        final LogLinearHistogram histogram = new LogLinearHistogram();
+        final FunctionTimer functionTimer;
+        try {
+            functionTimer = FunctionTimer.builder(name, histogram, h -> h.snapshot().count(),
+                                                  h -> h.snapshot().sumNanos(), TimeUnit.NANOSECONDS)
+                                         .tags(tags)
+                                         .register(registry);
+        } catch (IllegalArgumentException e) {
+            // There is a meter of a different type with the same ID, such as a Timer.
+            logger.warn("Failed to register a log-linear histogram timer: {}{}", name, tags, e);
+            return new LogLinearHistogramTimer(new Id(name, Tags.of(tags), null, null, Type.TIMER), clock,
+                                               histogram, false, null);
+        }
+
+        final Id id = functionTimer.getId();
+        if (functionTimer instanceof NoopFunctionTimer) {
+            // Denied by a MeterFilter.
+            return new LogLinearHistogramTimer(id, clock, histogram, false, null);
+        }
+        if (exportNatively) {
+            // The MeterRegistry exports the buckets with the mapped ID by itself.
+            registry.remove(functionTimer);
+        }
+        return registrations.timers.computeIfAbsent(
+                id, unused -> new LogLinearHistogramTimer(id, clock, histogram, exportNatively,
+                                                          exportNatively ? null : functionTimer));
+    }
+
+    /**
+     * Marks that the specified {@link MeterRegistry} exports the buckets of the
+     * {@link LogLinearHistogramTimer}s registered to it by itself, so that no {@link FunctionTimer} is
+     * registered for the timers registered afterwards.
+     */
+    public static void exportNatively(MeterRegistry registry) {
+        requireNonNull(registry, "registry");
+        registrations(registry).exportedNatively = true;
+    }
+
+    /**
+     * Returns the {@link LogLinearHistogramTimer}s registered to the specified {@link MeterRegistry}.
+     */
+    public static List<LogLinearHistogramTimer> timers(MeterRegistry registry) {
+        requireNonNull(registry, "registry");
+        final Registrations registrations = LogLinearHistogramTimer.registrations.get(registry);
+        if (registrations == null) {
+            return ImmutableList.of();
+        }
+        return ImmutableList.copyOf(registrations.timers.values());
+    }
+
+    /**
+     * Forgets all registered {@link LogLinearHistogramTimer}s and removes their {@link FunctionTimer}s from
+     * the {@link MeterRegistry}s. Otherwise, the {@link FunctionTimer} would keep reading the histogram of
+     * a forgotten timer after the timer is registered again. This method is invoked by
+     * {@link MicrometerUtil#clear()}.
+     */
+    static void clear() {
+        registrations.forEach((registry, r) -> {
+            r.timers.values().forEach(timer -> {
+                if (timer.functionTimer != null) {
+                    registry.remove(timer.functionTimer);
+                }
+            });
+            r.timers.clear();
+        });
+    }
+
+    private static Registrations registrations(MeterRegistry registry) {
+        return registrations.computeIfAbsent(registry, unused -> new Registrations());
+    }
+
+    private final Id id;
+    private final Clock clock;
+    private final LogLinearHistogram histogram;
+    private final boolean exportedNatively;
+    @Nullable
+    private final FunctionTimer functionTimer;
+    private final ExemplarReservoir exemplars = new ExemplarReservoir();
+
+    private LogLinearHistogramTimer(Id id, Clock clock, LogLinearHistogram histogram,
+                                    boolean exportedNatively, @Nullable FunctionTimer functionTimer) {
+        this.id = id;
+        this.clock = clock;
+        this.histogram = histogram;
+        this.exportedNatively = exportedNatively;
+        this.functionTimer = functionTimer;
+    }
+
+    /**
+     * Returns whether the buckets of this timer should be exported by the {@link MeterRegistry} by itself.
+     * It is {@code false} if the count and the total time of this timer are registered as
+     * a {@link FunctionTimer} or if this timer has not been registered, e.g. denied by a
+     * {@code MeterFilter}.
+     */
+    public boolean exportedNatively() {
+        return exportedNatively;
+    }
+
+    /**
+     * Returns the {@link LogLinearHistogram} that this timer records into.
+     */
+    public LogLinearHistogram histogram() {
+        return histogram;
+    }
+
+    /**
+     * Returns the {@link ExemplarReservoir} which keeps the slowest recent request of each bucket.
+     */
+    public ExemplarReservoir exemplars() {
+        return exemplars;
+    }
+
+    /**
+     * Records the specified duration of the specified complete {@link RequestLog}, keeping the request as
+     * an exemplar if it is the slowest recent one in its bucket.
+     */
+    public void record(long durationNanos, RequestLog log) {
+        histogram.record(durationNanos);
+        exemplars.offer(durationNanos, log);
+    }
+
+    @Override
+    public Id getId() {
+        return id;
+    }
+
+    @Override
+    public void record(long amount, TimeUnit unit) {
+        histogram.record(unit.toNanos(amount));
+    }
+
+    @Override
+    public <T> T record(Supplier<T> f) {
+        final long startNanos = clock.monotonicTime();
+        try {
+            return f.get();
+        } finally {
+            histogram.record(clock.monotonicTime() - startNanos);
+        }
+    }
+
+    @Override
+    public <T> T recordCallable(Callable<T> f) throws Exception {
+        final long startNanos = clock.monotonicTime();
+        try {
+            return f.call();
+        } finally {
+            histogram.record(clock.monotonicTime() - startNanos);
+        }
+    }
+
+    @Override
+    public void record(Runnable f) {
+        final long startNanos = clock.monotonicTime();
+        try {
+            f.run();
+        } finally {
+            histogram.record(clock.monotonicTime() - startNanos);
+        }
+    }
+
+    @Override
+    public long count() {
+        return histogram.snapshot().count();
+    }
+
+    @Override
+    public double totalTime(TimeUnit unit) {
+        return TimeUtils.nanosToUnit(histogram.snapshot().sumNanos(), unit);
+    }
+
+    @Override
+    public double max(TimeUnit unit) {
+        return TimeUtils.nanosToUnit(histogram.snapshot().maxNanos(), unit);
+    }
+
+    @Override
+    public TimeUnit baseTimeUnit() {
+        return TimeUnit.SECONDS;
+    }
+
+    @Override
+    public HistogramSnapshot takeSnapshot() {
+        final LogLinearHistogram.Snapshot snapshot = histogram.snapshot();
+        final ImmutableList.Builder<CountAtBucket> buckets = ImmutableList.builder();
+        final long[] cumulativeCount = { snapshot.zeroCount() };
+        snapshot.forEachBucket((index, count) -> {
+            cumulativeCount[0] += count;
+            buckets.add(new CountAtBucket(LogLinearHistogram.upperBound(index) * 1e9, cumulativeCount[0]));
+        });
+        return new HistogramSnapshot(snapshot.count(), snapshot.sumNanos(), snapshot.maxNanos(), null,
+                                     buckets.build().toArray(new CountAtBucket[0]), null);
+    }
+
+    @Override
+    public String toString() {
+        return "LogLinearHistogramTimer{" + id + '}';
+    }
+
+    private static final class Registrations {
+        final ConcurrentMap<Id, LogLinearHistogramTimer> timers = new ConcurrentHashMap<>();
+        volatile boolean exportedNatively;
+    }
+}
@@ -22,6 +22,7 @@ import java.util.ArrayDeque;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 
 import com.google.common.collect.MapMaker;
@@ -44,6 +45,7 @@ public final class MicrometerUtil {
             new MapMaker().weakKeys().makeMap();
     private static final ThreadLocal<RegistrationState> registrationState =
             ThreadLocal.withInitial(RegistrationState::new);
+    private static final AtomicInteger generation = new AtomicInteger();
 
     /**
      * Associates a newly-created object with the specified {@link MeterIdPrefix} or returns an existing one if
@@ -160,6 +162,17 @@ public final class MicrometerUtil {
      */
     public static void clear() {
         map.clear();
+        LogLinearHistogramTimer.clear();
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Returns the number of times {@link #clear()} has been called, so that a cache of the objects
+     * returned by {@link #register(MeterRegistry, MeterIdPrefix, Class, BiFunction)} can tell whether
+     * they are still registered.
+     */
+    static int generation() {
+        return generation.get();
     }
 
     private MicrometerUtil() {}
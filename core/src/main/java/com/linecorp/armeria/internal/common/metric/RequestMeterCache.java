@@ -0,0 +1,166 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common.metric;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.metric.MeterIdPrefix;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Caches the request meters resolved by {@link RequestMetricSupport} for
+ * a {@link DefaultMeterIdPrefixFunction}, so that the {@link MeterIdPrefix} and its tags are built only when
+ * the meters for a tuple of {@code (registry, hostname.pattern, method, service)} and an HTTP status code
+ * are resolved for the first time.
+ *
+ * <p>The tuples are kept in a small copy-on-write array which is looked up by reference equality first,
+ * because the tag values usually come from the same {@link String} instances, e.g. {@code HttpMethod.name()}
+ * and the default service name of a {@code ServiceConfig}. The meters for the complete requests are kept in
+ * an array indexed by the HTTP status code. Looking up a cached meter allocates nothing.
+ */
+final class RequestMeterCache {
+
+    /**
+     * The maximum number of tuples to cache. The meters for the tuples beyond this limit are resolved
+     * via {@link MicrometerUtil} as usual, so that a high-cardinality tag such as an unbounded RPC method name
+     * does not grow the cache indefinitely.
+     */
+    private static final int MAX_ENTRIES = 64;
+
+    /**
+     * The HTTP status codes in {@code [0, 600)} are cached.
+     */
+    private static final int MAX_STATUS_CODE = 600;
+
+    private static final Entry[] EMPTY_ENTRIES = new Entry[0];
+
+    private volatile Entry[] entries = EMPTY_ENTRIES;
+
+    /**
+     * Returns the {@link Entry} of the specified tag values, creating a new one if absent.
+     * {@code null} is returned if the cache is full.
+     */
+    @Nullable
+    Entry get(MeterRegistry registry, boolean server, @Nullable String hostnamePattern,
+              String method, String service) {
+        final int generation = MicrometerUtil.generation();
+        final Entry[] entries = this.entries;
+        for (Entry e : entries) {
+            if (e.matches(registry, server, hostnamePattern, method, service, generation)) {
+                return e;
+            }
+        }
+        return add(registry, server, hostnamePattern, method, service, generation);
+    }
+
+    @Nullable
+    private synchronized Entry add(MeterRegistry registry, boolean server, @Nullable String hostnamePattern,
+                                   String method, String service, int generation) {
+        final Entry[] oldEntries = entries;
+        int numValidEntries = 0;
+        for (Entry e : oldEntries) {
+            if (e.generation == generation) {
+                if (e.matches(registry, server, hostnamePattern, method, service, generation)) {
+                    // Added by another thread.
+                    return e;
+                }
+                numValidEntries++;
+            }
+        }
+        if (numValidEntries >= MAX_ENTRIES) {
+            return null;
+        }
+
+        // Drop the entries created before MicrometerUtil.clear() was called.
+        final Entry[] newEntries = new Entry[numValidEntries + 1];
+        int i = 0;
+        for (Entry e : oldEntries) {
+            if (e.generation == generation) {
+                newEntries[i++] = e;
+            }
+        }
+        final Entry entry = new Entry(registry, server, hostnamePattern, method, service, generation);
+        newEntries[i] = entry;
+        entries = newEntries;
+        return entry;
+    }
+
+    static final class Entry {
+
+        private final MeterRegistry registry;
+        private final boolean server;
+        @Nullable
+        private final String hostnamePattern;
+        private final String method;
+        private final String service;
+        private final int generation;
+
+        @Nullable
+        private volatile Object activeRequestMetrics;
+        private final AtomicReferenceArray<Object> completeRequestMetrics =
+                new AtomicReferenceArray<>(MAX_STATUS_CODE);
+
+        private Entry(MeterRegistry registry, boolean server, @Nullable String hostnamePattern,
+                      String method, String service, int generation) {
+            this.registry = registry;
+            this.server = server;
+            this.hostnamePattern = hostnamePattern;
+            this.method = method;
+            this.service = service;
+            this.generation = generation;
+        }
+
+        private boolean matches(MeterRegistry registry, boolean server, @Nullable String hostnamePattern,
+                                String method, String service, int generation) {
+            return this.registry == registry && this.server == server && this.generation == generation &&
+                   Objects.equals(this.method, method) && Objects.equals(this.service, service) &&
+                   Objects.equals(this.hostnamePattern, hostnamePattern);
+        }
+
+        /**
+         * Returns the cached meters for the active requests, or {@code null} if not resolved yet.
+         */
+        @Nullable
+        Object activeRequestMetrics() {
+            return activeRequestMetrics;
+        }
+
+        void activeRequestMetrics(Object activeRequestMetrics) {
+            this.activeRequestMetrics = activeRequestMetrics;
+        }
+
+        /**
+         * Returns the cached meters for the complete requests with the specified HTTP status code,
+         * or {@code null} if not resolved yet or the status code is not cacheable.
+         */
+        @Nullable
+        Object completeRequestMetrics(int statusCode) {
+            if (statusCode < 0 || statusCode >= MAX_STATUS_CODE) {
+                return null;
+            }
+            return completeRequestMetrics.get(statusCode);
+        }
+
+        void completeRequestMetrics(int statusCode, Object completeRequestMetrics) {
+            if (statusCode >= 0 && statusCode < MAX_STATUS_CODE) {
+                this.completeRequestMetrics.set(statusCode, completeRequestMetrics);
+            }
+        }
+    }
+}
@@ -32,13 +32,16 @@ import com.linecorp.armeria.common.logging.ClientConnectionTimings;
 import com.linecorp.armeria.common.logging.RequestLog;
 import com.linecorp.armeria.common.logging.RequestLogAccess;
 import com.linecorp.armeria.common.logging.RequestLogProperty;
+import com.linecorp.armeria.common.logging.RequestOnlyLog;
 import com.linecorp.armeria.common.metric.MeterIdPrefix;
 import com.linecorp.armeria.common.metric.MeterIdPrefixFunction;
 import com.linecorp.armeria.server.RequestTimeoutException;
+import com.linecorp.armeria.server.ServiceRequestContext;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import io.netty.util.AttributeKey;
@@ -55,6 +58,22 @@ public final class RequestMetricSupport {
             RequestContext ctx, AttributeKey<Boolean> requestMetricsSetKey,
             MeterIdPrefixFunction meterIdPrefixFunction, boolean server,
             SuccessFunction successFunction, DistributionStatisticConfig distributionStatisticConfig) {
+        setup(ctx, requestMetricsSetKey, meterIdPrefixFunction, server, successFunction,
+              distributionStatisticConfig, false);
+    }
+
+    /**
+     * Sets up request metrics.
+     *
+     * @param logLinearHistogram whether to record the durations into {@link LogLinearHistogramTimer}s
+     *                           instead of the {@link Timer}s configured by
+     *                           {@code distributionStatisticConfig}
+     */
+    public static void setup(
+            RequestContext ctx, AttributeKey<Boolean> requestMetricsSetKey,
+            MeterIdPrefixFunction meterIdPrefixFunction, boolean server,
+            SuccessFunction successFunction, DistributionStatisticConfig distributionStatisticConfig,
+            boolean logLinearHistogram) {
         final Boolean isRequestMetricsSet = ctx.attr(requestMetricsSetKey);
 
         if (Boolean.TRUE.equals(isRequestMetricsSet)) {
@@ -68,42 +87,97 @@ public final class RequestMetricSupport {
                           RequestLogProperty.NAME,
                           RequestLogProperty.SESSION)
            .thenAccept(log -> onRequest(log, meterIdPrefixFunction, server, successFunction,
-                                        distributionStatisticConfig));
+                                        distributionStatisticConfig, logLinearHistogram));
     }
 
     private static void onRequest(
             RequestLog log, MeterIdPrefixFunction meterIdPrefixFunction, boolean server,
-            SuccessFunction successFunction, DistributionStatisticConfig distributionStatisticConfig) {
+            SuccessFunction successFunction, DistributionStatisticConfig distributionStatisticConfig,
+            boolean logLinearHistogram) {
         final RequestContext ctx = log.context();
         final MeterRegistry registry = ctx.meterRegistry();
+        final RequestMeterCache.Entry cacheEntry = cacheEntry(meterIdPrefixFunction, registry, log, server);
+        final ActiveRequestMetrics activeRequestMetrics =
+                activeRequestMetrics(log, registry, meterIdPrefixFunction, cacheEntry);
+        activeRequestMetrics.increment();
+        ctx.log().whenComplete().thenAccept(requestLog -> {
+            onResponse(requestLog, meterIdPrefixFunction, server, successFunction, distributionStatisticConfig,
+                       logLinearHistogram, cacheEntry);
+            activeRequestMetrics.decrement();
+        });
+    }
+
+    private static ActiveRequestMetrics activeRequestMetrics(
+            RequestLog log, MeterRegistry registry, MeterIdPrefixFunction meterIdPrefixFunction,
+            @Nullable RequestMeterCache.Entry cacheEntry) {
+        if (cacheEntry != null) {
+            final ActiveRequestMetrics cached = (ActiveRequestMetrics) cacheEntry.activeRequestMetrics();
+            if (cached != null) {
+                return cached;
+            }
+        }
+
         final MeterIdPrefix activeRequestsId =
                 meterIdPrefixFunction.activeRequestPrefix(registry, log).append("active.requests");
-
         final ActiveRequestMetrics activeRequestMetrics = MicrometerUtil.register(
                 registry, activeRequestsId, ActiveRequestMetrics.class,
                 (reg, prefix) ->
                         reg.gauge(prefix.name(), prefix.tags(),
                                   new ActiveRequestMetrics(), ActiveRequestMetrics::doubleValue));
-        activeRequestMetrics.increment();
-        ctx.log().whenComplete().thenAccept(requestLog -> {
-            onResponse(requestLog, meterIdPrefixFunction, server, successFunction, distributionStatisticConfig);
-            activeRequestMetrics.decrement();
-        });
+        if (cacheEntry != null) {
+            cacheEntry.activeRequestMetrics(activeRequestMetrics);
+        }
+        return activeRequestMetrics;
+    }
+
+    /**
+     * Returns the {@link RequestMeterCache.Entry} of the specified {@link RequestLog} if
+     * the {@link MeterIdPrefixFunction} is the default one whose tags are known to be derived only from
+     * the {@code hostname.pattern}, the method, the service and the HTTP status.
+     */
+    @Nullable
+    private static RequestMeterCache.Entry cacheEntry(MeterIdPrefixFunction meterIdPrefixFunction,
+                                                      MeterRegistry registry, RequestOnlyLog log,
+                                                      boolean server) {
+        if (!(meterIdPrefixFunction instanceof DefaultMeterIdPrefixFunction)) {
+            return null;
+        }
+        final RequestContext ctx = log.context();
+        String hostnamePattern = null;
+        if (ctx instanceof ServiceRequestContext) {
+            hostnamePattern = ((ServiceRequestContext) ctx).config().virtualHost().hostnamePattern();
+        }
+        final String serviceName = log.serviceName();
+        return ((DefaultMeterIdPrefixFunction) meterIdPrefixFunction)
+                .meterCache()
+                .get(registry, server, hostnamePattern, log.name(), serviceName != null ? serviceName : "none");
     }
 
     private static void onResponse(
             RequestLog log, MeterIdPrefixFunction meterIdPrefixFunction, boolean server,
-            SuccessFunction successFunction, DistributionStatisticConfig distributionStatisticConfig) {
+            SuccessFunction successFunction, DistributionStatisticConfig distributionStatisticConfig,
+            boolean logLinearHistogram, @Nullable RequestMeterCache.Entry cacheEntry) {
         final RequestContext ctx = log.context();
         final MeterRegistry registry = ctx.meterRegistry();
-        final MeterIdPrefix idPrefix = meterIdPrefixFunction.completeRequestPrefix(registry, log);
         final boolean isSuccess = successFunction.isSuccess(ctx, log);
+        // Same with the 'http.status' tag added by DefaultMeterIdPrefixFunction.
+        final int statusCode = log.isAvailable(RequestLogProperty.RESPONSE_HEADERS) ?
+                               log.responseHeaders().status().code() : HttpStatus.UNKNOWN.code();
+        final Object cachedMetrics = cacheEntry != null ? cacheEntry.completeRequestMetrics(statusCode) : null;
 
         if (server) {
-            final ServiceRequestMetrics metrics = MicrometerUtil.register(
-                    registry, idPrefix,
-                    ServiceRequestMetrics.class,
-                    (reg, idp) -> new DefaultServiceRequestMetrics(reg, idp, distributionStatisticConfig));
+            ServiceRequestMetrics metrics = (ServiceRequestMetrics) cachedMetrics;
+            if (metrics == null) {
+                final MeterIdPrefix idPrefix = meterIdPrefixFunction.completeRequestPrefix(registry, log);
+                metrics = MicrometerUtil.register(
+                        registry, idPrefix,
+                        ServiceRequestMetrics.class,
+                        (reg, idp) -> new DefaultServiceRequestMetrics(reg, idp, distributionStatisticConfig,
+                                                                       logLinearHistogram));
+                if (cacheEntry != null) {
+                    cacheEntry.completeRequestMetrics(statusCode, metrics);
+                }
+            }
             updateMetrics(log, metrics, isSuccess);
             if (log.responseCause() instanceof RequestTimeoutException) {
                 metrics.requestTimeouts().increment();
@@ -111,10 +185,18 @@ public final class RequestMetricSupport {
             return;
         }
 
-        final ClientRequestMetrics metrics = MicrometerUtil.register(
-                registry, idPrefix,
-                ClientRequestMetrics.class,
-                (reg, idp) -> new DefaultClientRequestMetrics(reg, idp, distributionStatisticConfig));
+        ClientRequestMetrics metrics = (ClientRequestMetrics) cachedMetrics;
+        if (metrics == null) {
+            final MeterIdPrefix idPrefix = meterIdPrefixFunction.completeRequestPrefix(registry, log);
+            metrics = MicrometerUtil.register(
+                    registry, idPrefix,
+                    ClientRequestMetrics.class,
+                    (reg, idp) -> new DefaultClientRequestMetrics(reg, idp, distributionStatisticConfig,
+                                                                  logLinearHistogram));
+            if (cacheEntry != null) {
+                cacheEntry.completeRequestMetrics(statusCode, metrics);
+            }
+        }
         updateMetrics(log, metrics, isSuccess);
         final ClientConnectionTimings timings = log.connectionTimings();
         if (timings != null) {
@@ -157,11 +239,11 @@ public final class RequestMetricSupport {
     private static void updateMetrics(
             RequestLog log, RequestMetrics metrics,
             boolean isSuccess) {
-        metrics.requestDuration().record(log.requestDurationNanos(), TimeUnit.NANOSECONDS);
+        recordDuration(metrics.requestDuration(), log.requestDurationNanos(), log);
         metrics.requestLength().record(log.requestLength());
-        metrics.responseDuration().record(log.responseDurationNanos(), TimeUnit.NANOSECONDS);
+        recordDuration(metrics.responseDuration(), log.responseDurationNanos(), log);
         metrics.responseLength().record(log.responseLength());
-        metrics.totalDuration().record(log.totalDurationNanos(), TimeUnit.NANOSECONDS);
+        recordDuration(metrics.totalDuration(), log.totalDurationNanos(), log);
 
         if (isSuccess) {
             metrics.success().increment();
@@ -170,6 +252,14 @@ public final class RequestMetricSupport {
         }
     }
 
+    private static void recordDuration(Timer timer, long durationNanos, RequestLog log) {
+        if (timer instanceof LogLinearHistogramTimer) {
+            ((LogLinearHistogramTimer) timer).record(durationNanos, log);
+        } else {
+            timer.record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
     private static void updateRetryingClientMetrics(
             ClientRequestMetrics metrics, RequestLog log, boolean isSuccess) {
         final int childrenSize = log.children().size();
@@ -248,30 +338,37 @@ public final class RequestMetricSupport {
         private final DistributionSummary responseLength;
         private final Timer totalDuration;
         private final DistributionStatisticConfig distributionStatisticConfig;
+        private final boolean logLinearHistogram;
 
         AbstractRequestMetrics(MeterRegistry parent, MeterIdPrefix idPrefix,
-                               DistributionStatisticConfig distributionStatisticConfig) {
+                               DistributionStatisticConfig distributionStatisticConfig,
+                               boolean logLinearHistogram) {
             this.distributionStatisticConfig = distributionStatisticConfig;
+            this.logLinearHistogram = logLinearHistogram;
             final String requests = idPrefix.name("requests");
             success = parent.counter(requests, idPrefix.tags("result", "success"));
             failure = parent.counter(requests, idPrefix.tags("result", "failure"));
 
-            requestDuration = newTimer(parent, idPrefix.name("request.duration"), idPrefix.tags(),
-                                       distributionStatisticConfig);
+            requestDuration = timer(parent, idPrefix.name("request.duration"), idPrefix.tags());
             requestLength = newDistributionSummary(parent, idPrefix.name("request.length"),
                                                    idPrefix.tags(), distributionStatisticConfig);
-            responseDuration = newTimer(parent, idPrefix.name("response.duration"), idPrefix.tags(),
-                                        distributionStatisticConfig);
+            responseDuration = timer(parent, idPrefix.name("response.duration"), idPrefix.tags());
             responseLength = newDistributionSummary(parent, idPrefix.name("response.length"),
                                                     idPrefix.tags(), distributionStatisticConfig);
-            totalDuration = newTimer(parent, idPrefix.name("total.duration"), idPrefix.tags(),
-                                     distributionStatisticConfig);
+            totalDuration = timer(parent, idPrefix.name("total.duration"), idPrefix.tags());
         }
 
         DistributionStatisticConfig distributionStatisticConfig() {
             return distributionStatisticConfig;
         }
 
+        final Timer timer(MeterRegistry parent, String name, Iterable<Tag> tags) {
+            if (logLinearHistogram) {
+                return LogLinearHistogramTimer.register(parent, name, tags);
+            }
+            return newTimer(parent, name, tags, distributionStatisticConfig);
+        }
+
         @Override
         public Counter success() {
             return success;
@@ -332,26 +429,22 @@ public final class RequestMetricSupport {
         private DistributionSummary failureAttempts;
 
         DefaultClientRequestMetrics(MeterRegistry parent, MeterIdPrefix idPrefix,
-                                    DistributionStatisticConfig distributionStatisticConfig) {
-            super(parent, idPrefix, distributionStatisticConfig);
+                                    DistributionStatisticConfig distributionStatisticConfig,
+                                    boolean logLinearHistogram) {
+            super(parent, idPrefix, distributionStatisticConfig, logLinearHistogram);
             this.parent = parent;
             this.idPrefix = idPrefix;
 
-            connectionAcquisitionDuration = newTimer(
-                    parent, idPrefix.name("connection.acquisition.duration"), idPrefix.tags(),
-                    distributionStatisticConfig);
-            dnsResolutionDuration = newTimer(
-                    parent, idPrefix.name("dns.resolution.duration"), idPrefix.tags(),
-                    distributionStatisticConfig);
-            socketConnectDuration = newTimer(
-                    parent, idPrefix.name("socket.connect.duration"), idPrefix.tags(),
-                    distributionStatisticConfig);
-            tlsHandshakeDuration = newTimer(
-                    parent, idPrefix.name("tls.handshake.duration"), idPrefix.tags(),
-                    distributionStatisticConfig);
-            pendingAcquisitionDuration = newTimer(
-                    parent, idPrefix.name("pending.acquisition.duration"), idPrefix.tags(),
-                    distributionStatisticConfig);
+            connectionAcquisitionDuration = timer(
+                    parent, idPrefix.name("connection.acquisition.duration"), idPrefix.tags());
+            dnsResolutionDuration = timer(
+                    parent, idPrefix.name("dns.resolution.duration"), idPrefix.tags());
+            socketConnectDuration = timer(
+                    parent, idPrefix.name("socket.connect.duration"), idPrefix.tags());
+            tlsHandshakeDuration = timer(
+                    parent, idPrefix.name("tls.handshake.duration"), idPrefix.tags());
+            pendingAcquisitionDuration = timer(
+                    parent, idPrefix.name("pending.acquisition.duration"), idPrefix.tags());
 
             final String timeouts = idPrefix.name("timeouts");
             writeTimeouts = parent.counter(timeouts, idPrefix.tags("cause", "WriteTimeoutException"));
@@ -438,8 +531,9 @@ public final class RequestMetricSupport {
         private final Counter requestTimeouts;
 
         DefaultServiceRequestMetrics(MeterRegistry parent, MeterIdPrefix idPrefix,
-                                     DistributionStatisticConfig distributionStatisticConfig) {
-            super(parent, idPrefix, distributionStatisticConfig);
+                                     DistributionStatisticConfig distributionStatisticConfig,
+                                     boolean logLinearHistogram) {
+            super(parent, idPrefix, distributionStatisticConfig, logLinearHistogram);
             requestTimeouts = parent.counter(idPrefix.name("timeouts"),
                                              idPrefix.tags("cause", "RequestTimeoutException"));
         }
@@ -306,6 +306,41 @@ public final class ByteBufsDecoderInput implements StreamDecoderInput {
         throw newEndOfInputException();
     }
 
+    /**
+     * Returns the index of the first occurrence of the specified {@code value} in the readable bytes,
+     * searching from {@code fromIndex} (inclusive) to {@code toIndex} (exclusive). The index is relative to
+     * the first readable byte, as {@link #getByte(int)} is. Returns {@code -1} if not found.
+     *
+     * <p>Unlike calling {@link #getByte(int)} for each index, this method scans each {@link ByteBuf} directly
+     * using {@link ByteBuf#indexOf(int, int, byte)}.
+     */
+    public int indexOf(byte value, int fromIndex, int toIndex) {
+        checkArgument(fromIndex >= 0, "fromIndex: %s (expected: >= 0)", fromIndex);
+        if (fromIndex >= toIndex) {
+            return -1;
+        }
+
+        int base = 0;
+        for (ByteBuf buf : queue) {
+            final int readableBytes = buf.readableBytes();
+            final int end = base + readableBytes;
+            if (fromIndex < end) {
+                final int readerIndex = buf.readerIndex();
+                final int start = Math.max(fromIndex, base) - base + readerIndex;
+                final int stop = Math.min(toIndex, end) - base + readerIndex;
+                final int index = buf.indexOf(start, stop, value);
+                if (index >= 0) {
+                    return index - readerIndex + base;
+                }
+                if (toIndex <= end) {
+                    return -1;
+                }
+            }
+            base = end;
+        }
+        return -1;
+    }
+
     @Override
     public void skipBytes(int length) {
         if (length == 0) {
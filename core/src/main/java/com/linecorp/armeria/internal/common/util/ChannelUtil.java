@@ -110,6 +110,10 @@ public final class ChannelUtil {
     private static ChannelOption<Integer> ioUringTcpKeepidle;
     @Nullable
     private static ChannelOption<Integer> ioUringTcpKeepintvl;
+    @Nullable
+    private static ChannelOption<Boolean> epollSoReusePort;
+    @Nullable
+    private static ChannelOption<Boolean> ioUringSoReusePort;
 
     private static final Set<ChannelOption<?>> tcpOptions;
 
@@ -119,6 +123,7 @@ public final class ChannelUtil {
         ChannelOption<Integer> epollTcpUserTimeout = null;
         ChannelOption<Integer> epollTcpKeepidle = null;
         ChannelOption<Integer> epollTcpKeepintvl = null;
+        ChannelOption<Boolean> epollSoReusePort = null;
 
         try {
             final Class<?> clazz = Class.forName(
@@ -130,6 +135,8 @@ public final class ChannelUtil {
             epollTcpKeepidle = (ChannelOption<Integer>) findChannelOption(clazz, "TCP_KEEPIDLE");
             //noinspection unchecked
             epollTcpKeepintvl = (ChannelOption<Integer>) findChannelOption(clazz, "TCP_KEEPINTVL");
+            //noinspection unchecked
+            epollSoReusePort = (ChannelOption<Boolean>) findChannelOption(clazz, "SO_REUSEPORT");
 
             if (epollTcpUserTimeout != null) {
                 tcpOptionsBuilder.add(epollTcpUserTimeout);
@@ -147,11 +154,13 @@ public final class ChannelUtil {
         ChannelUtil.epollTcpUserTimeout = epollTcpUserTimeout;
         ChannelUtil.epollTcpKeepidle = epollTcpKeepidle;
         ChannelUtil.epollTcpKeepintvl = epollTcpKeepintvl;
+        ChannelUtil.epollSoReusePort = epollSoReusePort;
 
         if (INCUBATOR_CHANNEL_PACKAGE_NAME != null) {
             ChannelOption<Integer> ioUringTcpUserTimeout = null;
             ChannelOption<Integer> ioUringTcpKeepidle = null;
             ChannelOption<Integer> ioUringTcpKeepintvl = null;
+            ChannelOption<Boolean> ioUringSoReusePort = null;
 
             try {
                 final Class<?> clazz = Class.forName(
@@ -163,6 +172,8 @@ public final class ChannelUtil {
                 ioUringTcpKeepidle = (ChannelOption<Integer>) findChannelOption(clazz, "TCP_KEEPIDLE");
                 //noinspection unchecked
                 ioUringTcpKeepintvl = (ChannelOption<Integer>) findChannelOption(clazz, "TCP_KEEPINTVL");
+                //noinspection unchecked
+                ioUringSoReusePort = (ChannelOption<Boolean>) findChannelOption(clazz, "SO_REUSEPORT");
 
                 if (ioUringTcpUserTimeout != null) {
                     tcpOptionsBuilder.add(ioUringTcpUserTimeout);
@@ -180,6 +191,7 @@ public final class ChannelUtil {
             ChannelUtil.ioUringTcpUserTimeout = ioUringTcpUserTimeout;
             ChannelUtil.ioUringTcpKeepidle = ioUringTcpKeepidle;
             ChannelUtil.ioUringTcpKeepintvl = ioUringTcpKeepintvl;
+            ChannelUtil.ioUringSoReusePort = ioUringSoReusePort;
         }
 
         tcpOptions = tcpOptionsBuilder.build();
@@ -196,6 +208,22 @@ public final class ChannelUtil {
         }
     }
 
+    /**
+     * Returns the {@code SO_REUSEPORT} {@link ChannelOption} of the specified {@link TransportType},
+     * or {@code null} if the {@link TransportType} does not support it.
+     */
+    @Nullable
+    public static ChannelOption<Boolean> reusePortOption(TransportType transportType) {
+        switch (transportType) {
+            case EPOLL:
+                return epollSoReusePort;
+            case IO_URING:
+                return ioUringSoReusePort;
+            default:
+                return null;
+        }
+    }
+
     public static Set<ChannelOption<?>> prohibitedOptions() {
         return PROHIBITED_OPTIONS;
     }
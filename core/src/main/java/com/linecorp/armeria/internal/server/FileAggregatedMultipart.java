@@ -25,6 +25,7 @@ import java.util.Map.Entry;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,10 +34,14 @@ import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Maps;
 
+import com.linecorp.armeria.common.ContentTooLargeException;
 import com.linecorp.armeria.common.HttpData;
 import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.multipart.BodyPart;
 import com.linecorp.armeria.common.multipart.Multipart;
 import com.linecorp.armeria.common.multipart.MultipartFile;
+import com.linecorp.armeria.common.stream.StreamMessage;
+import com.linecorp.armeria.common.stream.StreamMessages;
 import com.linecorp.armeria.server.ServiceRequestContext;
 
 import io.netty.channel.EventLoop;
@@ -44,6 +49,11 @@ import io.netty.channel.EventLoop;
 public final class FileAggregatedMultipart {
     private static final Logger logger = LoggerFactory.getLogger(FileAggregatedMultipart.class);
 
+    /**
+     * The maximum number of bytes which are coalesced into a single write to a file.
+     */
+    private static final int MAX_WRITE_LENGTH = 64 * 1024;
+
     private final ListMultimap<String, String> params;
     private final ListMultimap<String, MultipartFile> files;
 
@@ -64,18 +74,24 @@ public final class FileAggregatedMultipart {
     public static CompletableFuture<FileAggregatedMultipart> aggregateMultipart(ServiceRequestContext ctx,
                                                                                 HttpRequest req) {
         final Path destination = ctx.config().multipartUploadsLocation();
+        final long maxPartLength = ctx.config().virtualHost().multipartMaxPartLength();
         return Multipart.from(req).collect(bodyPart -> {
             final String name = bodyPart.name();
             assert name != null;
             final String filename = bodyPart.filename();
             final EventLoop eventLoop = ctx.eventLoop();
+            final StreamMessage<HttpData> content = limitLength(bodyPart.content(), maxPartLength);
 
             if (filename != null) {
                 final Path incompleteDir = destination.resolve("incomplete");
                 final ScheduledExecutorService executor = ctx.blockingTaskExecutor().withoutContext();
 
+                // The content is written to the file as it arrives without being aggregated in memory.
+                // The small chunks, e.g. HTTP/2 DATA frames, are coalesced so that each write does not cost
+                // a blocking task and a system call.
+                final StreamMessage<HttpData> coalesced = StreamMessages.coalesce(content, MAX_WRITE_LENGTH);
                 return resolveTmpFile(incompleteDir, filename, executor).thenCompose(path -> {
-                    return bodyPart.writeTo(path, eventLoop, executor).thenCompose(ignore -> {
+                    return StreamMessages.writeTo(coalesced, path, eventLoop, executor).thenCompose(ignore -> {
                         final Path completeDir = destination.resolve("complete");
                         return moveFile(path, completeDir, executor, ctx);
                     }).thenApply(completePath -> MultipartFile.of(name, filename, completePath.toFile(),
@@ -83,7 +99,8 @@ public final class FileAggregatedMultipart {
                 });
             }
 
-            return bodyPart.aggregateWithPooledObjects(eventLoop, ctx.alloc()).thenApply(aggregatedBodyPart -> {
+            final BodyPart limited = BodyPart.of(bodyPart.headers(), content);
+            return limited.aggregateWithPooledObjects(eventLoop, ctx.alloc()).thenApply(aggregatedBodyPart -> {
                 try (HttpData httpData = aggregatedBodyPart.content()) {
                     return Maps.<String, Object>immutableEntry(name, httpData.toStringUtf8());
                 }
@@ -106,6 +123,20 @@ public final class FileAggregatedMultipart {
         });
     }
 
+    /**
+     * Returns a {@link StreamMessage} which fails with a {@link ContentTooLargeException} when the total
+     * length of the specified {@code content} exceeds {@code maxLength}.
+     */
+    private static StreamMessage<HttpData> limitLength(StreamMessage<? extends HttpData> content,
+                                                       long maxLength) {
+        @SuppressWarnings("unchecked")
+        final StreamMessage<HttpData> cast = (StreamMessage<HttpData>) content;
+        if (maxLength == 0) {
+            return cast;
+        }
+        return cast.map(new LengthLimitingFunction(maxLength));
+    }
+
     private static CompletableFuture<Path> moveFile(Path file, Path targetDirectory,
                                                     ExecutorService blockingExecutorService,
                                                     ServiceRequestContext ctx) {
@@ -169,4 +200,26 @@ public final class FileAggregatedMultipart {
             }
         }, blockingExecutorService);
     }
+
+    private static final class LengthLimitingFunction implements Function<HttpData, HttpData> {
+
+        private final long maxLength;
+        private long length;
+
+        LengthLimitingFunction(long maxLength) {
+            this.maxLength = maxLength;
+        }
+
+        @Override
+        public HttpData apply(HttpData data) {
+            length += data.length();
+            if (length > maxLength) {
+                throw ContentTooLargeException.builder()
+                                              .maxContentLength(maxLength)
+                                              .transferred(length)
+                                              .build();
+            }
+            return data;
+        }
+    }
 }
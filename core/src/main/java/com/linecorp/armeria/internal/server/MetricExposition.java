@@ -0,0 +1,358 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.server;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.common.base.Splitter;
+
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.common.ResponseHeadersBuilder;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.stream.StreamMessage;
+import com.linecorp.armeria.common.stream.StreamWriter;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+/**
+ * Renders a metric exposition such as a Prometheus scrape on the blocking task executor and streams it as
+ * fixed-size chunks of pooled buffers, so that neither a large contiguous buffer is allocated nor an event
+ * loop is blocked while a registry with many series is scraped. Optionally, the exposition is compressed
+ * with gzip and the last rendering is reused for the scrapes which arrive within a configured interval.
+ */
+public final class MetricExposition {
+
+    /**
+     * The default size of a chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 16384;
+
+    private static final Splitter COMMA_SPLITTER = Splitter.on(',').trimResults().omitEmptyStrings();
+
+    /**
+     * Writes a scrape of a registry into an {@link OutputStream}.
+     */
+    @FunctionalInterface
+    public interface ExpositionWriter<T> {
+        /**
+         * Writes the specified scrape into the specified {@link OutputStream}. The {@link OutputStream} is
+         * closed by the caller.
+         */
+        void write(T scrape, OutputStream out) throws IOException;
+    }
+
+    private final int chunkSize;
+    private final boolean gzip;
+    private final long snapshotIntervalNanos;
+    private final ConcurrentMap<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param chunkSize the size of the chunks of a response
+     * @param gzip whether to compress the exposition with gzip if the client accepts it
+     * @param snapshotIntervalNanos the interval in nanoseconds during which the last rendering is reused,
+     *                              or {@code 0} to render the exposition for every request
+     */
+    public MetricExposition(int chunkSize, boolean gzip, long snapshotIntervalNanos) {
+        checkArgument(chunkSize > 0, "chunkSize: %s (expected: > 0)", chunkSize);
+        checkArgument(snapshotIntervalNanos >= 0, "snapshotIntervalNanos: %s (expected: >= 0)",
+                      snapshotIntervalNanos);
+        this.chunkSize = chunkSize;
+        this.gzip = gzip;
+        this.snapshotIntervalNanos = snapshotIntervalNanos;
+    }
+
+    /**
+     * Returns an {@link HttpResponse} which streams the scrape returned by the specified {@link Supplier},
+     * written by the specified {@link ExpositionWriter}. The registry is scraped before the headers are sent,
+     * so that a failed scrape results in a {@link HttpStatus#INTERNAL_SERVER_ERROR} response.
+     */
+    public <T> HttpResponse serve(ServiceRequestContext ctx, HttpRequest req, String contentType,
+                                  Supplier<? extends T> scraper, ExpositionWriter<? super T> writer) {
+        final boolean gzip = this.gzip && acceptsGzip(req);
+        final ResponseHeadersBuilder headersBuilder =
+                ResponseHeaders.builder(HttpStatus.OK)
+                               .contentType(MediaType.parse(contentType));
+        if (this.gzip) {
+            headersBuilder.set(HttpHeaderNames.VARY, HttpHeaderNames.ACCEPT_ENCODING.toString());
+            if (gzip) {
+                headersBuilder.set(HttpHeaderNames.CONTENT_ENCODING, "gzip");
+            }
+        }
+        final ResponseHeaders headers = headersBuilder.build();
+
+        if (snapshotIntervalNanos > 0) {
+            return serveSnapshot(ctx, headers, contentType, gzip, scraper, writer);
+        }
+
+        final Executor blockingTaskExecutor = ctx.blockingTaskExecutor();
+        final ByteBufAllocator alloc = ctx.alloc();
+        return HttpResponse.of(() -> {
+            final T scrape = scraper.get();
+            final StreamWriter<HttpData> body = StreamMessage.streaming();
+            blockingTaskExecutor.execute(() -> {
+                final PooledChunkOutputStream out = new PooledChunkOutputStream(body, alloc, chunkSize);
+                try {
+                    write(out, gzip, scrape, writer);
+                } catch (Throwable cause) {
+                    out.release();
+                    body.abort(cause);
+                }
+            });
+            return HttpResponse.of(headers, body);
+        }, blockingTaskExecutor);
+    }
+
+    private <T> HttpResponse serveSnapshot(ServiceRequestContext ctx, ResponseHeaders headers,
+                                           String contentType, boolean gzip, Supplier<? extends T> scraper,
+                                           ExpositionWriter<? super T> writer) {
+        final String key = gzip ? contentType + ";gzip" : contentType;
+        final long now = System.nanoTime();
+        final Snapshot candidate = new Snapshot(now);
+        final Snapshot snapshot = snapshots.compute(key, (unused, old) -> {
+            if (old != null && now - old.renderedAtNanos < snapshotIntervalNanos) {
+                return old;
+            }
+            return candidate;
+        });
+
+        if (snapshot == candidate) {
+            ctx.blockingTaskExecutor().execute(() -> {
+                final SnapshotOutputStream out = new SnapshotOutputStream(chunkSize);
+                try {
+                    write(out, gzip, scraper.get(), writer);
+                    candidate.chunks.complete(out.chunks());
+                } catch (Throwable cause) {
+                    // Render again on the next request.
+                    snapshots.remove(key, candidate);
+                    candidate.chunks.completeExceptionally(cause);
+                }
+            });
+        }
+        return HttpResponse.of(snapshot.chunks.thenApply(
+                chunks -> HttpResponse.of(headers, StreamMessage.of(chunks))));
+    }
+
+    private static <T> void write(OutputStream out, boolean gzip, T scrape,
+                                  ExpositionWriter<? super T> writer) throws IOException {
+        final OutputStream stream = gzip ? new GZIPOutputStream(out, 8192) : out;
+        writer.write(scrape, stream);
+        // Not closed on a failure so that the response is aborted rather than completed with a partial
+        // exposition.
+        stream.close();
+    }
+
+    private static boolean acceptsGzip(HttpRequest req) {
+        final String acceptEncoding = req.headers().get(HttpHeaderNames.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String encoding : COMMA_SPLITTER.split(acceptEncoding)) {
+            // e.g. "gzip" or "gzip;q=0.8"
+            final int semicolonIndex = encoding.indexOf(';');
+            final String coding = semicolonIndex < 0 ? encoding : encoding.substring(0, semicolonIndex).trim();
+            if (!"gzip".equalsIgnoreCase(coding)) {
+                continue;
+            }
+            if (semicolonIndex < 0) {
+                return true;
+            }
+            final String weight = encoding.substring(semicolonIndex + 1);
+            final int equalsIndex = weight.indexOf('=');
+            if (equalsIndex < 0) {
+                return false;
+            }
+            try {
+                return Float.parseFloat(weight.substring(equalsIndex + 1)) > 0;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static final class Snapshot {
+        final long renderedAtNanos;
+        final CompletableFuture<HttpData[]> chunks = new CompletableFuture<>();
+
+        Snapshot(long renderedAtNanos) {
+            this.renderedAtNanos = renderedAtNanos;
+        }
+    }
+
+    /**
+     * An {@link OutputStream} which writes the exposition into pooled {@link ByteBuf}s of a fixed size and
+     * publishes each of them to a {@link StreamWriter} once it's full. A chunk isn't rendered further until
+     * the previous one is consumed.
+     */
+    private static final class PooledChunkOutputStream extends OutputStream {
+
+        private final StreamWriter<HttpData> streamWriter;
+        private final ByteBufAllocator alloc;
+        private final int chunkSize;
+        @Nullable
+        private ByteBuf chunk;
+
+        PooledChunkOutputStream(StreamWriter<HttpData> streamWriter, ByteBufAllocator alloc, int chunkSize) {
+            this.streamWriter = streamWriter;
+            this.alloc = alloc;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            chunk().writeByte(b);
+            publishIfFull();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                final ByteBuf chunk = chunk();
+                final int n = Math.min(len, chunk.writableBytes());
+                chunk.writeBytes(b, off, n);
+                off += n;
+                len -= n;
+                publishIfFull();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            final ByteBuf chunk = this.chunk;
+            if (chunk != null) {
+                this.chunk = null;
+                publish(chunk);
+            }
+            streamWriter.close();
+        }
+
+        void release() {
+            final ByteBuf chunk = this.chunk;
+            if (chunk != null) {
+                this.chunk = null;
+                chunk.release();
+            }
+        }
+
+        private ByteBuf chunk() {
+            ByteBuf chunk = this.chunk;
+            if (chunk == null) {
+                chunk = this.chunk = alloc.buffer(chunkSize, chunkSize);
+            }
+            return chunk;
+        }
+
+        private void publishIfFull() throws IOException {
+            final ByteBuf chunk = this.chunk;
+            if (chunk != null && !chunk.isWritable()) {
+                this.chunk = null;
+                publish(chunk);
+            }
+        }
+
+        private void publish(ByteBuf chunk) throws IOException {
+            // The ownership of the chunk is transferred to the StreamWriter, which releases it if the stream
+            // is closed already or aborted before the chunk is consumed.
+            if (!streamWriter.tryWrite(HttpData.wrap(chunk))) {
+                throw new IOException("Stream closed");
+            }
+            streamWriter.whenConsumed().join();
+        }
+    }
+
+    /**
+     * An {@link OutputStream} which writes the exposition into unpooled heap chunks of a fixed size,
+     * which can be shared by many responses.
+     */
+    private static final class SnapshotOutputStream extends OutputStream {
+
+        private final int chunkSize;
+        private final List<HttpData> chunks = new ArrayList<>();
+        @Nullable
+        private byte[] chunk;
+        private int length;
+
+        SnapshotOutputStream(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public void write(int b) {
+            chunk()[length++] = (byte) b;
+            addIfFull();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            while (len > 0) {
+                final int n = Math.min(len, chunkSize - length);
+                System.arraycopy(b, off, chunk(), length, n);
+                length += n;
+                off += n;
+                len -= n;
+                addIfFull();
+            }
+        }
+
+        private byte[] chunk() {
+            byte[] chunk = this.chunk;
+            if (chunk == null) {
+                chunk = this.chunk = new byte[chunkSize];
+                length = 0;
+            }
+            return chunk;
+        }
+
+        private void addIfFull() {
+            final byte[] chunk = this.chunk;
+            if (chunk != null && length == chunkSize) {
+                chunks.add(HttpData.wrap(chunk));
+                this.chunk = null;
+                length = 0;
+            }
+        }
+
+        HttpData[] chunks() {
+            final byte[] chunk = this.chunk;
+            if (chunk != null) {
+                chunks.add(HttpData.wrap(chunk, 0, length));
+                this.chunk = null;
+            }
+            return chunks.toArray(new HttpData[0]);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.server;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import com.google.common.collect.ImmutableMap;
+
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.logging.RequestLog;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+/**
+ * Records the timing phases of the {@link RequestLog}s per route and samples the stack traces of the threads
+ * servicing slow requests for a bounded time window, so that they can be inspected via
+ * {@code ManagementService}. Only one {@link RequestProfiler} can be active at a time.
+ */
+public final class RequestProfiler {
+
+    private static final AtomicReference<RequestProfiler> current = new AtomicReference<>();
+
+    /**
+     * Returns the active {@link RequestProfiler}, or {@code null} if no profiling is in progress.
+     */
+    @Nullable
+    public static RequestProfiler current() {
+        return current.get();
+    }
+
+    /**
+     * Starts a new {@link RequestProfiler}.
+     *
+     * @param slowThresholdNanos the minimum elapsed time of a request whose servicing threads are sampled
+     * @return the started {@link RequestProfiler}, or {@code null} if another profiling is in progress.
+     */
+    @Nullable
+    public static RequestProfiler start(long slowThresholdNanos) {
+        final RequestProfiler profiler = new RequestProfiler(slowThresholdNanos);
+        return current.compareAndSet(null, profiler) ? profiler : null;
+    }
+
+    private final long slowThresholdNanos;
+    private final Map<String, RouteStats> routes = new ConcurrentHashMap<>();
+    private final Map<Thread, ProfiledRequest> activeThreads = new ConcurrentHashMap<>();
+    // Guarded by itself.
+    private final Map<String, Long> stacks = new HashMap<>();
+    private volatile boolean stopped;
+
+    private RequestProfiler(long slowThresholdNanos) {
+        this.slowThresholdNanos = slowThresholdNanos;
+    }
+
+    /**
+     * Starts to profile the specified {@link ServiceRequestContext}. This method must be invoked before
+     * the {@link ServiceRequestContext} is pushed for the first time.
+     */
+    public void add(ServiceRequestContext ctx) {
+        requireNonNull(ctx, "ctx");
+        final ProfiledRequest req = new ProfiledRequest(ctx.config().route().patternString(),
+                                                        ctx.log().partial().requestStartTimeNanos());
+        ctx.hook(req);
+        ctx.log().whenComplete().thenAccept(log -> {
+            if (!stopped) {
+                routes.computeIfAbsent(req.route, unused -> new RouteStats())
+                      .record(log, req.serviceStartNanos);
+            }
+        });
+    }
+
+    /**
+     * Samples the stack traces of the threads which are servicing the requests that have taken longer than
+     * the slow threshold, and merges them into the collapsed stacks.
+     */
+    public void sample() {
+        if (stopped) {
+            return;
+        }
+        final long now = System.nanoTime();
+        activeThreads.forEach((thread, req) -> {
+            if (now - req.requestStartNanos < slowThresholdNanos) {
+                return;
+            }
+            final StackTraceElement[] stackTrace = thread.getStackTrace();
+            if (stackTrace.length == 0 || activeThreads.get(thread) != req) {
+                // The thread has moved on to another task while being sampled.
+                return;
+            }
+            final StringBuilder buf = new StringBuilder(req.route);
+            for (int i = stackTrace.length - 1; i >= 0; i--) {
+                final StackTraceElement e = stackTrace[i];
+                buf.append(';').append(e.getClassName()).append('.').append(e.getMethodName());
+            }
+            final String stack = buf.toString();
+            synchronized (stacks) {
+                stacks.merge(stack, 1L, Long::sum);
+            }
+        });
+    }
+
+    /**
+     * Stops this {@link RequestProfiler}.
+     *
+     * @return {@code true} if this {@link RequestProfiler} has been stopped by this invocation.
+     */
+    public boolean stop() {
+        if (!current.compareAndSet(this, null)) {
+            return false;
+        }
+        stopped = true;
+        activeThreads.clear();
+        return true;
+    }
+
+    /**
+     * Returns the {@link RouteStats} recorded so far, keyed by the route pattern.
+     */
+    public Map<String, RouteStats> routes() {
+        return ImmutableMap.copyOf(routes);
+    }
+
+    /**
+     * Returns the number of the stack trace samples recorded so far, keyed by the collapsed stack whose
+     * root frame is the route pattern and whose frames are separated by {@code ';'}.
+     */
+    public Map<String, Long> stacks() {
+        synchronized (stacks) {
+            return ImmutableMap.copyOf(stacks);
+        }
+    }
+
+    /**
+     * A timing phase of a request.
+     */
+    public enum Phase {
+        /**
+         * From the start of the request to the end of the request, i.e. receiving and decoding the request.
+         */
+        DECODE,
+        /**
+         * From the start of the request to when the service is invoked.
+         */
+        QUEUEING,
+        /**
+         * From when the service is invoked to the start of the response.
+         */
+        SERVICE,
+        /**
+         * From the start of the response to when its first bytes are transferred.
+         */
+        SERIALIZATION,
+        /**
+         * From when the first bytes of the response are transferred to the end of the response.
+         */
+        WRITE
+    }
+
+    /**
+     * The durations of the {@link Phase}s of the requests to a route.
+     */
+    public static final class RouteStats {
+
+        private static final Phase[] phases = Phase.values();
+
+        private long count;
+        private final long[] totalNanos = new long[phases.length];
+        private final long[] maxNanos = new long[phases.length];
+
+        synchronized void record(RequestLog log, long serviceStartNanos) {
+            final long requestStartNanos = log.requestStartTimeNanos();
+            final long responseStartNanos = log.responseStartTimeNanos();
+            final long responseEndNanos = log.responseEndTimeNanos();
+            if (serviceStartNanos == 0) {
+                // The service has not been invoked, e.g. the request has been rejected.
+                serviceStartNanos = responseStartNanos;
+            }
+            final Long firstBytesNanos = log.responseFirstBytesTransferredTimeNanos();
+            final long writeStartNanos = firstBytesNanos != null ? firstBytesNanos : responseEndNanos;
+
+            count++;
+            add(Phase.DECODE, log.requestDurationNanos());
+            add(Phase.QUEUEING, serviceStartNanos - requestStartNanos);
+            add(Phase.SERVICE, responseStartNanos - serviceStartNanos);
+            add(Phase.SERIALIZATION, writeStartNanos - responseStartNanos);
+            add(Phase.WRITE, responseEndNanos - writeStartNanos);
+        }
+
+        private void add(Phase phase, long durationNanos) {
+            durationNanos = Math.max(0, durationNanos);
+            totalNanos[phase.ordinal()] += durationNanos;
+            if (maxNanos[phase.ordinal()] < durationNanos) {
+                maxNanos[phase.ordinal()] = durationNanos;
+            }
+        }
+
+        /**
+         * Returns the number of the completed requests.
+         */
+        public synchronized long count() {
+            return count;
+        }
+
+        /**
+         * Returns the sum of the durations of the specified {@link Phase}.
+         */
+        public synchronized long totalNanos(Phase phase) {
+            return totalNanos[phase.ordinal()];
+        }
+
+        /**
+         * Returns the longest duration of the specified {@link Phase}.
+         */
+        public synchronized long maxNanos(Phase phase) {
+            return maxNanos[phase.ordinal()];
+        }
+    }
+
+    /**
+     * Keeps track of the threads which are servicing a request, by being invoked whenever
+     * the {@link ServiceRequestContext} of the request is pushed.
+     */
+    private final class ProfiledRequest implements Supplier<AutoCloseable> {
+
+        final String route;
+        final long requestStartNanos;
+        volatile long serviceStartNanos;
+
+        ProfiledRequest(String route, long requestStartNanos) {
+            this.route = route;
+            this.requestStartNanos = requestStartNanos;
+        }
+
+        @Override
+        public AutoCloseable get() {
+            if (serviceStartNanos == 0) {
+                serviceStartNanos = System.nanoTime();
+            }
+            if (stopped) {
+                return () -> {};
+            }
+            final Thread thread = Thread.currentThread();
+            final ProfiledRequest prev = activeThreads.put(thread, this);
+            return () -> {
+                if (prev != null) {
+                    activeThreads.put(thread, prev);
+                } else {
+                    activeThreads.remove(thread);
+                }
+            };
+        }
+    }
+}
@@ -28,14 +28,18 @@ import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
+import com.linecorp.armeria.common.CommonPools;
 import com.linecorp.armeria.common.HttpData;
 import com.linecorp.armeria.common.HttpHeaders;
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpResponseWriter;
 import com.linecorp.armeria.common.ResponseHeaders;
 import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.stream.StreamMessage;
 import com.linecorp.armeria.server.ServiceRequestContext;
 
+import io.netty.util.concurrent.EventExecutor;
+
 /**
  * A utility class which helps to send a streaming {@link HttpResponse}.
  */
@@ -94,8 +98,15 @@ public final class ResponseConversionUtil {
             }
             try {
                 final HttpData content = contentConverter.apply(result);
-                writer.write(headers);
-                writer.write(content);
+                // Release the content, which may be a pooled buffer, if the response has been closed.
+                if (!writer.tryWrite(headers)) {
+                    content.close();
+                    return null;
+                }
+                if (!writer.tryWrite(content)) {
+                    content.close();
+                    return null;
+                }
                 if (!trailers.isEmpty()) {
                     writer.write(trailers);
                 }
@@ -169,6 +180,153 @@ public final class ResponseConversionUtil {
         return writer;
     }
 
+    /**
+     * Returns a new {@link HttpResponseWriter} which sends a streaming response from the specified
+     * {@link Stream}. Unlike {@link #streamingFrom(Stream, ResponseHeaders, HttpHeaders, Function, Executor)},
+     * the objects are encoded by the specified {@link StreamingJsonEncoder} and written in chunks whose size
+     * is determined by the flush threshold of the encoder.
+     *
+     * @param stream a sequence of objects
+     * @param headers to be written to the returned {@link HttpResponseWriter}
+     * @param trailers to be written to the returned {@link HttpResponseWriter}
+     * @param encoder encodes the objects into JSON texts
+     * @param executor executes the iteration of the stream
+     */
+    public static HttpResponseWriter streamingJsonFrom(Stream<?> stream,
+                                                       ResponseHeaders headers, HttpHeaders trailers,
+                                                       StreamingJsonEncoder encoder, Executor executor) {
+        requireNonNull(stream, "stream");
+        requireNonNull(headers, "headers");
+        requireNonNull(trailers, "trailers");
+        requireNonNull(encoder, "encoder");
+        requireNonNull(executor, "executor");
+
+        final HttpResponseWriter writer = HttpResponse.streaming();
+        executor.execute(new StreamingJsonIteration(stream, writer, headers, trailers, encoder));
+        return writer;
+    }
+
+    /**
+     * Returns a new {@link HttpResponseWriter} which sends a streaming response from the specified
+     * {@link Publisher}. Unlike {@link #streamingFrom(Publisher, ResponseHeaders, HttpHeaders, Function)},
+     * the objects are encoded by the specified {@link StreamingJsonEncoder} and written in chunks.
+     * A chunk is written when the flush threshold of the encoder is reached or when the {@link Publisher}
+     * stops emitting objects in the current event loop task, so that a slow {@link Publisher} does not
+     * delay the objects emitted so far.
+     *
+     * @param publisher publishes objects
+     * @param headers to be written to the returned {@link HttpResponseWriter}
+     * @param trailers to be written to the returned {@link HttpResponseWriter}
+     * @param encoder encodes the objects into JSON texts
+     */
+    public static HttpResponseWriter streamingJsonFrom(Publisher<?> publisher,
+                                                       ResponseHeaders headers, HttpHeaders trailers,
+                                                       StreamingJsonEncoder encoder) {
+        requireNonNull(publisher, "publisher");
+        requireNonNull(headers, "headers");
+        requireNonNull(trailers, "trailers");
+        requireNonNull(encoder, "encoder");
+
+        final ServiceRequestContext ctx = ServiceRequestContext.currentOrNull();
+        final EventExecutor eventLoop = ctx != null ? ctx.eventLoop().withoutContext()
+                                                    : CommonPools.workerGroup().next();
+        final HttpResponseWriter writer = HttpResponse.streaming();
+        StreamMessage.of(publisher).subscribe(
+                new StreamingJsonSubscriber(writer, headers, trailers, encoder, eventLoop), eventLoop);
+        return writer;
+    }
+
+    /**
+     * Writes the specified {@code chunk} to the {@link HttpResponseWriter}, preceded by the {@code headers}
+     * if they have not been sent yet. Returns {@code false} if the response has been closed, e.g. because
+     * the client disconnected, so that the caller stops encoding the remaining objects.
+     */
+    private static boolean writeChunk(HttpResponseWriter writer, ResponseHeaders headers,
+                                      boolean headersSent, HttpData chunk) {
+        if (!headersSent && !writer.tryWrite(headers)) {
+            chunk.close();
+            return false;
+        }
+        if (!writer.tryWrite(chunk)) {
+            chunk.close();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Iterates a {@link Stream} on a blocking task executor, encoding the objects with
+     * a {@link StreamingJsonEncoder} and writing the encoded chunks to a streaming response.
+     * The iteration stops as soon as the response is closed.
+     */
+    private static final class StreamingJsonIteration implements Runnable {
+
+        private final Stream<?> stream;
+        private final HttpResponseWriter writer;
+        private final ResponseHeaders headers;
+        private final HttpHeaders trailers;
+        private final StreamingJsonEncoder encoder;
+        private boolean headersSent;
+
+        StreamingJsonIteration(Stream<?> stream, HttpResponseWriter writer,
+                               ResponseHeaders headers, HttpHeaders trailers, StreamingJsonEncoder encoder) {
+            this.stream = stream;
+            this.writer = writer;
+            this.headers = headers;
+            this.trailers = trailers;
+            this.encoder = encoder;
+        }
+
+        @Override
+        public void run() {
+            try {
+                final Iterator<?> it = stream.sequential().iterator();
+                while (it.hasNext()) {
+                    if (!writer.isOpen()) {
+                        // The response has been aborted or the client has disconnected.
+                        return;
+                    }
+                    encoder.encode(it.next());
+                    if (encoder.shouldFlush() && !flush()) {
+                        return;
+                    }
+                }
+                encoder.finish();
+                if (!flush()) {
+                    return;
+                }
+                if (!headersSent && !writer.tryWrite(headers)) {
+                    return;
+                }
+                if (!trailers.isEmpty() && !writer.tryWrite(trailers)) {
+                    return;
+                }
+                writer.close();
+            } catch (Exception e) {
+                if (!encoder.isArray()) {
+                    // Send the JSON texts encoded successfully so far before closing the response.
+                    flush();
+                }
+                writer.close(e);
+            } finally {
+                encoder.close();
+                stream.close();
+            }
+        }
+
+        private boolean flush() {
+            final HttpData chunk = encoder.flush();
+            if (chunk == null) {
+                return true;
+            }
+            if (!writeChunk(writer, headers, headersSent, chunk)) {
+                return false;
+            }
+            headersSent = true;
+            return true;
+        }
+    }
+
     /**
      * A {@link Subscriber} implementation which writes a streaming response with the contents converted from
      * the objects published from a publisher.
@@ -255,5 +413,162 @@ public final class ResponseConversionUtil {
         }
     }
 
+    /**
+     * A {@link Subscriber} implementation which encodes the published objects with
+     * a {@link StreamingJsonEncoder} and writes the encoded chunks to a streaming response.
+     * All signals are received by the {@link EventExecutor} which flushes the encoder.
+     */
+    private static final class StreamingJsonSubscriber implements Subscriber<Object> {
+
+        private final HttpResponseWriter writer;
+        private final ResponseHeaders headers;
+        private final HttpHeaders trailers;
+        private final StreamingJsonEncoder encoder;
+        private final EventExecutor eventLoop;
+        @Nullable
+        private Subscription subscription;
+        private boolean headersSent;
+        private boolean flushScheduled;
+        private int unconsumedChunks;
+        private boolean pendingRequest;
+
+        StreamingJsonSubscriber(HttpResponseWriter writer,
+                                ResponseHeaders headers, HttpHeaders trailers,
+                                StreamingJsonEncoder encoder, EventExecutor eventLoop) {
+            this.writer = writer;
+            this.headers = headers;
+            this.trailers = trailers;
+            this.encoder = encoder;
+            this.eventLoop = eventLoop;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            assert subscription == null;
+            subscription = s;
+            writer.whenComplete().handle((unused, cause) -> {
+                if (cause != null) {
+                    eventLoop.execute(() -> {
+                        s.cancel();
+                        encoder.close();
+                    });
+                }
+                return null;
+            });
+
+            s.request(1);
+        }
+
+        @Override
+        public void onNext(Object value) {
+            if (!writer.isOpen()) {
+                return;
+            }
+            try {
+                encoder.encode(value);
+            } catch (Exception e) {
+                assert subscription != null;
+                subscription.cancel();
+                close(e);
+                return;
+            }
+
+            if (encoder.shouldFlush()) {
+                flush();
+            } else if (!flushScheduled && !encoder.isArray()) {
+                // Flush the remaining texts after the objects emitted in the current task are encoded.
+                // A JSON array is flushed only when the threshold is reached, so that a failure before
+                // the first chunk is written still produces an error response.
+                flushScheduled = true;
+                eventLoop.execute(() -> {
+                    flushScheduled = false;
+                    if (writer.isOpen()) {
+                        flush();
+                    }
+                });
+            }
+            requestNext();
+        }
+
+        private void flush() {
+            final HttpData chunk = encoder.flush();
+            if (chunk == null) {
+                return;
+            }
+            if (!writeChunk(writer, headers, headersSent, chunk)) {
+                // The response has been closed. The subscription is cancelled by the completion handler
+                // if it was aborted.
+                return;
+            }
+            headersSent = true;
+            unconsumedChunks++;
+            writer.whenConsumed().handle((unused, cause) -> {
+                if (eventLoop.inEventLoop()) {
+                    onConsumed();
+                } else {
+                    eventLoop.execute(this::onConsumed);
+                }
+                return null;
+            });
+        }
+
+        private void requestNext() {
+            if (unconsumedChunks == 0) {
+                assert subscription != null;
+                subscription.request(1);
+            } else {
+                // Request the next object after the written chunks are consumed to apply backpressure.
+                pendingRequest = true;
+            }
+        }
+
+        private void onConsumed() {
+            unconsumedChunks--;
+            if (unconsumedChunks == 0 && pendingRequest && writer.isOpen()) {
+                pendingRequest = false;
+                assert subscription != null;
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable cause) {
+            if (!writer.isOpen()) {
+                encoder.close();
+                return;
+            }
+            close(cause);
+        }
+
+        private void close(Throwable cause) {
+            if (!encoder.isArray()) {
+                // Send the JSON texts encoded successfully so far before closing the response.
+                flush();
+            }
+            encoder.close();
+            writer.close(cause);
+        }
+
+        @Override
+        public void onComplete() {
+            if (!writer.isOpen()) {
+                encoder.close();
+                return;
+            }
+            encoder.finish();
+            flush();
+            encoder.close();
+            if (!headersSent && !writer.tryWrite(headers)) {
+                return;
+            }
+            if (!trailers.isEmpty()) {
+                if (!writer.tryWrite(trailers)) {
+                    return;
+                }
+            }
+            writer.close();
+        }
+    }
+
     private ResponseConversionUtil() {}
 }
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.server;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.PrettyPrinter;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import com.linecorp.armeria.common.Flags;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.util.Exceptions;
+import com.linecorp.armeria.common.util.SafeCloseable;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+/**
+ * Encodes a sequence of objects into JSON texts, or the elements of a JSON array, using a single
+ * {@link JsonGenerator} per stream. The encoded texts are accumulated in a pooled direct {@link ByteBuf}
+ * until {@link #flush()} is called, so that a streaming response is written in a few large chunks rather
+ * than one heap array per element.
+ *
+ * <p>Note that this class is not thread-safe.
+ */
+public final class StreamingJsonEncoder implements SafeCloseable {
+
+    private static final byte[] EMPTY_BYTES = {};
+    private static final byte[] CLOSE_ARRAY = { ']' };
+    private static final byte[] EMPTY_ARRAY = { '[', ']' };
+
+    /**
+     * Returns a new instance which encodes the objects into the elements of a JSON array.
+     * {@link #finish()} must be called after the last object is encoded to close the array.
+     *
+     * @param writer the {@link ObjectWriter} which serializes an object
+     * @param alloc the {@link ByteBufAllocator} which allocates the buffers of the encoded chunks
+     * @param flushThreshold the number of bytes to accumulate before {@link #shouldFlush()} returns
+     *                       {@code true}
+     */
+    public static StreamingJsonEncoder ofArray(ObjectWriter writer, ByteBufAllocator alloc,
+                                               int flushThreshold) {
+        return new StreamingJsonEncoder(writer, alloc, EMPTY_BYTES, EMPTY_BYTES, flushThreshold, true);
+    }
+
+    private final ObjectWriter writer;
+    private final ByteBufAllocator alloc;
+    private final byte[] prefix;
+    private final byte[] suffix;
+    private final int flushThreshold;
+    private final boolean array;
+    private final JsonGenerator generator;
+
+    @Nullable
+    private ByteBuf buf;
+    private boolean encodedAny;
+    private boolean closed;
+
+    /**
+     * Creates a new instance which allocates buffers from the {@link ByteBufAllocator} of the current
+     * {@link ServiceRequestContext} and flushes every {@link Flags#defaultStreamingJsonFlushThreshold()}
+     * bytes.
+     *
+     * @param writer the {@link ObjectWriter} which serializes an object
+     * @param prefix the bytes written before each JSON text
+     * @param suffix the bytes written after each JSON text
+     */
+    public StreamingJsonEncoder(ObjectWriter writer, byte[] prefix, byte[] suffix) {
+        this(writer, currentAlloc(), prefix, suffix, Flags.defaultStreamingJsonFlushThreshold());
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param writer the {@link ObjectWriter} which serializes an object
+     * @param alloc the {@link ByteBufAllocator} which allocates the buffers of the encoded chunks
+     * @param prefix the bytes written before each JSON text
+     * @param suffix the bytes written after each JSON text
+     * @param flushThreshold the number of bytes to accumulate before {@link #shouldFlush()} returns
+     *                       {@code true}
+     */
+    public StreamingJsonEncoder(ObjectWriter writer, ByteBufAllocator alloc,
+                                byte[] prefix, byte[] suffix, int flushThreshold) {
+        this(writer, alloc, prefix, suffix, flushThreshold, false);
+    }
+
+    private StreamingJsonEncoder(ObjectWriter writer, ByteBufAllocator alloc,
+                                 byte[] prefix, byte[] suffix, int flushThreshold, boolean array) {
+        this.writer = requireNonNull(writer, "writer");
+        this.alloc = requireNonNull(alloc, "alloc");
+        this.prefix = requireNonNull(prefix, "prefix");
+        this.suffix = requireNonNull(suffix, "suffix");
+        checkArgument(flushThreshold > 0, "flushThreshold: %s (expected: > 0)", flushThreshold);
+        this.flushThreshold = flushThreshold;
+        this.array = array;
+        generator = newGenerator(writer, new BufferOutputStream());
+    }
+
+    private static ByteBufAllocator currentAlloc() {
+        final ServiceRequestContext ctx = ServiceRequestContext.currentOrNull();
+        return ctx != null ? ctx.alloc() : ByteBufAllocator.DEFAULT;
+    }
+
+    private static JsonGenerator newGenerator(ObjectWriter writer, OutputStream out) {
+        final JsonGenerator generator;
+        try {
+            generator = writer.createGenerator(out);
+        } catch (IOException e) {
+            return Exceptions.throwUnsafely(e);
+        }
+        // Do not write a whitespace between root values because the texts are delimited by
+        // the prefix and the suffix.
+        final PrettyPrinter prettyPrinter = generator.getPrettyPrinter();
+        if (prettyPrinter == null) {
+            generator.setRootValueSeparator(null);
+        } else if (prettyPrinter instanceof DefaultPrettyPrinter) {
+            generator.setPrettyPrinter(
+                    ((DefaultPrettyPrinter) prettyPrinter).withRootSeparator((SerializableString) null));
+        }
+        return generator;
+    }
+
+    /**
+     * Encodes the specified {@code value} and appends it to the current chunk. If the serialization fails,
+     * the partially encoded value is discarded so that the current chunk contains only complete JSON texts.
+     */
+    public void encode(@Nullable Object value) throws IOException {
+        checkState(!closed, "encoder closed already");
+        final int writerIndex = buf != null ? buf.writerIndex() : 0;
+        boolean success = false;
+        try {
+            if (array) {
+                buffer().writeByte(encodedAny ? ',' : '[');
+            } else if (prefix.length > 0) {
+                buffer().writeBytes(prefix);
+            }
+            writer.writeValue(generator, value);
+            generator.flush();
+            if (suffix.length > 0) {
+                buffer().writeBytes(suffix);
+            }
+            encodedAny = true;
+            success = true;
+        } finally {
+            if (!success && buf != null) {
+                buf.writerIndex(writerIndex);
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if this encoder encodes the objects into a JSON array. Unlike JSON texts,
+     * the elements of a JSON array encoded so far are useless when the stream fails in the middle.
+     */
+    public boolean isArray() {
+        return array;
+    }
+
+    /**
+     * Appends the end of the encoded objects, which is {@code ']'} for a JSON array. This method does
+     * nothing if this encoder does not encode a JSON array.
+     */
+    public void finish() {
+        checkState(!closed, "encoder closed already");
+        if (array) {
+            buffer().writeBytes(encodedAny ? CLOSE_ARRAY : EMPTY_ARRAY);
+        }
+    }
+
+    /**
+     * Returns {@code true} if the current chunk has reached the flush threshold.
+     */
+    public boolean shouldFlush() {
+        return buf != null && buf.readableBytes() >= flushThreshold;
+    }
+
+    /**
+     * Returns the current chunk as a pooled {@link HttpData}, or {@code null} if nothing has been encoded
+     * since the last flush. The caller is responsible for releasing the returned {@link HttpData}.
+     */
+    @Nullable
+    public HttpData flush() {
+        final ByteBuf buf = this.buf;
+        if (buf == null) {
+            return null;
+        }
+        this.buf = null;
+        if (!buf.isReadable()) {
+            buf.release();
+            return null;
+        }
+        return HttpData.wrap(buf);
+    }
+
+    /**
+     * Closes the {@link JsonGenerator} and releases the current chunk which has not been flushed.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            generator.close();
+        } catch (IOException ignored) {
+            // Nothing is written to the network by the generator.
+        } finally {
+            if (buf != null) {
+                buf.release();
+                buf = null;
+            }
+        }
+    }
+
+    private ByteBuf buffer() {
+        ByteBuf buf = this.buf;
+        if (buf == null) {
+            buf = this.buf = alloc.directBuffer(flushThreshold);
+        }
+        return buf;
+    }
+
+    private final class BufferOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+            buffer().writeByte(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            buffer().writeBytes(b, off, len);
+        }
+    }
+}
@@ -58,6 +58,7 @@ import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -84,6 +85,7 @@ import com.linecorp.armeria.common.RequestHeaders;
 import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.multipart.Multipart;
 import com.linecorp.armeria.common.multipart.MultipartFile;
+import com.linecorp.armeria.common.stream.StreamMessage;
 import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.armeria.internal.server.FileAggregatedMultipart;
 import com.linecorp.armeria.internal.server.annotation.AnnotatedBeanFactoryRegistry.BeanFactoryId;
@@ -723,6 +725,20 @@ final class AnnotatedValueResolver {
                                                           List<RequestObjectResolver> objectResolvers,
                                                           DependencyInjector dependencyInjector,
                                                           DescriptionInfo description) {
+        if ((type == StreamMessage.class || type == Publisher.class) && !objectResolvers.isEmpty()) {
+            // The request can be left unaggregated only if the request converter with the highest priority
+            // is a streaming one. Otherwise, the other converters need the aggregated request.
+            final RequestObjectResolver first = objectResolvers.get(0);
+            if (first instanceof RequestConverterFunctionResolver) {
+                final RequestConverterFunction function = ((RequestConverterFunctionResolver) first).function;
+                if (function instanceof JacksonRequestConverterFunction &&
+                    ((JacksonRequestConverterFunction) function).isStreaming()) {
+                    return ofStreamingRequestObject(name, annotatedElement, type,
+                                                    (JacksonRequestConverterFunction) function, description);
+                }
+            }
+        }
+
         // To do recursive resolution like a bean inside another bean, the original object resolvers should
         // be passed into the AnnotatedBeanFactoryRegistry#register.
         final BeanFactoryId beanFactoryId = AnnotatedBeanFactoryRegistry.register(
@@ -736,6 +752,30 @@ final class AnnotatedValueResolver {
                 .build();
     }
 
+    /**
+     * Returns a resolver for a {@code StreamMessage<T>} or {@code Publisher<T>} {@link RequestObject} which
+     * emits the elements of a JSON array or JSON Lines while the request body is being received, without
+     * aggregating the request.
+     */
+    private static AnnotatedValueResolver ofStreamingRequestObject(
+            String name, AnnotatedElement annotatedElement, Class<?> type,
+            JacksonRequestConverterFunction function, DescriptionInfo description) {
+        final Type parameterizedType = parameterizedTypeOf(annotatedElement);
+        final Type elementType;
+        if (parameterizedType instanceof ParameterizedType) {
+            elementType = ((ParameterizedType) parameterizedType).getActualTypeArguments()[0];
+        } else {
+            elementType = Object.class;
+        }
+
+        return new Builder(annotatedElement, type, name)
+                .annotationType(RequestObject.class)
+                .description(description)
+                .resolver((unused, ctx) -> function.convertStreamingRequest(ctx.context(), ctx.request(),
+                                                                            elementType))
+                .build();
+    }
+
     private static AnnotatedValueResolver ofAttribute(String name,
                                                       Attribute attr,
                                                       AnnotatedElement annotatedElement,
@@ -1906,15 +1946,7 @@ final class AnnotatedValueResolver {
     @FunctionalInterface
     interface RequestObjectResolver {
         static RequestObjectResolver of(RequestConverterFunction function) {
-            return (resolverContext, expectedResultType, expectedParameterizedResultType, beanFactoryId) -> {
-                final AggregatedHttpRequest request = resolverContext.aggregatedRequest();
-                if (request == null) {
-                    throw new IllegalArgumentException(
-                            "Cannot convert this request to an object because it is not aggregated.");
-                }
-                return function.convertRequest(resolverContext.context(), request,
-                                               expectedResultType, expectedParameterizedResultType);
-            };
+            return new RequestConverterFunctionResolver(function);
         }
 
         @Nullable
@@ -1923,6 +1955,33 @@ final class AnnotatedValueResolver {
                        @Nullable BeanFactoryId beanFactoryId) throws Throwable;
     }
 
+    /**
+     * A {@link RequestObjectResolver} which converts an aggregated request with a
+     * {@link RequestConverterFunction}.
+     */
+    private static final class RequestConverterFunctionResolver implements RequestObjectResolver {
+
+        private final RequestConverterFunction function;
+
+        RequestConverterFunctionResolver(RequestConverterFunction function) {
+            this.function = function;
+        }
+
+        @Nullable
+        @Override
+        public Object convert(ResolverContext resolverContext, Class<?> expectedResultType,
+                              @Nullable ParameterizedType expectedParameterizedResultType,
+                              @Nullable BeanFactoryId beanFactoryId) throws Throwable {
+            final AggregatedHttpRequest request = resolverContext.aggregatedRequest();
+            if (request == null) {
+                throw new IllegalArgumentException(
+                        "Cannot convert this request to an object because it is not aggregated.");
+            }
+            return function.convertRequest(resolverContext.context(), request,
+                                           expectedResultType, expectedParameterizedResultType);
+        }
+    }
+
     /**
      * A subtype of {@link IllegalArgumentException} which is raised when no annotated parameters exist
      * in a constructor or method.
@@ -40,6 +40,7 @@ import com.linecorp.armeria.common.DependencyInjector;
 import com.linecorp.armeria.common.Http1HeaderNaming;
 import com.linecorp.armeria.common.RequestId;
 import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.metric.MeterIdPrefix;
 import com.linecorp.armeria.common.util.BlockingTaskExecutor;
 
 import io.micrometer.core.instrument.MeterRegistry;
@@ -70,6 +71,7 @@ final class DefaultServerConfig implements ServerConfig {
 
     private final EventLoopGroup workerGroup;
     private final boolean shutdownWorkerGroupOnStop;
+    private final boolean reusePortAcceptors;
     private final Executor startStopExecutor;
     private final int maxNumConnections;
 
@@ -83,6 +85,7 @@ final class DefaultServerConfig implements ServerConfig {
     private final int http2InitialConnectionWindowSize;
     private final int http2InitialStreamWindowSize;
     private final float http2StreamWindowUpdateRatio;
+    private final int http2WindowAutotuningMaxSize;
     private final long http2MaxStreamsPerConnection;
     private final int http2MaxFrameSize;
     private final long http2MaxHeaderListSize;
@@ -127,17 +130,20 @@ final class DefaultServerConfig implements ServerConfig {
     DefaultServerConfig(
             Iterable<ServerPort> ports,
             VirtualHost defaultVirtualHost, List<VirtualHost> virtualHosts,
-            EventLoopGroup workerGroup, boolean shutdownWorkerGroupOnStop, Executor startStopExecutor,
+            EventLoopGroup workerGroup, boolean shutdownWorkerGroupOnStop, boolean reusePortAcceptors,
+            Executor startStopExecutor,
             int maxNumConnections, long idleTimeoutMillis, boolean keepAliveOnPing, long pingIntervalMillis,
             long maxConnectionAgeMillis,
             int maxNumRequestsPerConnection, long connectionDrainDurationMicros,
             int http2InitialConnectionWindowSize, int http2InitialStreamWindowSize,
-            float http2StreamWindowUpdateRatio, long http2MaxStreamsPerConnection, int http2MaxFrameSize,
+            float http2StreamWindowUpdateRatio, int http2WindowAutotuningMaxSize,
+            long http2MaxStreamsPerConnection, int http2MaxFrameSize,
             long http2MaxHeaderListSize, int http2MaxResetFramesPerWindow, int http2MaxResetFramesWindowSeconds,
             int http1MaxInitialLineLength, int http1MaxHeaderSize,
             int http1MaxChunkSize, GracefulShutdown gracefulShutdown,
             BlockingTaskExecutor blockingTaskExecutor,
-            MeterRegistry meterRegistry, int proxyProtocolMaxTlvSize,
+            MeterRegistry meterRegistry, @Nullable MeterIdPrefix connectionStatsMeterIdPrefix,
+            int proxyProtocolMaxTlvSize,
             Map<ChannelOption<?>, Object> channelOptions,
             Map<ChannelOption<?>, Object> childChannelOptions,
             Consumer<? super ChannelPipeline> childChannelPipelineCustomizer,
@@ -160,6 +166,7 @@ final class DefaultServerConfig implements ServerConfig {
         // Set the primitive properties.
         this.workerGroup = requireNonNull(workerGroup, "workerGroup");
         this.shutdownWorkerGroupOnStop = shutdownWorkerGroupOnStop;
+        this.reusePortAcceptors = reusePortAcceptors;
         this.startStopExecutor = requireNonNull(startStopExecutor, "startStopExecutor");
         this.maxNumConnections = validateMaxNumConnections(maxNumConnections);
         this.idleTimeoutMillis = validateIdleTimeoutMillis(idleTimeoutMillis);
@@ -173,6 +180,7 @@ final class DefaultServerConfig implements ServerConfig {
         this.http2InitialConnectionWindowSize = http2InitialConnectionWindowSize;
         this.http2InitialStreamWindowSize = http2InitialStreamWindowSize;
         this.http2StreamWindowUpdateRatio = http2StreamWindowUpdateRatio;
+        this.http2WindowAutotuningMaxSize = http2WindowAutotuningMaxSize;
         this.http2MaxStreamsPerConnection = http2MaxStreamsPerConnection;
         this.http2MaxFrameSize = http2MaxFrameSize;
         this.http2MaxHeaderListSize = http2MaxHeaderListSize;
@@ -268,7 +276,7 @@ final class DefaultServerConfig implements ServerConfig {
         this.absoluteUriTransformer = castAbsoluteUriTransformer;
         this.unloggedExceptionsReportIntervalMillis = unloggedExceptionsReportIntervalMillis;
         this.shutdownSupports = ImmutableList.copyOf(requireNonNull(shutdownSupports, "shutdownSupports"));
-        serverMetrics = new ServerMetrics(meterRegistry);
+        serverMetrics = new ServerMetrics(meterRegistry, connectionStatsMeterIdPrefix);
     }
 
     private static Int2ObjectMap<Mapping<String, VirtualHost>> buildDomainAndPortMapping(
@@ -463,6 +471,11 @@ final class DefaultServerConfig implements ServerConfig {
         return shutdownWorkerGroupOnStop;
     }
 
+    @Override
+    public boolean reusePortAcceptors() {
+        return reusePortAcceptors;
+    }
+
     /**
      * Returns the {@link Executor} which will invoke the callbacks of {@link Server#start()},
      * {@link Server#stop()} and {@link ServerListener}.
@@ -553,6 +566,11 @@ final class DefaultServerConfig implements ServerConfig {
         return http2StreamWindowUpdateRatio;
     }
 
+    @Override
+    public int http2WindowAutotuningMaxSize() {
+        return http2WindowAutotuningMaxSize;
+    }
+
     @Override
     public long http2MaxStreamsPerConnection() {
         return http2MaxStreamsPerConnection;
@@ -681,6 +699,11 @@ final class DefaultServerConfig implements ServerConfig {
         return unloggedExceptionsReportIntervalMillis;
     }
 
+    @Override
+    public boolean connectionStatsEnabled() {
+        return serverMetrics.connectionStats() != null;
+    }
+
     @Override
     public ServerMetrics serverMetrics() {
         return serverMetrics;
@@ -39,7 +39,9 @@ import com.linecorp.armeria.common.SessionProtocol;
 import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.stream.ClosedStreamException;
 import com.linecorp.armeria.internal.common.ArmeriaHttpUtil;
+import com.linecorp.armeria.internal.common.ConnectionStats;
 import com.linecorp.armeria.internal.common.Http2GoAwayHandler;
+import com.linecorp.armeria.internal.common.Http2WindowAutotuner;
 import com.linecorp.armeria.internal.common.InboundTrafficController;
 import com.linecorp.armeria.internal.common.KeepAliveHandler;
 
@@ -48,6 +50,7 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.EventLoop;
 import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http2.Http2Connection;
 import io.netty.handler.codec.http2.Http2ConnectionDecoder;
 import io.netty.handler.codec.http2.Http2Error;
 import io.netty.handler.codec.http2.Http2EventAdapter;
@@ -74,20 +77,29 @@ final class Http2RequestDecoder extends Http2EventAdapter {
 
     private final InboundTrafficController inboundTrafficController;
     private final KeepAliveHandler keepAliveHandler;
+    private final Http2WindowAutotuner windowAutotuner;
+    private final Http2Connection connection;
+    @Nullable
+    private final ConnectionStats connectionStats;
     private final Http2GoAwayHandler goAwayHandler;
     private final IntObjectMap<@Nullable DecodedHttpRequest> requests = new IntObjectHashMap<>();
 
     Http2RequestDecoder(ServerConfig cfg, Channel channel, AsciiString scheme,
-                        KeepAliveHandler keepAliveHandler, Http2ConnectionDecoder decoder) {
+                        KeepAliveHandler keepAliveHandler, Http2ConnectionDecoder decoder,
+                        Http2WindowAutotuner windowAutotuner) {
         this.cfg = cfg;
         this.channel = channel;
         final ServerPortMetric serverPortMetric = channel.attr(SERVER_PORT_METRIC).get();
         assert serverPortMetric != null;
         this.serverPortMetric = serverPortMetric;
         this.scheme = scheme;
-        inboundTrafficController =
-                InboundTrafficController.ofHttp2(channel, decoder, cfg.http2InitialConnectionWindowSize());
+        // Raised in onPingAckRead() as the window autotuner grows the connection-level window.
+        inboundTrafficController = InboundTrafficController.ofHttp2(
+                channel, decoder, windowAutotuner.connectionWindowSize());
         this.keepAliveHandler = keepAliveHandler;
+        this.windowAutotuner = windowAutotuner;
+        connection = decoder.connection();
+        connectionStats = ConnectionStats.get(channel);
         goAwayHandler = new Http2GoAwayHandler();
     }
 
@@ -295,6 +307,7 @@ final class Http2RequestDecoder extends Http2EventAdapter {
         keepAliveChannelRead(false);
 
         final int dataLength = data.readableBytes();
+        windowAutotuner.onDataRead(ctx, dataLength + padding);
         final DecodedHttpRequest req = requests.get(streamId);
         final boolean logInvalidStream;
         if (req == null) {
@@ -433,6 +446,10 @@ final class Http2RequestDecoder extends Http2EventAdapter {
 
     @Override
     public void onPingAckRead(final ChannelHandlerContext ctx, final long data) {
+        if (windowAutotuner.onPingAckRead(ctx, data)) {
+            inboundTrafficController.growConnectionWindowSize(windowAutotuner.connectionWindowSize());
+            return;
+        }
         if (keepAliveHandler.isHttp2()) {
             keepAliveHandler.onPingAck(data);
         }
@@ -443,6 +460,13 @@ final class Http2RequestDecoder extends Http2EventAdapter {
         keepAliveHandler.onPing();
     }
 
+    @Override
+    public void onWindowUpdateRead(ChannelHandlerContext ctx, int streamId, int windowSizeIncrement) {
+        if (connectionStats != null) {
+            connectionStats.onWindowUpdateRead(connection, streamId, windowSizeIncrement);
+        }
+    }
+
     private void keepAliveChannelRead(boolean increaseNumRequests) {
         keepAliveHandler.onReadOrWrite();
         if (increaseNumRequests) {
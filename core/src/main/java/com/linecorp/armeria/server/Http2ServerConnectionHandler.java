@@ -21,6 +21,7 @@ import static com.linecorp.armeria.internal.common.KeepAliveHandlerUtil.needsKee
 import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.internal.common.AbstractHttp2ConnectionHandler;
 import com.linecorp.armeria.internal.common.GracefulConnectionShutdownHandler;
+import com.linecorp.armeria.internal.common.Http2WindowAutotuner;
 import com.linecorp.armeria.internal.common.InitiateConnectionShutdown;
 import com.linecorp.armeria.internal.common.KeepAliveHandler;
 import com.linecorp.armeria.internal.common.NoopKeepAliveHandler;
@@ -55,7 +56,11 @@ final class Http2ServerConnectionHandler extends AbstractHttp2ConnectionHandler
         gracefulConnectionShutdownHandler = new Http2GracefulConnectionShutdownHandler(
                 cfg.connectionDrainDurationMicros());
 
-        requestDecoder = new Http2RequestDecoder(cfg, channel, scheme, keepAliveHandler(), decoder);
+        final Http2WindowAutotuner windowAutotuner = new Http2WindowAutotuner(
+                channel, encoder, cfg.http2InitialConnectionWindowSize(), cfg.http2InitialStreamWindowSize(),
+                cfg.http2WindowAutotuningMaxSize());
+        requestDecoder = new Http2RequestDecoder(cfg, channel, scheme, keepAliveHandler(), decoder,
+                                                 windowAutotuner);
         connection().addListener(requestDecoder);
         decoder().frameListener(requestDecoder);
     }
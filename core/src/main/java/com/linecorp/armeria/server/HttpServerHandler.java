@@ -68,11 +68,13 @@ import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.armeria.common.util.SafeCloseable;
 import com.linecorp.armeria.common.util.SystemInfo;
 import com.linecorp.armeria.internal.common.AbstractHttp2ConnectionHandler;
+import com.linecorp.armeria.internal.common.ConnectionStats;
 import com.linecorp.armeria.internal.common.Http1ObjectEncoder;
 import com.linecorp.armeria.internal.common.RequestContextUtil;
 import com.linecorp.armeria.internal.common.RequestTargetCache;
 import com.linecorp.armeria.internal.common.util.ChannelUtil;
 import com.linecorp.armeria.internal.server.DefaultServiceRequestContext;
+import com.linecorp.armeria.internal.server.RequestProfiler;
 
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
@@ -225,6 +227,10 @@ final class HttpServerHandler extends ChannelInboundHandlerAdapter implements Ht
         this.responseEncoder = responseEncoder;
         this.proxiedAddresses = proxiedAddresses;
         unfinishedRequests = new IdentityHashMap<>();
+        final ConnectionStats connectionStats = ConnectionStats.get(channel);
+        if (connectionStats != null) {
+            connectionStats.activeStreams(this::unfinishedRequests);
+        }
     }
 
     @Override
@@ -466,6 +472,10 @@ final class HttpServerHandler extends ChannelInboundHandlerAdapter implements Ht
                 nextRequestId(routingCtx, serviceCfg), routingCtx, routingResult, req.exchangeType(),
                 req, sslSession, proxiedAddresses, clientAddress, remoteAddress, localAddress,
                 req.requestStartTimeNanos(), req.requestStartTimeMicros(), serviceCfg.contextHook());
+        final RequestProfiler profiler = RequestProfiler.current();
+        if (profiler != null) {
+            profiler.add(reqCtx);
+        }
 
         HttpResponse res;
         req.init(reqCtx);
@@ -51,6 +51,7 @@ import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.metric.MoreMeters;
 import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.armeria.internal.common.ArmeriaHttp2HeadersDecoder;
+import com.linecorp.armeria.internal.common.ConnectionStatsRegistry;
 import com.linecorp.armeria.internal.common.KeepAliveHandler;
 import com.linecorp.armeria.internal.common.NoopKeepAliveHandler;
 import com.linecorp.armeria.internal.common.ReadSuppressingHandler;
@@ -157,6 +158,10 @@ final class HttpServerPipelineConfigurator extends ChannelInitializer<Channel> {
         ChannelUtil.disableWriterBufferWatermark(ch);
 
         final ChannelPipeline p = ch.pipeline();
+        final ConnectionStatsRegistry connectionStats = config.serverMetrics().connectionStats();
+        if (connectionStats != null) {
+            p.addLast(connectionStats.newHandler());
+        }
         p.addLast(new FlushConsolidationHandler());
         p.addLast(ReadSuppressingHandler.INSTANCE);
         configurePipeline(p, port.protocols(), null);
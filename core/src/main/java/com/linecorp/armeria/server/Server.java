@@ -17,7 +17,6 @@
 package com.linecorp.armeria.server;
 
 import static com.google.common.collect.ImmutableList.toImmutableList;
-import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.linecorp.armeria.server.ServerPortMetric.SERVER_PORT_METRIC;
 import static com.linecorp.armeria.server.ServerSslContextUtil.validateSslContext;
 import static java.util.Objects.requireNonNull;
@@ -37,6 +36,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
@@ -44,9 +44,11 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.net.ssl.SSLSession;
@@ -75,6 +77,7 @@ import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.armeria.common.util.ListenableAsyncCloseable;
 import com.linecorp.armeria.common.util.ShutdownHooks;
 import com.linecorp.armeria.common.util.StartStopSupport;
+import com.linecorp.armeria.common.util.ThreadFactories;
 import com.linecorp.armeria.common.util.TlsEngineType;
 import com.linecorp.armeria.common.util.TransportType;
 import com.linecorp.armeria.common.util.UnmodifiableFuture;
@@ -91,7 +94,9 @@ import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPromise;
 import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.ServerChannel;
@@ -110,6 +115,9 @@ public final class Server implements ListenableAsyncCloseable {
 
     static final Logger logger = LoggerFactory.getLogger(Server.class);
 
+    private static final ThreadFactory KEEP_ALIVE_THREAD_FACTORY =
+            ThreadFactories.newThreadFactory("armeria-server-keep-alive", false);
+
     /**
      * Creates a new {@link ServerBuilder}.
      */
@@ -120,6 +128,7 @@ public final class Server implements ListenableAsyncCloseable {
     private final UpdatableServerConfig config;
     private final StartStopSupport<Void, Void, Void, ServerListener> startStop;
     private final Set<ServerChannel> serverChannels = new NonBlockingHashSet<>();
+    private final Set<EventLoopGroup> bossGroups = new NonBlockingHashSet<>();
     private final ReentrantLock lock = new ReentrantShortLock();
     @GuardedBy("lock")
     private final Map<InetSocketAddress, ServerPort> activePorts = new LinkedHashMap<>();
@@ -503,6 +512,9 @@ public final class Server implements ListenableAsyncCloseable {
 
         @Nullable
         private volatile GracefulShutdownSupport gracefulShutdownSupport;
+        // Counted down to stop the thread started by startKeepAliveThread().
+        @Nullable
+        private volatile CountDownLatch keepAliveLatch;
 
         ServerStartStopSupport(Executor startStopExecutor) {
             super(startStopExecutor);
@@ -538,27 +550,6 @@ public final class Server implements ListenableAsyncCloseable {
         }
 
         private ChannelFuture doStart(ServerPort port) {
-            final ServerBootstrap b = new ServerBootstrap();
-            serverBootstrap = b;
-            config.channelOptions().forEach((k, v) -> {
-                @SuppressWarnings("unchecked")
-                final ChannelOption<Object> castOption = (ChannelOption<Object>) k;
-                b.option(castOption, v);
-            });
-            config.childChannelOptions().forEach((k, v) -> {
-                if (!(port.isDomainSocket() && ChannelUtil.isTcpOption(k))) {
-                    @SuppressWarnings("unchecked")
-                    final ChannelOption<Object> castOption = (ChannelOption<Object>) k;
-                    b.childOption(castOption, v);
-                }
-            });
-
-            final EventLoopGroup bossGroup = EventLoopGroups.newEventLoopGroup(1, r -> {
-                final FastThreadLocalThread thread = new FastThreadLocalThread(r, bossThreadName(port));
-                thread.setDaemon(false);
-                return thread;
-            });
-
             final GracefulShutdownSupport gracefulShutdownSupport = this.gracefulShutdownSupport;
             assert gracefulShutdownSupport != null;
 
@@ -581,12 +572,10 @@ public final class Server implements ListenableAsyncCloseable {
             if (serverPortMetric == null) {
                 serverPortMetric = new ServerPortMetric();
             }
-            b.group(bossGroup, config.workerGroup());
-            b.handler(connectionLimitingHandler.newChildHandler(serverPortMetric));
-            b.childHandler(new HttpServerPipelineConfigurator(config, port, gracefulShutdownSupport,
-                                                              hasWebSocketService));
-            b.attr(SERVER_PORT_METRIC, serverPortMetric);
-            b.childAttr(SERVER_PORT_METRIC, serverPortMetric);
+            final ChannelHandler handler = connectionLimitingHandler.newChildHandler(serverPortMetric);
+            final HttpServerPipelineConfigurator childHandler =
+                    new HttpServerPipelineConfigurator(config, port, gracefulShutdownSupport,
+                                                       hasWebSocketService);
 
             final SocketAddress localAddress;
             final Class<? extends ServerChannel> channelType;
@@ -606,10 +595,160 @@ public final class Server implements ListenableAsyncCloseable {
                 channelType = transportType.serverChannelType();
             }
 
-            b.channel(channelType);
+            final ChannelOption<Boolean> reusePortOption = reusePortOption(port, transportType);
+            if (reusePortOption != null) {
+                // The port has no boss thread, so keep the JVM alive with another non-daemon thread.
+                startKeepAliveThread();
+                return bindReusePort(port, localAddress, channelType, reusePortOption, serverPortMetric,
+                                     handler, childHandler);
+            }
+
+            final EventLoopGroup bossGroup = EventLoopGroups.newEventLoopGroup(1, r -> {
+                final FastThreadLocalThread thread = new FastThreadLocalThread(r, bossThreadName(port));
+                thread.setDaemon(false);
+                return thread;
+            });
+            bossGroups.add(bossGroup);
+
+            final ServerBootstrap b = newServerBootstrap(port, channelType, serverPortMetric,
+                                                         handler, childHandler);
+            serverBootstrap = b;
+            b.group(bossGroup, config.workerGroup());
             return b.bind(localAddress);
         }
 
+        /**
+         * Starts a non-daemon thread which keeps the JVM alive until the server is stopped, unless it has
+         * been started already. It is used instead of a boss thread for the ports bound with
+         * {@code SO_REUSEPORT}, whose listening sockets run on the daemon worker event loops.
+         */
+        private void startKeepAliveThread() {
+            if (keepAliveLatch != null) {
+                return;
+            }
+            final CountDownLatch latch = new CountDownLatch(1);
+            keepAliveLatch = latch;
+            KEEP_ALIVE_THREAD_FACTORY.newThread(() -> {
+                try {
+                    latch.await();
+                } catch (InterruptedException ignored) {
+                    // Stop keeping the JVM alive.
+                }
+            }).start();
+        }
+
+        private void stopKeepAliveThread() {
+            final CountDownLatch latch = keepAliveLatch;
+            if (latch != null) {
+                keepAliveLatch = null;
+                latch.countDown();
+            }
+        }
+
+        /**
+         * Returns the {@code SO_REUSEPORT} {@link ChannelOption} if the specified {@link ServerPort} has to be
+         * bound once per worker event loop, or {@code null} to bind it with a boss thread.
+         */
+        @Nullable
+        private ChannelOption<Boolean> reusePortOption(ServerPort port, TransportType transportType) {
+            if (!config.reusePortAcceptors() || port.isDomainSocket()) {
+                return null;
+            }
+            final ChannelOption<Boolean> reusePortOption = ChannelUtil.reusePortOption(transportType);
+            if (reusePortOption == null) {
+                logger.warn("{} does not support SO_REUSEPORT; binding {} with a boss thread.",
+                            transportType, port.localAddress());
+                return null;
+            }
+            final EventLoopGroup workerGroup = config.workerGroup();
+            if (!TransportType.isSupported(workerGroup) ||
+                TransportType.serverChannelType(workerGroup) != transportType.serverChannelType()) {
+                logger.warn("The worker group is not of {}; binding {} with a boss thread.",
+                            transportType, port.localAddress());
+                return null;
+            }
+            return reusePortOption;
+        }
+
+        /**
+         * Binds one listening socket with {@code SO_REUSEPORT} per worker event loop. The first socket is
+         * bound to the specified address and the others are bound to the actual address of the first one,
+         * so that an ephemeral port is shared by all of them. The returned {@link ChannelFuture} belongs to
+         * the first socket and is completed when all sockets are bound.
+         */
+        private ChannelFuture bindReusePort(ServerPort port, SocketAddress localAddress,
+                                            Class<? extends ServerChannel> channelType,
+                                            ChannelOption<Boolean> reusePortOption,
+                                            ServerPortMetric serverPortMetric, ChannelHandler handler,
+                                            HttpServerPipelineConfigurator childHandler) {
+            final List<EventLoop> eventLoops = new ArrayList<>();
+            config.workerGroup().forEach(executor -> eventLoops.add((EventLoop) executor));
+
+            final Function<EventLoop, ServerBootstrap> bootstrapFactory = eventLoop -> {
+                final ServerBootstrap b = newServerBootstrap(port, channelType, serverPortMetric,
+                                                             handler, childHandler);
+                b.option(reusePortOption, true);
+                // Serve the accepted connections with the event loop which accepted them.
+                b.group(eventLoop, eventLoop);
+                return b;
+            };
+
+            final ServerBootstrap first = bootstrapFactory.apply(eventLoops.get(0));
+            serverBootstrap = first;
+            final ChannelFuture firstFuture = first.bind(localAddress);
+            final ChannelPromise promise = firstFuture.channel().newPromise();
+            firstFuture.addListener((ChannelFutureListener) f -> {
+                if (!f.isSuccess()) {
+                    promise.setFailure(f.cause());
+                    return;
+                }
+                final List<EventLoop> others = eventLoops.subList(1, eventLoops.size());
+                if (others.isEmpty()) {
+                    promise.setSuccess();
+                    return;
+                }
+                final SocketAddress actualAddress = f.channel().localAddress();
+                final AtomicInteger remaining = new AtomicInteger(others.size());
+                for (EventLoop eventLoop : others) {
+                    bootstrapFactory.apply(eventLoop).bind(actualAddress).addListener(
+                            (ChannelFutureListener) otherFuture -> {
+                                // Added even if failed, so that it is closed when the server stops.
+                                serverChannels.add((ServerChannel) otherFuture.channel());
+                                if (!otherFuture.isSuccess()) {
+                                    promise.tryFailure(otherFuture.cause());
+                                } else if (remaining.decrementAndGet() == 0) {
+                                    promise.trySuccess();
+                                }
+                            });
+                }
+            });
+            return promise;
+        }
+
+        private ServerBootstrap newServerBootstrap(ServerPort port, Class<? extends ServerChannel> channelType,
+                                                   ServerPortMetric serverPortMetric, ChannelHandler handler,
+                                                   HttpServerPipelineConfigurator childHandler) {
+            final ServerBootstrap b = new ServerBootstrap();
+            config.channelOptions().forEach((k, v) -> {
+                @SuppressWarnings("unchecked")
+                final ChannelOption<Object> castOption = (ChannelOption<Object>) k;
+                b.option(castOption, v);
+            });
+            config.childChannelOptions().forEach((k, v) -> {
+                if (!(port.isDomainSocket() && ChannelUtil.isTcpOption(k))) {
+                    @SuppressWarnings("unchecked")
+                    final ChannelOption<Object> castOption = (ChannelOption<Object>) k;
+                    b.childOption(castOption, v);
+                }
+            });
+            b.handler(handler);
+            b.childHandler(childHandler);
+            b.attr(SERVER_PORT_METRIC, serverPortMetric);
+            b.childAttr(SERVER_PORT_METRIC, serverPortMetric);
+            b.channel(channelType);
+            return b;
+        }
+
         private void setupPendingResponsesMetrics() {
             final GracefulShutdownSupport gracefulShutdownSupport = this.gracefulShutdownSupport;
             assert gracefulShutdownSupport != null;
@@ -696,10 +835,7 @@ public final class Server implements ListenableAsyncCloseable {
                         }
 
                         workerShutdownFuture.addListener(unused7 -> {
-                            final Set<EventLoopGroup> bossGroups =
-                                    Server.this.serverChannels.stream()
-                                                              .map(ch -> ch.eventLoop().parent())
-                                                              .collect(toImmutableSet());
+                            final Set<EventLoopGroup> bossGroups = ImmutableSet.copyOf(Server.this.bossGroups);
 
                             // If started to shutdown before initializing a boss group,
                             // complete the future immediately.
@@ -759,6 +895,8 @@ public final class Server implements ListenableAsyncCloseable {
 
         private void finishDoStop(CompletableFuture<Void> future) {
             serverChannels.clear();
+            bossGroups.clear();
+            stopKeepAliveThread();
 
             final Builder<ShutdownSupport> builder = ImmutableList.builder();
             builder.addAll(config.delegate().shutdownSupports());
@@ -859,8 +997,10 @@ public final class Server implements ListenableAsyncCloseable {
                 assert serverPortMetric != null;
                 actualPort.setServerPortMetric(serverPortMetric);
 
-                // Update the boss thread so its name contains the actual port.
-                Thread.currentThread().setName(bossThreadName(actualPort));
+                if (bossGroups.contains(ch.eventLoop().parent())) {
+                    // Update the boss thread so its name contains the actual port.
+                    Thread.currentThread().setName(bossThreadName(actualPort));
+                }
 
                 lock.lock();
                 try {
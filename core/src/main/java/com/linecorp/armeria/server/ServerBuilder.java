@@ -69,6 +69,7 @@ import com.google.common.collect.Sets;
 import com.google.common.net.HostAndPort;
 
 import com.linecorp.armeria.common.CommonPools;
+import com.linecorp.armeria.common.ContentTooLargeException;
 import com.linecorp.armeria.common.DependencyInjector;
 import com.linecorp.armeria.common.Flags;
 import com.linecorp.armeria.common.Http1HeaderNaming;
@@ -88,12 +89,14 @@ import com.linecorp.armeria.common.TlsSetters;
 import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.annotation.UnstableApi;
 import com.linecorp.armeria.common.logging.RequestOnlyLog;
+import com.linecorp.armeria.common.metric.MeterIdPrefix;
 import com.linecorp.armeria.common.util.BlockingTaskExecutor;
 import com.linecorp.armeria.common.util.DomainSocketAddress;
 import com.linecorp.armeria.common.util.EventLoopGroups;
 import com.linecorp.armeria.common.util.SystemInfo;
 import com.linecorp.armeria.common.util.ThreadFactories;
 import com.linecorp.armeria.common.util.TlsEngineType;
+import com.linecorp.armeria.common.util.TransportType;
 import com.linecorp.armeria.internal.common.BuiltInDependencyInjector;
 import com.linecorp.armeria.internal.common.RequestContextUtil;
 import com.linecorp.armeria.internal.common.util.ChannelUtil;
@@ -196,6 +199,10 @@ public final class ServerBuilder implements TlsSetters, ServiceConfigsBuilder<Se
 
     EventLoopGroup workerGroup = CommonPools.workerGroup();
     private boolean shutdownWorkerGroupOnStop;
+    private boolean reusePortAcceptors;
+    private boolean connectionStatsEnabled;
+    private MeterIdPrefix connectionStatsMeterIdPrefix =
+            new MeterIdPrefix(ServerMetrics.CONNECTION_METER_NAME_PREFIX);
     private Executor startStopExecutor = START_STOP_EXECUTOR;
     private final Map<ChannelOption<?>, Object> channelOptions = new Object2ObjectArrayMap<>();
     private final Map<ChannelOption<?>, Object> childChannelOptions = new Object2ObjectArrayMap<>();
@@ -211,6 +218,7 @@ public final class ServerBuilder implements TlsSetters, ServiceConfigsBuilder<Se
     private int http2InitialConnectionWindowSize = Flags.defaultHttp2InitialConnectionWindowSize();
     private int http2InitialStreamWindowSize = Flags.defaultHttp2InitialStreamWindowSize();
     private float http2StreamWindowUpdateRatio = Flags.defaultHttp2StreamWindowUpdateRatio();
+    private int http2WindowAutotuningMaxSize;
     private long http2MaxStreamsPerConnection = Flags.defaultHttp2MaxStreamsPerConnection();
     private int http2MaxFrameSize = Flags.defaultHttp2MaxFrameSize();
     private long http2MaxHeaderListSize = Flags.defaultHttp2MaxHeaderListSize();
@@ -262,6 +270,7 @@ public final class ServerBuilder implements TlsSetters, ServiceConfigsBuilder<Se
         virtualHostTemplate.requestAutoAbortDelayMillis(0);
         virtualHostTemplate.multipartUploadsLocation(Flags.defaultMultipartUploadsLocation());
         virtualHostTemplate.multipartRemovalStrategy(Flags.defaultMultipartRemovalStrategy());
+        virtualHostTemplate.multipartMaxPartLength(Flags.defaultMultipartMaxPartLength());
         virtualHostTemplate.requestIdGenerator(routingContext -> RequestId.random());
     }
 
@@ -547,6 +556,28 @@ public final class ServerBuilder implements TlsSetters, ServiceConfigsBuilder<Se
         return this;
     }
 
+    /**
+     * Sets whether to accept the connections of a TCP port on the worker event loops directly rather than
+     * on a dedicated boss thread. When enabled, one listening socket with {@code SO_REUSEPORT} is bound per
+     * worker event loop, so that the kernel distributes the incoming connections evenly across the event
+     * loops and a burst of new connections, such as mass reconnects after a deployment, is not bottlenecked
+     * by a single accepting thread. A connection is served by the event loop which accepted it.
+     *
+     * <p>This option is supported only by the {@link TransportType#EPOLL} and {@link TransportType#IO_URING}
+     * transports. A port is bound with a single boss thread as usual if the current transport does not
+     * support {@code SO_REUSEPORT}, the worker {@link EventLoopGroup} is not of the current transport or
+     * the port is a Unix domain socket. This option is disabled by default.
+     *
+     * <p>Note that {@code SO_REUSEPORT} lets any other process of the same user bind the same port while
+     * the {@link Server} is running, and the kernel will then hand a part of the incoming connections to that
+     * process. Enable this option only on a host where such processes are trusted.
+     */
+    @UnstableApi
+    public ServerBuilder reusePortAcceptors(boolean reusePortAcceptors) {
+        this.reusePortAcceptors = reusePortAcceptors;
+        return this;
+    }
+
     /**
      * Sets the worker {@link EventLoopGroup} which is responsible for running
      * {@link Service#serve(ServiceRequestContext, Request)}.
@@ -815,6 +846,23 @@ public final class ServerBuilder implements TlsSetters, ServiceConfigsBuilder<Se
         return this;
     }
 
+    /**
+     * Enables the HTTP/2 flow-control window autotuning and sets the maximum size which the connection-level
+     * and stream-level windows can grow up to. When enabled, the server estimates the bandwidth-delay product
+     * of a connection by counting the bytes received during the round trip of a {@code PING} frame, and
+     * grows the windows of the connection whenever the estimate approaches the current window size, so that
+     * a large upload over a high-latency link is not limited by the window. The windows start from
+     * {@link #http2InitialConnectionWindowSize(int)} and {@link #http2InitialStreamWindowSize(int)} and never
+     * shrink. {@code 0} disables the autotuning, which is the default.
+     */
+    @UnstableApi
+    public ServerBuilder http2WindowAutotuningMaxSize(int http2WindowAutotuningMaxSize) {
+        checkArgument(http2WindowAutotuningMaxSize >= 0,
+                      "http2WindowAutotuningMaxSize: %s (expected: >= 0)", http2WindowAutotuningMaxSize);
+        this.http2WindowAutotuningMaxSize = http2WindowAutotuningMaxSize;
+        return this;
+    }
+
     /**
      * Sets the maximum number of concurrent streams per HTTP/2 connection. Unset means there is
      * no limit on the number of concurrent streams. Note, this differs from {@link #maxNumConnections()},
@@ -998,6 +1046,20 @@ public final class ServerBuilder implements TlsSetters, ServiceConfigsBuilder<Se
         return this;
     }
 
+    /**
+     * Sets the maximum allowed length of a part in a {@code multipart/form-data} request which is decoded by
+     * an annotated service or a GraphQL service. A request whose part exceeds the limit fails with a
+     * {@link ContentTooLargeException}, which results in {@code 413 Request Entity Too Large}.
+     * If not set, {@link Flags#defaultMultipartMaxPartLength()} is used by default.
+     *
+     * @param multipartMaxPartLength the maximum allowed length. {@code 0} disables the length limit.
+     */
+    @UnstableApi
+    public ServerBuilder multipartMaxPartLength(long multipartMaxPartLength) {
+        virtualHostTemplate.multipartMaxPartLength(multipartMaxPartLength);
+        return this;
+    }
+
     /**
      * Sets the {@link ScheduledExecutorService} dedicated to the execution of blocking tasks or invocations.
      * If not set, {@linkplain CommonPools#blockingTaskExecutor() the common pool} is used.
@@ -1059,6 +1121,34 @@ public final class ServerBuilder implements TlsSetters, ServiceConfigsBuilder<Se
         return this;
     }
 
+    /**
+     * Sets whether to collect the statistics of each connection, such as the bytes read and written,
+     * the HTTP/2 flow-control stalls and the keep-alive PING round-trip time. When enabled, the statistics
+     * are exported as the {@code armeria.server.connection.*} meters and served at the {@code /connections}
+     * path of {@code ManagementService}. This option is disabled by default because it adds a handler to
+     * the pipeline of every connection.
+     *
+     * @see #connectionStatsMeterIdPrefix(MeterIdPrefix)
+     */
+    @UnstableApi
+    public ServerBuilder connectionStatsEnabled(boolean connectionStatsEnabled) {
+        this.connectionStatsEnabled = connectionStatsEnabled;
+        return this;
+    }
+
+    /**
+     * Sets the {@link MeterIdPrefix} of the meters exported when
+     * {@link #connectionStatsEnabled(boolean)} is enabled. Specify a distinct name or tags when more than
+     * one {@link Server} share the same {@link MeterRegistry}; otherwise, their meters clash.
+     * {@code armeria.server.connection} without any tags is used by default.
+     */
+    @UnstableApi
+    public ServerBuilder connectionStatsMeterIdPrefix(MeterIdPrefix connectionStatsMeterIdPrefix) {
+        this.connectionStatsMeterIdPrefix =
+                requireNonNull(connectionStatsMeterIdPrefix, "connectionStatsMeterIdPrefix");
+        return this;
+    }
+
     /**
      * Sets a global naming rule for the name of services. This property can be overridden via
      * {@link VirtualHostBuilder#defaultServiceNaming(ServiceNaming)}. The overriding is also possible if
@@ -2443,17 +2533,21 @@ public final class ServerBuilder implements TlsSetters, ServiceConfigsBuilder<Se
 
         return new DefaultServerConfig(
                 ports, setSslContextIfAbsent(defaultVirtualHost, defaultSslContext),
-                virtualHosts, workerGroup, shutdownWorkerGroupOnStop, startStopExecutor, maxNumConnections,
+                virtualHosts, workerGroup, shutdownWorkerGroupOnStop, reusePortAcceptors, startStopExecutor,
+                maxNumConnections,
                 idleTimeoutMillis, keepAliveOnPing, pingIntervalMillis, maxConnectionAgeMillis,
                 maxNumRequestsPerConnection,
                 connectionDrainDurationMicros, http2InitialConnectionWindowSize,
-                http2InitialStreamWindowSize, http2StreamWindowUpdateRatio, http2MaxStreamsPerConnection,
+                http2InitialStreamWindowSize, http2StreamWindowUpdateRatio, http2WindowAutotuningMaxSize,
+                http2MaxStreamsPerConnection,
                 http2MaxFrameSize, http2MaxHeaderListSize,
                 http2MaxResetFramesPerWindow, http2MaxResetFramesWindowSeconds,
                 http1MaxInitialLineLength, http1MaxHeaderSize,
                 http1MaxChunkSize, gracefulShutdown,
                 blockingTaskExecutor,
-                meterRegistry, proxyProtocolMaxTlvSize, channelOptions, newChildChannelOptions,
+                meterRegistry, connectionStatsEnabled ? connectionStatsMeterIdPrefix : null,
+                proxyProtocolMaxTlvSize, channelOptions,
+                newChildChannelOptions,
                 childChannelPipelineCustomizer,
                 clientAddressSources, clientAddressTrustedProxyFilter, clientAddressFilter, clientAddressMapper,
                 enableServerHeader, enableDateHeader, errorHandler, sslContexts,
@@ -117,6 +117,15 @@ public interface ServerConfig {
     @Deprecated
     boolean shutdownWorkerGroupOnStop();
 
+    /**
+     * Returns whether the connections of a TCP port are accepted by the worker event loops directly using
+     * one {@code SO_REUSEPORT} listening socket per event loop.
+     *
+     * @see ServerBuilder#reusePortAcceptors(boolean)
+     */
+    @UnstableApi
+    boolean reusePortAcceptors();
+
     /**
      * Returns the {@link ChannelOption}s and their values of {@link Server}'s server sockets.
      */
@@ -206,6 +215,13 @@ public interface ServerConfig {
     @UnstableApi
     float http2StreamWindowSizeRatio();
 
+    /**
+     * Returns the maximum size which the HTTP/2 flow-control windows can grow up to by the autotuning,
+     * or {@code 0} if the autotuning is disabled.
+     */
+    @UnstableApi
+    int http2WindowAutotuningMaxSize();
+
     /**
      * Returns the maximum number of concurrent streams per HTTP/2 connection.
      */
@@ -285,6 +301,14 @@ public interface ServerConfig {
      */
     MeterRegistry meterRegistry();
 
+    /**
+     * Returns whether the statistics of each connection are collected.
+     *
+     * @see ServerBuilder#connectionStatsEnabled(boolean)
+     */
+    @UnstableApi
+    boolean connectionStatsEnabled();
+
     /**
      * Returns the maximum size of additional data (TLV, Tag-Length-Value). It is only used when
      * PROXY protocol is enabled on the server port.
@@ -22,7 +22,10 @@ import java.util.concurrent.CopyOnWriteArraySet;
 import com.google.common.base.MoreObjects;
 import com.google.common.primitives.Ints;
 
+import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.annotation.UnstableApi;
+import com.linecorp.armeria.common.metric.MeterIdPrefix;
+import com.linecorp.armeria.internal.common.ConnectionStatsRegistry;
 
 import io.micrometer.core.instrument.MeterRegistry;
 
@@ -34,12 +37,26 @@ public final class ServerMetrics {
 
     static final String ALL_REQUESTS_METER_NAME = "armeria.server.all.requests";
     static final String ALL_CONNECTIONS_METER_NAME = "armeria.server.connections";
+    static final String CONNECTION_METER_NAME_PREFIX = "armeria.server.connection";
 
     private final Set<ServerPortMetric> serverPortMetrics = new CopyOnWriteArraySet<>();
+    @Nullable
+    private final ConnectionStatsRegistry connectionStats;
     private final MeterRegistry meterRegistry;
 
-    ServerMetrics(MeterRegistry meterRegistry) {
+    ServerMetrics(MeterRegistry meterRegistry, @Nullable MeterIdPrefix connectionStatsMeterIdPrefix) {
         this.meterRegistry = meterRegistry;
+        if (connectionStatsMeterIdPrefix != null) {
+            connectionStats = new ConnectionStatsRegistry("server", this, connectionStatsMeterIdPrefix);
+            connectionStats.bindTo(meterRegistry);
+        } else {
+            connectionStats = null;
+        }
+    }
+
+    @Nullable
+    ConnectionStatsRegistry connectionStats() {
+        return connectionStats;
     }
 
     void addServerPort(ServerPort serverPort) {
@@ -130,6 +130,11 @@ final class UpdatableServerConfig implements ServerConfig {
         return delegate.shutdownWorkerGroupOnStop();
     }
 
+    @Override
+    public boolean reusePortAcceptors() {
+        return delegate.reusePortAcceptors();
+    }
+
     @Override
     public Map<ChannelOption<?>, ?> channelOptions() {
         return delegate.channelOptions();
@@ -210,6 +215,11 @@ final class UpdatableServerConfig implements ServerConfig {
         return delegate.http2StreamWindowSizeRatio();
     }
 
+    @Override
+    public int http2WindowAutotuningMaxSize() {
+        return delegate.http2WindowAutotuningMaxSize();
+    }
+
     @Override
     public long http2MaxStreamsPerConnection() {
         return delegate.http2MaxStreamsPerConnection();
@@ -260,6 +270,11 @@ final class UpdatableServerConfig implements ServerConfig {
         return delegate.meterRegistry();
     }
 
+    @Override
+    public boolean connectionStatsEnabled() {
+        return delegate.connectionStatsEnabled();
+    }
+
     @Override
     public int proxyProtocolMaxTlvSize() {
         return delegate.proxyProtocolMaxTlvSize();
@@ -107,6 +107,7 @@ public final class VirtualHost {
     private final SuccessFunction successFunction;
     private final Path multipartUploadsLocation;
     private final MultipartRemovalStrategy multipartRemovalStrategy;
+    private final long multipartMaxPartLength;
     private final EventLoopGroup serviceWorkerGroup;
     private final List<ShutdownSupport> shutdownSupports;
     private final Function<RoutingContext, RequestId> requestIdGenerator;
@@ -129,6 +130,7 @@ public final class VirtualHost {
                 SuccessFunction successFunction,
                 Path multipartUploadsLocation,
                 MultipartRemovalStrategy multipartRemovalStrategy,
+                long multipartMaxPartLength,
                 EventLoopGroup serviceWorkerGroup,
                 List<ShutdownSupport> shutdownSupports,
                 Function<? super RoutingContext, ? extends RequestId> requestIdGenerator) {
@@ -156,6 +158,7 @@ public final class VirtualHost {
         this.successFunction = successFunction;
         this.multipartUploadsLocation = multipartUploadsLocation;
         this.multipartRemovalStrategy = multipartRemovalStrategy;
+        this.multipartMaxPartLength = multipartMaxPartLength;
         this.serviceWorkerGroup = serviceWorkerGroup;
         this.shutdownSupports = shutdownSupports;
         @SuppressWarnings("unchecked")
@@ -188,7 +191,7 @@ public final class VirtualHost {
                                defaultLogName, requestTimeoutMillis, maxRequestLength, verboseResponses,
                                accessLogWriter, blockingTaskExecutor, requestAutoAbortDelayMillis,
                                successFunction, multipartUploadsLocation, multipartRemovalStrategy,
-                               serviceWorkerGroup,
+                               multipartMaxPartLength, serviceWorkerGroup,
                                shutdownSupports, requestIdGenerator);
     }
 
@@ -589,6 +592,15 @@ public final class VirtualHost {
         return multipartRemovalStrategy;
     }
 
+    /**
+     * Returns the maximum allowed length of a part in a {@code multipart/form-data} request.
+     * {@code 0} means the length of a part is not limited.
+     */
+    @UnstableApi
+    public long multipartMaxPartLength() {
+        return multipartMaxPartLength;
+    }
+
     VirtualHost decorate(@Nullable Function<? super HttpService, ? extends HttpService> decorator) {
         if (decorator == null) {
             return this;
@@ -608,7 +620,8 @@ public final class VirtualHost {
                                defaultLogName, requestTimeoutMillis, maxRequestLength, verboseResponses,
                                accessLogWriter, blockingTaskExecutor, requestAutoAbortDelayMillis,
                                successFunction, multipartUploadsLocation, multipartRemovalStrategy,
-                               serviceWorkerGroup, shutdownSupports, requestIdGenerator);
+                               multipartMaxPartLength, serviceWorkerGroup, shutdownSupports,
+                               requestIdGenerator);
     }
 
     @Override
@@ -60,6 +60,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.net.HostAndPort;
 
 import com.linecorp.armeria.common.CommonPools;
+import com.linecorp.armeria.common.ContentTooLargeException;
 import com.linecorp.armeria.common.DependencyInjector;
 import com.linecorp.armeria.common.Flags;
 import com.linecorp.armeria.common.HttpHeaderNames;
@@ -169,6 +170,8 @@ public final class VirtualHostBuilder implements TlsSetters, ServiceConfigsBuild
     @Nullable
     private MultipartRemovalStrategy multipartRemovalStrategy;
     @Nullable
+    private Long multipartMaxPartLength;
+    @Nullable
     private EventLoopGroup serviceWorkerGroup;
     @Nullable
     private Function<? super RoutingContext, ? extends RequestId> requestIdGenerator;
@@ -1216,6 +1219,22 @@ public final class VirtualHostBuilder implements TlsSetters, ServiceConfigsBuild
         return this;
     }
 
+    /**
+     * Sets the maximum allowed length of a part in a {@code multipart/form-data} request which is decoded by
+     * an annotated service or a GraphQL service. A request whose part exceeds the limit fails with a
+     * {@link ContentTooLargeException}, which results in {@code 413 Request Entity Too Large}.
+     * If not set, the value set via {@link ServerBuilder#multipartMaxPartLength(long)} is used.
+     *
+     * @param multipartMaxPartLength the maximum allowed length. {@code 0} disables the length limit.
+     */
+    @UnstableApi
+    public VirtualHostBuilder multipartMaxPartLength(long multipartMaxPartLength) {
+        checkArgument(multipartMaxPartLength >= 0,
+                      "multipartMaxPartLength: %s (expected: >= 0)", multipartMaxPartLength);
+        this.multipartMaxPartLength = multipartMaxPartLength;
+        return this;
+    }
+
     /**
      * Sets the {@link Function} which generates a {@link RequestId}.
      * If not set, the value set via {@link ServerBuilder#requestIdGenerator(Function)} is used.
@@ -1393,6 +1412,10 @@ public final class VirtualHostBuilder implements TlsSetters, ServiceConfigsBuild
         final MultipartRemovalStrategy multipartRemovalStrategy =
                 this.multipartRemovalStrategy != null ?
                 this.multipartRemovalStrategy : template.multipartRemovalStrategy;
+        assert template.multipartMaxPartLength != null;
+        final long multipartMaxPartLength =
+                this.multipartMaxPartLength != null ?
+                this.multipartMaxPartLength : template.multipartMaxPartLength;
 
         final HttpHeaders defaultHeaders =
                 mergeDefaultHeaders(template.defaultHeaders, this.defaultHeaders.build());
@@ -1477,8 +1500,8 @@ public final class VirtualHostBuilder implements TlsSetters, ServiceConfigsBuild
                                 accessLoggerMapper, defaultServiceNaming, defaultLogName, requestTimeoutMillis,
                                 maxRequestLength, verboseResponses, accessLogWriter, blockingTaskExecutor,
                                 requestAutoAbortDelayMillis, successFunction, multipartUploadsLocation,
-                                multipartRemovalStrategy, serviceWorkerGroup, builder.build(),
-                                requestIdGenerator);
+                                multipartRemovalStrategy, multipartMaxPartLength, serviceWorkerGroup,
+                                builder.build(), requestIdGenerator);
 
         final Function<? super HttpService, ? extends HttpService> decorator =
                 getRouteDecoratingService(template, baseContextPath);
@@ -16,10 +16,12 @@
 
 package com.linecorp.armeria.server.annotation;
 
+import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.IdentityHashMap;
@@ -27,6 +29,8 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import org.reactivestreams.Publisher;
+
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.TreeNode;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -36,10 +40,14 @@ import com.fasterxml.jackson.databind.ObjectReader;
 
 import com.linecorp.armeria.common.AggregatedHttpRequest;
 import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpRequest;
 import com.linecorp.armeria.common.MediaType;
 import com.linecorp.armeria.common.RequestHeaders;
 import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+import com.linecorp.armeria.common.stream.StreamMessage;
 import com.linecorp.armeria.internal.common.JacksonUtil;
+import com.linecorp.armeria.internal.common.JsonElementDecoder;
 import com.linecorp.armeria.server.ServiceRequestContext;
 
 import io.netty.util.AsciiString;
@@ -49,6 +57,9 @@ import io.netty.util.AsciiString;
  * the {@link AggregatedHttpRequest} to an object using the default {@link ObjectMapper}.
  * The {@link RequestConverterFunction} is applied only when the {@code content-type} of the
  * {@link RequestHeaders} is {@link MediaType#JSON} or ends with {@code +json}.
+ *
+ * <p>A {@link RequestObject} parameter of {@code StreamMessage<T>} or {@code Publisher<T>} is converted only by
+ * an instance created with {@link #ofStreaming(ObjectMapper)}.
  * Note that this {@link RequestConverterFunction} is applied to an annotated service by default,
  * so you don't have to specify this converter explicitly unless you want to use your own {@link ObjectMapper}.
  */
@@ -68,7 +79,36 @@ public final class JacksonRequestConverterFunction implements RequestConverterFu
         skippableTypes = Collections.unmodifiableMap(tmp);
     }
 
+    /**
+     * Returns a new {@link JacksonRequestConverterFunction} which also converts a request into
+     * a {@code StreamMessage<T>} or {@code Publisher<T>} {@link RequestObject} incrementally with the default
+     * {@link ObjectMapper}.
+     *
+     * @see #ofStreaming(ObjectMapper)
+     */
+    @UnstableApi
+    public static JacksonRequestConverterFunction ofStreaming() {
+        return ofStreaming(defaultObjectMapper);
+    }
+
+    /**
+     * Returns a new {@link JacksonRequestConverterFunction} which also converts a request into
+     * a {@code StreamMessage<T>} or {@code Publisher<T>} {@link RequestObject} incrementally with
+     * the specified {@link ObjectMapper}. The elements of a top-level JSON array, or the values of
+     * a JSON Lines body, are emitted one by one as soon as each of them is parsed.
+     *
+     * <p>If the returned {@link RequestConverterFunction} has the highest priority among the request
+     * converters of such a parameter, the request is not aggregated and the body is parsed as it is received.
+     * Otherwise, the request is aggregated so that the other request converters can convert it first,
+     * and the aggregated body is parsed in the same way if none of them converts it.
+     */
+    @UnstableApi
+    public static JacksonRequestConverterFunction ofStreaming(ObjectMapper mapper) {
+        return new JacksonRequestConverterFunction(mapper, true);
+    }
+
     private final ObjectMapper mapper;
+    private final boolean streaming;
     private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
 
     /**
@@ -82,7 +122,23 @@ public final class JacksonRequestConverterFunction implements RequestConverterFu
      * Creates an instance with the specified {@link ObjectMapper}.
      */
     public JacksonRequestConverterFunction(ObjectMapper mapper) {
+        this(mapper, false);
+    }
+
+    private JacksonRequestConverterFunction(ObjectMapper mapper, boolean streaming) {
         this.mapper = requireNonNull(mapper, "mapper");
+        this.streaming = streaming;
+    }
+
+    /**
+     * Returns whether this {@link RequestConverterFunction} converts a request into a {@code StreamMessage<T>}
+     * or {@code Publisher<T>} {@link RequestObject}.
+     *
+     * @see #ofStreaming(ObjectMapper)
+     */
+    @UnstableApi
+    public boolean isStreaming() {
+        return streaming;
     }
 
     /**
@@ -95,11 +151,23 @@ public final class JacksonRequestConverterFunction implements RequestConverterFu
             @Nullable ParameterizedType expectedParameterizedResultType) throws Exception {
 
         final MediaType contentType = request.contentType();
+        if (streaming && isStreamingType(expectedResultType)) {
+            if (contentType == null || contentType.isJson() || contentType.is(MediaType.JSON_LINES)) {
+                return convertStreamingRequest(ctx, HttpRequest.of(request.headers(), request.content()),
+                                               elementType(expectedParameterizedResultType));
+            }
+            return RequestConverterFunction.fallthrough();
+        }
+
         if (contentType != null && contentType.isJson()) {
             if (expectedResultType == TreeNode.class ||
                 expectedResultType == JsonNode.class) {
                 try {
-                    return mapper.readTree(getContent(request, contentType));
+                    final Charset charset = contentType.charset(StandardCharsets.UTF_8);
+                    if (charset.equals(StandardCharsets.UTF_8)) {
+                        return mapper.readTree(request.content().array());
+                    }
+                    return mapper.readTree(request.content(charset));
                 } catch (JsonProcessingException e) {
                     throw newConversionException(e);
                 }
@@ -108,9 +176,13 @@ public final class JacksonRequestConverterFunction implements RequestConverterFu
             final ObjectReader reader = getObjectReader(expectedResultType,
                                                         expectedParameterizedResultType);
             if (reader != null) {
-                final String content = getContent(request, contentType);
+                final Charset charset = contentType.charset(StandardCharsets.UTF_8);
                 try {
-                    return reader.readValue(content);
+                    if (charset.equals(StandardCharsets.UTF_8)) {
+                        // Parse the bytes directly rather than decoding them into a String first.
+                        return reader.readValue(request.content().array());
+                    }
+                    return reader.readValue(request.content(charset));
                 } catch (JsonProcessingException e) {
                     if (skippableTypes.containsKey(expectedResultType)) {
                         return RequestConverterFunction.fallthrough();
@@ -123,8 +195,47 @@ public final class JacksonRequestConverterFunction implements RequestConverterFu
         return RequestConverterFunction.fallthrough();
     }
 
-    private static String getContent(AggregatedHttpRequest request, MediaType contentType) {
-        return request.content(contentType.charset(StandardCharsets.UTF_8));
+    /**
+     * Converts the body of the specified {@link HttpRequest} into a {@link StreamMessage} which emits
+     * the elements of a top-level JSON array, or the values of a JSON Lines body, as soon as each of them is
+     * parsed. The request is not aggregated, and only the tokens of the element being parsed are buffered.
+     *
+     * @param elementType the type of the elements
+     * @throws IllegalStateException if this {@link RequestConverterFunction} was not created with
+     *                               {@link #ofStreaming(ObjectMapper)}
+     * @throws IllegalArgumentException if the {@code content-type} is neither JSON nor JSON Lines
+     */
+    @UnstableApi
+    public StreamMessage<Object> convertStreamingRequest(ServiceRequestContext ctx, HttpRequest request,
+                                                         Type elementType) {
+        requireNonNull(ctx, "ctx");
+        requireNonNull(request, "request");
+        requireNonNull(elementType, "elementType");
+        checkState(streaming, "streaming is disabled. Use %s.ofStreaming() to enable it.",
+                   JacksonRequestConverterFunction.class.getSimpleName());
+
+        final MediaType contentType = request.contentType();
+        final boolean unwrapArray;
+        if (contentType == null || contentType.isJson()) {
+            unwrapArray = true;
+        } else if (contentType.is(MediaType.JSON_LINES)) {
+            unwrapArray = false;
+        } else {
+            throw new IllegalArgumentException(
+                    "Unsupported content-type for a streaming @" + RequestObject.class.getSimpleName() +
+                    ": " + contentType + " (expected: JSON or JSON Lines)");
+        }
+        final ObjectReader reader =
+                readers.computeIfAbsent(elementType, type -> mapper.readerFor(mapper.constructType(type)));
+        return request.decode(new JsonElementDecoder<>(reader, unwrapArray), ctx.alloc());
+    }
+
+    private static boolean isStreamingType(Class<?> type) {
+        return type == StreamMessage.class || type == Publisher.class;
+    }
+
+    private static Type elementType(@Nullable ParameterizedType parameterizedType) {
+        return parameterizedType != null ? parameterizedType.getActualTypeArguments()[0] : Object.class;
     }
 
     @Nullable
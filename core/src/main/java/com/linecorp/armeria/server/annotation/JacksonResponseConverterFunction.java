@@ -15,7 +15,9 @@
  */
 package com.linecorp.armeria.server.annotation;
 
+import static com.linecorp.armeria.internal.common.util.ObjectCollectingUtil.MONO_CLASS;
 import static com.linecorp.armeria.internal.server.ResponseConversionUtil.aggregateFrom;
+import static com.linecorp.armeria.internal.server.ResponseConversionUtil.streamingJsonFrom;
 import static com.linecorp.armeria.internal.server.annotation.ClassUtil.typeToClass;
 import static com.linecorp.armeria.internal.server.annotation.ClassUtil.unwrapUnaryAsyncType;
 import static java.util.Objects.requireNonNull;
@@ -30,22 +32,33 @@ import org.reactivestreams.Publisher;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import com.linecorp.armeria.common.Flags;
 import com.linecorp.armeria.common.HttpData;
 import com.linecorp.armeria.common.HttpHeaders;
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.MediaType;
 import com.linecorp.armeria.common.ResponseHeaders;
 import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.annotation.UnstableApi;
 import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.armeria.internal.common.JacksonUtil;
+import com.linecorp.armeria.internal.server.StreamingJsonEncoder;
 import com.linecorp.armeria.server.ServiceRequestContext;
+import com.linecorp.armeria.server.streaming.JsonLines;
 import com.linecorp.armeria.server.streaming.JsonTextSequences;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+
 /**
  * A response converter implementation which creates an {@link HttpResponse} with
- * {@code content-type: application/json; charset=utf-8} or {@code content-type: application/json-seq}.
+ * {@code content-type: application/json; charset=utf-8}, {@code content-type: application/json-seq} or
+ * {@code content-type: application/x-ndjson}.
  * The objects published from a {@link Publisher} or {@link Stream} would be converted into JSON Text Sequences
- * if a {@link ProducesJsonSequences} annotation is specified on an annotated service method.
+ * if a {@link ProducesJsonSequences} annotation is specified on an annotated service method, or into
+ * JSON Lines if {@code @Produces("application/x-ndjson")} is specified. Otherwise, they are collected and
+ * written as a JSON array, or written in chunks of {@link Flags#defaultStreamingJsonFlushThreshold()} bytes
+ * by an instance created with {@link #ofStreaming(ObjectMapper)}.
  * Note that this {@link ResponseConverterFunction} is applied to an annotated service by default,
  * so you don't have to specify this converter explicitly unless you want to use your own {@link ObjectMapper}.
  *
@@ -55,7 +68,34 @@ public final class JacksonResponseConverterFunction implements ResponseConverter
 
     private static final ObjectMapper defaultObjectMapper = JacksonUtil.newDefaultObjectMapper();
 
+    /**
+     * Returns a new {@link JacksonResponseConverterFunction} which writes the objects published from
+     * a {@link Publisher} or {@link Stream} as a JSON array in chunks with the default {@link ObjectMapper}.
+     *
+     * @see #ofStreaming(ObjectMapper)
+     */
+    @UnstableApi
+    public static JacksonResponseConverterFunction ofStreaming() {
+        return ofStreaming(defaultObjectMapper);
+    }
+
+    /**
+     * Returns a new {@link JacksonResponseConverterFunction} which writes the objects published from
+     * a {@link Publisher} or {@link Stream} as a JSON array in chunks of
+     * {@link Flags#defaultStreamingJsonFlushThreshold()} bytes with the specified {@link ObjectMapper},
+     * instead of collecting all of them first.
+     *
+     * <p>Note that the headers are sent with the first chunk. If the {@link Publisher} or {@link Stream}
+     * fails after that, the response is closed with a truncated JSON array rather than being sent as
+     * an error response.
+     */
+    @UnstableApi
+    public static JacksonResponseConverterFunction ofStreaming(ObjectMapper mapper) {
+        return new JacksonResponseConverterFunction(mapper, true);
+    }
+
     private final ObjectMapper mapper;
+    private final boolean streaming;
 
     /**
      * Creates an instance with the default {@link ObjectMapper}.
@@ -68,7 +108,23 @@ public final class JacksonResponseConverterFunction implements ResponseConverter
      * Creates an instance with the specified {@link ObjectMapper}.
      */
     public JacksonResponseConverterFunction(ObjectMapper mapper) {
+        this(mapper, false);
+    }
+
+    private JacksonResponseConverterFunction(ObjectMapper mapper, boolean streaming) {
         this.mapper = requireNonNull(mapper, "mapper");
+        this.streaming = streaming;
+    }
+
+    /**
+     * Returns whether this {@link ResponseConverterFunction} writes the objects published from
+     * a {@link Publisher} or {@link Stream} as a JSON array in chunks.
+     *
+     * @see #ofStreaming(ObjectMapper)
+     */
+    @UnstableApi
+    public boolean isStreaming() {
+        return streaming;
     }
 
     @Nullable
@@ -83,11 +139,13 @@ public final class JacksonResponseConverterFunction implements ResponseConverter
         }
         if (produceType != null) {
             if (produceType.isJson()) {
-                return false;
+                // A JSON array is streamed only by the streaming instance, and a Mono is a single document.
+                return streaming && isStreamingType(clazz) &&
+                       (MONO_CLASS == null || !MONO_CLASS.isAssignableFrom(clazz));
             }
 
-            if (produceType.is(MediaType.JSON_SEQ) &&
-                (Publisher.class.isAssignableFrom(clazz) || Stream.class.isAssignableFrom(clazz))) {
+            if ((produceType.is(MediaType.JSON_SEQ) || produceType.is(MediaType.JSON_LINES)) &&
+                isStreamingType(clazz)) {
                 return true;
             }
         }
@@ -109,14 +167,23 @@ public final class JacksonResponseConverterFunction implements ResponseConverter
                 // because ObjectMapper always writes JSON document as UTF-8.
                 if (charset.contains(StandardCharsets.UTF_8)) {
                     if (result instanceof Publisher) {
+                        // A Mono is converted into a single JSON document rather than an array.
+                        if (streaming && (MONO_CLASS == null || !MONO_CLASS.isInstance(result))) {
+                            return streamingJsonFrom((Publisher<?>) result, headers, trailers,
+                                                     newArrayEncoder(ctx));
+                        }
                         return aggregateFrom((Publisher<?>) result, headers, trailers,
-                                             this::toJsonHttpData, ctx);
+                                             value -> toJsonHttpData(ctx, value), ctx);
                     }
                     if (result instanceof Stream) {
+                        if (streaming) {
+                            return streamingJsonFrom((Stream<?>) result, headers, trailers,
+                                                     newArrayEncoder(ctx), ctx.blockingTaskExecutor());
+                        }
                         return aggregateFrom((Stream<?>) result, headers, trailers,
-                                             this::toJsonHttpData, ctx.blockingTaskExecutor());
+                                             value -> toJsonHttpData(ctx, value), ctx.blockingTaskExecutor());
                     }
-                    return HttpResponse.of(headers, toJsonHttpData(result), trailers);
+                    return HttpResponse.of(headers, toJsonHttpData(ctx, result), trailers);
                 }
             }
 
@@ -131,20 +198,54 @@ public final class JacksonResponseConverterFunction implements ResponseConverter
                 }
                 return JsonTextSequences.fromObject(headers, result, trailers, mapper);
             }
+
+            // @Produces("application/x-ndjson") is specified.
+            if (mediaType.is(MediaType.JSON_LINES)) {
+                if (result instanceof Publisher) {
+                    return JsonLines.fromPublisher(headers, (Publisher<?>) result, trailers, mapper);
+                }
+                if (result instanceof Stream) {
+                    return JsonLines.fromStream(headers, (Stream<?>) result, trailers,
+                                                ctx.blockingTaskExecutor(), mapper);
+                }
+                return JsonLines.fromObject(headers, result, trailers, mapper);
+            }
         } else if (result instanceof JsonNode) {
             // No media type is specified, but the result is a JsonNode type.
             return HttpResponse.of(headers.toBuilder().contentType(MediaType.JSON_UTF_8).build(),
-                                   toJsonHttpData(result), trailers);
+                                   toJsonHttpData(ctx, result), trailers);
         }
 
         return ResponseConverterFunction.fallthrough();
     }
 
-    private HttpData toJsonHttpData(@Nullable Object value) {
-        try {
-            return HttpData.wrap(mapper.writeValueAsBytes(value));
+    private static boolean isStreamingType(Class<?> clazz) {
+        return Publisher.class.isAssignableFrom(clazz) || Stream.class.isAssignableFrom(clazz);
+    }
+
+    /**
+     * Returns a new {@link StreamingJsonEncoder} which writes the objects published from a {@link Publisher}
+     * or {@link Stream} as a JSON array in chunks, instead of collecting all of them first.
+     */
+    private StreamingJsonEncoder newArrayEncoder(ServiceRequestContext ctx) {
+        return StreamingJsonEncoder.ofArray(mapper.writer(), ctx.alloc(),
+                                            Flags.defaultStreamingJsonFlushThreshold());
+    }
+
+    private HttpData toJsonHttpData(ServiceRequestContext ctx, @Nullable Object value) {
+        // Serialize into a pooled buffer rather than a heap array which is as large as the whole document.
+        final ByteBuf buf = ctx.alloc().buffer();
+        boolean success = false;
+        try (ByteBufOutputStream out = new ByteBufOutputStream(buf)) {
+            mapper.writeValue(out, value);
+            success = true;
+            return HttpData.wrap(buf);
         } catch (Exception e) {
             return Exceptions.throwUnsafely(e);
+        } finally {
+            if (!success) {
+                buf.release();
+            }
         }
     }
 }
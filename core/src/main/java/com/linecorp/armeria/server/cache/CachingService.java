@@ -0,0 +1,233 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.cache;
+
+import static com.linecorp.armeria.internal.common.HttpCacheUtil.ageNanos;
+import static com.linecorp.armeria.internal.common.HttpCacheUtil.freshnessLifetimeNanos;
+import static com.linecorp.armeria.internal.common.HttpCacheUtil.isCacheableStatus;
+import static com.linecorp.armeria.internal.common.HttpCacheUtil.matchesSelectedHeaders;
+import static com.linecorp.armeria.internal.common.HttpCacheUtil.parseResponseDirectives;
+import static com.linecorp.armeria.internal.common.HttpCacheUtil.selectedHeaders;
+import static com.linecorp.armeria.internal.common.HttpCacheUtil.varyHeaderNames;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+import com.linecorp.armeria.common.cache.CachedResponse;
+import com.linecorp.armeria.common.cache.ResponseCacheStore;
+import com.linecorp.armeria.common.util.Exceptions;
+import com.linecorp.armeria.common.util.Ticker;
+import com.linecorp.armeria.internal.common.HttpCacheUtil.ResponseCacheDirectives;
+import com.linecorp.armeria.server.HttpService;
+import com.linecorp.armeria.server.ServiceRequestContext;
+import com.linecorp.armeria.server.SimpleDecoratingHttpService;
+
+import io.netty.util.AsciiString;
+
+/**
+ * Decorates an {@link HttpService} to serve the responses of idempotent requests from
+ * a {@link ResponseCacheStore} without invoking the delegate while they are fresh.
+ *
+ * <p>A response is stored if it has a cacheable status such as {@code 200 OK} and its freshness lifetime
+ * is specified by its {@code "cache-control: s-maxage"}, {@code "cache-control: max-age"} or
+ * {@code "expires"} header, or by {@link CachingServiceBuilder#defaultTtl(java.time.Duration)}.
+ * A response with the {@code "no-store"}, {@code "no-cache"} or {@code "private"} directive or
+ * a {@code "set-cookie"} header is never stored, and neither is the response of a request with
+ * an {@code "authorization"} header. The stored response is selected by the request headers listed in
+ * its {@code "vary"} header.
+ *
+ * <p>Concurrent requests with the same cache key which are not served from the cache are collapsed into
+ * one invocation of the delegate. Note that the response of a cacheable request is aggregated before it's
+ * sent, so the routes which stream large responses should not be decorated with a {@link CachingService}.
+ */
+@UnstableApi
+public final class CachingService extends SimpleDecoratingHttpService {
+
+    private static final AsciiString ANY = AsciiString.cached("*");
+
+    /**
+     * Returns a new {@link HttpService} decorator which caches the responses in a new
+     * {@link ResponseCacheStore#ofDirect(long)} with the maximum size of 64 MiB.
+     */
+    public static Function<? super HttpService, CachingService> newDecorator() {
+        return builder().newDecorator();
+    }
+
+    /**
+     * Returns a new {@link CachingServiceBuilder}.
+     */
+    public static CachingServiceBuilder builder() {
+        return new CachingServiceBuilder();
+    }
+
+    private final ResponseCacheStore store;
+    private final Set<HttpMethod> methods;
+    private final Function<? super ServiceRequestContext, @Nullable String> keyFunction;
+    private final long defaultTtlNanos;
+    private final Ticker ticker;
+    private final CachingServiceMetrics metrics;
+    private final ConcurrentMap<String, CompletableFuture<CachedResponse>> inflights =
+            new ConcurrentHashMap<>();
+
+    CachingService(HttpService delegate, ResponseCacheStore store, Set<HttpMethod> methods,
+                   Function<? super ServiceRequestContext, @Nullable String> keyFunction,
+                   long defaultTtlNanos, Ticker ticker, CachingServiceMetrics metrics) {
+        super(delegate);
+        this.store = store;
+        this.methods = methods;
+        this.keyFunction = keyFunction;
+        this.defaultTtlNanos = defaultTtlNanos;
+        this.ticker = ticker;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public HttpResponse serve(ServiceRequestContext ctx, HttpRequest req) throws Exception {
+        final RequestHeaders headers = req.headers();
+        if (!methods.contains(headers.method()) || headers.contains(HttpHeaderNames.AUTHORIZATION)) {
+            return unwrap().serve(ctx, req);
+        }
+        final String key = keyFunction.apply(ctx);
+        if (key == null) {
+            return unwrap().serve(ctx, req);
+        }
+
+        final CachedResponse cached = store.get(key);
+        if (cached != null) {
+            final AggregatedHttpResponse res = cached.response();
+            final long elapsedNanos = ticker.read() - cached.storedAtNanos();
+            if (elapsedNanos < lifetimeNanos(res.headers()) &&
+                matchesSelectedHeaders(headers, cached.requestHeaders(), varyHeaderNames(res.headers()))) {
+                metrics.onHit();
+                return toHttpResponse(req, res, ageNanos(res.headers()) + elapsedNanos);
+            }
+            res.content().close();
+        }
+
+        final CompletableFuture<CachedResponse> future = new CompletableFuture<>();
+        final CompletableFuture<CachedResponse> inflight = inflights.putIfAbsent(key, future);
+        if (inflight != null) {
+            return HttpResponse.of(inflight.handleAsync((shared, unused) -> {
+                if (shared != null &&
+                    matchesSelectedHeaders(headers, shared.requestHeaders(),
+                                           varyHeaderNames(shared.response().headers()))) {
+                    metrics.onCoalescedHit();
+                    final AggregatedHttpResponse res = shared.response();
+                    return toHttpResponse(req, res,
+                                          ageNanos(res.headers()) + ticker.read() - shared.storedAtNanos());
+                }
+                // The response of the other request can't be shared with this request.
+                metrics.onMiss();
+                try {
+                    return unwrap().serve(ctx, req);
+                } catch (Throwable t) {
+                    return HttpResponse.ofFailure(t);
+                }
+            }, ctx.eventLoop()));
+        }
+
+        metrics.onMiss();
+        final HttpResponse res;
+        try {
+            res = unwrap().serve(ctx, req);
+        } catch (Throwable t) {
+            complete(key, future, null);
+            return Exceptions.throwUnsafely(t);
+        }
+        return HttpResponse.of(res.aggregate().handle((aggregated, cause) -> {
+            if (cause != null) {
+                complete(key, future, null);
+                return HttpResponse.ofFailure(cause);
+            }
+            complete(key, future, store(key, headers, aggregated));
+            return aggregated.toHttpResponse();
+        }));
+    }
+
+    /**
+     * Stores the specified response if it's cacheable, and returns the {@link CachedResponse} which may be
+     * shared with the concurrent requests.
+     */
+    @Nullable
+    private CachedResponse store(String key, RequestHeaders headers, AggregatedHttpResponse res) {
+        final ResponseHeaders resHeaders = res.headers();
+        if (!isCacheableStatus(resHeaders.status()) || resHeaders.contains(HttpHeaderNames.SET_COOKIE)) {
+            return null;
+        }
+        final ResponseCacheDirectives directives = parseResponseDirectives(resHeaders);
+        if (directives.noStore() || directives.noCache() || directives.cachePrivate()) {
+            return null;
+        }
+        final Set<AsciiString> varyHeaderNames = varyHeaderNames(resHeaders);
+        if (varyHeaderNames.contains(ANY) || lifetimeNanos(resHeaders) <= 0) {
+            return null;
+        }
+        final CachedResponse cached = CachedResponse.of(res, selectedHeaders(headers, varyHeaderNames),
+                                                        ticker.read());
+        store.put(key, cached);
+        return cached;
+    }
+
+    /**
+     * Returns the freshness lifetime of the specified response, falling back to the default TTL if
+     * the response does not specify it.
+     */
+    private long lifetimeNanos(ResponseHeaders headers) {
+        if (!headers.contains(HttpHeaderNames.CACHE_CONTROL) && !headers.contains(HttpHeaderNames.EXPIRES)) {
+            return defaultTtlNanos;
+        }
+        final ResponseCacheDirectives directives = parseResponseDirectives(headers);
+        if (directives.noCache()) {
+            return 0;
+        }
+        if (!directives.hasMaxAge() && !headers.contains(HttpHeaderNames.EXPIRES)) {
+            return defaultTtlNanos;
+        }
+        return freshnessLifetimeNanos(headers, directives, true);
+    }
+
+    private void complete(String key, CompletableFuture<CachedResponse> future,
+                          @Nullable CachedResponse cached) {
+        inflights.remove(key, future);
+        future.complete(cached);
+    }
+
+    /**
+     * Returns the specified cached response with the {@code Age} header, aborting the specified
+     * {@link HttpRequest} which is not served by the decorated service.
+     */
+    private static HttpResponse toHttpResponse(HttpRequest req, AggregatedHttpResponse res, long ageNanos) {
+        req.abort();
+        final ResponseHeaders headers =
+                res.headers().toBuilder()
+                   .setLong(HttpHeaderNames.AGE, TimeUnit.NANOSECONDS.toSeconds(Math.max(ageNanos, 0)))
+                   .build();
+        return AggregatedHttpResponse.of(headers, res.content(), res.trailers()).toHttpResponse();
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+
+import com.linecorp.armeria.common.Flags;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+import com.linecorp.armeria.common.cache.ResponseCacheStore;
+import com.linecorp.armeria.common.metric.MeterIdPrefix;
+import com.linecorp.armeria.common.util.Ticker;
+import com.linecorp.armeria.server.HttpService;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.util.AsciiString;
+
+/**
+ * Builds a new {@link CachingService} or its decorator function.
+ */
+@UnstableApi
+public final class CachingServiceBuilder {
+
+    /**
+     * The default maximum size of the {@link ResponseCacheStore}, which is 64 MiB.
+     */
+    static final long DEFAULT_MAX_SIZE_BYTES = 64 * 1024 * 1024;
+
+    private static final MeterIdPrefix DEFAULT_METER_ID_PREFIX = new MeterIdPrefix("armeria.server.cache");
+
+    @Nullable
+    private ResponseCacheStore store;
+    private Set<HttpMethod> methods = Sets.immutableEnumSet(HttpMethod.GET, HttpMethod.HEAD);
+    @Nullable
+    private Function<? super ServiceRequestContext, @Nullable String> keyFunction;
+    @Nullable
+    private ImmutableList<String> keyQueryParams;
+    private ImmutableList<AsciiString> keyHeaders = ImmutableList.of();
+    private Duration defaultTtl = Duration.ZERO;
+    private MeterRegistry meterRegistry = Flags.meterRegistry();
+    private MeterIdPrefix meterIdPrefix = DEFAULT_METER_ID_PREFIX;
+    private Ticker ticker = Ticker.systemTicker();
+
+    CachingServiceBuilder() {}
+
+    /**
+     * Sets the {@link ResponseCacheStore} which stores the responses. If unspecified,
+     * {@link ResponseCacheStore#ofDirect(long)} with the maximum size of 64 MiB is used so that a cached
+     * response is written without copying its content.
+     */
+    public CachingServiceBuilder store(ResponseCacheStore store) {
+        this.store = requireNonNull(store, "store");
+        return this;
+    }
+
+    /**
+     * Sets the {@link HttpMethod}s of the requests whose responses are cached.
+     * If unspecified, {@link HttpMethod#GET} and {@link HttpMethod#HEAD} are used.
+     * Note that only the methods whose responses depend only on the cache key, i.e. idempotent ones,
+     * should be specified.
+     */
+    public CachingServiceBuilder methods(HttpMethod... methods) {
+        requireNonNull(methods, "methods");
+        return methods(ImmutableSet.copyOf(methods));
+    }
+
+    /**
+     * Sets the {@link HttpMethod}s of the requests whose responses are cached.
+     * If unspecified, {@link HttpMethod#GET} and {@link HttpMethod#HEAD} are used.
+     * Note that only the methods whose responses depend only on the cache key, i.e. idempotent ones,
+     * should be specified.
+     */
+    public CachingServiceBuilder methods(Iterable<HttpMethod> methods) {
+        requireNonNull(methods, "methods");
+        checkArgument(methods.iterator().hasNext(), "methods can't be empty.");
+        this.methods = Sets.immutableEnumSet(methods);
+        return this;
+    }
+
+    /**
+     * Sets the names of the query parameters which are included in the cache key. The other query
+     * parameters are ignored. If unspecified, the whole query string is included in the cache key.
+     */
+    public CachingServiceBuilder keyQueryParams(String... names) {
+        requireNonNull(names, "names");
+        return keyQueryParams(ImmutableList.copyOf(names));
+    }
+
+    /**
+     * Sets the names of the query parameters which are included in the cache key. The other query
+     * parameters are ignored. If unspecified, the whole query string is included in the cache key.
+     */
+    public CachingServiceBuilder keyQueryParams(Iterable<String> names) {
+        requireNonNull(names, "names");
+        keyQueryParams = ImmutableList.copyOf(names);
+        return this;
+    }
+
+    /**
+     * Sets the names of the request headers which are included in the cache key, in addition to
+     * the method, the path and the query. If unspecified, no request headers are included.
+     */
+    public CachingServiceBuilder keyHeaders(CharSequence... names) {
+        requireNonNull(names, "names");
+        return keyHeaders(ImmutableList.copyOf(names));
+    }
+
+    /**
+     * Sets the names of the request headers which are included in the cache key, in addition to
+     * the method, the path and the query. If unspecified, no request headers are included.
+     */
+    public CachingServiceBuilder keyHeaders(Iterable<? extends CharSequence> names) {
+        requireNonNull(names, "names");
+        final ImmutableList.Builder<AsciiString> builder = ImmutableList.builder();
+        for (CharSequence name : names) {
+            builder.add(HttpHeaderNames.of(name));
+        }
+        keyHeaders = builder.build();
+        return this;
+    }
+
+    /**
+     * Sets the {@link Function} which generates the cache key of a request. A request is not cached if
+     * the {@link Function} returns {@code null}. If specified, {@link #keyQueryParams(String...)} and
+     * {@link #keyHeaders(CharSequence...)} are ignored.
+     */
+    public CachingServiceBuilder keyFunction(
+            Function<? super ServiceRequestContext, @Nullable String> keyFunction) {
+        this.keyFunction = requireNonNull(keyFunction, "keyFunction");
+        return this;
+    }
+
+    /**
+     * Sets the time-to-live of a response which does not specify its freshness lifetime with
+     * the {@code "cache-control"} or {@code "expires"} header. If unspecified or {@link Duration#ZERO},
+     * such a response is not cached.
+     */
+    public CachingServiceBuilder defaultTtl(Duration defaultTtl) {
+        requireNonNull(defaultTtl, "defaultTtl");
+        checkArgument(!defaultTtl.isNegative(), "defaultTtl: %s (expected: >= 0)", defaultTtl);
+        this.defaultTtl = defaultTtl;
+        return this;
+    }
+
+    /**
+     * Sets the {@link MeterRegistry} which collects the number of cache hits and misses.
+     * If unspecified, {@link Flags#meterRegistry()} is used.
+     */
+    public CachingServiceBuilder meterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = requireNonNull(meterRegistry, "meterRegistry");
+        return this;
+    }
+
+    /**
+     * Sets the {@link MeterIdPrefix} of the collected metrics. If unspecified,
+     * {@code "armeria.server.cache"} is used.
+     */
+    public CachingServiceBuilder meterIdPrefix(MeterIdPrefix meterIdPrefix) {
+        this.meterIdPrefix = requireNonNull(meterIdPrefix, "meterIdPrefix");
+        return this;
+    }
+
+    @VisibleForTesting
+    CachingServiceBuilder ticker(Ticker ticker) {
+        this.ticker = requireNonNull(ticker, "ticker");
+        return this;
+    }
+
+    /**
+     * Returns a newly-created {@link CachingService} based on the properties of this builder.
+     */
+    public CachingService build(HttpService delegate) {
+        requireNonNull(delegate, "delegate");
+        return new CachingService(delegate, store(), methods, keyFunction(), defaultTtl.toNanos(), ticker,
+                                  new CachingServiceMetrics(meterRegistry, meterIdPrefix));
+    }
+
+    /**
+     * Returns a newly-created decorator that decorates an {@link HttpService} with a new
+     * {@link CachingService} based on the properties of this builder. The {@link CachingService}s created
+     * by the decorator share the same {@link ResponseCacheStore}.
+     */
+    public Function<? super HttpService, CachingService> newDecorator() {
+        final ResponseCacheStore store = store();
+        final Set<HttpMethod> methods = this.methods;
+        final Function<? super ServiceRequestContext, @Nullable String> keyFunction = keyFunction();
+        final long defaultTtlNanos = defaultTtl.toNanos();
+        final Ticker ticker = this.ticker;
+        final CachingServiceMetrics metrics = new CachingServiceMetrics(meterRegistry, meterIdPrefix);
+        return delegate -> new CachingService(delegate, store, methods, keyFunction, defaultTtlNanos,
+                                              ticker, metrics);
+    }
+
+    private ResponseCacheStore store() {
+        if (store != null) {
+            return store;
+        }
+        return ResponseCacheStore.ofDirect(DEFAULT_MAX_SIZE_BYTES);
+    }
+
+    private Function<? super ServiceRequestContext, @Nullable String> keyFunction() {
+        if (keyFunction != null) {
+            return keyFunction;
+        }
+        return new DefaultCacheKeyFunction(keyQueryParams, keyHeaders);
+    }
+}
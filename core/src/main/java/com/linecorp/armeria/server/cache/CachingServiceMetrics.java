@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.cache;
+
+import com.linecorp.armeria.common.metric.MeterIdPrefix;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts how the requests to a {@link CachingService} were served.
+ */
+final class CachingServiceMetrics {
+
+    private final Counter hits;
+    private final Counter coalescedHits;
+    private final Counter misses;
+
+    CachingServiceMetrics(MeterRegistry registry, MeterIdPrefix idPrefix) {
+        final String requests = idPrefix.name("requests");
+        hits = registry.counter(requests, idPrefix.tags("result", "hit"));
+        coalescedHits = registry.counter(requests, idPrefix.tags("result", "coalesced"));
+        misses = registry.counter(requests, idPrefix.tags("result", "miss"));
+    }
+
+    /**
+     * Invoked when a request was served from the cache.
+     */
+    void onHit() {
+        hits.increment();
+    }
+
+    /**
+     * Invoked when a request was served with the response of another concurrent request.
+     */
+    void onCoalescedHit() {
+        coalescedHits.increment();
+    }
+
+    /**
+     * Invoked when a request was served by the delegate.
+     */
+    void onMiss() {
+        misses.increment();
+    }
+}
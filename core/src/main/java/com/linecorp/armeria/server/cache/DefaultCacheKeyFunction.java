@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.cache;
+
+import static com.linecorp.armeria.internal.common.PercentEncoder.encodeComponent;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.linecorp.armeria.common.HttpHeaders;
+import com.linecorp.armeria.common.QueryParams;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.internal.common.util.TemporaryThreadLocals;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+import io.netty.util.AsciiString;
+
+/**
+ * Generates a cache key from the method, the path, the query parameters and the specified request headers
+ * of a request.
+ */
+final class DefaultCacheKeyFunction implements Function<ServiceRequestContext, String> {
+
+    /**
+     * The names of the query parameters to include in a key, or {@code null} to include the whole query.
+     */
+    @Nullable
+    private final List<String> queryParamNames;
+    private final List<AsciiString> headerNames;
+
+    DefaultCacheKeyFunction(@Nullable List<String> queryParamNames, List<AsciiString> headerNames) {
+        this.queryParamNames = queryParamNames;
+        this.headerNames = headerNames;
+    }
+
+    @Override
+    public String apply(ServiceRequestContext ctx) {
+        try (TemporaryThreadLocals tmp = TemporaryThreadLocals.acquire()) {
+            final StringBuilder buf = tmp.stringBuilder();
+            buf.append(ctx.method().name()).append(' ').append(ctx.path());
+            if (queryParamNames == null) {
+                final String query = ctx.query();
+                if (query != null) {
+                    buf.append('?').append(query);
+                }
+            } else if (!queryParamNames.isEmpty()) {
+                final QueryParams params = ctx.queryParams();
+                char separator = '?';
+                for (String name : queryParamNames) {
+                    for (String value : params.getAll(name)) {
+                        // Encode the decoded names and values again so that a value which contains
+                        // '&' or '=' does not collide with the other parameters.
+                        buf.append(separator);
+                        encodeComponent(buf, name);
+                        buf.append('=');
+                        encodeComponent(buf, value);
+                        separator = '&';
+                    }
+                }
+            }
+
+            if (!headerNames.isEmpty()) {
+                final HttpHeaders headers = ctx.request().headers();
+                for (AsciiString name : headerNames) {
+                    // Use a line feed as a delimiter which never appears in a header value.
+                    buf.append('\n').append(name).append(':');
+                    boolean first = true;
+                    for (String value : headers.getAll(name)) {
+                        if (!first) {
+                            buf.append(',');
+                        }
+                        buf.append(value);
+                        first = false;
+                    }
+                }
+            }
+            return buf.toString();
+        }
+    }
+}
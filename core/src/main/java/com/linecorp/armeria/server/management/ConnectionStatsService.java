@@ -0,0 +1,172 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.management;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import com.linecorp.armeria.client.ClientFactory;
+import com.linecorp.armeria.common.ExchangeType;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.QueryParams;
+import com.linecorp.armeria.common.metric.MeterIdPrefix;
+import com.linecorp.armeria.internal.common.ConnectionStats;
+import com.linecorp.armeria.internal.common.ConnectionStatsRegistry;
+import com.linecorp.armeria.internal.common.ConnectionStatsRegistry.Sample;
+import com.linecorp.armeria.server.HttpService;
+import com.linecorp.armeria.server.RoutingContext;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+import io.micrometer.core.instrument.Tag;
+
+final class ConnectionStatsService implements HttpService {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final List<ClientFactory> clientFactories;
+
+    ConnectionStatsService(List<ClientFactory> clientFactories) {
+        this.clientFactories = clientFactories;
+    }
+
+    @Override
+    public HttpResponse serve(ServiceRequestContext ctx, HttpRequest req) throws Exception {
+        final int limit = QueryParams.fromQueryString(ctx.query()).getInt("limit", DEFAULT_LIMIT);
+        checkArgument(limit > 0, "limit: %s (expected: > 0)", limit);
+        final boolean acceptJson = req.headers().accept().stream()
+                                      .anyMatch(MediaType.JSON::is);
+        final List<ConnectionStatsRegistry> registries = registries(ctx);
+        if (registries.isEmpty()) {
+            return HttpResponse.of(HttpStatus.NOT_FOUND, MediaType.PLAIN_TEXT,
+                                   "The connection statistics are disabled. " +
+                                   "Enable them with ServerBuilder.connectionStatsEnabled(true) or " +
+                                   "ClientFactoryBuilder.connectionStatsEnabled(true).");
+        }
+
+        if (acceptJson) {
+            return HttpResponse.ofJson(registries.stream()
+                                                 .map(registry -> toMap(registry, limit))
+                                                 .collect(ImmutableList.toImmutableList()));
+        }
+
+        final StringBuilder buf = new StringBuilder();
+        for (ConnectionStatsRegistry registry : registries) {
+            appendTo(buf, registry, limit);
+        }
+        return HttpResponse.of(HttpStatus.OK, MediaType.PLAIN_TEXT, buf.toString());
+    }
+
+    private List<ConnectionStatsRegistry> registries(ServiceRequestContext ctx) {
+        final List<ConnectionStatsRegistry> registries = new ArrayList<>();
+        final ConnectionStatsRegistry serverRegistry =
+                ConnectionStatsRegistry.get(ctx.config().server().config().serverMetrics());
+        if (serverRegistry != null) {
+            registries.add(serverRegistry);
+        }
+        for (ClientFactory clientFactory : clientFactories) {
+            final ConnectionStatsRegistry clientRegistry = ConnectionStatsRegistry.get(clientFactory.unwrap());
+            if (clientRegistry != null) {
+                registries.add(clientRegistry);
+            }
+        }
+        return registries;
+    }
+
+    private static void appendTo(StringBuilder buf, ConnectionStatsRegistry registry, int limit) {
+        final List<Sample> samples = registry.sample();
+        buf.append(registry.type()).append(' ').append(registry.meterIdPrefix()).append(": ")
+           .append(samples.size()).append(" connections, ")
+           .append(registry.bytesRead()).append(" bytes in, ")
+           .append(registry.bytesWritten()).append(" bytes out, ")
+           .append(registry.flowControlStalls()).append(" flow-control stalls\n");
+        for (Sample sample : samples.subList(0, Math.min(limit, samples.size()))) {
+            final ConnectionStats stats = sample.stats();
+            buf.append('\t').append(stats.channel())
+               .append(" throughput=").append((long) sample.bytesPerSecond()).append("B/s")
+               .append(" in=").append(stats.bytesRead()).append('B')
+               .append(" out=").append(stats.bytesWritten()).append('B')
+               .append(" activeStreams=").append(stats.activeStreams())
+               .append(" flowControlStalls=").append(stats.flowControlStalls())
+               .append(" writeQueue=").append(stats.writeQueueBytes()).append('B');
+            if (stats.pingRttNanos() >= 0) {
+                buf.append(" pingRtt=").append(TimeUnit.NANOSECONDS.toMicros(stats.pingRttNanos()))
+                   .append("us");
+            }
+            if (stats.connectionWindowSize() >= 0) {
+                buf.append(" window=").append(stats.connectionWindowSize()).append('/')
+                   .append(stats.streamWindowSize()).append('B');
+            }
+            buf.append('\n');
+        }
+    }
+
+    private static ImmutableMap<String, Object> toMap(ConnectionStatsRegistry registry, int limit) {
+        final List<Sample> samples = registry.sample();
+        final ImmutableList<ImmutableMap<String, Object>> connections =
+                samples.stream().limit(limit).map(ConnectionStatsService::toMap)
+                       .collect(ImmutableList.toImmutableList());
+        final MeterIdPrefix meterIdPrefix = registry.meterIdPrefix();
+        return ImmutableMap.<String, Object>builder()
+                           .put("type", registry.type())
+                           .put("meterName", meterIdPrefix.name())
+                           .put("meterTags", meterIdPrefix.tags().stream().collect(
+                                   ImmutableMap.toImmutableMap(Tag::getKey, Tag::getValue)))
+                           .put("numConnections", samples.size())
+                           .put("bytesIn", registry.bytesRead())
+                           .put("bytesOut", registry.bytesWritten())
+                           .put("flowControlStalls", registry.flowControlStalls())
+                           .put("writeQueueBytes", registry.writeQueueBytes())
+                           .put("connections", connections)
+                           .build();
+    }
+
+    private static ImmutableMap<String, Object> toMap(Sample sample) {
+        final ConnectionStats stats = sample.stats();
+        final ImmutableMap.Builder<String, Object> builder =
+                ImmutableMap.<String, Object>builder()
+                            .put("channel", stats.channel().toString())
+                            .put("ageMillis", TimeUnit.NANOSECONDS.toMillis(
+                                    System.nanoTime() - stats.openedNanos()))
+                            .put("bytesPerSecond", (long) sample.bytesPerSecond())
+                            .put("bytesIn", stats.bytesRead())
+                            .put("bytesOut", stats.bytesWritten())
+                            .put("activeStreams", stats.activeStreams())
+                            .put("flowControlStalls", stats.flowControlStalls())
+                            .put("writeQueueBytes", stats.writeQueueBytes());
+        if (stats.pingRttNanos() >= 0) {
+            builder.put("pingRttMicros", TimeUnit.NANOSECONDS.toMicros(stats.pingRttNanos()));
+        }
+        if (stats.connectionWindowSize() >= 0) {
+            builder.put("connectionWindowSize", stats.connectionWindowSize());
+            builder.put("streamWindowSize", stats.streamWindowSize());
+        }
+        return builder.build();
+    }
+
+    @Override
+    public ExchangeType exchangeType(RoutingContext routingContext) {
+        return ExchangeType.UNARY;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.management;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import com.linecorp.armeria.common.ExchangeType;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.internal.common.metric.EventLoopStalls;
+import com.linecorp.armeria.internal.common.metric.EventLoopStalls.Stall;
+import com.linecorp.armeria.server.HttpService;
+import com.linecorp.armeria.server.RoutingContext;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+enum EventLoopStallService implements HttpService {
+
+    INSTANCE;
+
+    @Override
+    public HttpResponse serve(ServiceRequestContext ctx, HttpRequest req) throws Exception {
+        final boolean acceptJson = req.headers().accept().stream()
+                                      .anyMatch(MediaType.JSON::is);
+        final List<Stall> stalls = EventLoopStalls.recent();
+
+        if (acceptJson) {
+            return HttpResponse.ofJson(stalls.stream().map(EventLoopStallService::toMap)
+                                             .collect(ImmutableList.toImmutableList()));
+        }
+
+        final StringBuilder buf = new StringBuilder();
+        for (Stall stall : stalls) {
+            buf.append('"').append(stall.threadName()).append("\" stalled for ")
+               .append(TimeUnit.NANOSECONDS.toMillis(stall.durationNanos())).append(" ms at ")
+               .append(Instant.ofEpochMilli(stall.timestampMillis())).append('\n');
+            for (StackTraceElement e : stall.stackTrace()) {
+                buf.append("\tat ").append(e).append('\n');
+            }
+            buf.append('\n');
+        }
+        return HttpResponse.of(HttpStatus.OK, MediaType.PLAIN_TEXT, buf.toString());
+    }
+
+    private static ImmutableMap<String, Object> toMap(Stall stall) {
+        return ImmutableMap.of("threadName", stall.threadName(),
+                               "timestamp", Instant.ofEpochMilli(stall.timestampMillis()).toString(),
+                               "durationMillis", TimeUnit.NANOSECONDS.toMillis(stall.durationNanos()),
+                               "stackTrace", stall.stackTrace().stream().map(StackTraceElement::toString)
+                                                  .collect(ImmutableList.toImmutableList()));
+    }
+
+    @Override
+    public ExchangeType exchangeType(RoutingContext routingContext) {
+        return ExchangeType.UNARY;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.management;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
+import com.linecorp.armeria.common.ExchangeType;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.internal.common.metric.ExemplarReservoir.Exemplar;
+import com.linecorp.armeria.internal.common.metric.LogLinearHistogramTimer;
+import com.linecorp.armeria.server.HttpService;
+import com.linecorp.armeria.server.RoutingContext;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+import io.micrometer.core.instrument.Tag;
+
+enum ExemplarService implements HttpService {
+
+    INSTANCE;
+
+    @Override
+    public HttpResponse serve(ServiceRequestContext ctx, HttpRequest req) throws Exception {
+        final boolean acceptJson = req.headers().accept().stream()
+                                      .anyMatch(MediaType.JSON::is);
+        final List<LogLinearHistogramTimer> timers =
+                LogLinearHistogramTimer.timers(ctx.config().server().meterRegistry());
+
+        if (acceptJson) {
+            return HttpResponse.ofJson(timers.stream().map(ExemplarService::toMap)
+                                             .collect(ImmutableList.toImmutableList()));
+        }
+
+        final StringBuilder buf = new StringBuilder();
+        for (LogLinearHistogramTimer timer : timers) {
+            final List<Exemplar> exemplars = timer.exemplars().exemplars();
+            if (exemplars.isEmpty()) {
+                continue;
+            }
+            buf.append(timer.getId().getName());
+            for (Tag tag : timer.getId().getTagsAsIterable()) {
+                buf.append(' ').append(tag.getKey()).append('=').append(tag.getValue());
+            }
+            buf.append('\n');
+            // From the slowest to the fastest.
+            for (Exemplar e : Lists.reverse(exemplars)) {
+                buf.append('\t').append(TimeUnit.NANOSECONDS.toMicros(e.durationNanos())).append(" us ")
+                   .append(e.method()).append(' ').append(e.path()).append(' ').append(e.statusCode())
+                   .append(" requestId=").append(e.requestId().text());
+                if (e.traceId() != null) {
+                    buf.append(" traceId=").append(e.traceId());
+                }
+                buf.append(" at ").append(Instant.ofEpochMilli(e.timestampMillis())).append('\n');
+            }
+            buf.append('\n');
+        }
+        return HttpResponse.of(HttpStatus.OK, MediaType.PLAIN_TEXT, buf.toString());
+    }
+
+    private static ImmutableMap<String, Object> toMap(LogLinearHistogramTimer timer) {
+        final ImmutableMap.Builder<String, String> tags = ImmutableMap.builder();
+        for (Tag tag : timer.getId().getTagsAsIterable()) {
+            tags.put(tag.getKey(), tag.getValue());
+        }
+        final ImmutableList<ImmutableMap<String, Object>> exemplars =
+                Lists.reverse(timer.exemplars().exemplars()).stream()
+                     .map(ExemplarService::toMap)
+                     .collect(ImmutableList.toImmutableList());
+        return ImmutableMap.of("name", timer.getId().getName(), "tags", tags.build(),
+                               "exemplars", exemplars);
+    }
+
+    private static ImmutableMap<String, Object> toMap(Exemplar exemplar) {
+        final ImmutableMap.Builder<String, Object> builder =
+                ImmutableMap.<String, Object>builder()
+                            .put("durationMicros", TimeUnit.NANOSECONDS.toMicros(exemplar.durationNanos()))
+                            .put("timestamp", Instant.ofEpochMilli(exemplar.timestampMillis()).toString())
+                            .put("requestId", exemplar.requestId().text())
+                            .put("method", exemplar.method().name())
+                            .put("path", exemplar.path())
+                            .put("statusCode", exemplar.statusCode());
+        final String traceId = exemplar.traceId();
+        if (traceId != null) {
+            builder.put("traceId", traceId);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public ExchangeType exchangeType(RoutingContext routingContext) {
+        return ExchangeType.UNARY;
+    }
+}
@@ -16,16 +16,29 @@
 
 package com.linecorp.armeria.server.management;
 
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.client.ClientFactory;
+import com.linecorp.armeria.client.ClientFactoryBuilder;
 import com.linecorp.armeria.common.HttpHeaderNames;
 import com.linecorp.armeria.common.HttpRequest;
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpStatus;
 import com.linecorp.armeria.common.MediaType;
 import com.linecorp.armeria.common.annotation.UnstableApi;
+import com.linecorp.armeria.common.metric.MoreMeterBinders;
 import com.linecorp.armeria.server.AbstractHttpService;
 import com.linecorp.armeria.server.HttpService;
+import com.linecorp.armeria.server.Server;
+import com.linecorp.armeria.server.ServerBuilder;
 import com.linecorp.armeria.server.ServiceRequestContext;
 
+import io.netty.channel.EventLoopGroup;
+
 /**
  * An {@link HttpService} that provides monitoring and management features.
  * First, you need to bind a {@link ManagementService} under a path.
@@ -54,11 +67,69 @@ import com.linecorp.armeria.server.ServiceRequestContext;
  * // Dump only live objects that are reachable from others
  * curl -L http://my-service.com/internal/management/jvm/heapdump?live=true -o heapdump.hprof
  * }</pre>
+ *
+ * <h2>Event loop stalls</h2>
+ * You can inspect the recent stalls of the event loops detected by
+ * {@link MoreMeterBinders#eventLoopHealthMetrics(EventLoopGroup, String)} with the stack traces sampled from
+ * the stalled event loop threads by accessing {@code "/eventloop/stalls"}.
+ * If {@link MediaType#JSON} is specified in {@link HttpHeaderNames#ACCEPT}, the stalls will be converted to
+ * a JSON. Otherwise, they will be converted to a plain text.
+ * <pre>{@code
+ * curl -L -H "Accept: application/json" http://my-service.com/internal/management/eventloop/stalls
+ * }</pre>
+ *
+ * <h2>Connections</h2>
+ * If {@link ServerBuilder#connectionStatsEnabled(boolean)} is enabled, you can find the hottest connections
+ * of the {@link Server} which serves this service by accessing {@code "/connections"}. The connections of
+ * the {@link ClientFactory}s specified with {@link #of(Iterable)} are also listed if
+ * {@link ClientFactoryBuilder#connectionStatsEnabled(boolean)} is enabled. {@link #of()} lists the connections
+ * of {@link ClientFactory#ofDefault()}. The connections are
+ * sorted by their throughput since the previous access, and each connection has the bytes read and written,
+ * the number of the requests in progress, the number of the HTTP/2 flow-control window stalls, the bytes
+ * queued in its outbound buffer, the round-trip time of the last PING and the sizes of its HTTP/2
+ * flow-control windows. At most 10 connections are listed unless {@code limit} is specified.
+ * If {@link MediaType#JSON} is specified in {@link HttpHeaderNames#ACCEPT}, the connections will be converted
+ * to a JSON. Otherwise, they will be converted to a plain text.
+ * <pre>{@code
+ * curl -L -H "Accept: application/json" http://my-service.com/internal/management/connections?limit=20
+ * }</pre>
+ *
+ * <h2>Exemplars</h2>
+ * If the request metrics are recorded into log-linear histograms, e.g.
+ * {@code MetricCollectingService.builder(...).logLinearHistogram(true)}, the slowest recent request of each
+ * power-of-two bucket of the histograms is kept as an exemplar with its request ID, trace ID, method, path
+ * and status. You can list them from the slowest to the fastest by accessing {@code "/metrics/exemplars"}.
+ * If {@link MediaType#JSON} is specified in {@link HttpHeaderNames#ACCEPT}, the exemplars will be converted
+ * to a JSON. Otherwise, they will be converted to a plain text.
+ * <pre>{@code
+ * curl -L -H "Accept: application/json" http://my-service.com/internal/management/metrics/exemplars
+ * }</pre>
+ *
+ * <h2>Request profile</h2>
+ * You can profile the requests served by the {@link Server} for a bounded time window by accessing
+ * {@code "/profile"}. During the window, the timing phases of the completed requests, i.e. decode, queueing,
+ * service, serialization and write, are recorded per route, and the stack traces of the threads servicing
+ * the requests which have taken longer than a threshold are sampled periodically. The response is sent
+ * when the window ends. By default, the stack samples are returned in the collapsed stack format which can be
+ * rendered as a flame graph, with the route pattern as the root frame. If {@code type=phases} is specified,
+ * the total duration of each phase per route is returned in microseconds in the same format instead.
+ * If {@link MediaType#JSON} is specified in {@link HttpHeaderNames#ACCEPT}, both are converted to a JSON.
+ * <ul>
+ *   <li>{@code durationMillis} - the length of the window. 10 seconds by default and 5 minutes at most.</li>
+ *   <li>{@code slowThresholdMillis} - the elapsed time of a request from which its servicing threads are
+ *       sampled. 100 milliseconds by default.</li>
+ *   <li>{@code samplingIntervalMillis} - the interval between stack samples. 10 milliseconds by default.</li>
+ * </ul>
+ * <pre>{@code
+ * curl -L "http://my-service.com/internal/management/profile?durationMillis=30000" -o profile.collapsed
+ * flamegraph.pl profile.collapsed > profile.svg
+ * }</pre>
  */
 @UnstableApi
 public final class ManagementService extends AbstractHttpService {
 
-    private static final ManagementService INSTANCE = new ManagementService();
+    private static final ManagementService INSTANCE =
+            new ManagementService(ImmutableList.of(ClientFactory.ofDefault()));
 
     /**
      * Returns a singleton {@link ManagementService}.
@@ -67,7 +138,29 @@ public final class ManagementService extends AbstractHttpService {
         return INSTANCE;
     }
 
-    ManagementService() {}
+    /**
+     * Returns a new {@link ManagementService} which also lists the connections of the specified
+     * {@link ClientFactory}s at {@code "/connections"}.
+     */
+    public static ManagementService of(ClientFactory... clientFactories) {
+        requireNonNull(clientFactories, "clientFactories");
+        return of(ImmutableList.copyOf(clientFactories));
+    }
+
+    /**
+     * Returns a new {@link ManagementService} which also lists the connections of the specified
+     * {@link ClientFactory}s at {@code "/connections"}.
+     */
+    public static ManagementService of(Iterable<? extends ClientFactory> clientFactories) {
+        requireNonNull(clientFactories, "clientFactories");
+        return new ManagementService(ImmutableList.copyOf(clientFactories));
+    }
+
+    private final ConnectionStatsService connectionStatsService;
+
+    ManagementService(List<ClientFactory> clientFactories) {
+        connectionStatsService = new ConnectionStatsService(clientFactories);
+    }
 
     @Override
     public HttpResponse doGet(ServiceRequestContext ctx, HttpRequest req) throws Exception {
@@ -77,6 +170,14 @@ public final class ManagementService extends AbstractHttpService {
                 return ThreadDumpService.INSTANCE.serve(ctx, req);
             case "/jvm/heapdump":
                 return HeapDumpService.INSTANCE.serve(ctx, req);
+            case "/eventloop/stalls":
+                return EventLoopStallService.INSTANCE.serve(ctx, req);
+            case "/connections":
+                return connectionStatsService.serve(ctx, req);
+            case "/metrics/exemplars":
+                return ExemplarService.INSTANCE.serve(ctx, req);
+            case "/profile":
+                return RequestProfileService.INSTANCE.serve(ctx, req);
             default:
                 return HttpResponse.of(HttpStatus.NOT_FOUND);
         }
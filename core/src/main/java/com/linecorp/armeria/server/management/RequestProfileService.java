@@ -0,0 +1,163 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.management;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Ascii;
+import com.google.common.collect.ImmutableMap;
+
+import com.linecorp.armeria.common.ExchangeType;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.QueryParams;
+import com.linecorp.armeria.common.util.TimeoutMode;
+import com.linecorp.armeria.internal.server.RequestProfiler;
+import com.linecorp.armeria.internal.server.RequestProfiler.Phase;
+import com.linecorp.armeria.internal.server.RequestProfiler.RouteStats;
+import com.linecorp.armeria.server.HttpService;
+import com.linecorp.armeria.server.RoutingContext;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+enum RequestProfileService implements HttpService {
+
+    INSTANCE;
+
+    private static final long DEFAULT_DURATION_MILLIS = 10_000;
+    private static final long MAX_DURATION_MILLIS = 300_000;
+    private static final long DEFAULT_SLOW_THRESHOLD_MILLIS = 100;
+    private static final long DEFAULT_SAMPLING_INTERVAL_MILLIS = 10;
+
+    @Override
+    public HttpResponse serve(ServiceRequestContext ctx, HttpRequest req) throws Exception {
+        final QueryParams params = QueryParams.fromQueryString(ctx.query());
+        final long durationMillis = params.getLong("durationMillis", DEFAULT_DURATION_MILLIS);
+        final long slowThresholdMillis = params.getLong("slowThresholdMillis", DEFAULT_SLOW_THRESHOLD_MILLIS);
+        final long samplingIntervalMillis =
+                params.getLong("samplingIntervalMillis", DEFAULT_SAMPLING_INTERVAL_MILLIS);
+        final boolean phases = "phases".equals(params.get("type"));
+        checkArgument(durationMillis > 0 && durationMillis <= MAX_DURATION_MILLIS,
+                      "durationMillis: %s (expected: 0 < durationMillis <= %s)",
+                      durationMillis, MAX_DURATION_MILLIS);
+        checkArgument(slowThresholdMillis >= 0,
+                      "slowThresholdMillis: %s (expected: >= 0)", slowThresholdMillis);
+        checkArgument(samplingIntervalMillis > 0,
+                      "samplingIntervalMillis: %s (expected: > 0)", samplingIntervalMillis);
+        final boolean acceptJson = req.headers().accept().stream()
+                                      .anyMatch(MediaType.JSON::is);
+
+        final RequestProfiler profiler =
+                RequestProfiler.start(TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis));
+        if (profiler == null) {
+            return HttpResponse.of(HttpStatus.CONFLICT, MediaType.PLAIN_TEXT,
+                                   "Another profiling is in progress.");
+        }
+        if (ctx.requestTimeoutMillis() > 0) {
+            ctx.setRequestTimeoutMillis(TimeoutMode.EXTEND, durationMillis);
+        }
+
+        final ScheduledExecutorService executor = ctx.blockingTaskExecutor();
+        final ScheduledFuture<?> samplingFuture =
+                executor.scheduleAtFixedRate(profiler::sample, samplingIntervalMillis,
+                                             samplingIntervalMillis, TimeUnit.MILLISECONDS);
+        final CompletableFuture<HttpResponse> responseFuture = new CompletableFuture<>();
+        final ScheduledFuture<?> stopFuture = executor.schedule(() -> {
+            samplingFuture.cancel(false);
+            if (!profiler.stop()) {
+                return;
+            }
+            if (acceptJson) {
+                responseFuture.complete(HttpResponse.ofJson(toMap(profiler)));
+            } else {
+                final String collapsed = phases ? collapsedPhases(profiler) : collapsedStacks(profiler);
+                responseFuture.complete(HttpResponse.of(HttpStatus.OK, MediaType.PLAIN_TEXT, collapsed));
+            }
+        }, durationMillis, TimeUnit.MILLISECONDS);
+
+        ctx.whenRequestCancelling().thenRun(() -> {
+            // Stop profiling early if the client has gone away.
+            samplingFuture.cancel(false);
+            stopFuture.cancel(false);
+            profiler.stop();
+        });
+        return HttpResponse.of(responseFuture);
+    }
+
+    /**
+     * Returns the stack samples in the collapsed stack format which can be rendered as a flame graph.
+     * The root frame of each stack is the route pattern.
+     */
+    private static String collapsedStacks(RequestProfiler profiler) {
+        final StringBuilder buf = new StringBuilder();
+        profiler.stacks().entrySet().stream()
+                .sorted(Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .forEach(e -> buf.append(e.getKey()).append(' ').append(e.getValue()).append('\n'));
+        return buf.toString();
+    }
+
+    /**
+     * Returns the total duration of each {@link Phase} in microseconds per route in the collapsed stack
+     * format, so that the breakdown can be rendered as a flame graph as well.
+     */
+    private static String collapsedPhases(RequestProfiler profiler) {
+        final StringBuilder buf = new StringBuilder();
+        for (Entry<String, RouteStats> e : profiler.routes().entrySet()) {
+            for (Phase phase : Phase.values()) {
+                final long totalMicros = TimeUnit.NANOSECONDS.toMicros(e.getValue().totalNanos(phase));
+                if (totalMicros > 0) {
+                    buf.append(e.getKey()).append(';').append(phaseName(phase))
+                       .append(' ').append(totalMicros).append('\n');
+                }
+            }
+        }
+        return buf.toString();
+    }
+
+    private static Map<String, Object> toMap(RequestProfiler profiler) {
+        final ImmutableMap.Builder<String, Object> routes = ImmutableMap.builder();
+        profiler.routes().forEach((route, stats) -> {
+            final long count = stats.count();
+            final ImmutableMap.Builder<String, Object> phases = ImmutableMap.builder();
+            for (Phase phase : Phase.values()) {
+                phases.put(phaseName(phase),
+                           ImmutableMap.of("meanMicros", TimeUnit.NANOSECONDS.toMicros(
+                                                   count > 0 ? stats.totalNanos(phase) / count : 0),
+                                           "maxMicros", TimeUnit.NANOSECONDS.toMicros(stats.maxNanos(phase))));
+            }
+            routes.put(route, ImmutableMap.of("count", count, "phases", phases.build()));
+        });
+        return ImmutableMap.of("routes", routes.build(), "stacks", profiler.stacks());
+    }
+
+    private static String phaseName(Phase phase) {
+        return Ascii.toLowerCase(phase.name());
+    }
+
+    @Override
+    public ExchangeType exchangeType(RoutingContext routingContext) {
+        return ExchangeType.UNARY;
+    }
+}
@@ -86,16 +86,19 @@ public final class MetricCollectingService extends SimpleDecoratingHttpService {
     private final BiPredicate<? super RequestContext, ? super RequestLog> successFunction;
     private final ConcurrentMap<Route, Boolean> routeCache = new ConcurrentHashMap<>();
     private final DistributionStatisticConfig distributionStatisticConfig;
+    private final boolean logLinearHistogram;
 
     MetricCollectingService(HttpService delegate,
                             MeterIdPrefixFunction meterIdPrefixFunction,
                             @Nullable BiPredicate<? super RequestContext, ? super RequestLog> successFunction,
-                            DistributionStatisticConfig distributionStatisticConfig) {
+                            DistributionStatisticConfig distributionStatisticConfig,
+                            boolean logLinearHistogram) {
         super(delegate);
         this.meterIdPrefixFunction = requireNonNull(meterIdPrefixFunction, "meterIdPrefixFunction");
         this.successFunction = successFunction;
         this.distributionStatisticConfig =
                 requireNonNull(distributionStatisticConfig, "distributionStatisticConfig");
+        this.logLinearHistogram = logLinearHistogram;
     }
 
     @Override
@@ -104,7 +107,7 @@ public final class MetricCollectingService extends SimpleDecoratingHttpService {
             RequestMetricSupport.setup(ctx, REQUEST_METRICS_SET, meterIdPrefixFunction, true,
                                        successFunction != null ? successFunction::test
                                                                : ctx.config().successFunction(),
-                                       distributionStatisticConfig);
+                                       distributionStatisticConfig, logLinearHistogram);
         }
         return unwrap().serve(ctx, req);
     }
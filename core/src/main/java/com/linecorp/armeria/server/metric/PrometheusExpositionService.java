@@ -18,24 +18,23 @@ package com.linecorp.armeria.server.metric;
 import static java.util.Objects.requireNonNull;
 
 import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.Set;
 
 import com.google.common.collect.ImmutableSet;
 
 import com.linecorp.armeria.common.Flags;
-import com.linecorp.armeria.common.HttpData;
 import com.linecorp.armeria.common.HttpHeaderNames;
 import com.linecorp.armeria.common.HttpRequest;
 import com.linecorp.armeria.common.HttpResponse;
-import com.linecorp.armeria.common.HttpStatus;
-import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.internal.server.MetricExposition;
 import com.linecorp.armeria.server.AbstractHttpService;
 import com.linecorp.armeria.server.ServiceRequestContext;
 import com.linecorp.armeria.server.TransientHttpService;
 import com.linecorp.armeria.server.TransientServiceOption;
 
-import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufOutputStream;
 import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.exporter.common.TextFormat;
 
@@ -61,7 +60,7 @@ public final class PrometheusExpositionService extends AbstractHttpService imple
      * {@link CollectorRegistry}.
      */
     public static PrometheusExpositionService of(CollectorRegistry collectorRegistry) {
-        return new PrometheusExpositionService(collectorRegistry, Flags.transientServiceOptions());
+        return builder(collectorRegistry).build();
     }
 
     /**
@@ -82,6 +81,7 @@ public final class PrometheusExpositionService extends AbstractHttpService imple
 
     private final CollectorRegistry collectorRegistry;
     private final Set<TransientServiceOption> transientServiceOptions;
+    private final MetricExposition exposition;
 
     /**
      * Creates a new instance.
@@ -92,32 +92,31 @@ public final class PrometheusExpositionService extends AbstractHttpService imple
      */
     @Deprecated
     public PrometheusExpositionService(CollectorRegistry collectorRegistry) {
-        this(collectorRegistry, Flags.transientServiceOptions());
+        this(collectorRegistry, Flags.transientServiceOptions(),
+             new MetricExposition(MetricExposition.DEFAULT_CHUNK_SIZE, false, 0));
     }
 
     PrometheusExpositionService(CollectorRegistry collectorRegistry,
-                                Set<TransientServiceOption> transientServiceOptions) {
+                                Set<TransientServiceOption> transientServiceOptions,
+                                MetricExposition exposition) {
         this.collectorRegistry = requireNonNull(collectorRegistry, "collectorRegistry");
         this.transientServiceOptions =
                 ImmutableSet.copyOf(requireNonNull(transientServiceOptions, "transientServiceOptions"));
+        this.exposition = requireNonNull(exposition, "exposition");
     }
 
     @Override
     protected HttpResponse doGet(ServiceRequestContext ctx, HttpRequest req) throws Exception {
         final String accept = req.headers().get(HttpHeaderNames.ACCEPT);
         final String format = TextFormat.chooseContentType(accept);
-        final ByteBuf buffer = ctx.alloc().buffer();
-        boolean success = false;
-        try (ByteBufOutputStream byteBufOutputStream = new ByteBufOutputStream(buffer);
-             OutputStreamWriter writer = new OutputStreamWriter(byteBufOutputStream)) {
-            TextFormat.writeFormat(format, writer, collectorRegistry.metricFamilySamples());
-            success = true;
-        } finally {
-            if (!success) {
-                buffer.release();
-            }
-        }
-        return HttpResponse.of(HttpStatus.OK, MediaType.parse(format), HttpData.wrap(buffer));
+        // The registry is scraped on the blocking task executor before the exposition is streamed.
+        return exposition.serve(ctx, req, format,
+                                () -> Collections.list(collectorRegistry.metricFamilySamples()),
+                                (samples, out) -> {
+                                    final Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+                                    TextFormat.writeFormat(format, writer, Collections.enumeration(samples));
+                                    writer.flush();
+                                });
     }
 
     @Override
@@ -15,8 +15,13 @@
  */
 package com.linecorp.armeria.server.metric;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import com.linecorp.armeria.internal.server.MetricExposition;
 import com.linecorp.armeria.internal.server.TransientServiceOptionsBuilder;
 import com.linecorp.armeria.server.TransientServiceBuilder;
 import com.linecorp.armeria.server.TransientServiceOption;
@@ -36,6 +41,10 @@ public final class PrometheusExpositionServiceBuilder implements TransientServic
     private final TransientServiceOptionsBuilder
             transientServiceOptionsBuilder = new TransientServiceOptionsBuilder();
 
+    private int chunkSize = MetricExposition.DEFAULT_CHUNK_SIZE;
+    private boolean gzip;
+    private long snapshotIntervalMillis;
+
     PrometheusExpositionServiceBuilder(CollectorRegistry collectorRegistry) {
         this.collectorRegistry = requireNonNull(collectorRegistry, "collectorRegistry");
     }
@@ -54,10 +63,55 @@ public final class PrometheusExpositionServiceBuilder implements TransientServic
         return this;
     }
 
+    /**
+     * Sets the size in bytes of the chunks the exposition is streamed in.
+     * If unspecified, 16384 bytes are used.
+     */
+    public PrometheusExpositionServiceBuilder chunkSize(int chunkSize) {
+        checkArgument(chunkSize > 0, "chunkSize: %s (expected: > 0)", chunkSize);
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Sets whether to compress the exposition with gzip if the client accepts it. This is disabled by default.
+     */
+    public PrometheusExpositionServiceBuilder gzip(boolean gzip) {
+        this.gzip = gzip;
+        return this;
+    }
+
+    /**
+     * Sets the interval during which the last scrape is reused for the subsequent requests.
+     * This is useful when many scrapers collect the metrics of a large registry more often than it changes
+     * meaningfully. If unspecified or {@link Duration#ZERO}, the registry is scraped for every request.
+     */
+    public PrometheusExpositionServiceBuilder snapshotInterval(Duration snapshotInterval) {
+        requireNonNull(snapshotInterval, "snapshotInterval");
+        checkArgument(!snapshotInterval.isNegative(), "snapshotInterval: %s (expected: >= 0)",
+                      snapshotInterval);
+        return snapshotIntervalMillis(snapshotInterval.toMillis());
+    }
+
+    /**
+     * Sets the interval in milliseconds during which the last scrape is reused for the subsequent requests.
+     * This is useful when many scrapers collect the metrics of a large registry more often than it changes
+     * meaningfully. If unspecified or {@code 0}, the registry is scraped for every request.
+     */
+    public PrometheusExpositionServiceBuilder snapshotIntervalMillis(long snapshotIntervalMillis) {
+        checkArgument(snapshotIntervalMillis >= 0, "snapshotIntervalMillis: %s (expected: >= 0)",
+                      snapshotIntervalMillis);
+        this.snapshotIntervalMillis = snapshotIntervalMillis;
+        return this;
+    }
+
     /**
      * Returns a newly-created {@link PrometheusExpositionService} based on the properties of this builder.
      */
     public PrometheusExpositionService build() {
-        return new PrometheusExpositionService(collectorRegistry, transientServiceOptionsBuilder.build());
+        final MetricExposition exposition =
+                new MetricExposition(chunkSize, gzip, TimeUnit.MILLISECONDS.toNanos(snapshotIntervalMillis));
+        return new PrometheusExpositionService(collectorRegistry, transientServiceOptionsBuilder.build(),
+                                               exposition);
     }
 }
@@ -16,6 +16,7 @@
 package com.linecorp.armeria.server.streaming;
 
 import static com.linecorp.armeria.internal.server.ResponseConversionUtil.streamingFrom;
+import static com.linecorp.armeria.internal.server.ResponseConversionUtil.streamingJsonFrom;
 import static java.util.Objects.requireNonNull;
 
 import java.io.ByteArrayOutputStream;
@@ -30,6 +31,7 @@ import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 
 import com.linecorp.armeria.common.HttpData;
@@ -41,6 +43,7 @@ import com.linecorp.armeria.common.ResponseHeaders;
 import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.armeria.internal.common.JacksonUtil;
+import com.linecorp.armeria.internal.server.StreamingJsonEncoder;
 
 /**
  * A utility class which helps to create a <a href="https://jsonlines.org/">JavaScript Object
@@ -86,6 +89,14 @@ public final class JsonLines {
     private static final ObjectMapper defaultMapper =
             JacksonUtil.newDefaultObjectMapper().disable(SerializationFeature.INDENT_OUTPUT);
 
+    /**
+     * A default {@link ObjectWriter} which converts the streamed objects into JSON Lines.
+     */
+    private static final ObjectWriter defaultWriter = defaultMapper.writer();
+
+    private static final byte[] EMPTY_PREFIX = {};
+    private static final byte[] LINE_FEED_SUFFIX = { LINE_FEED };
+
     /**
      * A default {@link ResponseHeaders} of JSON Lines.
      */
@@ -144,8 +155,9 @@ public final class JsonLines {
      */
     public static HttpResponse fromPublisher(ResponseHeaders headers, Publisher<?> contentPublisher,
                                              HttpHeaders trailers, ObjectMapper mapper) {
+        requireNonNull(contentPublisher, "contentPublisher");
         requireNonNull(mapper, "mapper");
-        return streamingFrom(contentPublisher, sanitizeHeaders(headers), trailers, o -> toHttpData(mapper, o));
+        return streamingJsonFrom(contentPublisher, sanitizeHeaders(headers), trailers, newEncoder(mapper));
     }
 
     /**
@@ -228,9 +240,10 @@ public final class JsonLines {
     public static HttpResponse fromStream(ResponseHeaders headers, Stream<?> contentStream,
                                           HttpHeaders trailers, Executor executor,
                                           ObjectMapper mapper) {
+        requireNonNull(contentStream, "contentStream");
         requireNonNull(mapper, "mapper");
-        return streamingFrom(contentStream, sanitizeHeaders(headers), trailers,
-                o -> toHttpData(mapper, o), executor);
+        return streamingJsonFrom(contentStream, sanitizeHeaders(headers), trailers,
+                                 newEncoder(mapper), executor);
     }
 
     /**
@@ -378,6 +391,14 @@ public final class JsonLines {
                       .build();
     }
 
+    private static StreamingJsonEncoder newEncoder(ObjectMapper mapper) {
+        // Disable indentation if the mapper is not the default one.
+        final ObjectWriter writer = mapper == defaultMapper ? defaultWriter
+                                                            : mapper.writer().without(
+                                                                    SerializationFeature.INDENT_OUTPUT);
+        return new StreamingJsonEncoder(writer, EMPTY_PREFIX, LINE_FEED_SUFFIX);
+    }
+
     private static HttpData toHttpData(ObjectMapper mapper, @Nullable Object value) {
         try {
             final ByteArrayOutputStream out = new ByteArrayOutputStream();
@@ -16,6 +16,7 @@
 package com.linecorp.armeria.server.streaming;
 
 import static com.linecorp.armeria.internal.server.ResponseConversionUtil.streamingFrom;
+import static com.linecorp.armeria.internal.server.ResponseConversionUtil.streamingJsonFrom;
 import static java.util.Objects.requireNonNull;
 
 import java.io.ByteArrayOutputStream;
@@ -39,6 +40,7 @@ import com.linecorp.armeria.common.ResponseHeaders;
 import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.armeria.internal.common.JacksonUtil;
+import com.linecorp.armeria.internal.server.StreamingJsonEncoder;
 
 /**
  * A utility class which helps to create a <a href="https://datatracker.ietf.org/doc/rfc7464/">JavaScript Object
@@ -84,6 +86,9 @@ public final class JsonTextSequences {
      */
     private static final byte LINE_FEED = 0x0A;
 
+    private static final byte[] RECORD_SEPARATOR_PREFIX = { RECORD_SEPARATOR };
+    private static final byte[] LINE_FEED_SUFFIX = { LINE_FEED };
+
     /**
      * A default {@link ObjectMapper} which converts the objects into JSON Text Sequences.
      */
@@ -147,8 +152,9 @@ public final class JsonTextSequences {
      */
     public static HttpResponse fromPublisher(ResponseHeaders headers, Publisher<?> contentPublisher,
                                              HttpHeaders trailers, ObjectMapper mapper) {
+        requireNonNull(contentPublisher, "contentPublisher");
         requireNonNull(mapper, "mapper");
-        return streamingFrom(contentPublisher, sanitizeHeaders(headers), trailers, o -> toHttpData(mapper, o));
+        return streamingJsonFrom(contentPublisher, sanitizeHeaders(headers), trailers, newEncoder(mapper));
     }
 
     /**
@@ -231,9 +237,10 @@ public final class JsonTextSequences {
     public static HttpResponse fromStream(ResponseHeaders headers, Stream<?> contentStream,
                                           HttpHeaders trailers, Executor executor,
                                           ObjectMapper mapper) {
+        requireNonNull(contentStream, "contentStream");
         requireNonNull(mapper, "mapper");
-        return streamingFrom(contentStream, sanitizeHeaders(headers), trailers,
-                             o -> toHttpData(mapper, o), executor);
+        return streamingJsonFrom(contentStream, sanitizeHeaders(headers), trailers,
+                                 newEncoder(mapper), executor);
     }
 
     /**
@@ -380,6 +387,10 @@ public final class JsonTextSequences {
                       .build();
     }
 
+    private static StreamingJsonEncoder newEncoder(ObjectMapper mapper) {
+        return new StreamingJsonEncoder(mapper.writer(), RECORD_SEPARATOR_PREFIX, LINE_FEED_SUFFIX);
+    }
+
     private static HttpData toHttpData(ObjectMapper mapper, @Nullable Object value) {
         try {
             final ByteArrayOutputStream out = new ByteArrayOutputStream();
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.metric.MoreMeters;
+import com.linecorp.armeria.server.ServerBuilder;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ContextAffinityEventLoopSchedulerTest {
+
+    private static final AtomicReference<WebClient> backendClient = new AtomicReference<>();
+    private static final BlockingQueue<Boolean> sameEventLoops = new LinkedBlockingQueue<>();
+
+    @RegisterExtension
+    static final ServerExtension server = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) {
+            sb.workerGroup(2);
+            sb.service("/backend", (ctx, req) -> HttpResponse.of(HttpStatus.OK));
+            sb.service("/slow", (ctx, req) -> HttpResponse.delayed(HttpResponse.of(HttpStatus.OK),
+                                                                    Duration.ofMillis(200)));
+            sb.service("/proxy", (ctx, req) -> {
+                try (ClientRequestContextCaptor captor = Clients.newContextCaptor()) {
+                    final HttpResponse res = backendClient.get().get("/backend");
+                    sameEventLoops.add(captor.get().eventLoop().withoutContext() ==
+                                       ctx.eventLoop().withoutContext());
+                    return res;
+                }
+            });
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        sameEventLoops.clear();
+    }
+
+    @Test
+    void missWithoutConnection() throws Exception {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        try (ClientFactory factory = ClientFactory.builder()
+                                                  .workerGroup(server.server().config().workerGroup(), false)
+                                                  .preferContextEventLoop(true)
+                                                  .meterRegistry(meterRegistry)
+                                                  .build()) {
+            backendClient.set(WebClient.builder(server.httpUri()).factory(factory).build());
+            // There is no connection to the backend yet.
+            assertThat(server.blockingWebClient().get("/proxy").status()).isEqualTo(HttpStatus.OK);
+            sameEventLoops.take();
+            assertThat(MoreMeters.measureAll(meterRegistry))
+                    .containsEntry("armeria.client.event.loop.affinity#count{result=miss}", 1.0);
+        }
+    }
+
+    @Test
+    void affinityHitUsesServiceEventLoop() throws Exception {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        try (ClientFactory factory = ClientFactory.builder()
+                                                  .workerGroup(server.server().config().workerGroup(), false)
+                                                  // Connect to the backend from both event loops.
+                                                  .maxNumEventLoopsPerEndpoint(2)
+                                                  .preferContextEventLoop(true)
+                                                  .meterRegistry(meterRegistry)
+                                                  .build()) {
+            // Open a connection to the backend from each event loop with the concurrent requests.
+            final WebClient warmUpClient = WebClient.builder(server.httpUri()).factory(factory).build();
+            final CompletableFuture<AggregatedHttpResponse> res1 = warmUpClient.get("/slow").aggregate();
+            final CompletableFuture<AggregatedHttpResponse> res2 = warmUpClient.get("/slow").aggregate();
+            res1.join();
+            res2.join();
+            assertThat(factory.numConnections()).isEqualTo(2);
+
+            backendClient.set(warmUpClient);
+            final BlockingWebClient client = server.blockingWebClient();
+            for (int i = 0; i < 10; i++) {
+                assertThat(client.get("/proxy").status()).isEqualTo(HttpStatus.OK);
+                assertThat(sameEventLoops.take()).isTrue();
+            }
+            assertThat(MoreMeters.measureAll(meterRegistry))
+                    .containsEntry("armeria.client.event.loop.affinity#count{result=hit}", 10.0);
+        }
+    }
+
+    @Test
+    void disabledByDefault() throws Exception {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        try (ClientFactory factory = ClientFactory.builder()
+                                                  .workerGroup(server.server().config().workerGroup(), false)
+                                                  .meterRegistry(meterRegistry)
+                                                  .build()) {
+            backendClient.set(WebClient.builder(server.httpUri()).factory(factory).build());
+            assertThat(server.blockingWebClient().get("/proxy").status()).isEqualTo(HttpStatus.OK);
+            sameEventLoops.take();
+            assertThat(MoreMeters.measureAll(meterRegistry))
+                    .doesNotContainKey("armeria.client.event.loop.affinity#count{result=miss}");
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.EnumSource.Mode;
+
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.metric.MoreMeters;
+import com.linecorp.armeria.server.ServerBuilder;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class Http2ConnectionSelectionStrategyTest {
+
+    private static final Map<Integer, AtomicInteger> requestsPerPort = new ConcurrentHashMap<>();
+
+    @RegisterExtension
+    static final ServerExtension server = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) {
+            sb.service("/", (ctx, req) -> {
+                final InetSocketAddress remoteAddress = ctx.remoteAddress();
+                requestsPerPort.computeIfAbsent(remoteAddress.getPort(), unused -> new AtomicInteger())
+                               .incrementAndGet();
+                return HttpResponse.delayed(HttpResponse.of(HttpStatus.OK), Duration.ofMillis(100));
+            });
+            sb.service("/slow", (ctx, req) -> HttpResponse.delayed(HttpResponse.of(HttpStatus.OK),
+                                                                   Duration.ofSeconds(1)));
+        }
+    };
+
+    @ParameterizedTest
+    @EnumSource(value = Http2ConnectionSelectionStrategy.class, mode = Mode.EXCLUDE, names = "FIRST_AVAILABLE")
+    void spreadStreamsOverConnections(Http2ConnectionSelectionStrategy strategy) {
+        requestsPerPort.clear();
+        final CountingConnectionPoolListener listener = new CountingConnectionPoolListener();
+        try (ClientFactory factory = ClientFactory.builder()
+                                                  .workerGroup(1)
+                                                  .http2ConnectionsPerEndpoint(3)
+                                                  .http2ConnectionSelectionStrategy(strategy)
+                                                  .connectionPoolListener(listener)
+                                                  .build()) {
+            final WebClient client = WebClient.builder(server.uri(SessionProtocol.H2C))
+                                              .factory(factory)
+                                              .build();
+            // Additional connections are opened in the background one at a time.
+            await().untilAsserted(() -> {
+                client.get("/").aggregate().join();
+                assertThat(listener.opened()).isEqualTo(3);
+            });
+
+            requestsPerPort.clear();
+            final CompletableFuture<?>[] futures = new CompletableFuture<?>[30];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = client.get("/").aggregate();
+            }
+            CompletableFuture.allOf(futures).join();
+            for (CompletableFuture<?> future : futures) {
+                assertThat(((AggregatedHttpResponse) future.join()).status()).isEqualTo(HttpStatus.OK);
+            }
+
+            assertThat(requestsPerPort).hasSize(3);
+            if (strategy == Http2ConnectionSelectionStrategy.LEAST_IN_FLIGHT_STREAMS) {
+                requestsPerPort.values().forEach(count -> assertThat(count).hasValue(10));
+            }
+            assertThat(listener.opened()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void collectPerEndpointMetrics() {
+        final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final CountingConnectionPoolListener listener = new CountingConnectionPoolListener();
+        final ClientFactory factory =
+                ClientFactory.builder()
+                             .workerGroup(1)
+                             .meterRegistry(meterRegistry)
+                             .http2ConnectionsPerEndpoint(2)
+                             .http2ConnectionSelectionStrategy(
+                                     Http2ConnectionSelectionStrategy.LEAST_IN_FLIGHT_STREAMS)
+                             .connectionPoolListener(listener)
+                             .build();
+        final WebClient client = WebClient.builder(server.uri(SessionProtocol.H2C))
+                                          .factory(factory)
+                                          .build();
+        await().untilAsserted(() -> {
+            client.get("/").aggregate().join();
+            assertThat(listener.opened()).isEqualTo(2);
+        });
+
+        final String tags = "remote.address=127.0.0.1:" + server.httpPort();
+        await().untilAsserted(() -> {
+            assertThat(MoreMeters.measureAll(meterRegistry))
+                    .containsEntry("armeria.client.connections.http2.pooled.connections#value{" +
+                                   tags + ",state=active}", 0.0)
+                    .containsEntry("armeria.client.connections.http2.pooled.connections#value{" +
+                                   tags + ",state=idle}", 2.0)
+                    .hasEntrySatisfying("armeria.client.connections.http2.in.flight.streams#count{" +
+                                        tags + '}', count -> assertThat(count).isPositive());
+        });
+
+        final CompletableFuture<AggregatedHttpResponse> future = client.get("/slow").aggregate();
+        await().untilAsserted(() -> {
+            assertThat(MoreMeters.measureAll(meterRegistry))
+                    .containsEntry("armeria.client.connections.http2.pooled.connections#value{" +
+                                   tags + ",state=active}", 1.0)
+                    .containsEntry("armeria.client.connections.http2.pooled.connections#value{" +
+                                   tags + ",state=idle}", 1.0);
+        });
+        future.join();
+
+        // The meters are removed when all connections are closed.
+        factory.close();
+        await().untilAsserted(() -> assertThat(MoreMeters.measureAll(meterRegistry))
+                .doesNotContainKey("armeria.client.connections.http2.pooled.connections#value{" +
+                                   tags + ",state=idle}"));
+    }
+
+    @Test
+    void useSingleConnectionByDefault() {
+        final CountingConnectionPoolListener listener = new CountingConnectionPoolListener();
+        try (ClientFactory factory = ClientFactory.builder()
+                                                  .workerGroup(1)
+                                                  .connectionPoolListener(listener)
+                                                  .build()) {
+            final WebClient client = WebClient.builder(server.uri(SessionProtocol.H2C))
+                                              .factory(factory)
+                                              .build();
+            for (int i = 0; i < 5; i++) {
+                client.get("/").aggregate().join();
+            }
+            assertThat(listener.opened()).isOne();
+        }
+    }
+
+    @Test
+    void invalidConnectionsPerEndpoint() {
+        assertThatThrownBy(() -> ClientFactory.builder().http2ConnectionsPerEndpoint(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectMultipleConnectionsWithFirstAvailable() {
+        assertThatThrownBy(() -> ClientFactory.builder().http2ConnectionsPerEndpoint(2).build())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("http2ConnectionsPerEndpoint");
+    }
+}
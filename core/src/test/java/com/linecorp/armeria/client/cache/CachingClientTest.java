@@ -0,0 +1,274 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.linecorp.armeria.client.BlockingWebClient;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.common.metric.MoreMeters;
+import com.linecorp.armeria.server.ServerBuilder;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CachingClientTest {
+
+    private static final ConcurrentMap<String, AtomicInteger> counters = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, String> lastIfNoneMatch = new ConcurrentHashMap<>();
+
+    @RegisterExtension
+    static final ServerExtension server = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) {
+            sb.service("/max-age", (ctx, req) -> {
+                final int count = increment(ctx.path());
+                return HttpResponse.of(ResponseHeaders.builder(HttpStatus.OK)
+                                                      .contentType(MediaType.PLAIN_TEXT_UTF_8)
+                                                      .set(HttpHeaderNames.CACHE_CONTROL, "max-age=60")
+                                                      .build(),
+                                       HttpData.ofUtf8("max-age-" + count));
+            });
+            sb.service("/etag", (ctx, req) -> {
+                final int count = increment(ctx.path());
+                final String ifNoneMatch = req.headers().get(HttpHeaderNames.IF_NONE_MATCH);
+                if (ifNoneMatch != null) {
+                    lastIfNoneMatch.put(ctx.path(), ifNoneMatch);
+                }
+                if ("\"v1\"".equals(ifNoneMatch)) {
+                    return HttpResponse.of(ResponseHeaders.builder(HttpStatus.NOT_MODIFIED)
+                                                          .set(HttpHeaderNames.ETAG, "\"v1\"")
+                                                          .set(HttpHeaderNames.CACHE_CONTROL, "no-cache")
+                                                          .build());
+                }
+                return HttpResponse.of(ResponseHeaders.builder(HttpStatus.OK)
+                                                      .contentType(MediaType.PLAIN_TEXT_UTF_8)
+                                                      .set(HttpHeaderNames.ETAG, "\"v1\"")
+                                                      .set(HttpHeaderNames.CACHE_CONTROL, "no-cache")
+                                                      .build(),
+                                       HttpData.ofUtf8("etag-" + count));
+            });
+            sb.service("/vary", (ctx, req) -> {
+                final int count = increment(ctx.path());
+                final String language = req.headers().get(HttpHeaderNames.ACCEPT_LANGUAGE, "none");
+                return HttpResponse.of(ResponseHeaders.builder(HttpStatus.OK)
+                                                      .contentType(MediaType.PLAIN_TEXT_UTF_8)
+                                                      .set(HttpHeaderNames.CACHE_CONTROL, "max-age=60")
+                                                      .set(HttpHeaderNames.VARY, "accept-language")
+                                                      .build(),
+                                       HttpData.ofUtf8(language + '-' + count));
+            });
+            sb.service("/no-store", (ctx, req) -> {
+                final int count = increment(ctx.path());
+                return HttpResponse.of(ResponseHeaders.builder(HttpStatus.OK)
+                                                      .contentType(MediaType.PLAIN_TEXT_UTF_8)
+                                                      .set(HttpHeaderNames.CACHE_CONTROL, "no-store")
+                                                      .build(),
+                                       HttpData.ofUtf8("no-store-" + count));
+            });
+            sb.service("/swr", (ctx, req) -> {
+                final int count = increment(ctx.path());
+                return HttpResponse.of(
+                        ResponseHeaders.builder(HttpStatus.OK)
+                                       .contentType(MediaType.PLAIN_TEXT_UTF_8)
+                                       .set(HttpHeaderNames.CACHE_CONTROL,
+                                            "max-age=10, stale-while-revalidate=60")
+                                       .build(),
+                        HttpData.ofUtf8("swr-" + count));
+            });
+            sb.service("/slow", (ctx, req) -> {
+                final int count = increment(ctx.path());
+                return HttpResponse.delayed(
+                        HttpResponse.of(ResponseHeaders.builder(HttpStatus.OK)
+                                                       .contentType(MediaType.PLAIN_TEXT_UTF_8)
+                                                       .set(HttpHeaderNames.CACHE_CONTROL, "max-age=60")
+                                                       .build(),
+                                        HttpData.ofUtf8("slow-" + count)),
+                        Duration.ofMillis(500));
+            });
+        }
+    };
+
+    private static int increment(String path) {
+        return counters.computeIfAbsent(path, unused -> new AtomicInteger()).incrementAndGet();
+    }
+
+    private static int count(String path) {
+        final AtomicInteger counter = counters.get(path);
+        return counter != null ? counter.get() : 0;
+    }
+
+    private final AtomicLong ticker = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private WebClient client;
+
+    @BeforeEach
+    void setUp() {
+        counters.clear();
+        lastIfNoneMatch.clear();
+        meterRegistry = new SimpleMeterRegistry();
+        client = WebClient.builder(server.httpUri())
+                          .decorator(CachingClient.builder()
+                                                  .ticker(ticker::get)
+                                                  .meterRegistry(meterRegistry)
+                                                  .newDecorator())
+                          .build();
+    }
+
+    @Test
+    void freshResponseIsServedFromCache() {
+        final BlockingWebClient client = this.client.blocking();
+        assertThat(client.get("/max-age").contentUtf8()).isEqualTo("max-age-1");
+
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        final AggregatedHttpResponse res = client.get("/max-age");
+        assertThat(res.contentUtf8()).isEqualTo("max-age-1");
+        assertThat(res.headers().getLong(HttpHeaderNames.AGE)).isEqualTo(30);
+        assertThat(count("/max-age")).isOne();
+
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertThat(client.get("/max-age").contentUtf8()).isEqualTo("max-age-2");
+        assertThat(count("/max-age")).isEqualTo(2);
+
+        assertThat(MoreMeters.measureAll(meterRegistry))
+                .containsEntry("armeria.client.cache.requests#count{result=hit}", 1.0)
+                .containsEntry("armeria.client.cache.requests#count{result=miss}", 2.0);
+    }
+
+    @Test
+    void requestIsClosedOnCacheHit() {
+        assertThat(client.get("/max-age").aggregate().join().contentUtf8()).isEqualTo("max-age-1");
+
+        final HttpRequest req = HttpRequest.of(HttpMethod.GET, "/max-age");
+        assertThat(client.execute(req).aggregate().join().contentUtf8()).isEqualTo("max-age-1");
+        assertThat(count("/max-age")).isOne();
+        assertThat(req.whenComplete()).isDone();
+    }
+
+    @Test
+    void requestNoCacheBypassesFreshResponse() {
+        final BlockingWebClient client = this.client.blocking();
+        assertThat(client.get("/max-age").contentUtf8()).isEqualTo("max-age-1");
+        final AggregatedHttpResponse res = client.execute(
+                RequestHeaders.builder(HttpMethod.GET, "/max-age")
+                              .set(HttpHeaderNames.CACHE_CONTROL, "no-cache")
+                              .build());
+        assertThat(res.contentUtf8()).isEqualTo("max-age-2");
+    }
+
+    @Test
+    void staleResponseIsRevalidated() {
+        final BlockingWebClient client = this.client.blocking();
+        assertThat(client.get("/etag").contentUtf8()).isEqualTo("etag-1");
+
+        final AggregatedHttpResponse res = client.get("/etag");
+        assertThat(res.status()).isEqualTo(HttpStatus.OK);
+        assertThat(res.contentUtf8()).isEqualTo("etag-1");
+        assertThat(count("/etag")).isEqualTo(2);
+        assertThat(lastIfNoneMatch.get("/etag")).isEqualTo("\"v1\"");
+
+        assertThat(MoreMeters.measureAll(meterRegistry))
+                .containsEntry("armeria.client.cache.revalidations#count{result=unmodified}", 1.0);
+    }
+
+    @Test
+    void responseIsSelectedByVary() {
+        final BlockingWebClient client = this.client.blocking();
+        assertThat(get(client, "/vary", "en").contentUtf8()).isEqualTo("en-1");
+        assertThat(get(client, "/vary", "en").contentUtf8()).isEqualTo("en-1");
+        assertThat(get(client, "/vary", "ko").contentUtf8()).isEqualTo("ko-2");
+        assertThat(get(client, "/vary", "ko").contentUtf8()).isEqualTo("ko-2");
+        assertThat(count("/vary")).isEqualTo(2);
+    }
+
+    @Test
+    void noStoreResponseIsNotCached() {
+        final BlockingWebClient client = this.client.blocking();
+        assertThat(client.get("/no-store").contentUtf8()).isEqualTo("no-store-1");
+        assertThat(client.get("/no-store").contentUtf8()).isEqualTo("no-store-2");
+    }
+
+    @Test
+    void staleWhileRevalidate() {
+        final BlockingWebClient client = this.client.blocking();
+        assertThat(client.get("/swr").contentUtf8()).isEqualTo("swr-1");
+
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(20));
+        // The stale response is served while it's refreshed in the background.
+        assertThat(client.get("/swr").contentUtf8()).isEqualTo("swr-1");
+        await().untilAsserted(() -> assertThat(count("/swr")).isEqualTo(2));
+        await().untilAsserted(() -> assertThat(client.get("/swr").contentUtf8()).isEqualTo("swr-2"));
+
+        assertThat(MoreMeters.measureAll(meterRegistry))
+                .containsEntry("armeria.client.cache.requests#count{result=stale}", 1.0);
+    }
+
+    @Test
+    void concurrentMissesAreCoalesced() {
+        final List<CompletableFuture<AggregatedHttpResponse>> futures =
+                IntStream.range(0, 5)
+                         .mapToObj(unused -> client.get("/slow").aggregate())
+                         .collect(Collectors.toList());
+        for (CompletableFuture<AggregatedHttpResponse> future : futures) {
+            assertThat(future.join().contentUtf8()).isEqualTo("slow-1");
+        }
+        assertThat(count("/slow")).isOne();
+        assertThat(MoreMeters.measureAll(meterRegistry))
+                .containsEntry("armeria.client.cache.requests#count{result=coalesced}", 4.0);
+    }
+
+    @Test
+    void onlyIfCached() {
+        final AggregatedHttpResponse res = client.blocking().execute(
+                RequestHeaders.builder(HttpMethod.GET, "/max-age")
+                              .set(HttpHeaderNames.CACHE_CONTROL, "only-if-cached")
+                              .build());
+        assertThat(res.status()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(count("/max-age")).isZero();
+    }
+
+    private static AggregatedHttpResponse get(BlockingWebClient client, String path, String language) {
+        return client.execute(RequestHeaders.builder(HttpMethod.GET, path)
+                                            .set(HttpHeaderNames.ACCEPT_LANGUAGE, language)
+                                            .build());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.client.endpoint;
+
+import static com.linecorp.armeria.client.endpoint.ZoneAwareStrategy.localShare;
+import static com.linecorp.armeria.internal.client.endpoint.EndpointAttributeKeys.HEALTHY_ATTR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.data.Offset.offset;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.client.ClientRequestContext;
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.metric.MeterIdPrefix;
+import com.linecorp.armeria.common.metric.MoreMeters;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ZoneAwareStrategyTest {
+
+    private final ClientRequestContext ctx = ClientRequestContext.of(HttpRequest.of(HttpMethod.GET, "/"));
+
+    @Test
+    void preferLocalZone() {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final EndpointSelectionStrategy strategy =
+                EndpointSelectionStrategy.builderForZoneAware("zone-a")
+                                         .meterRegistry(registry)
+                                         .meterIdPrefix(new MeterIdPrefix("foo"))
+                                         .build();
+        final Endpoint local1 = endpoint("127.0.0.1", "zone-a");
+        final Endpoint local2 = endpoint("127.0.0.2", "zone-a");
+        final Endpoint remote = endpoint("127.0.0.3", "zone-b");
+        final EndpointGroup group = EndpointGroup.of(strategy, local1, local2, remote);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(group.selectNow(ctx)).isIn(local1, local2);
+        }
+        assertThat(MoreMeters.measureAll(registry))
+                .containsEntry("foo.selections#count{local=true,zone=zone-a}", 100.0);
+    }
+
+    @Test
+    void spillOverWhenLocalZoneIsUnhealthy() {
+        final EndpointSelectionStrategy strategy =
+                EndpointSelectionStrategy.builderForZoneAware("zone-a")
+                                         .meterRegistry(new SimpleMeterRegistry())
+                                         .build();
+        final Endpoint unhealthyLocal = endpoint("127.0.0.1", "zone-a").withAttr(HEALTHY_ATTR, false);
+        final Endpoint remote = endpoint("127.0.0.2", "zone-b");
+        final EndpointGroup group = EndpointGroup.of(strategy, unhealthyLocal, remote);
+        for (int i = 0; i < 10; i++) {
+            assertThat(group.selectNow(ctx)).isEqualTo(remote);
+        }
+    }
+
+    @Test
+    void spillOverPartially() {
+        final EndpointSelectionStrategy strategy =
+                EndpointSelectionStrategy.builderForZoneAware("zone-a")
+                                         .healthyThreshold(1.0)
+                                         .meterRegistry(new SimpleMeterRegistry())
+                                         .build();
+        final Endpoint local = endpoint("127.0.0.1", "zone-a");
+        final Endpoint unhealthyLocal = endpoint("127.0.0.2", "zone-a").withAttr(HEALTHY_ATTR, false);
+        final Endpoint remote = endpoint("127.0.0.3", "zone-b");
+        final EndpointGroup group = EndpointGroup.of(strategy, local, unhealthyLocal, remote);
+
+        final Map<Endpoint, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            counts.merge(group.selectNow(ctx), 1, Integer::sum);
+        }
+        assertThat(counts).doesNotContainKey(unhealthyLocal);
+        // Half of the local zone is healthy, so about half of the requests should go to the remote zone.
+        assertThat(counts.get(local) / 10000.0).isCloseTo(0.5, offset(0.05));
+    }
+
+    @Test
+    void computeLocalShare() {
+        assertThat(localShare(4, 4, 4, 0.7, 1)).isEqualTo(1.0);
+        assertThat(localShare(4, 3, 4, 0.7, 1)).isEqualTo(1.0);
+        assertThat(localShare(4, 2, 4, 0.8, 1)).isCloseTo(0.625, offset(0.0001));
+        assertThat(localShare(4, 0, 4, 0.7, 1)).isZero();
+        // Not enough local endpoints.
+        assertThat(localShare(4, 2, 4, 0.5, 3)).isZero();
+        // No remote endpoints.
+        assertThat(localShare(4, 1, 0, 0.7, 1)).isEqualTo(1.0);
+    }
+
+    @Test
+    void invalidArguments() {
+        assertThatThrownBy(() -> EndpointSelectionStrategy.builderForZoneAware("zone-a")
+                                                          .healthyThreshold(1.1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EndpointSelectionStrategy.builderForZoneAware("zone-a")
+                                                          .minLocalEndpoints(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Endpoint endpoint(String ip, String zone) {
+        return Endpoint.of(ip, 8080).withAttr(ZoneAwareAttributes.ZONE, zone);
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.client.endpoint.healthcheck;
+
+import static com.linecorp.armeria.client.endpoint.healthcheck.AbstractHealthCheckedEndpointGroupBuilder.DEFAULT_ENDPOINT_PREDICATE;
+import static com.linecorp.armeria.client.endpoint.healthcheck.AbstractHealthCheckedEndpointGroupBuilder.DEFAULT_HEALTH_CHECK_RETRY_BACKOFF;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.client.ClientOptions;
+import com.linecorp.armeria.client.ClientRequestContext;
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.client.endpoint.EndpointGroup;
+import com.linecorp.armeria.client.retry.Backoff;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.util.AsyncCloseable;
+import com.linecorp.armeria.common.util.AsyncCloseableSupport;
+import com.linecorp.armeria.internal.testing.AnticipatedException;
+
+class HealthCheckRegistryTest {
+
+    // Shared so that the contexts created by newContext() share a health checker.
+    private static final Backoff FIXED_BACKOFF = Backoff.fixed(1000);
+
+    @Test
+    void shareHealthCheckers() {
+        final AtomicInteger numStarted = new AtomicInteger();
+        final AtomicInteger numClosed = new AtomicInteger();
+        final Map<Endpoint, HealthCheckerContext> checkerContexts = new ConcurrentHashMap<>();
+        final Function<? super HealthCheckerContext, ? extends AsyncCloseable> checkerFactory = ctx -> {
+            numStarted.incrementAndGet();
+            checkerContexts.put(ctx.endpoint(), ctx);
+            ctx.updateHealth(1, null, null, null);
+            return AsyncCloseableSupport.of(f -> {
+                numClosed.incrementAndGet();
+                f.complete(null);
+            });
+        };
+
+        final Endpoint foo = Endpoint.of("foo.com", 8080);
+        final Endpoint bar = Endpoint.of("bar.com", 8080);
+        final Endpoint baz = Endpoint.of("baz.com", 8080);
+        final HealthCheckRegistry registry = HealthCheckRegistry.of();
+
+        final HealthCheckedEndpointGroup group1 =
+                newGroup(EndpointGroup.of(foo, bar), checkerFactory, registry);
+        final HealthCheckedEndpointGroup group2 =
+                newGroup(EndpointGroup.of(bar, baz), checkerFactory, registry);
+        assertThat(group1.whenReady().join()).containsExactlyInAnyOrder(foo, bar);
+        await().untilAsserted(() -> assertThat(group2.endpoints()).containsExactlyInAnyOrder(bar, baz));
+
+        // 'bar' is checked only once.
+        assertThat(numStarted).hasValue(3);
+        assertThat(registry.numHealthCheckers()).isEqualTo(3);
+
+        // The result of the shared health check should be propagated to both groups.
+        final ClientRequestContext ctx = ClientRequestContext.of(HttpRequest.of(HttpMethod.GET, "/"));
+        checkerContexts.get(bar).updateHealth(0, ctx, null, new AnticipatedException());
+        assertThat(group1.endpoints()).containsExactly(foo);
+        assertThat(group2.endpoints()).containsExactly(baz);
+
+        group1.close();
+        // Only the health checker of 'foo' is stopped.
+        assertThat(numClosed).hasValue(1);
+        assertThat(registry.numHealthCheckers()).isEqualTo(2);
+
+        group2.close();
+        assertThat(numClosed).hasValue(3);
+        assertThat(registry.numHealthCheckers()).isZero();
+    }
+
+    @Test
+    void removeHealthCheckerWhenFailedToStart() {
+        final AtomicInteger numStarted = new AtomicInteger();
+        final Function<? super HealthCheckerContext, ? extends AsyncCloseable> checkerFactory = ctx -> {
+            if (numStarted.incrementAndGet() == 1) {
+                throw new AnticipatedException();
+            }
+            return AsyncCloseableSupport.of();
+        };
+        final HealthCheckRegistry registry = HealthCheckRegistry.of();
+        final Function<? super HealthCheckerContext, ? extends AsyncCloseable> decorated =
+                registry.decorate(checkerFactory);
+
+        assertThatThrownBy(() -> decorated.apply(newContext()))
+                .isInstanceOf(AnticipatedException.class);
+        assertThat(registry.numHealthCheckers()).isZero();
+
+        // A new subscriber should start a new health checker instead of subscribing to the failed one.
+        final AsyncCloseable handle = decorated.apply(newContext());
+        assertThat(numStarted).hasValue(2);
+        assertThat(registry.numHealthCheckers()).isOne();
+        handle.closeAsync().join();
+        assertThat(registry.numHealthCheckers()).isZero();
+    }
+
+    @Test
+    void doNotShareHealthCheckersWithDifferentSettings() {
+        final AtomicInteger numStarted = new AtomicInteger();
+        final HealthCheckRegistry registry = HealthCheckRegistry.of();
+        final Function<? super HealthCheckerContext, ? extends AsyncCloseable> decorated =
+                registry.decorate(ctx -> {
+                    numStarted.incrementAndGet();
+                    return AsyncCloseableSupport.of();
+                });
+
+        final Endpoint endpoint = Endpoint.of("foo.com", 8080);
+        final Backoff backoff = Backoff.fixed(1000);
+        final AsyncCloseable handle1 = decorated.apply(newContext(endpoint, backoff, 0, ClientOptions.of()));
+        // The same settings.
+        final AsyncCloseable handle2 = decorated.apply(newContext(endpoint, backoff, 0, ClientOptions.of()));
+        assertThat(numStarted).hasValue(1);
+
+        // A different retry backoff, maximum retry interval or client options.
+        final AsyncCloseable handle3 =
+                decorated.apply(newContext(endpoint, Backoff.fixed(2000), 0, ClientOptions.of()));
+        final AsyncCloseable handle4 = decorated.apply(newContext(endpoint, backoff, 5000, ClientOptions.of()));
+        final AsyncCloseable handle5 = decorated.apply(newContext(
+                endpoint, backoff, 0,
+                ClientOptions.of(ClientOptions.RESPONSE_TIMEOUT_MILLIS.newValue(1234L))));
+        assertThat(numStarted).hasValue(4);
+        assertThat(registry.numHealthCheckers()).isEqualTo(4);
+
+        for (AsyncCloseable handle : ImmutableList.of(handle1, handle2, handle3, handle4, handle5)) {
+            handle.closeAsync().join();
+        }
+        assertThat(registry.numHealthCheckers()).isZero();
+    }
+
+    @Test
+    void sharedHealthCheckerIsPassiveOnlyIfAllGroupsArePassive() {
+        final AtomicReference<HealthCheckerContext> checkerContext = new AtomicReference<>();
+        final HealthCheckRegistry registry = HealthCheckRegistry.of();
+        final Function<? super HealthCheckerContext, ? extends AsyncCloseable> decorated =
+                registry.decorate(ctx -> {
+                    checkerContext.set(ctx);
+                    return AsyncCloseableSupport.of();
+                });
+
+        final AsyncCloseable passiveHandle = decorated.apply(newContext(() -> true));
+        final AsyncCloseable activeHandle = decorated.apply(newContext(() -> false));
+        final HealthCheckerContext ctx = checkerContext.get();
+        assertThat(ctx).isNotNull();
+        ctx.updateHealth(1, ClientRequestContext.of(HttpRequest.of(HttpMethod.GET, "/")), null, null);
+        // The group without a passive health check decorator needs the usual interval.
+        assertThat(ctx.nextDelayMillis()).isEqualTo(1000);
+
+        activeHandle.closeAsync().join();
+        assertThat(ctx.nextDelayMillis())
+                .isEqualTo(DefaultHealthCheckerContext.DEFAULT_PASSIVE_CHECK_INTERVAL_MILLIS);
+        passiveHandle.closeAsync().join();
+    }
+
+    @Test
+    void adaptiveRetryInterval() {
+        final DefaultHealthCheckerContext ctx =
+                new DefaultHealthCheckerContext(Endpoint.of("foo.com"), 0, SessionProtocol.HTTP,
+                                                ClientOptions.of(), Backoff.fixed(1000), 5000, () -> false,
+                                                (endpoint, healthy) -> {});
+        final ClientRequestContext reqCtx = ClientRequestContext.of(HttpRequest.of(HttpMethod.GET, "/"));
+
+        ctx.updateHealth(1, reqCtx, null, null);
+        assertThat(ctx.nextDelayMillis()).isEqualTo(1000);
+        for (int i = 0; i < DefaultHealthCheckerContext.STABLE_CHECKS_PER_STEP; i++) {
+            ctx.updateHealth(1, reqCtx, null, null);
+        }
+        assertThat(ctx.nextDelayMillis()).isEqualTo(2000);
+        for (int i = 0; i < DefaultHealthCheckerContext.STABLE_CHECKS_PER_STEP; i++) {
+            ctx.updateHealth(1, reqCtx, null, null);
+        }
+        assertThat(ctx.nextDelayMillis()).isEqualTo(4000);
+        for (int i = 0; i < DefaultHealthCheckerContext.STABLE_CHECKS_PER_STEP; i++) {
+            ctx.updateHealth(1, reqCtx, null, null);
+        }
+        // Capped by maxRetryIntervalMillis.
+        assertThat(ctx.nextDelayMillis()).isEqualTo(5000);
+
+        // Check again sooner when the health changes.
+        ctx.updateHealth(0, reqCtx, null, new AnticipatedException());
+        assertThat(ctx.nextDelayMillis()).isEqualTo(500);
+
+        // Do not back off for an unhealthy endpoint.
+        for (int i = 0; i < DefaultHealthCheckerContext.STABLE_CHECKS_PER_STEP * 2; i++) {
+            ctx.updateHealth(0, reqCtx, null, new AnticipatedException());
+        }
+        assertThat(ctx.nextDelayMillis()).isEqualTo(1000);
+    }
+
+    @Test
+    void passiveRetryInterval() {
+        final AtomicBoolean passive = new AtomicBoolean();
+        final DefaultHealthCheckerContext ctx =
+                new DefaultHealthCheckerContext(Endpoint.of("foo.com"), 0, SessionProtocol.HTTP,
+                                                ClientOptions.of(), Backoff.fixed(1000), 0, passive::get,
+                                                (endpoint, healthy) -> {});
+        final ClientRequestContext reqCtx = ClientRequestContext.of(HttpRequest.of(HttpMethod.GET, "/"));
+        ctx.updateHealth(1, reqCtx, null, null);
+        // Not relaxed until a passive health check decorator is attached.
+        assertThat(ctx.nextDelayMillis()).isEqualTo(1000);
+
+        passive.set(true);
+        // Still checked at a bounded interval while healthy.
+        assertThat(ctx.nextDelayMillis())
+                .isEqualTo(DefaultHealthCheckerContext.DEFAULT_PASSIVE_CHECK_INTERVAL_MILLIS);
+        // Checked at the usual interval while unhealthy.
+        ctx.updateHealth(0, reqCtx, null, new AnticipatedException());
+        assertThat(ctx.nextDelayMillis()).isEqualTo(1000);
+    }
+
+    private static DefaultHealthCheckerContext newContext() {
+        return newContext(() -> false);
+    }
+
+    private static DefaultHealthCheckerContext newContext(BooleanSupplier passive) {
+        return new DefaultHealthCheckerContext(Endpoint.of("foo.com", 8080), 0, SessionProtocol.HTTP,
+                                               ClientOptions.of(), FIXED_BACKOFF, 0, passive,
+                                               (endpoint, healthy) -> {});
+    }
+
+    private static DefaultHealthCheckerContext newContext(Endpoint endpoint, Backoff backoff,
+                                                          long maxRetryIntervalMillis,
+                                                          ClientOptions clientOptions) {
+        return new DefaultHealthCheckerContext(endpoint, 0, SessionProtocol.HTTP, clientOptions, backoff,
+                                               maxRetryIntervalMillis, () -> false, (unused1, unused2) -> {});
+    }
+
+    private static HealthCheckedEndpointGroup newGroup(
+            EndpointGroup delegate, Function<? super HealthCheckerContext, ? extends AsyncCloseable> factory,
+            HealthCheckRegistry registry) {
+        return new HealthCheckedEndpointGroup(delegate, true, 10000, 10000,
+                                              SessionProtocol.HTTP, 0,
+                                              DEFAULT_HEALTH_CHECK_RETRY_BACKOFF, 0,
+                                              ClientOptions.of(), factory,
+                                              HealthCheckStrategy.all(),
+                                              DEFAULT_ENDPOINT_PREDICATE, registry, null);
+    }
+}
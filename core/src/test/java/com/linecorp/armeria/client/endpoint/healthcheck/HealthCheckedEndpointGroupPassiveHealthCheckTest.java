@@ -0,0 +1,150 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.client.endpoint.healthcheck;
+
+import static com.linecorp.armeria.client.endpoint.healthcheck.AbstractHealthCheckedEndpointGroupBuilder.DEFAULT_ENDPOINT_PREDICATE;
+import static com.linecorp.armeria.client.endpoint.healthcheck.AbstractHealthCheckedEndpointGroupBuilder.DEFAULT_PASSIVE_FAILURE_PREDICATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.linecorp.armeria.client.BlockingWebClient;
+import com.linecorp.armeria.client.ClientOptions;
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.client.endpoint.EndpointGroup;
+import com.linecorp.armeria.client.retry.Backoff;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.util.AsyncCloseable;
+import com.linecorp.armeria.common.util.AsyncCloseableSupport;
+import com.linecorp.armeria.internal.testing.AnticipatedException;
+import com.linecorp.armeria.server.ServerBuilder;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+
+class HealthCheckedEndpointGroupPassiveHealthCheckTest {
+
+    @RegisterExtension
+    static final ServerExtension server = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) {
+            sb.service("/ok", (ctx, req) -> HttpResponse.of(HttpStatus.OK));
+            sb.service("/fail", (ctx, req) -> HttpResponse.of(HttpStatus.SERVICE_UNAVAILABLE));
+        }
+    };
+
+    @Test
+    void markUnhealthyOnFailedRequest() throws Exception {
+        final AtomicBoolean healthy = new AtomicBoolean(true);
+        final AtomicInteger numChecks = new AtomicInteger();
+        final Endpoint endpoint = server.httpEndpoint();
+        try (HealthCheckedEndpointGroup group = newGroup(endpoint, healthy, numChecks)) {
+            assertThat(group.whenReady().join()).containsExactly(endpoint);
+            final BlockingWebClient client =
+                    WebClient.builder(SessionProtocol.HTTP, group)
+                             .decorator(group.newPassiveHealthCheckDecorator())
+                             .build()
+                             .blocking();
+
+            // No more active health checks while the endpoint is healthy.
+            assertThat(client.get("/ok").status()).isEqualTo(HttpStatus.OK);
+            awaitNoMoreChecks(numChecks);
+
+            healthy.set(false);
+            final int numChecksBeforeFailure = numChecks.get();
+            assertThat(client.get("/fail").status()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            await().untilAsserted(() -> assertThat(group.endpoints()).isEmpty());
+            // The active health checks are resumed until the endpoint recovers.
+            await().untilAsserted(
+                    () -> assertThat(numChecks).hasValueGreaterThan(numChecksBeforeFailure + 3));
+
+            healthy.set(true);
+            await().untilAsserted(() -> assertThat(group.endpoints()).containsExactly(endpoint));
+            awaitNoMoreChecks(numChecks);
+        }
+    }
+
+    @Test
+    void activeHealthCheckWithoutPassiveDecorator() throws Exception {
+        final AtomicBoolean healthy = new AtomicBoolean(true);
+        final AtomicInteger numChecks = new AtomicInteger();
+        final Endpoint endpoint = server.httpEndpoint();
+        try (HealthCheckedEndpointGroup group = newGroup(endpoint, healthy, numChecks)) {
+            assertThat(group.whenReady().join()).containsExactly(endpoint);
+            // The active health checks are not relaxed because no real requests are reported.
+            await().untilAsserted(() -> assertThat(numChecks).hasValueGreaterThan(3));
+
+            healthy.set(false);
+            await().untilAsserted(() -> assertThat(group.endpoints()).isEmpty());
+        }
+    }
+
+    private static HealthCheckedEndpointGroup newGroup(Endpoint endpoint, AtomicBoolean healthy,
+                                                       AtomicInteger numChecks) {
+        final Function<? super HealthCheckerContext, ? extends AsyncCloseable> checkerFactory = ctx -> {
+            final Runnable check = new Runnable() {
+                @Override
+                public void run() {
+                    numChecks.incrementAndGet();
+                    if (healthy.get()) {
+                        ctx.updateHealth(1, null, null, null);
+                    } else {
+                        ctx.updateHealth(0, null, null, new AnticipatedException());
+                    }
+                    ctx.executor().schedule(this, ctx.nextDelayMillis(), TimeUnit.MILLISECONDS);
+                }
+            };
+            check.run();
+            return AsyncCloseableSupport.of();
+        };
+        return new HealthCheckedEndpointGroup(EndpointGroup.of(endpoint), true, 10000, 10000,
+                                              SessionProtocol.HTTP, 0, Backoff.fixed(100), 0,
+                                              ClientOptions.of(), checkerFactory,
+                                              HealthCheckStrategy.all(), DEFAULT_ENDPOINT_PREDICATE,
+                                              null, DEFAULT_PASSIVE_FAILURE_PREDICATE);
+    }
+
+    /**
+     * Waits until no health checks are sent for a while.
+     */
+    private static void awaitNoMoreChecks(AtomicInteger numChecks) {
+        final AtomicInteger lastNumChecks = new AtomicInteger(-1);
+        await().during(Duration.ofMillis(500))
+               .atMost(Duration.ofSeconds(10))
+               .until(() -> lastNumChecks.getAndSet(numChecks.get()) == numChecks.get());
+    }
+
+    @Test
+    void passiveHealthCheckDisabled() {
+        try (HealthCheckedEndpointGroup group =
+                     HealthCheckedEndpointGroup.builder(EndpointGroup.of(server.httpEndpoint()), "/ok")
+                                               .build()) {
+            assertThatThrownBy(group::newPassiveHealthCheckDecorator)
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.common.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpHeaders;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+
+import io.netty.buffer.ByteBuf;
+
+class ResponseCacheStoreTest {
+
+    @Test
+    void putAndGet() {
+        final ResponseCacheStore store = ResponseCacheStore.ofHeap(1024);
+        final CachedResponse cached = cachedResponse(100);
+        store.put("/foo", cached);
+        assertThat(store.get("/foo")).isSameAs(cached);
+        assertThat(store.get("/bar")).isNull();
+
+        store.remove("/foo");
+        assertThat(store.get("/foo")).isNull();
+    }
+
+    @Test
+    void responseLargerThanMaxSizeIsNotRetained() {
+        final ResponseCacheStore store = ResponseCacheStore.ofHeap(1024);
+        store.put("/large", cachedResponse(2048));
+        // Caffeine evicts the entry asynchronously.
+        await().untilAsserted(() -> assertThat(store.get("/large")).isNull());
+    }
+
+    @Test
+    void estimatedSize() {
+        final CachedResponse cached = cachedResponse(100);
+        assertThat(cached.estimatedSize()).isGreaterThan(100);
+    }
+
+    @Test
+    void directStoreSharesStoredContent() {
+        final ResponseCacheStore store = ResponseCacheStore.ofDirect(1024);
+        store.put("/foo", CachedResponse.of(
+                AggregatedHttpResponse.of(HttpStatus.OK, MediaType.PLAIN_TEXT_UTF_8, "foo"),
+                HttpHeaders.of(HttpHeaderNames.ACCEPT_LANGUAGE, "en"), 42));
+
+        final CachedResponse cached = store.get("/foo");
+        assertThat(cached).isNotNull();
+        assertThat(cached.requestHeaders().get(HttpHeaderNames.ACCEPT_LANGUAGE)).isEqualTo("en");
+        assertThat(cached.storedAtNanos()).isEqualTo(42);
+        final HttpData content = cached.response().content();
+        assertThat(content.isPooled()).isTrue();
+        assertThat(content.byteBuf().isDirect()).isTrue();
+
+        // The content remains valid even if the response is removed from the store.
+        store.remove("/foo");
+        assertThat(store.get("/foo")).isNull();
+        assertThat(content.toStringUtf8()).isEqualTo("foo");
+        content.close();
+    }
+
+    @Test
+    void directStoreFreesReplacedContent() {
+        final ResponseCacheStore store = ResponseCacheStore.ofDirect(1024);
+        store.put("/foo", cachedResponse(10));
+        final CachedResponse first = store.get("/foo");
+        assertThat(first).isNotNull();
+        final ByteBuf buf = first.response().content().byteBuf();
+        first.response().content().close();
+
+        store.put("/foo", cachedResponse(20));
+        assertThat(buf.refCnt()).isZero();
+
+        final CachedResponse second = store.get("/foo");
+        assertThat(second).isNotNull();
+        assertThat(second.response().content().length()).isEqualTo(20);
+        second.response().content().close();
+    }
+
+    private static CachedResponse cachedResponse(int length) {
+        return CachedResponse.of(
+                AggregatedHttpResponse.of(HttpStatus.OK, MediaType.OCTET_STREAM, new byte[length]),
+                HttpHeaders.of(), 0);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.common.metric;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.linecorp.armeria.common.util.ThreadFactories;
+import com.linecorp.armeria.internal.common.metric.EventLoopStalls;
+import com.linecorp.armeria.internal.common.metric.EventLoopStalls.Stall;
+import com.linecorp.armeria.testing.junit5.common.EventLoopGroupExtension;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EventLoopHealthMetricsTest {
+
+    @RegisterExtension
+    static EventLoopGroupExtension eventLoopGroup =
+            new EventLoopGroupExtension(2, ThreadFactories.newThreadFactory("health-check", false));
+
+    @Test
+    void recordsTaskDelay() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        try (CloseableMeterBinder binder = MoreMeterBinders.eventLoopHealthMetrics(
+                eventLoopGroup.get(), new MeterIdPrefix("foo"), Duration.ofMillis(10), Duration.ofSeconds(1))) {
+            binder.bindTo(registry);
+            await().untilAsserted(() -> {
+                assertThat(registry.get("foo.event.loop.task.delay").tag("event.loop", "0").timer().count())
+                        .isPositive();
+                assertThat(registry.get("foo.event.loop.task.delay").tag("event.loop", "1").timer().count())
+                        .isPositive();
+            });
+            assertThat(registry.get("foo.event.loop.queue.depth").tag("event.loop", "0").gauge().value())
+                    .isGreaterThanOrEqualTo(0);
+            assertThat(registry.get("foo.event.loop.stalls").tag("event.loop", "0").counter().count())
+                    .isZero();
+        }
+    }
+
+    @Test
+    void detectsStall() throws Exception {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final CountDownLatch latch = new CountDownLatch(1);
+        try (CloseableMeterBinder binder = MoreMeterBinders.eventLoopHealthMetrics(
+                eventLoopGroup.get(), new MeterIdPrefix("bar"), Duration.ofMillis(10),
+                Duration.ofMillis(100))) {
+            binder.bindTo(registry);
+            // Wait until the probes have run once so that the event loop threads are known.
+            await().untilAsserted(() -> assertThat(
+                    registry.get("bar.event.loop.task.delay").tag("event.loop", "0").timer().count())
+                    .isPositive());
+
+            eventLoopGroup.get().iterator().next().execute(() -> blockUntil(latch));
+            await().untilAsserted(() -> assertThat(
+                    registry.get("bar.event.loop.stalls").tag("event.loop", "0").counter().count())
+                    .isOne());
+            latch.countDown();
+
+            final Stall stall = EventLoopStalls.recent().stream()
+                                               .filter(s -> s.threadName().startsWith("health-check"))
+                                               .reduce((first, second) -> second)
+                                               .get();
+            assertThat(stall.durationNanos()).isGreaterThanOrEqualTo(Duration.ofMillis(100).toNanos());
+            assertThat(stall.stackTrace()).anySatisfy(e -> assertThat(e.getMethodName())
+                    .isEqualTo("blockUntil"));
+        } finally {
+            latch.countDown();
+        }
+    }
+
+    private static void blockUntil(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ignored) {
+            // Ignore.
+        }
+    }
+}
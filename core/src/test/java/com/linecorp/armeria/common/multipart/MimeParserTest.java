@@ -35,6 +35,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
@@ -422,6 +423,29 @@ class MimeParserTest {
         assertThat(part2.contentUtf8()).isEqualTo("this-is-the-body-of-part2");
     }
 
+    @Test
+    void testBodyWithManyDashesInSmallChunks() {
+        final String boundary = "boundary";
+        final StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            // Partial boundaries which must not be matched
+            body.append("-x--b--bound-").append(i).append("--boundar");
+        }
+        final byte[] data = ("--" + boundary + '\n' +
+                             '\n' +
+                             body + '\n' +
+                             "--" + boundary + "--").getBytes();
+        // Split the data into small chunks so that a boundary spans multiple chunks.
+        final List<byte[]> chunks = new ArrayList<>();
+        for (int i = 0; i < data.length; i += 7) {
+            chunks.add(Arrays.copyOfRange(data, i, Math.min(i + 7, data.length)));
+        }
+
+        final List<AggregatedBodyPart> parts = parse(boundary, chunks);
+        assertThat(parts).hasSize(1);
+        assertThat(parts.get(0).contentUtf8()).isEqualTo(body.toString());
+    }
+
     @Test
     void testClosingBoundaryAcrossChunks() {
         final String boundary = "boundary";
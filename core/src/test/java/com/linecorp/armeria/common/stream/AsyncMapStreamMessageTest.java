@@ -21,11 +21,14 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
 import com.google.common.collect.ImmutableList;
 
+import com.linecorp.armeria.common.CommonPools;
 import com.linecorp.armeria.common.util.UnmodifiableFuture;
 
 import reactor.test.StepVerifier;
@@ -198,4 +201,27 @@ class AsyncMapStreamMessageTest {
                     .expectNext(2, 1)
                     .verifyComplete();
     }
+
+    @Test
+    void mapParallelWithBoundedDemand() {
+        final StreamMessage<Integer> streamMessage =
+                StreamMessage.of(IntStream.range(0, 20).boxed().toArray(Integer[]::new));
+        final StreamMessage<Integer> mapped = streamMessage.mapParallel(x -> {
+            final CompletableFuture<Integer> future = new CompletableFuture<>();
+            CommonPools.workerGroup().schedule(() -> future.complete(x), 10, TimeUnit.MILLISECONDS);
+            return future;
+        }, 8);
+
+        // All the requested elements must be published even if the demand is smaller than the number of
+        // the elements which are requested from the upstream in a batch.
+        StepVerifier.create(mapped, 10)
+                    .expectNextCount(10)
+                    .expectNoEvent(Duration.ofMillis(100))
+                    .thenRequest(3)
+                    .expectNextCount(3)
+                    .thenRequest(7)
+                    .expectNextCount(7)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(10));
+    }
 }
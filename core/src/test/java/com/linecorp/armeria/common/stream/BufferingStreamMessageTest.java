@@ -0,0 +1,182 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.common.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.internal.testing.AnticipatedException;
+
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import reactor.test.StepVerifier;
+
+class BufferingStreamMessageTest {
+
+    @Test
+    void bufferByCount() {
+        final StreamMessage<List<Integer>> buffered = StreamMessage.of(1, 2, 3, 4, 5).buffer(2);
+        StepVerifier.create(buffered)
+                    .expectNext(ImmutableList.of(1, 2))
+                    .expectNext(ImmutableList.of(3, 4))
+                    .expectNext(ImmutableList.of(5))
+                    .verifyComplete();
+    }
+
+    @Test
+    void bufferRespectsDemand() {
+        final StreamWriter<Integer> writer = StreamMessage.streaming();
+        final StreamMessage<List<Integer>> buffered = writer.buffer(2);
+        StepVerifier.create(buffered, 1)
+                    .then(() -> {
+                        for (int i = 1; i <= 6; i++) {
+                            writer.write(i);
+                        }
+                        writer.close();
+                    })
+                    .expectNext(ImmutableList.of(1, 2))
+                    .expectNoEvent(Duration.ofMillis(100))
+                    .thenRequest(2)
+                    .expectNext(ImmutableList.of(3, 4))
+                    .expectNext(ImmutableList.of(5, 6))
+                    .verifyComplete();
+    }
+
+    @Test
+    void bufferByDelay() {
+        final StreamWriter<Integer> writer = StreamMessage.streaming();
+        final StreamMessage<List<Integer>> buffered = writer.buffer(10, Duration.ofMillis(200));
+        StepVerifier.create(buffered)
+                    .then(() -> {
+                        writer.write(1);
+                        writer.write(2);
+                    })
+                    // Emitted even though the batch is not full.
+                    .expectNext(ImmutableList.of(1, 2))
+                    .then(() -> {
+                        writer.write(3);
+                        writer.close();
+                    })
+                    .expectNext(ImmutableList.of(3))
+                    .verifyComplete();
+    }
+
+    @Test
+    void bufferByWeight() {
+        final StreamMessage<List<String>> buffered =
+                StreamMessage.of("a", "bb", "ccc", "d", "eeeee")
+                             .buffer(10, 3, String::length, Duration.ofSeconds(10));
+        StepVerifier.create(buffered)
+                    .expectNext(ImmutableList.of("a", "bb"))
+                    .expectNext(ImmutableList.of("ccc"))
+                    .expectNext(ImmutableList.of("d", "eeeee"))
+                    .verifyComplete();
+    }
+
+    @Test
+    void bufferPropagatesError() {
+        final StreamWriter<Integer> writer = StreamMessage.streaming();
+        final StreamMessage<List<Integer>> buffered = writer.buffer(2);
+        StepVerifier.create(buffered)
+                    .then(() -> {
+                        writer.write(1);
+                        writer.write(2);
+                        writer.write(3);
+                        writer.abort(new AnticipatedException());
+                    })
+                    .expectNext(ImmutableList.of(1, 2))
+                    .verifyError(AnticipatedException.class);
+    }
+
+    @Test
+    void cancelUpstreamOnInvalidRequest() {
+        final StreamWriter<Integer> writer = StreamMessage.streaming();
+        final StreamMessage<List<Integer>> buffered = writer.buffer(2);
+        final AtomicReference<Throwable> causeRef = new AtomicReference<>();
+        buffered.subscribe(new Subscriber<List<Integer>>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                s.request(0);
+            }
+
+            @Override
+            public void onNext(List<Integer> integers) {}
+
+            @Override
+            public void onError(Throwable t) {
+                causeRef.set(t);
+            }
+
+            @Override
+            public void onComplete() {}
+        }, ImmediateEventExecutor.INSTANCE);
+
+        assertThat(causeRef.get()).isInstanceOf(IllegalArgumentException.class);
+        assertThat(buffered.whenComplete()).isCompletedExceptionally();
+        // The upstream should be cancelled as well.
+        assertThat(writer.whenComplete()).isCompletedExceptionally();
+        assertThat(writer.isOpen()).isFalse();
+    }
+
+    @Test
+    void coalesce() {
+        final StreamMessage<HttpData> chunks =
+                StreamMessage.of(HttpData.ofUtf8("a"), HttpData.ofUtf8("b"), HttpData.ofUtf8("c"),
+                                 HttpData.ofUtf8("0123456789"), HttpData.ofUtf8("d"));
+        final StreamMessage<HttpData> coalesced = StreamMessages.coalesce(chunks, 3);
+        StepVerifier.create(coalesced.map(HttpData::toStringUtf8))
+                    .expectNext("abc")
+                    // A large chunk is emitted as is.
+                    .expectNext("0123456789")
+                    .expectNext("d")
+                    .verifyComplete();
+    }
+
+    @Test
+    void coalesceWithPooledObjects() {
+        final StreamMessage<HttpData> chunks =
+                StreamMessage.of(HttpData.ofUtf8("foo"), HttpData.ofUtf8("bar"));
+        final List<HttpData> coalesced = StreamMessages.coalesce(chunks, 1024)
+                                                       .collect(SubscriptionOption.WITH_POOLED_OBJECTS)
+                                                       .join();
+        assertThat(coalesced).hasSize(1);
+        final HttpData data = coalesced.get(0);
+        assertThat(data.isPooled()).isTrue();
+        assertThat(data.toStringUtf8()).isEqualTo("foobar");
+        data.close();
+    }
+
+    @Test
+    void invalidArguments() {
+        assertThatThrownBy(() -> StreamMessage.of(1).buffer(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StreamMessage.of(1).buffer(1, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StreamMessages.coalesce(StreamMessage.of(HttpData.empty()), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -31,6 +31,7 @@ import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
 import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.util.UnmodifiableFuture;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
@@ -71,6 +72,38 @@ class FuseableStreamMessageTest {
                     .verifyComplete();
     }
 
+    @Test
+    void flattenLongChain() {
+        StreamMessage<Integer> stream = StreamMessage.of(1, 2, 3, 4, 5, 6);
+        for (int i = 0; i < 10; i++) {
+            stream = stream.map(x -> x + 1);
+        }
+        stream = stream.filter(x -> x % 2 == 0).peek(x -> {});
+        final FuseableStreamMessage<?, ?> cast = (FuseableStreamMessage<?, ?>) stream;
+        assertThat(cast.numFusedStages()).isEqualTo(12);
+
+        StepVerifier.create(stream)
+                    .expectNext(12, 14, 16)
+                    .verifyComplete();
+    }
+
+    @Test
+    void fuseIntoAsyncMap() {
+        final StreamMessage<Integer> streamMessage = StreamMessage.of(1, 2, 3, 4, 5, 6, 7, 8);
+        final StreamMessage<Integer> result =
+                streamMessage.filter(x -> x % 2 == 0)
+                             .map(x -> x * 10)
+                             .mapParallel(x -> UnmodifiableFuture.completedFuture(x + 1), 2);
+
+        StepVerifier.create(result, 1)
+                    .expectNext(21)
+                    .thenRequest(2)
+                    .expectNext(41, 61)
+                    .thenRequest(1)
+                    .expectNext(81)
+                    .verifyComplete();
+    }
+
     @Test
     void multipleMap() {
         final StreamMessage<Integer> streamMessage = StreamMessage.of(1, 2, 3, 4, 5, 6);
@@ -68,6 +68,27 @@ class StreamMessagesTest {
         }
     }
 
+    @Test
+    void writeManySmallChunks() throws IOException {
+        final List<ByteBuf> bufs = new ArrayList<>();
+        final byte[] expected = new byte[1000 * 100];
+        for (int i = 0; i < 1000; i++) {
+            final byte[] chunk = new byte[100];
+            Arrays.fill(chunk, (byte) i);
+            System.arraycopy(chunk, 0, expected, i * 100, 100);
+            bufs.add(Unpooled.directBuffer().writeBytes(chunk));
+        }
+        final HttpData[] httpData = bufs.stream().map(HttpData::wrap).toArray(HttpData[]::new);
+
+        final Path destination = tempDir.resolve("many.bin");
+        StreamMessages.writeTo(StreamMessage.of(httpData), destination).join();
+        assertThat(Files.readAllBytes(destination)).isEqualTo(expected);
+
+        for (ByteBuf buf : bufs) {
+            assertThat(buf.refCnt()).isZero();
+        }
+    }
+
     @Test
     void invalidOpenOption() {
         assertThatThrownBy(() -> {
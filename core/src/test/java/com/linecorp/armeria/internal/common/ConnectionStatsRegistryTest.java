@@ -0,0 +1,145 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.client.ClientFactory;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.metric.MeterIdPrefix;
+import com.linecorp.armeria.common.metric.MoreMeters;
+import com.linecorp.armeria.server.ServerBuilder;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ConnectionStatsRegistryTest {
+
+    private static final String CONTENT = Strings.repeat("a", 64 * 1024);
+
+    private static final MeterRegistry serverMeterRegistry = new SimpleMeterRegistry();
+
+    @RegisterExtension
+    static final ServerExtension server = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) {
+            sb.meterRegistry(serverMeterRegistry);
+            sb.connectionStatsEnabled(true);
+            sb.service("/", (ctx, req) -> HttpResponse.of(CONTENT));
+        }
+    };
+
+    @Test
+    void connectionMeters() {
+        final MeterRegistry clientMeterRegistry = new SimpleMeterRegistry();
+        try (ClientFactory factory = ClientFactory.builder()
+                                                  .meterRegistry(clientMeterRegistry)
+                                                  .connectionStatsEnabled(true)
+                                                  // Make the server stall on the flow-control window.
+                                                  .http2InitialStreamWindowSize(1024)
+                                                  .build()) {
+            final WebClient client = WebClient.builder(server.uri(SessionProtocol.H2C))
+                                              .factory(factory)
+                                              .build();
+            final AggregatedHttpResponse res = client.get("/").aggregate().join();
+            assertThat(res.contentUtf8()).isEqualTo(CONTENT);
+
+            final ConnectionStatsRegistry serverRegistry =
+                    ConnectionStatsRegistry.get(server.server().config().serverMetrics());
+            final ConnectionStatsRegistry registry = ConnectionStatsRegistry.get(factory.unwrap());
+            assertThat(serverRegistry).isNotNull();
+            assertThat(registry).isNotNull();
+
+            await().untilAsserted(() -> {
+                assertThat(MoreMeters.measureAll(serverMeterRegistry))
+                        .hasEntrySatisfying("armeria.server.connection.bytes#count{direction=in}",
+                                            value -> assertThat(value).isPositive())
+                        .hasEntrySatisfying("armeria.server.connection.bytes#count{direction=out}",
+                                            value -> assertThat(value).isGreaterThan(CONTENT.length()))
+                        .hasEntrySatisfying("armeria.server.connection.flow.control.stalls#count",
+                                            value -> assertThat(value).isPositive())
+                        .containsKey("armeria.server.connection.top.throughput#value{rank=1}")
+                        .containsKey("armeria.server.connection.top.active.streams#value{rank=1}")
+                        .containsKey("armeria.server.connection.write.queue.bytes#value")
+                        .containsKey("armeria.server.connection.receive.window.bytes#value");
+                assertThat(MoreMeters.measureAll(clientMeterRegistry))
+                        .hasEntrySatisfying("armeria.client.connection.bytes#count{direction=in}",
+                                            value -> assertThat(value).isGreaterThan(CONTENT.length()))
+                        .hasEntrySatisfying("armeria.client.connection.bytes#count{direction=out}",
+                                            value -> assertThat(value).isPositive());
+            });
+
+            assertThat(registry.sample()).singleElement().satisfies(sample -> {
+                assertThat(sample.stats().bytesRead()).isGreaterThan(CONTENT.length());
+                assertThat(sample.stats().activeStreams()).isZero();
+            });
+        }
+    }
+
+    @Test
+    void disabledByDefault() {
+        try (ClientFactory factory = ClientFactory.builder().build()) {
+            assertThat(ConnectionStatsRegistry.get(factory.unwrap())).isNull();
+            final WebClient client = WebClient.builder(server.uri(SessionProtocol.H2C))
+                                              .factory(factory)
+                                              .build();
+            assertThat(client.get("/").aggregate().join().contentUtf8()).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    void customMeterIdPrefix() {
+        final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        try (ClientFactory factory1 = newFactory(meterRegistry, "a");
+             ClientFactory factory2 = newFactory(meterRegistry, "b")) {
+            for (ClientFactory factory : ImmutableList.of(factory1, factory2)) {
+                final WebClient client = WebClient.builder(server.uri(SessionProtocol.H2C))
+                                                  .factory(factory)
+                                                  .build();
+                assertThat(client.get("/").aggregate().join().contentUtf8()).isEqualTo(CONTENT);
+            }
+
+            // The meters of the two factories do not clash because their prefixes are different.
+            await().untilAsserted(() -> {
+                assertThat(MoreMeters.measureAll(meterRegistry))
+                        .hasEntrySatisfying("armeria.client.connection.bytes#count{direction=in,factory=a}",
+                                            value -> assertThat(value).isGreaterThan(CONTENT.length()))
+                        .hasEntrySatisfying("armeria.client.connection.bytes#count{direction=in,factory=b}",
+                                            value -> assertThat(value).isGreaterThan(CONTENT.length()));
+            });
+        }
+    }
+
+    private static ClientFactory newFactory(MeterRegistry meterRegistry, String name) {
+        return ClientFactory.builder()
+                            .meterRegistry(meterRegistry)
+                            .connectionStatsEnabled(true)
+                            .connectionStatsMeterIdPrefix(
+                                    new MeterIdPrefix("armeria.client.connection", "factory", name))
+                            .build();
+    }
+}
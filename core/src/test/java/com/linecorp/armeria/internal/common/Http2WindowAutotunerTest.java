@@ -0,0 +1,150 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.linecorp.armeria.client.ClientFactory;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.metric.MoreMeters;
+import com.linecorp.armeria.internal.testing.LatencyInjectingProxy;
+import com.linecorp.armeria.server.ServerBuilder;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class Http2WindowAutotunerTest {
+
+    private static final int INITIAL_WINDOW_SIZE = 65535;
+    private static final int MAX_WINDOW_SIZE = 8 * 1024 * 1024;
+    private static final byte[] CONTENT = new byte[2 * 1024 * 1024];
+
+    // Makes the round-trip time 50 milliseconds.
+    private static final long ONE_WAY_DELAY_MILLIS = 25;
+
+    private static final MeterRegistry serverMeterRegistry = new SimpleMeterRegistry();
+
+    @RegisterExtension
+    static final ServerExtension server = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) {
+            sb.meterRegistry(serverMeterRegistry);
+            sb.connectionStatsEnabled(true);
+            sb.http2InitialConnectionWindowSize(INITIAL_WINDOW_SIZE);
+            sb.http2InitialStreamWindowSize(INITIAL_WINDOW_SIZE);
+            sb.http2WindowAutotuningMaxSize(MAX_WINDOW_SIZE);
+            sb.maxRequestLength(0);
+            sb.service("/download", (ctx, req) -> HttpResponse.of(HttpStatus.OK, MediaType.OCTET_STREAM,
+                                                                  CONTENT));
+            sb.service("/upload", (ctx, req) -> HttpResponse.of(
+                    req.aggregate().thenApply(agg -> HttpResponse.of(String.valueOf(agg.content().length())))));
+        }
+    };
+
+    private LatencyInjectingProxy proxy;
+
+    @BeforeEach
+    void startProxy() throws IOException {
+        proxy = new LatencyInjectingProxy(server.httpPort(), ONE_WAY_DELAY_MILLIS);
+    }
+
+    @AfterEach
+    void stopProxy() throws IOException {
+        proxy.close();
+    }
+
+    @Test
+    void clientGrowsWindowsOnDownload() {
+        final Map<String, Double> measurements = download(MAX_WINDOW_SIZE);
+        assertThat(measurements)
+                .hasEntrySatisfying(
+                        "armeria.client.connection.max.receive.window.bytes#value{level=connection}",
+                        value -> assertThat(value).isGreaterThan(INITIAL_WINDOW_SIZE))
+                .hasEntrySatisfying(
+                        "armeria.client.connection.max.receive.window.bytes#value{level=stream}",
+                        value -> assertThat(value).isGreaterThan(INITIAL_WINDOW_SIZE)
+                                                  .isLessThanOrEqualTo(MAX_WINDOW_SIZE));
+    }
+
+    @Test
+    void clientKeepsWindowsWithoutAutotuning() {
+        final Map<String, Double> measurements = download(0);
+        assertThat(measurements)
+                .containsEntry("armeria.client.connection.max.receive.window.bytes#value{level=connection}",
+                               (double) INITIAL_WINDOW_SIZE)
+                .containsEntry("armeria.client.connection.max.receive.window.bytes#value{level=stream}",
+                               (double) INITIAL_WINDOW_SIZE);
+    }
+
+    @Test
+    void serverGrowsWindowsOnUpload() {
+        try (ClientFactory factory = newClientFactory(0, new SimpleMeterRegistry())) {
+            final AggregatedHttpResponse res = newClient(factory).post("/upload", CONTENT).aggregate().join();
+            assertThat(res.contentUtf8()).isEqualTo(String.valueOf(CONTENT.length));
+            assertThat(MoreMeters.measureAll(serverMeterRegistry))
+                    .hasEntrySatisfying(
+                            "armeria.server.connection.max.receive.window.bytes#value{level=connection}",
+                            value -> assertThat(value).isGreaterThan(INITIAL_WINDOW_SIZE))
+                    .hasEntrySatisfying(
+                            "armeria.server.connection.max.receive.window.bytes#value{level=stream}",
+                            value -> assertThat(value).isGreaterThan(INITIAL_WINDOW_SIZE)
+                                                      .isLessThanOrEqualTo(MAX_WINDOW_SIZE));
+        }
+    }
+
+    /**
+     * Downloads the content and returns the client connection meters measured before the connection is closed.
+     */
+    private Map<String, Double> download(int maxWindowSize) {
+        final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        try (ClientFactory factory = newClientFactory(maxWindowSize, meterRegistry)) {
+            final AggregatedHttpResponse res = newClient(factory).get("/download").aggregate().join();
+            assertThat(res.content().length()).isEqualTo(CONTENT.length);
+            return MoreMeters.measureAll(meterRegistry);
+        }
+    }
+
+    private static ClientFactory newClientFactory(int maxWindowSize, MeterRegistry meterRegistry) {
+        return ClientFactory.builder()
+                            .meterRegistry(meterRegistry)
+                            .connectionStatsEnabled(true)
+                            .http2InitialConnectionWindowSize(INITIAL_WINDOW_SIZE)
+                            .http2InitialStreamWindowSize(INITIAL_WINDOW_SIZE)
+                            .http2WindowAutotuningMaxSize(maxWindowSize)
+                            .build();
+    }
+
+    private WebClient newClient(ClientFactory factory) {
+        return WebClient.builder("h2c://127.0.0.1:" + proxy.port())
+                        .factory(factory)
+                        .responseTimeoutMillis(0)
+                        .maxResponseLength(0)
+                        .build();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpRequestWriter;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.stream.StreamMessage;
+
+import reactor.test.StepVerifier;
+
+class JsonElementDecoderTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final ObjectReader mapReader = mapper.readerFor(Map.class);
+
+    @Test
+    void arrayElementsInSmallChunks() {
+        final String json = "[{\"a\":1,\"b\":[1,2,{\"c\":\"x\"}]}, {\"a\":2} ,\n{\"a\":\"\\u0033\"}]";
+        final List<Object> elements = decode(json, 3, mapReader, true);
+        assertThat(elements).containsExactly(
+                ImmutableMap.of("a", 1, "b", ImmutableList.of(1, 2, ImmutableMap.of("c", "x"))),
+                ImmutableMap.of("a", 2),
+                ImmutableMap.of("a", "3"));
+    }
+
+    @Test
+    void scalarElements() {
+        final List<Object> elements = decode("[1, 2.5, \"three\", true]", 1,
+                                             mapper.readerFor(Object.class), true);
+        assertThat(elements).containsExactly(1, 2.5, "three", true);
+    }
+
+    @Test
+    void emptyArray() {
+        assertThat(decode("[ ]", 1, mapReader, true)).isEmpty();
+    }
+
+    @Test
+    void jsonLines() {
+        final List<Object> elements = decode("{\"a\":1}\n{\"a\":2}\n[3]\n", 2, mapper.readerFor(Object.class),
+                                             false);
+        assertThat(elements).containsExactly(ImmutableMap.of("a", 1), ImmutableMap.of("a", 2),
+                                             ImmutableList.of(3));
+    }
+
+    @Test
+    void nonArrayValueIsEmittedAsElement() {
+        assertThat(decode("{\"a\":1}", 4, mapReader, true)).containsExactly(ImmutableMap.of("a", 1));
+    }
+
+    @Test
+    void emitsElementsBeforeEndOfContent() {
+        final HttpRequestWriter req = HttpRequest.streaming(RequestHeaders.of(HttpMethod.POST, "/"));
+        final StreamMessage<Object> decoded = req.decode(new JsonElementDecoder<>(mapReader, true));
+        StepVerifier.create(decoded)
+                    .then(() -> {
+                        req.write(HttpData.ofUtf8("[{\"a\":1},{\"a\""));
+                        req.write(HttpData.ofUtf8(":2},"));
+                    })
+                    // The elements are emitted before the array is closed.
+                    .expectNext(ImmutableMap.of("a", 1), ImmutableMap.of("a", 2))
+                    .then(() -> {
+                        req.write(HttpData.ofUtf8("{\"a\":3}]"));
+                        req.close();
+                    })
+                    .expectNext(ImmutableMap.of("a", 3))
+                    .verifyComplete();
+    }
+
+    @Test
+    void truncatedContent() {
+        assertThatThrownBy(() -> decode("[{\"a\":1},{\"a\":", 4, mapReader, true))
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(JsonProcessingException.class);
+    }
+
+    @Test
+    void nullElement() {
+        assertThatThrownBy(() -> decode("[{\"a\":1},null]", 4, mapReader, true))
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Object> decode(String json, int chunkSize, ObjectReader reader, boolean unwrapArray) {
+        final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        final HttpRequestWriter req = HttpRequest.streaming(RequestHeaders.of(HttpMethod.POST, "/"));
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            final int length = Math.min(chunkSize, bytes.length - i);
+            req.write(HttpData.copyOf(bytes, i, length));
+        }
+        req.close();
+        return req.decode(new JsonElementDecoder<>(reader, unwrapArray)).collect().join();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common.metric;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.common.logging.RequestLog;
+import com.linecorp.armeria.common.logging.RequestLogBuilder;
+import com.linecorp.armeria.internal.common.metric.ExemplarReservoir.Exemplar;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+class ExemplarReservoirTest {
+
+    private final AtomicLong currentTimeMillis = new AtomicLong(1_000_000);
+    private final ExemplarReservoir reservoir = new ExemplarReservoir(currentTimeMillis::get);
+
+    @Test
+    void keepsSlowestRequestOfEachBucket() {
+        final RequestLog fast = log(RequestHeaders.of(HttpMethod.GET, "/fast"), HttpStatus.OK);
+        final RequestLog slow = log(RequestHeaders.of(HttpMethod.GET, "/slow"), HttpStatus.OK);
+        final RequestLog slower = log(RequestHeaders.of(HttpMethod.POST, "/slower"),
+                                      HttpStatus.INTERNAL_SERVER_ERROR);
+        // 1.5 ms and 1.9 ms are in (2^-10, 2^-9] seconds, and 3 ms is in (2^-9, 2^-8] seconds.
+        reservoir.offer(millis(1.9), slow);
+        reservoir.offer(millis(1.5), fast);
+        reservoir.offer(millis(3), slower);
+
+        final List<Exemplar> exemplars = reservoir.exemplars();
+        assertThat(exemplars).hasSize(2);
+        assertThat(exemplars.get(0).durationNanos()).isEqualTo(millis(1.9));
+        assertThat(exemplars.get(0).path()).isEqualTo("/slow");
+        assertThat(exemplars.get(0).requestId()).isEqualTo(slow.context().id());
+        assertThat(exemplars.get(0).timestampMillis()).isEqualTo(1_000_000);
+
+        assertThat(exemplars.get(1).durationNanos()).isEqualTo(millis(3));
+        assertThat(exemplars.get(1).method()).isSameAs(HttpMethod.POST);
+        assertThat(exemplars.get(1).path()).isEqualTo("/slower");
+        assertThat(exemplars.get(1).statusCode()).isEqualTo(500);
+        assertThat(exemplars.get(1).traceId()).isNull();
+    }
+
+    @Test
+    void replacesOldExemplar() {
+        reservoir.offer(millis(1.9), log(RequestHeaders.of(HttpMethod.GET, "/slow"), HttpStatus.OK));
+        currentTimeMillis.addAndGet(ExemplarReservoir.MAX_AGE_MILLIS - 1);
+        reservoir.offer(millis(1.5), log(RequestHeaders.of(HttpMethod.GET, "/fast"), HttpStatus.OK));
+        assertThat(reservoir.exemplars()).singleElement()
+                                         .satisfies(e -> assertThat(e.path()).isEqualTo("/slow"));
+
+        currentTimeMillis.incrementAndGet();
+        reservoir.offer(millis(1.5), log(RequestHeaders.of(HttpMethod.GET, "/fast"), HttpStatus.OK));
+        assertThat(reservoir.exemplars()).singleElement()
+                                         .satisfies(e -> assertThat(e.path()).isEqualTo("/fast"));
+    }
+
+    @Test
+    void stripsQueryString() {
+        reservoir.offer(millis(1), log(RequestHeaders.of(HttpMethod.GET, "/search?token=secret"),
+                                       HttpStatus.OK));
+        assertThat(reservoir.exemplars()).singleElement()
+                                         .satisfies(e -> assertThat(e.path()).isEqualTo("/search"));
+    }
+
+    @Test
+    void traceId() {
+        reservoir.offer(millis(1), log(RequestHeaders.of(HttpMethod.GET, "/",
+                                                         "traceparent",
+                                                         "00-4bf92f3577b34da6a3ce929d0e0e4736-" +
+                                                         "00f067aa0ba902b7-01"), HttpStatus.OK));
+        reservoir.offer(millis(3), log(RequestHeaders.of(HttpMethod.GET, "/",
+                                                         "x-b3-traceid", "463ac35c9f6413ad"),
+                                       HttpStatus.OK));
+        final List<Exemplar> exemplars = reservoir.exemplars();
+        assertThat(exemplars.get(0).traceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(exemplars.get(1).traceId()).isEqualTo("463ac35c9f6413ad");
+    }
+
+    private static long millis(double millis) {
+        return (long) (millis * TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private static RequestLog log(RequestHeaders headers, HttpStatus status) {
+        final ServiceRequestContext ctx = ServiceRequestContext.of(HttpRequest.of(headers));
+        final RequestLogBuilder logBuilder = ctx.logBuilder();
+        logBuilder.endRequest();
+        logBuilder.responseHeaders(ResponseHeaders.of(status));
+        logBuilder.endResponse();
+        return ctx.log().ensureComplete();
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common.metric;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LogLinearHistogramTest {
+
+    @Test
+    void bucketIndex() {
+        // 1 second is the upper bound of the bucket 0.
+        assertThat(LogLinearHistogram.bucketIndex(1.0)).isEqualTo(0);
+        assertThat(LogLinearHistogram.bucketIndex(Math.nextUp(1.0))).isEqualTo(1);
+        assertThat(LogLinearHistogram.bucketIndex(Math.pow(2, 1.0 / 8))).isEqualTo(1);
+        assertThat(LogLinearHistogram.bucketIndex(1.5)).isEqualTo(5);
+        assertThat(LogLinearHistogram.bucketIndex(2.0)).isEqualTo(8);
+        assertThat(LogLinearHistogram.bucketIndex(0.75)).isEqualTo(-3);
+        assertThat(LogLinearHistogram.bucketIndex(0.001)).isEqualTo(-79);
+
+        assertThat(LogLinearHistogram.bucketIndex(0)).isLessThan(LogLinearHistogram.MIN_INDEX);
+        assertThat(LogLinearHistogram.bucketIndex(LogLinearHistogram.ZERO_THRESHOLD))
+                .isLessThan(LogLinearHistogram.MIN_INDEX);
+        assertThat(LogLinearHistogram.bucketIndex(1e6)).isEqualTo(LogLinearHistogram.MAX_INDEX);
+    }
+
+    @Test
+    void valuesAreWithinBucketBounds() {
+        for (double seconds = 1e-8; seconds < 1000; seconds *= 1.01) {
+            final int index = LogLinearHistogram.bucketIndex(seconds);
+            assertThat(seconds).isLessThanOrEqualTo(LogLinearHistogram.upperBound(index))
+                               .isGreaterThan(LogLinearHistogram.upperBound(index - 1));
+        }
+    }
+
+    @Test
+    void snapshot() {
+        final LogLinearHistogram histogram = new LogLinearHistogram();
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+        histogram.record(TimeUnit.SECONDS.toNanos(3));
+        histogram.record(0);
+        histogram.record(-1);
+
+        final LogLinearHistogram.Snapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.count()).isEqualTo(4);
+        assertThat(snapshot.zeroCount()).isEqualTo(1);
+        assertThat(snapshot.sumNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(3002));
+        assertThat(snapshot.maxNanos()).isEqualTo(TimeUnit.SECONDS.toNanos(3));
+        assertThat(snapshot.count(-79)).isEqualTo(2);
+        assertThat(snapshot.count(LogLinearHistogram.bucketIndex(3.0))).isEqualTo(1);
+
+        final List<Integer> indexes = new ArrayList<>();
+        snapshot.forEachBucket((index, count) -> indexes.add(index));
+        assertThat(indexes).containsExactly(-79, LogLinearHistogram.bucketIndex(3.0));
+    }
+
+    @Test
+    void mergesStripesOfAllThreads() throws Exception {
+        final LogLinearHistogram histogram = new LogLinearHistogram();
+        final int numThreads = 16;
+        final int numRecords = 10000;
+        final CountDownLatch latch = new CountDownLatch(numThreads);
+        for (int i = 0; i < numThreads; i++) {
+            final long durationNanos = TimeUnit.MICROSECONDS.toNanos(i + 1);
+            new Thread(() -> {
+                for (int j = 0; j < numRecords; j++) {
+                    histogram.record(durationNanos);
+                }
+                latch.countDown();
+            }).start();
+        }
+        latch.await();
+
+        final LogLinearHistogram.Snapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.count()).isEqualTo((long) numThreads * numRecords);
+        assertThat(snapshot.sumNanos()).isEqualTo(TimeUnit.MICROSECONDS.toNanos(136) * numRecords);
+        assertThat(snapshot.maxNanos()).isEqualTo(TimeUnit.MICROSECONDS.toNanos(16));
+    }
+
+    @Test
+    void timerIsExportedAsFunctionTimer() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final LogLinearHistogramTimer timer =
+                LogLinearHistogramTimer.register(registry, "foo.duration", Tags.of("a", "b"));
+        timer.record(1, TimeUnit.MILLISECONDS);
+        timer.record(2, TimeUnit.MILLISECONDS);
+
+        assertThat(timer.exportedNatively()).isFalse();
+        assertThat(LogLinearHistogramTimer.timers(registry)).containsExactly(timer);
+        final FunctionTimer functionTimer = registry.get("foo.duration").tags("a", "b").functionTimer();
+        assertThat(functionTimer.count()).isEqualTo(2);
+        assertThat(functionTimer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(3);
+
+        final CountAtBucket[] buckets = timer.takeSnapshot().histogramCounts();
+        assertThat(buckets).hasSize(2);
+        assertThat(buckets[0].count()).isEqualTo(1);
+        assertThat(buckets[1].count()).isEqualTo(2);
+        assertThat(buckets[1].bucket(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void functionTimerReadsTimerRegisteredAfterClear() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final LogLinearHistogramTimer oldTimer =
+                LogLinearHistogramTimer.register(registry, "cleared.duration", Tags.empty());
+        oldTimer.record(1, TimeUnit.MILLISECONDS);
+
+        MicrometerUtil.clear();
+        assertThat(LogLinearHistogramTimer.timers(registry)).isEmpty();
+        assertThat(registry.find("cleared.duration").functionTimer()).isNull();
+
+        final LogLinearHistogramTimer newTimer =
+                LogLinearHistogramTimer.register(registry, "cleared.duration", Tags.empty());
+        assertThat(newTimer).isNotSameAs(oldTimer);
+        newTimer.record(2, TimeUnit.MILLISECONDS);
+        newTimer.record(3, TimeUnit.MILLISECONDS);
+        final FunctionTimer functionTimer = registry.get("cleared.duration").functionTimer();
+        assertThat(functionTimer.count()).isEqualTo(2);
+        assertThat(functionTimer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5);
+    }
+
+    @Test
+    void timerIsNotExportedWhenRegistryExportsNatively() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        LogLinearHistogramTimer.exportNatively(registry);
+        final LogLinearHistogramTimer timer =
+                LogLinearHistogramTimer.register(registry, "bar.duration", Tags.empty());
+        assertThat(timer.exportedNatively()).isTrue();
+        assertThat(registry.find("bar.duration").meter()).isNull();
+        assertThat(LogLinearHistogramTimer.timers(registry)).containsExactly(timer);
+    }
+
+    @Test
+    void timerIdIsMappedByMeterFilters() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        registry.config().commonTags("app", "foo");
+        registry.config().meterFilter(MeterFilter.denyNameStartsWith("denied"));
+        LogLinearHistogramTimer.exportNatively(registry);
+
+        final LogLinearHistogramTimer timer =
+                LogLinearHistogramTimer.register(registry, "foo.duration", Tags.of("a", "b"));
+        assertThat(timer.getId().getTags()).containsExactly(Tag.of("a", "b"), Tag.of("app", "foo"));
+        assertThat(timer.exportedNatively()).isTrue();
+        // The timer with the same ID is shared.
+        assertThat(LogLinearHistogramTimer.register(registry, "foo.duration", Tags.of("a", "b")))
+                .isSameAs(timer);
+
+        final LogLinearHistogramTimer denied =
+                LogLinearHistogramTimer.register(registry, "denied.duration", Tags.empty());
+        assertThat(denied.exportedNatively()).isFalse();
+        assertThat(LogLinearHistogramTimer.timers(registry)).containsExactly(timer);
+    }
+
+    @Test
+    void timerWithSameIdAsRegularTimer() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        registry.timer("foo.duration", "a", "b");
+        final LogLinearHistogramTimer timer =
+                LogLinearHistogramTimer.register(registry, "foo.duration", Tags.of("a", "b"));
+        // Recorded, but not registered.
+        timer.record(1, TimeUnit.MILLISECONDS);
+        assertThat(timer.count()).isOne();
+        assertThat(timer.exportedNatively()).isFalse();
+        assertThat(LogLinearHistogramTimer.timers(registry)).isEmpty();
+        assertThat(registry.get("foo.duration").timer().count()).isZero();
+    }
+
+    @Test
+    void stripesAreAllocatedOnContention() {
+        final LogLinearHistogram histogram = new LogLinearHistogram();
+        for (int i = 0; i < 1000; i++) {
+            histogram.record(i);
+        }
+        // A single thread never contends.
+        assertThat(histogram.numStripes()).isOne();
+    }
+}
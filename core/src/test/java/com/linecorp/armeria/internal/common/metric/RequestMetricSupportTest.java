@@ -534,4 +534,45 @@ class RequestMetricSupportTest {
                 .containsEntry("foo.requests#count{http.status=500,method=POST,result=failure,service=none}",
                                1.0);
     }
+
+    @Test
+    void reusesMetersResolvedForSameTags() {
+        final MeterRegistry registry = PrometheusMeterRegistries.newRegistry();
+        final MeterIdPrefixFunction meterIdPrefixFunction = MeterIdPrefixFunction.ofDefault("foo");
+        completeRequest(registry, meterIdPrefixFunction, 200);
+        completeRequest(registry, meterIdPrefixFunction, 200);
+        completeRequest(registry, meterIdPrefixFunction, 500);
+
+        Map<String, Double> measurements = measureAll(registry);
+        assertThat(measurements)
+                .containsEntry("foo.active.requests#value{method=POST,service=none}", 0.0)
+                .containsEntry("foo.requests#count{http.status=200,method=POST,result=success,service=none}",
+                               2.0)
+                .containsEntry("foo.requests#count{http.status=500,method=POST,result=failure,service=none}",
+                               1.0);
+
+        // The cached meters must not be used once they are removed from the registry.
+        registry.clear();
+        MicrometerUtil.clear();
+        completeRequest(registry, meterIdPrefixFunction, 200);
+        measurements = measureAll(registry);
+        assertThat(measurements)
+                .containsEntry("foo.requests#count{http.status=200,method=POST,result=success,service=none}",
+                               1.0);
+    }
+
+    private static void completeRequest(MeterRegistry registry, MeterIdPrefixFunction meterIdPrefixFunction,
+                                        int statusCode) {
+        final ClientRequestContext ctx =
+                ClientRequestContext.builder(HttpRequest.of(HttpMethod.POST, "/foo"))
+                                    .meterRegistry(registry)
+                                    .endpoint(Endpoint.of("example.com", 8080))
+                                    .eventLoop(ImmediateEventLoop.INSTANCE)
+                                    .build();
+        RequestMetricSupport.setup(ctx, REQUEST_METRICS_SET, meterIdPrefixFunction, false,
+                                   SuccessFunction.ofDefault(), Flags.distributionStatisticConfig());
+        ctx.logBuilder().endRequest();
+        ctx.logBuilder().responseHeaders(ResponseHeaders.of(statusCode));
+        ctx.logBuilder().endResponse();
+    }
 }
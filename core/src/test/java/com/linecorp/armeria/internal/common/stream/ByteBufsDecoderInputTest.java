@@ -20,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.jupiter.api.AfterEach;
@@ -294,6 +295,33 @@ class ByteBufsDecoderInputTest {
         assertThat(input.getByte(8)).isEqualTo((byte) 9);
     }
 
+    @Test
+    void indexOf() {
+        assertThat(input.indexOf((byte) 1, 0, 9)).isZero();
+        // In the second buffer
+        assertThat(input.indexOf((byte) 6, 0, 9)).isEqualTo(5);
+        // The byte which was read already should not be found.
+        assertThat(input.indexOf((byte) -1, 0, 9)).isEqualTo(-1);
+        assertThat(input.indexOf((byte) 9, 0, 9)).isEqualTo(8);
+        // Out of the range
+        assertThat(input.indexOf((byte) 6, 6, 9)).isEqualTo(-1);
+        assertThat(input.indexOf((byte) 6, 0, 5)).isEqualTo(-1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 7, 8, 15, 62, 63 })
+    void indexOfInLongBuffer(int index) {
+        final ByteBufsDecoderInput input = new ByteBufsDecoderInput(UnpooledByteBufAllocator.DEFAULT);
+        final byte[] bytes = new byte[64];
+        // Differs from the value only in the highest bit.
+        Arrays.fill(bytes, (byte) ('-' | 0x80));
+        bytes[index] = '-';
+        input.add(Unpooled.wrappedBuffer(bytes));
+        assertThat(input.indexOf((byte) '-', 0, 64)).isEqualTo(index);
+        assertThat(input.indexOf((byte) '-', index + 1, 64)).isEqualTo(-1);
+        input.close();
+    }
+
     @Test
     void addAfterClosing() {
         assertThat(input.readableBytes()).isEqualTo(9);
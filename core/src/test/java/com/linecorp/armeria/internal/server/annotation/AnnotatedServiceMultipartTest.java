@@ -70,6 +70,49 @@ class AnnotatedServiceMultipartTest {
         }
     };
 
+    @RegisterExtension
+    static final ServerExtension partLengthLimitedServer = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) throws Exception {
+            sb.annotatedService("/", new MyAnnotatedService());
+            sb.multipartMaxPartLength(3);
+        }
+    };
+
+    @ParameterizedTest
+    @ValueSource(strings = { "file1", "param1" })
+    void rejectOversizedPart(String oversizedPart) {
+        final Multipart multipart = Multipart.of(
+                BodyPart.of(ContentDisposition.of("form-data", "file1", "foo.txt"),
+                            "file1".equals(oversizedPart) ? "foo!" : "foo"),
+                BodyPart.of(ContentDisposition.of("form-data", "path1", "bar.txt"), "bar"),
+                BodyPart.of(ContentDisposition.of("form-data", "multipartFile1", "qux.txt"), "qux"),
+                BodyPart.of(ContentDisposition.of("form-data", "multipartFile2", "quz.txt"),
+                            MediaType.PLAIN_TEXT, "quz"),
+                BodyPart.of(ContentDisposition.of("form-data", "param1"),
+                            "param1".equals(oversizedPart) ? "armeria" : "arm"));
+        final AggregatedHttpResponse response =
+                partLengthLimitedServer.blockingWebClient()
+                                       .execute(multipart.toHttpRequest("/uploadWithFileParam"));
+        assertThat(response.status()).isSameAs(HttpStatus.REQUEST_ENTITY_TOO_LARGE);
+    }
+
+    @Test
+    void acceptPartsWithinLimit() {
+        final Multipart multipart = Multipart.of(
+                BodyPart.of(ContentDisposition.of("form-data", "file1", "foo.txt"), "foo"),
+                BodyPart.of(ContentDisposition.of("form-data", "path1", "bar.txt"), "bar"),
+                BodyPart.of(ContentDisposition.of("form-data", "multipartFile1", "qux.txt"), "qux"),
+                BodyPart.of(ContentDisposition.of("form-data", "multipartFile2", "quz.txt"),
+                            MediaType.PLAIN_TEXT, "quz"),
+                BodyPart.of(ContentDisposition.of("form-data", "param1"), "arm"));
+        final AggregatedHttpResponse response =
+                partLengthLimitedServer.blockingWebClient()
+                                       .execute(multipart.toHttpRequest("/uploadWithFileParam"));
+        assertThat(response.status()).isSameAs(HttpStatus.OK);
+        assertThatJson(response.contentUtf8()).node("param1").isEqualTo("arm");
+    }
+
     @ParameterizedTest
     @ValueSource(strings = { "/uploadWithFileParam", "/uploadWithMultipartObject" })
     void testUploadFile(String path) throws Exception {
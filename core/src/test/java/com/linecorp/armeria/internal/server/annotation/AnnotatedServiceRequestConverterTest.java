@@ -38,6 +38,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
@@ -46,8 +47,10 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.google.common.base.MoreObjects;
 
 import com.linecorp.armeria.client.BlockingWebClient;
@@ -63,6 +66,7 @@ import com.linecorp.armeria.common.MediaType;
 import com.linecorp.armeria.common.QueryParams;
 import com.linecorp.armeria.common.RequestHeaders;
 import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.stream.StreamMessage;
 import com.linecorp.armeria.internal.server.annotation.AnnotatedServiceRequestConverterTest.MyService3.CompositeRequestBean1;
 import com.linecorp.armeria.internal.server.annotation.AnnotatedServiceRequestConverterTest.MyService3.CompositeRequestBean2;
 import com.linecorp.armeria.internal.server.annotation.AnnotatedServiceRequestConverterTest.MyService3.CompositeRequestBean3;
@@ -74,6 +78,7 @@ import com.linecorp.armeria.server.TestConverters.ByteArrayConverterFunction;
 import com.linecorp.armeria.server.TestConverters.UnformattedStringConverterFunction;
 import com.linecorp.armeria.server.annotation.Get;
 import com.linecorp.armeria.server.annotation.Header;
+import com.linecorp.armeria.server.annotation.JacksonRequestConverterFunction;
 import com.linecorp.armeria.server.annotation.Param;
 import com.linecorp.armeria.server.annotation.Post;
 import com.linecorp.armeria.server.annotation.RequestConverter;
@@ -92,6 +97,15 @@ class AnnotatedServiceRequestConverterTest {
             sb.annotatedService("/1", new MyService1(), LoggingService.newDecorator());
             sb.annotatedService("/2", new MyService2(), LoggingService.newDecorator());
             sb.annotatedService("/3", new MyService3(), LoggingService.newDecorator());
+            sb.annotatedService()
+              .pathPrefix("/4")
+              // A lenient ObjectMapper which ignores the unknown properties.
+              .requestConverters(JacksonRequestConverterFunction.ofStreaming(
+                      JsonMapper.builder()
+                                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                                .build()))
+              .decorator(LoggingService.newDecorator())
+              .build(new MyService4());
         }
     };
 
@@ -210,6 +224,12 @@ class AnnotatedServiceRequestConverterTest {
             throw new Error();
         }
 
+        @Post("/default/jsonStream")
+        public String defaultJsonStream(@RequestObject StreamMessage<RequestJsonObj1> objs) {
+            // Not reached because the streaming conversion is disabled by default.
+            throw new Error();
+        }
+
         @Post("/default/binary")
         public byte[] defaultBinary(HttpData obj1,
                                     byte[] obj2) {
@@ -240,6 +260,28 @@ class AnnotatedServiceRequestConverterTest {
         }
     }
 
+    static class MyService4 {
+        @Post("/jsonStream")
+        public CompletableFuture<String> jsonStream(@RequestObject StreamMessage<RequestJsonObj1> objs) {
+            return objs.map(RequestJsonObj1::strVal).collect().thenApply(strVals -> String.join(",", strVals));
+        }
+
+        @Post("/userConverterFirst")
+        public CompletableFuture<String> userConverterFirst(
+                @RequestConverter(StreamingRequestConverter.class) @RequestObject StreamMessage<String> strs) {
+            return strs.collect().thenApply(list -> String.join(",", list));
+        }
+    }
+
+    public static class StreamingRequestConverter implements RequestConverterFunction {
+        @Override
+        public StreamMessage<String> convertRequest(
+                ServiceRequestContext ctx, AggregatedHttpRequest request, Class<?> expectedResultType,
+                @Nullable ParameterizedType expectedParameterizedResultType) throws Exception {
+            return StreamMessage.of("user", request.contentUtf8());
+        }
+    }
+
     static class MyService3 {
         @Get("/composite1/:age")
         public String composite1(CompositeRequestBean1 bean) {
@@ -973,6 +1015,53 @@ class AnnotatedServiceRequestConverterTest {
         assertThat(response.status()).isEqualTo(HttpStatus.BAD_REQUEST);
     }
 
+    @Test
+    void testDefaultRequestConverter_jsonStream() {
+        final BlockingWebClient client = BlockingWebClient.of(server.httpUri());
+
+        // The request is not converted into a StreamMessage unless the streaming conversion is enabled.
+        final String array = "[{\"intVal\":1,\"strVal\":\"a\"},{\"intVal\":2,\"strVal\":\"b\"}]";
+        final AggregatedHttpResponse response =
+                client.execute(AggregatedHttpRequest.of(HttpMethod.POST, "/2/default/jsonStream",
+                                                        MediaType.JSON_UTF_8, array));
+        assertThat(response.status()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void testStreamingRequestConverter_jsonStream() {
+        final BlockingWebClient client = BlockingWebClient.of(server.httpUri());
+
+        AggregatedHttpResponse response;
+
+        // The unknown property is ignored by the configured ObjectMapper.
+        final String array = "[{\"intVal\":1,\"strVal\":\"a\",\"unknown\":true}," +
+                             "{\"intVal\":2,\"strVal\":\"b\"}]";
+        response = client.execute(AggregatedHttpRequest.of(HttpMethod.POST, "/4/jsonStream",
+                                                           MediaType.JSON_UTF_8, array));
+        assertThat(response.status()).isEqualTo(HttpStatus.OK);
+        assertThat(response.contentUtf8()).isEqualTo("a,b");
+
+        final String jsonLines = "{\"intVal\":1,\"strVal\":\"a\"}\n{\"intVal\":2,\"strVal\":\"b\"}\n";
+        response = client.execute(AggregatedHttpRequest.of(HttpMethod.POST, "/4/jsonStream",
+                                                           MediaType.JSON_LINES, jsonLines));
+        assertThat(response.status()).isEqualTo(HttpStatus.OK);
+        assertThat(response.contentUtf8()).isEqualTo("a,b");
+
+        response = client.execute(AggregatedHttpRequest.of(HttpMethod.POST, "/4/jsonStream",
+                                                           MediaType.PLAIN_TEXT_UTF_8, array));
+        assertThat(response.status()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void testStreamingRequestConverter_userConverterFirst() {
+        final BlockingWebClient client = BlockingWebClient.of(server.httpUri());
+        final AggregatedHttpResponse response =
+                client.execute(AggregatedHttpRequest.of(HttpMethod.POST, "/4/userConverterFirst",
+                                                        MediaType.JSON_UTF_8, "[\"a\"]"));
+        assertThat(response.status()).isEqualTo(HttpStatus.OK);
+        assertThat(response.contentUtf8()).isEqualTo("user,[\"a\"]");
+    }
+
     @Test
     void testDefaultRequestConverter_binary() throws Exception {
         final BlockingWebClient client = BlockingWebClient.of(server.httpUri());
@@ -29,7 +29,6 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
-import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
@@ -983,25 +982,12 @@ class AnnotatedServiceResponseConverterTest {
     }
 
     private static void testJsonTextSequences(String path) {
-        final BiConsumer<HttpObject, String> ensureExpectedHttpData = (o, expectedString) -> {
-            assertThat(o).isInstanceOf(HttpData.class);
-            final HttpData data = (HttpData) o;
-            try {
-                assertThat(mapper.readValue(data.array(), 1, data.length() - 2, String.class))
-                        .isEqualTo(expectedString);
-            } catch (IOException e) {
-                // Always false.
-                assertThat(e).isNull();
-            }
-        };
-
         StepVerifier.create(WebClient.of(server.httpUri() + "/json-seq").get(path))
                     .expectNext(ResponseHeaders.of(HttpStatus.OK,
                                                    HttpHeaderNames.CONTENT_TYPE, MediaType.JSON_SEQ))
-                    .assertNext(o -> ensureExpectedHttpData.accept(o, "foo"))
-                    .assertNext(o -> ensureExpectedHttpData.accept(o, "bar"))
-                    .assertNext(o -> ensureExpectedHttpData.accept(o, "baz"))
-                    .assertNext(o -> ensureExpectedHttpData.accept(o, "qux"))
+                    // The JSON texts emitted in the same task are written as a single chunk.
+                    .assertNext(o -> assertThat(((HttpData) o).toStringUtf8())
+                            .isEqualTo("\u001E\"foo\"\n\u001E\"bar\"\n\u001E\"baz\"\n\u001E\"qux\"\n"))
                     .assertNext(AnnotatedServiceResponseConverterTest::assertThatLastContent)
                     .expectComplete()
                     .verify();
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.linecorp.armeria.client.BlockingWebClient;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.Flags;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.internal.common.util.ChannelUtil;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+
+import io.netty.channel.Channel;
+
+class ReusePortAcceptorsTest {
+
+    private static final int NUM_CONNECTIONS = 32;
+
+    private static final Queue<Channel> acceptedChannels = new ConcurrentLinkedQueue<>();
+
+    @RegisterExtension
+    static final ServerExtension server = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) {
+            sb.workerGroup(4);
+            sb.reusePortAcceptors(true);
+            sb.childChannelPipelineCustomizer(pipeline -> acceptedChannels.add(pipeline.channel()));
+            sb.service("/", (ctx, req) -> HttpResponse.of(HttpStatus.OK));
+        }
+    };
+
+    @BeforeEach
+    void clearAcceptedChannels() {
+        acceptedChannels.clear();
+    }
+
+    @Test
+    void servesRequests() {
+        sendRequestsOnNewConnections();
+        assertThat(acceptedChannels).hasSize(NUM_CONNECTIONS);
+    }
+
+    @Test
+    void acceptsConnectionsOnWorkerEventLoops() {
+        assumeThat(ChannelUtil.reusePortOption(Flags.transportType())).isNotNull();
+
+        sendRequestsOnNewConnections();
+        assertThat(acceptedChannels).hasSize(NUM_CONNECTIONS).allSatisfy(ch -> {
+            // A connection is served by the event loop of the listening socket which accepted it.
+            assertThat(ch.eventLoop()).isSameAs(ch.parent().eventLoop());
+            assertThat(ch.eventLoop().parent()).isSameAs(server.server().config().workerGroup());
+        });
+    }
+
+    @Test
+    void keepsJvmAliveWithoutBossThreads() {
+        assumeThat(ChannelUtil.reusePortOption(Flags.transportType())).isNotNull();
+
+        final long numKeepAliveThreads = numKeepAliveThreads();
+        final Server server = Server.builder()
+                                    .http(0)
+                                    .reusePortAcceptors(true)
+                                    .service("/", (ctx, req) -> HttpResponse.of(HttpStatus.OK))
+                                    .build();
+        server.start().join();
+        try {
+            // No boss thread is started for a port bound with SO_REUSEPORT.
+            assertThat(Thread.getAllStackTraces().keySet())
+                    .noneMatch(thread -> thread.getName().startsWith("armeria-boss-http-*:" +
+                                                                     server.activeLocalPort()));
+            assertThat(numKeepAliveThreads()).isEqualTo(numKeepAliveThreads + 1);
+        } finally {
+            server.stop().join();
+        }
+        await().untilAsserted(() -> assertThat(numKeepAliveThreads()).isEqualTo(numKeepAliveThreads));
+    }
+
+    private static long numKeepAliveThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                     .filter(thread -> !thread.isDaemon() &&
+                                       thread.getName().startsWith("armeria-server-keep-alive"))
+                     .count();
+    }
+
+    private static void sendRequestsOnNewConnections() {
+        final BlockingWebClient client = WebClient.of(server.uri(SessionProtocol.H1C)).blocking();
+        for (int i = 0; i < NUM_CONNECTIONS; i++) {
+            final AggregatedHttpResponse res = client.execute(
+                    RequestHeaders.of(HttpMethod.GET, "/", HttpHeaderNames.CONNECTION, "close"));
+            assertThat(res.status()).isSameAs(HttpStatus.OK);
+        }
+    }
+}
@@ -16,12 +16,21 @@
 package com.linecorp.armeria.server.annotation;
 
 import static net.javacrumbs.jsonunit.fluent.JsonFluentAssert.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 
+import com.google.common.primitives.Bytes;
+
 import com.linecorp.armeria.common.HttpData;
 import com.linecorp.armeria.common.HttpHeaderNames;
 import com.linecorp.armeria.common.HttpHeaders;
@@ -44,6 +53,8 @@ import reactor.test.StepVerifier.Step;
 class JacksonResponseConverterFunctionTest {
 
     private static final ResponseConverterFunction function = new JacksonResponseConverterFunction();
+    private static final JacksonResponseConverterFunction streamingFunction =
+            JacksonResponseConverterFunction.ofStreaming();
     private static final ServiceRequestContext ctx = ServiceRequestContext.builder(
             HttpRequest.of(HttpMethod.GET, "/")).build();
 
@@ -57,6 +68,9 @@ class JacksonResponseConverterFunctionTest {
     private static final ResponseHeaders JSON_SEQ_HEADERS =
             ResponseHeaders.of(HttpStatus.OK,
                                HttpHeaderNames.CONTENT_TYPE, MediaType.JSON_SEQ);
+    private static final ResponseHeaders JSON_LINES_HEADERS =
+            ResponseHeaders.of(HttpStatus.OK,
+                               HttpHeaderNames.CONTENT_TYPE, MediaType.JSON_LINES);
     private static final HttpHeaders DEFAULT_TRAILERS = HttpHeaders.of();
 
     /**
@@ -126,6 +140,71 @@ class JacksonResponseConverterFunctionTest {
                     .verify();
     }
 
+    @Test
+    void streamingJsonArray() throws Exception {
+        assertJsonArrayChunks(streamingFunction.convertResponse(ctx, JSON_HEADERS, Flux.range(0, 10000),
+                                                                DEFAULT_TRAILERS).collect().join());
+        assertJsonArrayChunks(streamingFunction.convertResponse(ctx, JSON_HEADERS,
+                                                                IntStream.range(0, 10000).boxed(),
+                                                                DEFAULT_TRAILERS).collect().join());
+
+        // An empty array.
+        StepVerifier.create(streamingFunction.convertResponse(ctx, JSON_HEADERS, Flux.empty(),
+                                                              DEFAULT_TRAILERS))
+                    .expectNext(JSON_HEADERS)
+                    .expectNext(HttpData.ofUtf8("[]"))
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Test
+    void streamingJsonArray_publisherError() throws Exception {
+        // Nothing is sent because the error occurred before the first chunk is written.
+        final Flux<String> publisher = Flux.concat(Flux.fromArray(TEST_STRINGS),
+                                                   Flux.error(new AnticipatedException()));
+        StepVerifier.create(streamingFunction.convertResponse(ctx, JSON_HEADERS, publisher,
+                                                              DEFAULT_TRAILERS))
+                    .expectError(AnticipatedException.class)
+                    .verify();
+    }
+
+    @Test
+    void streamingJsonArray_isResponseStreaming() {
+        assertThat(streamingFunction.isResponseStreaming(Flux.class, MediaType.JSON_UTF_8)).isTrue();
+        assertThat(streamingFunction.isResponseStreaming(Stream.class, MediaType.JSON_UTF_8)).isTrue();
+        assertThat(streamingFunction.isResponseStreaming(Mono.class, MediaType.JSON_UTF_8)).isFalse();
+        assertThat(function.isResponseStreaming(Flux.class, MediaType.JSON_UTF_8)).isFalse();
+    }
+
+    @Test
+    void aggregatedJson_largeStreamError() throws Exception {
+        // A JSON array is not streamed by default, so a failure after many elements is still an error
+        // response rather than a truncated one.
+        final Flux<Integer> publisher = Flux.concat(Flux.range(0, 10000),
+                                                    Flux.error(new AnticipatedException()));
+        StepVerifier.create(function.convertResponse(ctx, JSON_HEADERS, publisher, DEFAULT_TRAILERS))
+                    .expectError(AnticipatedException.class)
+                    .verify();
+        final HttpResponse response = function.convertResponse(ctx, JSON_HEADERS, Flux.range(0, 10000),
+                                                               DEFAULT_TRAILERS);
+        // The headers and the aggregated content.
+        assertThat(response.collect().join()).hasSize(2);
+    }
+
+    private static void assertJsonArrayChunks(List<HttpObject> objects) {
+        assertThat(objects.get(0)).isEqualTo(JSON_HEADERS);
+        final List<HttpData> chunks = objects.subList(1, objects.size()).stream()
+                                             .map(HttpData.class::cast)
+                                             .collect(Collectors.toList());
+        // The elements are written in a few chunks rather than a single aggregated content.
+        assertThat(chunks.size()).isGreaterThan(1).isLessThan(10);
+        final String expected = IntStream.range(0, 10000)
+                                         .mapToObj(String::valueOf)
+                                         .collect(Collectors.joining(",", "[", "]"));
+        assertThat(chunks.stream().map(HttpData::toStringUtf8).collect(Collectors.joining()))
+                .isEqualTo(expected);
+    }
+
     private static Step<HttpObject> expectAggregatedJson(Object publisherOrStream) throws Exception {
         return expectAggregatedJson(publisherOrStream, JSON_HEADERS, DEFAULT_TRAILERS);
     }
@@ -220,6 +299,64 @@ class JacksonResponseConverterFunctionTest {
                     .verify();
     }
 
+    @Test
+    void jsonLines_isResponseStreaming() {
+        assertThat(function.isResponseStreaming(Flux.class, MediaType.JSON_LINES)).isTrue();
+        assertThat(function.isResponseStreaming(Stream.class, MediaType.JSON_LINES)).isTrue();
+        assertThat(function.isResponseStreaming(String.class, MediaType.JSON_LINES)).isNull();
+    }
+
+    @Test
+    void jsonLines_publisher() throws Exception {
+        final List<HttpObject> objects =
+                function.convertResponse(ctx, JSON_LINES_HEADERS, Flux.range(0, 10000), DEFAULT_TRAILERS)
+                        .collect().join();
+        assertJsonLinesChunks(objects);
+    }
+
+    @Test
+    void jsonLines_stream() throws Exception {
+        final List<HttpObject> objects =
+                function.convertResponse(ctx, JSON_LINES_HEADERS, IntStream.range(0, 10000).boxed(),
+                                         DEFAULT_TRAILERS)
+                        .collect().join();
+        assertJsonLinesChunks(objects);
+    }
+
+    @Test
+    void jsonLines_streamStopsWhenAborted() throws Exception {
+        final AtomicLong iterated = new AtomicLong();
+        final AtomicBoolean closed = new AtomicBoolean();
+        // An infinite stream which would never end if the iteration didn't stop.
+        final Stream<Long> stream = Stream.iterate(0L, i -> i + 1)
+                                          .peek(unused -> iterated.incrementAndGet())
+                                          .onClose(() -> closed.set(true));
+        final HttpResponse response =
+                function.convertResponse(ctx, JSON_LINES_HEADERS, stream, DEFAULT_TRAILERS);
+        await().until(() -> iterated.get() > 10000);
+        response.abort();
+
+        // The iteration stops and the stream is closed.
+        await().untilTrue(closed);
+    }
+
+    private static void assertJsonLinesChunks(List<HttpObject> objects) {
+        assertThat(objects.get(0)).isEqualTo(JSON_LINES_HEADERS);
+        final List<HttpData> chunks = objects.subList(1, objects.size()).stream()
+                                             .map(HttpData.class::cast)
+                                             .collect(Collectors.toList());
+        // The lines are written in a few large chunks rather than one chunk per line.
+        assertThat(chunks.size()).isGreaterThan(1).isLessThan(10);
+        for (int i = 0; i < chunks.size() - 1; i++) {
+            assertThat(chunks.get(i).length()).isGreaterThanOrEqualTo(8192);
+        }
+        final String expected = IntStream.range(0, 10000)
+                                         .mapToObj(i -> i + "\n")
+                                         .collect(Collectors.joining());
+        assertThat(chunks.stream().map(HttpData::toStringUtf8).collect(Collectors.joining()))
+                .isEqualTo(expected);
+    }
+
     private static Step<HttpObject> expectJsonSeqContents(Object publisherOrStream) throws Exception {
         return expectJsonSeqContents(publisherOrStream, JSON_SEQ_HEADERS, DEFAULT_TRAILERS);
     }
@@ -229,11 +366,12 @@ class JacksonResponseConverterFunctionTest {
                                                           HttpHeaders trailers) throws Exception {
         final HttpResponse response =
                 function.convertResponse(ctx, headers, publisherOrStream, trailers);
+        // The JSON texts emitted in the same task are written as a single chunk.
         return StepVerifier.create(response)
                            .expectNext(headers)
-                           .expectNext(EXPECTED_CONTENTS[0])
-                           .expectNext(EXPECTED_CONTENTS[1])
-                           .expectNext(EXPECTED_CONTENTS[2])
-                           .expectNext(EXPECTED_CONTENTS[3]);
+                           .expectNext(HttpData.wrap(Bytes.concat(EXPECTED_CONTENTS[0].array(),
+                                                                  EXPECTED_CONTENTS[1].array(),
+                                                                  EXPECTED_CONTENTS[2].array(),
+                                                                  EXPECTED_CONTENTS[3].array())));
     }
 }
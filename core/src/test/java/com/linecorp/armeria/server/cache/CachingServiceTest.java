@@ -0,0 +1,194 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.linecorp.armeria.client.BlockingWebClient;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.common.metric.MoreMeters;
+import com.linecorp.armeria.server.HttpService;
+import com.linecorp.armeria.server.ServerBuilder;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CachingServiceTest {
+
+    private static final ConcurrentMap<String, AtomicInteger> counters = new ConcurrentHashMap<>();
+    private static final AtomicLong ticker = new AtomicLong();
+    private static final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @RegisterExtension
+    static final ServerExtension server = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) {
+            final Function<? super HttpService, CachingService> decorator =
+                    CachingService.builder()
+                                  .meterRegistry(meterRegistry)
+                                  .ticker(ticker::get)
+                                  .newDecorator();
+            final Function<? super HttpService, CachingService> defaultTtlDecorator =
+                    CachingService.builder()
+                                  .defaultTtl(Duration.ofSeconds(10))
+                                  .keyQueryParams("id")
+                                  .keyHeaders(HttpHeaderNames.ACCEPT_LANGUAGE)
+                                  .ticker(ticker::get)
+                                  .newDecorator();
+
+            sb.service("/max-age", counting(HttpHeaderNames.CACHE_CONTROL, "max-age=60").decorate(decorator));
+            sb.service("/no-store", counting(HttpHeaderNames.CACHE_CONTROL, "no-store").decorate(decorator));
+            sb.service("/authorized",
+                       counting(HttpHeaderNames.CACHE_CONTROL, "max-age=60").decorate(decorator));
+            sb.service("/set-cookie",
+                       counting(HttpHeaderNames.SET_COOKIE, "a=b").decorate(defaultTtlDecorator));
+            sb.service("/no-ttl", counting(HttpHeaderNames.CONTENT_LANGUAGE, "en").decorate(decorator));
+            sb.service("/default-ttl",
+                       counting(HttpHeaderNames.CONTENT_LANGUAGE, "en").decorate(defaultTtlDecorator));
+            sb.service("/slow", ((HttpService) (ctx, req) -> {
+                final int count = increment(ctx.path());
+                return HttpResponse.delayed(
+                        HttpResponse.of(ResponseHeaders.builder(HttpStatus.OK)
+                                                       .contentType(MediaType.PLAIN_TEXT_UTF_8)
+                                                       .set(HttpHeaderNames.CACHE_CONTROL, "max-age=60")
+                                                       .build(),
+                                        HttpData.ofUtf8("slow-" + count)),
+                        Duration.ofMillis(500));
+            }).decorate(decorator));
+        }
+    };
+
+    private static HttpService counting(CharSequence headerName, String headerValue) {
+        return (ctx, req) -> {
+            final int count = increment(ctx.path());
+            return HttpResponse.of(ResponseHeaders.builder(HttpStatus.OK)
+                                                  .contentType(MediaType.PLAIN_TEXT_UTF_8)
+                                                  .set(headerName, headerValue)
+                                                  .build(),
+                                   HttpData.ofUtf8(ctx.path().substring(1) + '-' + count));
+        };
+    }
+
+    private static int increment(String path) {
+        return counters.computeIfAbsent(path, unused -> new AtomicInteger()).incrementAndGet();
+    }
+
+    private static int count(String path) {
+        final AtomicInteger counter = counters.get(path);
+        return counter != null ? counter.get() : 0;
+    }
+
+    @Test
+    void servesFreshResponseWithoutInvokingDelegate() {
+        final BlockingWebClient client = server.blockingWebClient();
+        assertThat(client.get("/max-age").contentUtf8()).isEqualTo("max-age-1");
+
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        final AggregatedHttpResponse hit = client.get("/max-age");
+        assertThat(hit.contentUtf8()).isEqualTo("max-age-1");
+        assertThat(hit.headers().get(HttpHeaderNames.AGE)).isEqualTo("30");
+        assertThat(count("/max-age")).isOne();
+        assertThat(MoreMeters.measureAll(meterRegistry))
+                .containsEntry("armeria.server.cache.requests#count{result=hit}", 1.0);
+
+        // Expired.
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        assertThat(client.get("/max-age").contentUtf8()).isEqualTo("max-age-2");
+        assertThat(count("/max-age")).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotStoreUncacheableResponses() {
+        final BlockingWebClient client = server.blockingWebClient();
+        assertThat(client.get("/no-store").contentUtf8()).isEqualTo("no-store-1");
+        assertThat(client.get("/no-store").contentUtf8()).isEqualTo("no-store-2");
+        assertThat(client.get("/set-cookie").contentUtf8()).isEqualTo("set-cookie-1");
+        assertThat(client.get("/set-cookie").contentUtf8()).isEqualTo("set-cookie-2");
+
+        // Not stored without a freshness lifetime and a default TTL.
+        assertThat(client.get("/no-ttl").contentUtf8()).isEqualTo("no-ttl-1");
+        assertThat(client.get("/no-ttl").contentUtf8()).isEqualTo("no-ttl-2");
+
+        // Not stored for a request with credentials.
+        final WebClient webClient = server.webClient();
+        final RequestHeaders authorized = RequestHeaders.builder(HttpMethod.GET, "/authorized")
+                                                        .set(HttpHeaderNames.AUTHORIZATION, "Bearer foo")
+                                                        .build();
+        assertThat(webClient.execute(authorized).aggregate().join().contentUtf8()).isEqualTo("authorized-1");
+        assertThat(webClient.execute(authorized).aggregate().join().contentUtf8()).isEqualTo("authorized-2");
+    }
+
+    @Test
+    void defaultTtlAndKeyedByQueryParamsAndHeaders() {
+        final BlockingWebClient client = server.blockingWebClient();
+        assertThat(client.get("/default-ttl?id=1&ignored=a").contentUtf8()).isEqualTo("default-ttl-1");
+        // The query parameters which are not a part of the key are ignored.
+        assertThat(client.get("/default-ttl?ignored=b&id=1").contentUtf8()).isEqualTo("default-ttl-1");
+        assertThat(client.get("/default-ttl?id=2").contentUtf8()).isEqualTo("default-ttl-2");
+
+        final AggregatedHttpResponse korean = server.webClient().execute(
+                RequestHeaders.builder(HttpMethod.GET, "/default-ttl?id=1")
+                              .set(HttpHeaderNames.ACCEPT_LANGUAGE, "ko")
+                              .build()).aggregate().join();
+        assertThat(korean.contentUtf8()).isEqualTo("default-ttl-3");
+
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        assertThat(client.get("/default-ttl?id=1").contentUtf8()).isEqualTo("default-ttl-4");
+    }
+
+    @Test
+    void collapsesConcurrentMisses() {
+        final WebClient client = server.webClient();
+        final List<AggregatedHttpResponse> responses =
+                IntStream.range(0, 10)
+                         .mapToObj(unused -> client.get("/slow").aggregate())
+                         .collect(Collectors.toList())
+                         .stream()
+                         .map(CompletableFuture::join)
+                         .collect(Collectors.toList());
+        assertThat(responses).allSatisfy(res -> assertThat(res.contentUtf8()).isEqualTo("slow-1"));
+        // The coalesced responses have the Age header as a cache hit does.
+        assertThat(responses).filteredOn(res -> "0".equals(res.headers().get(HttpHeaderNames.AGE)))
+                             .hasSize(9);
+        assertThat(count("/slow")).isOne();
+        assertThat(MoreMeters.measureAll(meterRegistry))
+                .containsEntry("armeria.server.cache.requests#count{result=coalesced}", 9.0);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.server.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+class DefaultCacheKeyFunctionTest {
+
+    @Test
+    void encodeQueryParams() {
+        final DefaultCacheKeyFunction keyFunction =
+                new DefaultCacheKeyFunction(ImmutableList.of("a", "b"), ImmutableList.of());
+        final String encodedKey = keyFunction.apply(newContext("/foo?a=x%26b%3Dy"));
+        final String key = keyFunction.apply(newContext("/foo?a=x&b=y"));
+        assertThat(encodedKey).isEqualTo("GET /foo?a=x%26b%3Dy");
+        assertThat(key).isEqualTo("GET /foo?a=x&b=y");
+        assertThat(encodedKey).isNotEqualTo(key);
+    }
+
+    @Test
+    void wholeQuery() {
+        final DefaultCacheKeyFunction keyFunction = new DefaultCacheKeyFunction(null, ImmutableList.of());
+        assertThat(keyFunction.apply(newContext("/foo?b=2&a=1"))).isEqualTo("GET /foo?b=2&a=1");
+        assertThat(keyFunction.apply(newContext("/foo"))).isEqualTo("GET /foo");
+    }
+
+    private static ServiceRequestContext newContext(String path) {
+        return ServiceRequestContext.of(HttpRequest.of(HttpMethod.GET, path));
+    }
+}
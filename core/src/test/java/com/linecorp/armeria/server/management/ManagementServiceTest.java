@@ -17,16 +17,22 @@
 package com.linecorp.armeria.server.management;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import com.linecorp.armeria.client.BlockingWebClient;
+import com.linecorp.armeria.client.ClientFactory;
 import com.linecorp.armeria.client.WebClient;
 import com.linecorp.armeria.common.AggregatedHttpResponse;
 import com.linecorp.armeria.common.ContentDisposition;
@@ -34,25 +40,58 @@ import com.linecorp.armeria.common.HttpHeaderNames;
 import com.linecorp.armeria.common.HttpMethod;
 import com.linecorp.armeria.common.HttpRequest;
 import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
 import com.linecorp.armeria.common.MediaType;
 import com.linecorp.armeria.common.ResponseHeaders;
 import com.linecorp.armeria.common.SplitHttpResponse;
+import com.linecorp.armeria.common.metric.MeterIdPrefixFunction;
+import com.linecorp.armeria.internal.server.RequestProfiler;
 import com.linecorp.armeria.server.ServerBuilder;
 import com.linecorp.armeria.server.ServiceRequestContext;
+import com.linecorp.armeria.server.metric.MetricCollectingService;
 import com.linecorp.armeria.testing.junit5.server.ServerExtension;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 class ManagementServiceTest {
     private static final ObjectMapper mapper = new ObjectMapper();
 
+    private static final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private static final ClientFactory clientFactory =
+            ClientFactory.builder().connectionStatsEnabled(true).build();
+
     @RegisterExtension
     static ServerExtension server = new ServerExtension() {
         @Override
         protected void configure(ServerBuilder sb) {
             sb.requestTimeout(Duration.ofSeconds(45)); // Heap dump can take time.
+            sb.connectionStatsEnabled(true);
+            sb.meterRegistry(meterRegistry);
             sb.serviceUnder("/internal/management", ManagementService.of());
+            sb.serviceUnder("/internal/management-with-client", ManagementService.of(clientFactory));
+            sb.service("/slow", (ctx, req) -> {
+                Thread.sleep(300);
+                return HttpResponse.of(HttpStatus.OK);
+            });
+            sb.route()
+              .pathPrefix("/exemplar")
+              .decorator(MetricCollectingService.builder(MeterIdPrefixFunction.ofDefault("exemplar"))
+                                                .logLinearHistogram(true)
+                                                .newDecorator())
+              .build((ctx, req) -> {
+                  final long delayMillis = Long.parseLong(ctx.queryParam("delay"));
+                  return HttpResponse.delayed(HttpResponse.of(HttpStatus.OK), Duration.ofMillis(delayMillis));
+              });
         }
     };
 
+    @AfterAll
+    static void closeClientFactory() {
+        clientFactory.close();
+    }
+
     @Test
     void threadDump() throws Exception {
         final HttpRequest request = HttpRequest.of(HttpMethod.GET, "/");
@@ -103,4 +142,146 @@ class ManagementServiceTest {
         // Make sure that the returned file has a valid hprof format
         assertThat(Arrays.copyOf(actual, fileHeader.length)).isEqualTo(fileHeader);
     }
+
+    @Test
+    void eventLoopStalls() {
+        final AggregatedHttpResponse response =
+                server.blockingWebClient().get("/internal/management/eventloop/stalls");
+        assertThat(response.status()).isEqualTo(HttpStatus.OK);
+        assertThat(response.contentType()).isEqualTo(MediaType.PLAIN_TEXT);
+    }
+
+    @Test
+    void connections() throws Exception {
+        final AggregatedHttpResponse response =
+                server.blockingWebClient().prepare()
+                      .get("/internal/management/connections")
+                      .header(HttpHeaderNames.ACCEPT, MediaType.JSON)
+                      .execute();
+        assertThat(response.status()).isEqualTo(HttpStatus.OK);
+        final JsonNode registries = mapper.readTree(response.contentUtf8());
+        // The default client factory does not collect the statistics, so only this server is listed.
+        assertThat(registries.size()).isOne();
+        final JsonNode registry = registries.get(0);
+        assertThat(registry.get("type").asText()).isEqualTo("server");
+        assertThat(registry.get("meterName").asText()).isEqualTo("armeria.server.connection");
+        // The connection of this request is open.
+        assertThat(registry.get("connections").size()).isPositive();
+    }
+
+    @Test
+    void clientConnections() throws Exception {
+        final WebClient client = WebClient.builder(server.httpUri()).factory(clientFactory).build();
+        final AggregatedHttpResponse response =
+                client.prepare()
+                      .get("/internal/management-with-client/connections")
+                      .header(HttpHeaderNames.ACCEPT, MediaType.JSON)
+                      .execute().aggregate().join();
+        assertThat(response.status()).isEqualTo(HttpStatus.OK);
+        final JsonNode registries = mapper.readTree(response.contentUtf8());
+        assertThat(registries.size()).isEqualTo(2);
+        assertThat(registries.get(0).get("type").asText()).isEqualTo("server");
+        final JsonNode registry = registries.get(1);
+        assertThat(registry.get("type").asText()).isEqualTo("client");
+        assertThat(registry.get("meterName").asText()).isEqualTo("armeria.client.connection");
+        // The connection of this request is open.
+        assertThat(registry.get("connections").size()).isOne();
+    }
+
+    @Test
+    void exemplars() {
+        final AggregatedHttpResponse response =
+                server.blockingWebClient().prepare()
+                      .get("/internal/management/metrics/exemplars")
+                      .header(HttpHeaderNames.ACCEPT, MediaType.JSON)
+                      .execute();
+        assertThat(response.status()).isEqualTo(HttpStatus.OK);
+        assertThat(response.contentType()).isEqualTo(MediaType.JSON);
+    }
+
+    @Test
+    void exemplarsOfLogLinearHistogram() {
+        final BlockingWebClient client = server.blockingWebClient();
+        // 280 ms, 420 ms and 320 ms are in (0.25, 0.5] seconds, and 700 ms is in (0.5, 1] seconds.
+        assertThat(client.get("/exemplar/a?delay=280&token=secret").status()).isEqualTo(HttpStatus.OK);
+        assertThat(client.get("/exemplar/b?delay=420&token=secret").status()).isEqualTo(HttpStatus.OK);
+        assertThat(client.get("/exemplar/c?delay=320&token=secret").status()).isEqualTo(HttpStatus.OK);
+        assertThat(client.get("/exemplar/d?delay=700&token=secret").status()).isEqualTo(HttpStatus.OK);
+
+        await().untilAsserted(() -> {
+            final AggregatedHttpResponse response =
+                    client.prepare()
+                          .get("/internal/management/metrics/exemplars")
+                          .header(HttpHeaderNames.ACCEPT, MediaType.JSON)
+                          .execute();
+            JsonNode timer = null;
+            for (JsonNode node : mapper.readTree(response.contentUtf8())) {
+                if ("exemplar.total.duration".equals(node.get("name").asText())) {
+                    timer = node;
+                }
+            }
+            assertThat(timer).isNotNull();
+            final JsonNode exemplars = timer.get("exemplars");
+            // The slowest request of each bucket is kept, from the slowest to the fastest, and the faster
+            // request which was kept first is replaced.
+            assertThat(exemplars).hasSize(2);
+            assertThat(exemplars.get(0).get("path").asText()).isEqualTo("/exemplar/d");
+            assertThat(exemplars.get(0).get("durationMicros").asLong()).isGreaterThanOrEqualTo(700_000);
+            assertThat(exemplars.get(1).get("path").asText()).isEqualTo("/exemplar/b");
+            assertThat(exemplars.get(1).get("durationMicros").asLong()).isBetween(420_000L, 500_000L);
+            assertThat(exemplars.get(1).get("method").asText()).isEqualTo("GET");
+            assertThat(exemplars.get(1).get("statusCode").asInt()).isEqualTo(200);
+        });
+    }
+
+    @Test
+    void profile() throws Exception {
+        final WebClient client = server.webClient();
+        final CompletableFuture<AggregatedHttpResponse> profileFuture =
+                client.get("/internal/management/profile?durationMillis=2000&slowThresholdMillis=100")
+                      .aggregate();
+        await().until(() -> RequestProfiler.current() != null);
+
+        // Only one profiling can be in progress at a time.
+        assertThat(client.blocking().get("/internal/management/profile").status())
+                .isEqualTo(HttpStatus.CONFLICT);
+        assertThat(client.blocking().get("/slow").status()).isEqualTo(HttpStatus.OK);
+
+        final AggregatedHttpResponse response = profileFuture.join();
+        assertThat(response.status()).isEqualTo(HttpStatus.OK);
+        assertThat(response.contentType()).isEqualTo(MediaType.PLAIN_TEXT);
+        assertThat(response.contentUtf8().split("\n"))
+                .anySatisfy(line -> {
+                    assertThat(line).startsWith("/slow;");
+                    assertThat(line).contains(";java.lang.Thread.sleep");
+                    assertThat(line).matches(".* [0-9]+$");
+                });
+        assertThat(RequestProfiler.current()).isNull();
+    }
+
+    @Test
+    void profilePhasesWithJson() throws Exception {
+        final WebClient client = server.webClient();
+        final CompletableFuture<AggregatedHttpResponse> profileFuture =
+                client.prepare()
+                      .get("/internal/management/profile?durationMillis=1000")
+                      .header(HttpHeaderNames.ACCEPT, MediaType.JSON)
+                      .execute()
+                      .aggregate();
+        await().until(() -> RequestProfiler.current() != null);
+        assertThat(client.blocking().get("/slow").status()).isEqualTo(HttpStatus.OK);
+
+        final JsonNode profile = mapper.readTree(profileFuture.join().contentUtf8());
+        final JsonNode slow = profile.get("routes").get("/slow");
+        assertThat(slow.get("count").asLong()).isOne();
+        assertThat(slow.get("phases").get("service").get("maxMicros").asLong()).isGreaterThanOrEqualTo(300_000);
+        assertThat(slow.get("phases").fieldNames()).toIterable()
+                .containsExactly("decode", "queueing", "service", "serialization", "write");
+    }
+
+    @Test
+    void profileWithInvalidDuration() {
+        assertThat(server.blockingWebClient().get("/internal/management/profile?durationMillis=0").status())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
 }
@@ -24,16 +24,25 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.slf4j.Logger;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+
 import com.linecorp.armeria.client.WebClient;
 import com.linecorp.armeria.common.AggregatedHttpResponse;
 import com.linecorp.armeria.common.HttpHeaderNames;
@@ -50,6 +59,8 @@ import com.linecorp.armeria.server.logging.LoggingService;
 import com.linecorp.armeria.testing.junit5.server.ServerExtension;
 
 import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.prometheus.client.Collector;
+import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.exporter.common.TextFormat;
 
 class PrometheusExpositionServiceTest {
@@ -60,6 +71,14 @@ class PrometheusExpositionServiceTest {
 
     private static final Logger logger = mock(Logger.class);
 
+    private static final Queue<Integer> chunkLengths = new ConcurrentLinkedQueue<>();
+
+    private static final CollectorRegistry failingRegistry = new CollectorRegistry();
+
+    static {
+        new FailingCollector().register(failingRegistry);
+    }
+
     @RegisterExtension
     static final ServerExtension server = new ServerExtension() {
         @Override
@@ -71,6 +90,27 @@ class PrometheusExpositionServiceTest {
               .service("/enabled",
                        PrometheusExpositionService.builder(registry.getPrometheusRegistry())
                                                   .transientServiceOptions(TransientServiceOption.allOf())
+                                                  .build())
+              .service("/chunked",
+                       PrometheusExpositionService.builder(registry.getPrometheusRegistry())
+                                                  .chunkSize(64)
+                                                  .build()
+                                                  .decorate((delegate, ctx, req) -> {
+                                                      return delegate.serve(ctx, req).peekData(
+                                                              data -> chunkLengths.add(data.length()));
+                                                  }))
+              .service("/gzip",
+                       PrometheusExpositionService.builder(registry.getPrometheusRegistry())
+                                                  .gzip(true)
+                                                  .build())
+              .service("/snapshot",
+                       PrometheusExpositionService.builder(registry.getPrometheusRegistry())
+                                                  .snapshotInterval(Duration.ofHours(1))
+                                                  .build())
+              .service("/failing", PrometheusExpositionService.of(failingRegistry))
+              .service("/failingSnapshot",
+                       PrometheusExpositionService.builder(failingRegistry)
+                                                  .snapshotInterval(Duration.ofHours(1))
                                                   .build());
             sb.accessLogWriter(logs::add, false);
             sb.decorator(LoggingService.builder()
@@ -151,4 +191,79 @@ class PrometheusExpositionServiceTest {
                     .isEqualTo(TextFormat.CONTENT_TYPE_OPENMETRICS_100);
         }
     }
+
+    @Test
+    void chunkSize() {
+        final WebClient client = WebClient.of(server.httpUri());
+        final String content = client.get("/chunked").aggregate().join().contentUtf8();
+        assertThat(content).contains("armeria_build_info{").endsWith("\n");
+
+        final List<Integer> lengths = ImmutableList.copyOf(chunkLengths);
+        assertThat(lengths.size()).isGreaterThan(1);
+        // All chunks but the last one are as large as the chunk size.
+        assertThat(lengths.subList(0, lengths.size() - 1)).containsOnly(64);
+        assertThat(lengths.get(lengths.size() - 1)).isBetween(1, 64);
+        assertThat(lengths.stream().mapToInt(Integer::intValue).sum())
+                .isEqualTo(content.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void gzip() throws Exception {
+        final WebClient client = WebClient.of(server.httpUri());
+        final AggregatedHttpResponse response =
+                client.execute(HttpRequest.builder()
+                                          .get("/gzip")
+                                          .header(HttpHeaderNames.ACCEPT_ENCODING, "deflate, gzip;q=0.5")
+                                          .build())
+                      .aggregate().join();
+        assertThat(response.headers().get(HttpHeaderNames.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.headers().get(HttpHeaderNames.VARY))
+                .isEqualTo(HttpHeaderNames.ACCEPT_ENCODING.toString());
+        final String content;
+        try (GZIPInputStream in = new GZIPInputStream(response.content().toInputStream())) {
+            content = new String(ByteStreams.toByteArray(in), StandardCharsets.UTF_8);
+        }
+        assertThat(content).contains("armeria_build_info{").endsWith("\n");
+
+        // Not compressed if not accepted.
+        final AggregatedHttpResponse uncompressed =
+                client.execute(HttpRequest.builder()
+                                          .get("/gzip")
+                                          .header(HttpHeaderNames.ACCEPT_ENCODING, "gzip;q=0")
+                                          .build())
+                      .aggregate().join();
+        assertThat(uncompressed.headers().contains(HttpHeaderNames.CONTENT_ENCODING)).isFalse();
+        assertThat(uncompressed.contentUtf8()).contains("armeria_build_info{").endsWith("\n");
+    }
+
+    @Test
+    void snapshot() {
+        final WebClient client = WebClient.of(server.httpUri());
+        final String first = client.get("/snapshot").aggregate().join().contentUtf8();
+        registry.counter("core.snapshot.test").increment();
+        final String second = client.get("/snapshot").aggregate().join().contentUtf8();
+        assertThat(first).doesNotContain("core_snapshot_test");
+        // The last scrape is reused within the snapshot interval.
+        assertThat(second).isEqualTo(first);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "/failing", "/failingSnapshot" })
+    void failedScrape(String path) {
+        final WebClient client = WebClient.of(server.httpUri());
+        // The headers are not sent until the registry is scraped.
+        assertThat(client.get(path).aggregate().join().status()).isSameAs(HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    private static final class FailingCollector extends Collector implements Collector.Describable {
+        @Override
+        public List<MetricFamilySamples> collect() {
+            throw new IllegalStateException("failed to collect");
+        }
+
+        @Override
+        public List<MetricFamilySamples> describe() {
+            return ImmutableList.of();
+        }
+    }
 }
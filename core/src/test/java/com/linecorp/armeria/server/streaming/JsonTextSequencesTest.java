@@ -17,7 +17,6 @@ package com.linecorp.armeria.server.streaming;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-import java.io.IOException;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
@@ -45,8 +44,6 @@ import reactor.test.StepVerifier;
 
 class JsonTextSequencesTest {
 
-    private static final ObjectMapper mapper = new ObjectMapper();
-
     @RegisterExtension
     static final ServerExtension server = new ServerExtension() {
         @Override
@@ -75,10 +72,10 @@ class JsonTextSequencesTest {
             StepVerifier.create(response)
                         .expectNext(ResponseHeaders.of(HttpStatus.OK,
                                                        HttpHeaderNames.CONTENT_TYPE, MediaType.JSON_SEQ))
-                        .assertNext(o -> ensureExpectedHttpData(o, "foo"))
-                        .assertNext(o -> ensureExpectedHttpData(o, "bar"))
-                        .assertNext(o -> ensureExpectedHttpData(o, "baz"))
-                        .assertNext(o -> ensureExpectedHttpData(o, "qux"))
+                        // The JSON texts emitted in the same task are written as a single chunk.
+                        .assertNext(o -> assertThat(((HttpData) o).toStringUtf8())
+                                .isEqualTo("\u001E\"foo\"\n\u001E\"bar\"\n" +
+                                           "\u001E\"baz\"\n\u001E\"qux\"\n"))
                         .assertNext(JsonTextSequencesTest::assertThatLastContent)
                         .expectComplete()
                         .verify();
@@ -102,16 +99,4 @@ class JsonTextSequencesTest {
         assertThat(lastContent.isEmpty()).isTrue();
         assertThat(lastContent.isEndOfStream()).isTrue();
     }
-
-    private static void ensureExpectedHttpData(HttpObject o, String expectedString) {
-        assertThat(o).isInstanceOf(HttpData.class);
-        final HttpData data = (HttpData) o;
-        try {
-            assertThat(mapper.readValue(data.array(), 1, data.length() - 2, String.class))
-                    .isEqualTo(expectedString);
-        } catch (IOException e) {
-            // Always false.
-            assertThat(e).isNull();
-        }
-    }
 }
@@ -33,11 +33,14 @@ import org.jctools.maps.NonBlockingHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.annotations.concurrent.GuardedBy;
 
 import com.linecorp.armeria.client.Endpoint;
 import com.linecorp.armeria.client.endpoint.DynamicEndpointGroup;
 import com.linecorp.armeria.client.endpoint.EndpointSelectionStrategy;
+import com.linecorp.armeria.client.endpoint.ZoneAwareAttributes;
 import com.linecorp.armeria.client.retry.Backoff;
 import com.linecorp.armeria.common.CommonPools;
 import com.linecorp.armeria.common.annotation.Nullable;
@@ -52,6 +55,12 @@ import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodList;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.ServicePort;
+import io.fabric8.kubernetes.api.model.discovery.v1.EndpointConditions;
+import io.fabric8.kubernetes.api.model.discovery.v1.EndpointHints;
+import io.fabric8.kubernetes.api.model.discovery.v1.EndpointPort;
+import io.fabric8.kubernetes.api.model.discovery.v1.EndpointSlice;
+import io.fabric8.kubernetes.api.model.discovery.v1.EndpointSliceList;
+import io.fabric8.kubernetes.api.model.discovery.v1.ForZone;
 import io.fabric8.kubernetes.client.Config;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientBuilder;
@@ -85,6 +94,13 @@ import io.fabric8.kubernetes.client.WatcherException;
  *   verbs: ["get", "list", "watch"]
  * }</pre>
  *
+ * <p>If {@link KubernetesEndpointGroupBuilder#useEndpointSlices(boolean)} is enabled,
+ * {@link KubernetesEndpointGroup} watches the
+ * <a href="https://kubernetes.io/docs/concepts/services-networking/endpoint-slices/">EndpointSlices</a> of
+ * the service instead and creates the endpoints with the pod IPs. In this mode, only the permission to
+ * {@code get}, {@code list} and {@code watch} {@code endpointslices} in the {@code discovery.k8s.io} API group
+ * is required.
+ *
  * <p>Example:
  * <pre>{@code
  * // Create a KubernetesEndpointGroup that fetches the endpoints of the 'my-service' service in the 'default'
@@ -117,6 +133,8 @@ public final class KubernetesEndpointGroup extends DynamicEndpointGroup {
 
     private static final KubernetesClient DEFAULT_CLIENT = new KubernetesClientBuilder().build();
 
+    private static final String SERVICE_NAME_LABEL = "kubernetes.io/service-name";
+
     private static final AtomicIntegerFieldUpdater<KubernetesEndpointGroup> wipUpdater =
             AtomicIntegerFieldUpdater.newUpdater(KubernetesEndpointGroup.class, "wip");
 
@@ -217,6 +235,13 @@ public final class KubernetesEndpointGroup extends DynamicEndpointGroup {
     private final String portName;
     private final Predicate<? super NodeAddress> nodeAddressFilter;
     private final long maxWatchAgeMillis;
+    private final boolean useEndpointSlices;
+    @Nullable
+    private final String localZone;
+    @Nullable
+    private final KubernetesWatchCache watchCache;
+    @Nullable
+    private final KubernetesWatchCache.Listener watchCacheListener;
 
     @Nullable
     private volatile Watch nodeWatch;
@@ -224,9 +249,12 @@ public final class KubernetesEndpointGroup extends DynamicEndpointGroup {
     private volatile Watch serviceWatch;
     @Nullable
     private volatile Watch podWatch;
+    @Nullable
+    private volatile Watch endpointSliceWatch;
 
     private final Map<String, String> podToNode = new NonBlockingHashMap<>();
     private final Map<String, String> nodeToIp = new NonBlockingHashMap<>();
+    private final Map<String, SliceEndpoints> sliceToEndpoints = new NonBlockingHashMap<>();
     @Nullable
     private volatile Service service;
     @Nullable
@@ -248,11 +276,13 @@ public final class KubernetesEndpointGroup extends DynamicEndpointGroup {
     private volatile int numServiceFailures;
     private volatile int numNodeFailures;
     private volatile int numPodFailures;
+    private volatile int numEndpointSliceFailures;
 
     KubernetesEndpointGroup(KubernetesClient client, @Nullable String namespace, String serviceName,
                             @Nullable String portName, Predicate<? super NodeAddress> nodeAddressFilter,
                             boolean autoClose, EndpointSelectionStrategy selectionStrategy,
-                            boolean allowEmptyEndpoints, long selectionTimeoutMillis, long maxWatchAgeMillis) {
+                            boolean allowEmptyEndpoints, long selectionTimeoutMillis, long maxWatchAgeMillis,
+                            boolean shareWatches, boolean useEndpointSlices, @Nullable String localZone) {
         super(selectionStrategy, allowEmptyEndpoints, selectionTimeoutMillis);
         this.client = client;
         this.namespace = namespace;
@@ -261,7 +291,17 @@ public final class KubernetesEndpointGroup extends DynamicEndpointGroup {
         this.nodeAddressFilter = nodeAddressFilter;
         this.autoClose = autoClose;
         this.maxWatchAgeMillis = maxWatchAgeMillis == Long.MAX_VALUE ? 0 : maxWatchAgeMillis;
-        executeJob(() -> start(true));
+        this.useEndpointSlices = useEndpointSlices;
+        this.localZone = localZone;
+        if (shareWatches) {
+            watchCache = KubernetesWatchCache.acquire(client, namespace, this.maxWatchAgeMillis);
+            watchCacheListener = new WatchCacheListener();
+            watchCache.subscribe(serviceName, watchCacheListener);
+        } else {
+            watchCache = null;
+            watchCacheListener = null;
+            executeJob(() -> start(true));
+        }
     }
 
     private void start(boolean initial) {
@@ -294,52 +334,17 @@ public final class KubernetesEndpointGroup extends DynamicEndpointGroup {
             updateId++;
             nodeToIp.clear();
             podToNode.clear();
+            sliceToEndpoints.clear();
         } finally {
             updateLock.unlock();
         }
 
-        final Service service;
-        final NodeList nodes;
-        final PodList pods;
         try {
-            logger.info("[{}/{}] Fetching the service...", namespace, serviceName);
-            if (namespace == null) {
-                service = client.services().withName(serviceName).get();
+            if (useEndpointSlices) {
+                fetchAndWatchEndpointSlices();
             } else {
-                service = client.services().inNamespace(namespace).withName(serviceName).get();
-            }
-            if (service == null) {
-                logger.warn("[{}/{}] Service not found.", namespace, serviceName);
-                throw new IllegalStateException(
-                        String.format("[%s/%s] Service not found.", namespace, serviceName));
+                fetchAndWatchNodePorts();
             }
-            if (!updateService(service)) {
-                throw new IllegalStateException(
-                        String.format("[%s/%s] NodePort not found.", namespace, serviceName));
-            }
-
-            logger.info("[{}/{}] Fetching the nodes ...", namespace, serviceName);
-            nodes = client.nodes().list();
-            for (Node node : nodes.getItems()) {
-                updateNode(Action.ADDED, node);
-            }
-
-            final Map<String, String> selector = service.getSpec().getSelector();
-            logger.info("[{}/{}] Fetching the pods with the selector: {}", namespace, serviceName, selector);
-            if (namespace == null) {
-                pods = client.pods().withLabels(selector).list();
-            } else {
-                pods = client.pods().inNamespace(namespace).withLabels(selector).list();
-            }
-            for (Pod pod : pods.getItems()) {
-                updatePod(Action.ADDED, pod);
-            }
-            // Initialize the endpoints.
-            maybeUpdateEndpoints();
-
-            watchService(service.getMetadata().getResourceVersion());
-            watchNode(updateId, nodes.getMetadata().getResourceVersion());
-            watchPod(updateId, pods.getMetadata().getResourceVersion());
         } catch (Exception e) {
             logger.warn("[{}/{}] Failed to start {}. (initial: {})", namespace, serviceName, this, initial, e);
             if (initial) {
@@ -363,6 +368,227 @@ public final class KubernetesEndpointGroup extends DynamicEndpointGroup {
         return true;
     }
 
+    private void fetchAndWatchNodePorts() {
+        final Service service;
+        logger.info("[{}/{}] Fetching the service...", namespace, serviceName);
+        if (namespace == null) {
+            service = client.services().withName(serviceName).get();
+        } else {
+            service = client.services().inNamespace(namespace).withName(serviceName).get();
+        }
+        if (service == null) {
+            logger.warn("[{}/{}] Service not found.", namespace, serviceName);
+            throw new IllegalStateException(
+                    String.format("[%s/%s] Service not found.", namespace, serviceName));
+        }
+        if (!updateService(service)) {
+            throw new IllegalStateException(
+                    String.format("[%s/%s] NodePort not found.", namespace, serviceName));
+        }
+
+        logger.info("[{}/{}] Fetching the nodes ...", namespace, serviceName);
+        final NodeList nodes = client.nodes().list();
+        for (Node node : nodes.getItems()) {
+            updateNode(Action.ADDED, node);
+        }
+
+        final Map<String, String> selector = service.getSpec().getSelector();
+        logger.info("[{}/{}] Fetching the pods with the selector: {}", namespace, serviceName, selector);
+        final PodList pods;
+        if (namespace == null) {
+            pods = client.pods().withLabels(selector).list();
+        } else {
+            pods = client.pods().inNamespace(namespace).withLabels(selector).list();
+        }
+        for (Pod pod : pods.getItems()) {
+            updatePod(Action.ADDED, pod);
+        }
+        // Initialize the endpoints.
+        maybeUpdateEndpoints();
+
+        watchService(service.getMetadata().getResourceVersion());
+        watchNode(updateId, nodes.getMetadata().getResourceVersion());
+        watchPod(updateId, pods.getMetadata().getResourceVersion());
+    }
+
+    private void fetchAndWatchEndpointSlices() {
+        logger.info("[{}/{}] Fetching the endpoint slices...", namespace, serviceName);
+        final EndpointSliceList slices;
+        if (namespace == null) {
+            slices = client.discovery().v1().endpointSlices()
+                           .withLabel(SERVICE_NAME_LABEL, serviceName).list();
+        } else {
+            slices = client.discovery().v1().endpointSlices().inNamespace(namespace)
+                           .withLabel(SERVICE_NAME_LABEL, serviceName).list();
+        }
+        for (EndpointSlice slice : slices.getItems()) {
+            updateEndpointSlice(Action.ADDED, slice);
+        }
+        // Initialize the endpoints.
+        maybeUpdateSliceEndpoints();
+
+        final String resourceVersion = slices.getMetadata().getResourceVersion();
+        logger.info("[{}/{}] Start the endpoint slice watcher... (resource version: {})",
+                    namespace, serviceName, resourceVersion);
+        endpointSliceWatch = doWatchEndpointSlices(updateId, resourceVersion);
+        logger.info("[{}/{}] Endpoint slice watcher is started.", namespace, serviceName);
+    }
+
+    private Watch doWatchEndpointSlices(long updateId, String resourceVersion) {
+        final Watcher<EndpointSlice> watcher = new Watcher<EndpointSlice>() {
+            @Override
+            public void eventReceived(Action action, EndpointSlice resource) {
+                if (closed) {
+                    return;
+                }
+                numEndpointSliceFailures = 0;
+                withUpdateLock(updateId, () -> {
+                    if (!updateEndpointSlice(action, resource)) {
+                        return;
+                    }
+                    maybeUpdateSliceEndpoints();
+                });
+            }
+
+            @Override
+            public void onClose(WatcherException cause) {
+                if (closed) {
+                    return;
+                }
+                logger.warn("[{}/{}] Endpoint slice watcher is closed.", namespace, serviceName, cause);
+                scheduleRestartWithBackoff(++numEndpointSliceFailures);
+            }
+
+            @Override
+            public void onClose() {
+                logger.info("[{}/{}] Endpoint slice watcher is closed gracefully.", namespace, serviceName);
+            }
+        };
+
+        // watch() method will block until the watch connection is established.
+        if (namespace == null) {
+            return client.discovery().v1().endpointSlices().withLabel(SERVICE_NAME_LABEL, serviceName)
+                         .withResourceVersion(resourceVersion).watch(watcher);
+        } else {
+            return client.discovery().v1().endpointSlices().inNamespace(namespace)
+                         .withLabel(SERVICE_NAME_LABEL, serviceName)
+                         .withResourceVersion(resourceVersion).watch(watcher);
+        }
+    }
+
+    /**
+     * Applies the delta of the specified {@link EndpointSlice}. Only the {@link Endpoint}s of the slice are
+     * rebuilt; the {@link Endpoint}s of the other slices are reused as they are.
+     */
+    private boolean updateEndpointSlice(Action action, EndpointSlice slice) {
+        if (action == Action.ERROR || action == Action.BOOKMARK) {
+            return false;
+        }
+        final String sliceName = slice.getMetadata().getName();
+        logger.debug("[{}/{}] Endpoint slice event received. action: {}, slice: {}, resource version: {}",
+                     namespace, serviceName, action, sliceName, slice.getMetadata().getResourceVersion());
+        if (sliceName == null) {
+            return false;
+        }
+
+        switch (action) {
+            case ADDED:
+            case MODIFIED:
+                sliceToEndpoints.put(sliceName, toSliceEndpoints(slice));
+                break;
+            case DELETED:
+                sliceToEndpoints.remove(sliceName);
+                break;
+            default:
+        }
+        return true;
+    }
+
+    private SliceEndpoints toSliceEndpoints(EndpointSlice slice) {
+        if ("FQDN".equals(slice.getAddressType())) {
+            logger.debug("[{}/{}] Ignoring an FQDN endpoint slice: {}",
+                         namespace, serviceName, slice.getMetadata().getName());
+            return SliceEndpoints.EMPTY;
+        }
+        final Integer port = slicePort(slice);
+        if (port == null) {
+            return SliceEndpoints.EMPTY;
+        }
+
+        final ImmutableList.Builder<Endpoint> all = ImmutableList.builder();
+        final ImmutableList.Builder<Endpoint> local = ImmutableList.builder();
+        boolean allHinted = true;
+        for (io.fabric8.kubernetes.api.model.discovery.v1.Endpoint endpoint : slice.getEndpoints()) {
+            final EndpointConditions conditions = endpoint.getConditions();
+            if (conditions != null) {
+                // As per the Kubernetes API, 'ready' is always false for a terminating endpoint and
+                // a nil value should be interpreted as 'true'.
+                if (Boolean.FALSE.equals(conditions.getReady()) ||
+                    Boolean.TRUE.equals(conditions.getTerminating())) {
+                    continue;
+                }
+            }
+            final EndpointHints hints = endpoint.getHints();
+            final List<ForZone> forZones = hints != null ? hints.getForZones() : null;
+            if (forZones == null || forZones.isEmpty()) {
+                allHinted = false;
+            }
+            final boolean isLocal = localZone != null && forZones != null &&
+                                    forZones.stream().anyMatch(zone -> localZone.equals(zone.getName()));
+            final String zone = endpoint.getZone();
+            for (String address : endpoint.getAddresses()) {
+                Endpoint newEndpoint = Endpoint.of(address, port);
+                if (zone != null) {
+                    newEndpoint = newEndpoint.withAttr(ZoneAwareAttributes.ZONE, zone);
+                }
+                all.add(newEndpoint);
+                if (isLocal) {
+                    local.add(newEndpoint);
+                }
+            }
+        }
+        return new SliceEndpoints(all.build(), local.build(), allHinted);
+    }
+
+    @Nullable
+    private Integer slicePort(EndpointSlice slice) {
+        final List<EndpointPort> ports = slice.getPorts();
+        if (ports == null) {
+            return null;
+        }
+        return ports.stream()
+                    .filter(p -> portName == null || portName.equals(p.getName()))
+                    .map(EndpointPort::getPort)
+                    .filter(Objects::nonNull)
+                    .findFirst().orElse(null);
+    }
+
+    private void maybeUpdateSliceEndpoints() {
+        if (closed) {
+            return;
+        }
+        // Publish an empty list as well when there is no slice so that the group does not keep serving
+        // the endpoints of the deleted slices.
+        boolean allHinted = localZone != null;
+        final ImmutableList.Builder<Endpoint> all = ImmutableList.builder();
+        final ImmutableList.Builder<Endpoint> local = ImmutableList.builder();
+        for (SliceEndpoints endpoints : sliceToEndpoints.values()) {
+            all.addAll(endpoints.all);
+            local.addAll(endpoints.local);
+            allHinted &= endpoints.allHinted;
+        }
+        if (allHinted) {
+            // Follow the topology aware routing of kube-proxy which uses the hints only when all endpoints
+            // have hints, and falls back to all endpoints if no endpoint is hinted for the local zone.
+            final List<Endpoint> localEndpoints = local.build();
+            if (!localEndpoints.isEmpty()) {
+                setEndpoints(localEndpoints);
+                return;
+            }
+        }
+        setEndpoints(all.build());
+    }
+
     private void watchService(String resourceVersion) {
         logger.info("[{}/{}] Start the service watcher... (resource version: {})", namespace, serviceName,
                     resourceVersion);
@@ -436,14 +662,25 @@ public final class KubernetesEndpointGroup extends DynamicEndpointGroup {
     }
 
     private boolean updateService(Service service) {
+        final Integer nodePort0 = nodePort(service);
+        if (nodePort0 == null) {
+            return false;
+        }
+        this.service = service;
+        nodePort = nodePort0;
+        return true;
+    }
+
+    @Nullable
+    private Integer nodePort(Service service) {
         final List<ServicePort> ports = service.getSpec().getPorts();
-        final Integer nodePort0 =
+        final Integer nodePort =
                 ports.stream()
                      .filter(p -> portName == null || portName.equals(p.getName()))
                      .map(ServicePort::getNodePort)
                      .filter(Objects::nonNull)
                      .findFirst().orElse(null);
-        if (nodePort0 == null) {
+        if (nodePort == null) {
             if (portName != null) {
                 logger.warn("No node port matching '{}' in the service: {}", portName,
                             service);
@@ -454,11 +691,8 @@ public final class KubernetesEndpointGroup extends DynamicEndpointGroup {
                         "a node port. type:{}, service:{}", service.getSpec().getType(),
                         service);
             }
-            return false;
         }
-        this.service = service;
-        nodePort = nodePort0;
-        return true;
+        return nodePort;
     }
 
     private void watchPod(long updateId, String resourceVersion) {
@@ -596,10 +830,7 @@ public final class KubernetesEndpointGroup extends DynamicEndpointGroup {
         switch (action) {
             case ADDED:
             case MODIFIED:
-                final String nodeIp = node.getStatus().getAddresses().stream()
-                                          .filter(nodeAddressFilter)
-                                          .map(NodeAddress::getAddress)
-                                          .findFirst().orElse(null);
+                final String nodeIp = nodeIp(node);
                 if (nodeIp == null) {
                     logger.debug("[{}/{}] No matching IP address is found in {}. node: {}",
                                  namespace, serviceName, nodeName, node);
@@ -615,6 +846,14 @@ public final class KubernetesEndpointGroup extends DynamicEndpointGroup {
         return true;
     }
 
+    @Nullable
+    private String nodeIp(Node node) {
+        return node.getStatus().getAddresses().stream()
+                   .filter(nodeAddressFilter)
+                   .map(NodeAddress::getAddress)
+                   .findFirst().orElse(null);
+    }
+
     private void executeJob(Runnable job) {
         worker.execute(safeRunnable(job));
     }
@@ -704,9 +943,19 @@ public final class KubernetesEndpointGroup extends DynamicEndpointGroup {
         setEndpoints(endpoints);
     }
 
+    @VisibleForTesting
+    @Nullable
+    KubernetesWatchCache watchCache() {
+        return watchCache;
+    }
+
     @Override
     protected void doCloseAsync(CompletableFuture<?> future) {
         closed = true;
+        if (watchCache != null) {
+            assert watchCacheListener != null;
+            watchCache.unsubscribe(serviceName, watchCacheListener);
+        }
         closeResources();
         if (autoClose) {
             client.close();
@@ -737,6 +986,10 @@ public final class KubernetesEndpointGroup extends DynamicEndpointGroup {
         if (podWatch != null) {
             podWatch.close();
         }
+        final Watch endpointSliceWatch = this.endpointSliceWatch;
+        if (endpointSliceWatch != null) {
+            endpointSliceWatch.close();
+        }
     }
 
     private void withUpdateLock(long updateId, Runnable task) {
@@ -751,4 +1004,70 @@ public final class KubernetesEndpointGroup extends DynamicEndpointGroup {
             updateLock.unlock();
         }
     }
+
+    private final class WatchCacheListener implements KubernetesWatchCache.Listener {
+
+        private boolean initialized;
+
+        @Override
+        public void onUpdate(KubernetesWatchCache.Snapshot snapshot) {
+            if (closed) {
+                return;
+            }
+            final Service service = snapshot.service();
+            final Integer nodePort = service != null ? nodePort(service) : null;
+            if (nodePort == null) {
+                if (!initialized) {
+                    initialized = true;
+                    final String reason = service == null ? "Service not found." : "NodePort not found.";
+                    logger.warn("[{}/{}] {}", namespace, serviceName, reason);
+                    failInit(new IllegalStateException(
+                            String.format("[%s/%s] %s", namespace, serviceName, reason)));
+                }
+                // Keep the last known endpoints.
+                return;
+            }
+            initialized = true;
+
+            final ImmutableList.Builder<Endpoint> endpoints = ImmutableList.builder();
+            for (Pod pod : snapshot.pods()) {
+                final String nodeName = pod.getSpec().getNodeName();
+                if (nodeName == null) {
+                    continue;
+                }
+                final Node node = snapshot.node(nodeName);
+                if (node == null) {
+                    continue;
+                }
+                final String nodeIp = nodeIp(node);
+                if (nodeIp != null) {
+                    endpoints.add(Endpoint.of(nodeIp, nodePort));
+                }
+            }
+            setEndpoints(endpoints.build());
+        }
+
+        @Override
+        public void onInitFailure(Throwable cause) {
+            if (!initialized) {
+                initialized = true;
+                failInit(cause);
+            }
+        }
+    }
+
+    private static final class SliceEndpoints {
+
+        static final SliceEndpoints EMPTY = new SliceEndpoints(ImmutableList.of(), ImmutableList.of(), true);
+
+        final List<Endpoint> all;
+        final List<Endpoint> local;
+        final boolean allHinted;
+
+        SliceEndpoints(List<Endpoint> all, List<Endpoint> local, boolean allHinted) {
+            this.all = all;
+            this.local = local;
+            this.allHinted = allHinted;
+        }
+    }
 }
@@ -28,6 +28,7 @@ import com.google.common.base.Strings;
 import com.linecorp.armeria.client.Endpoint;
 import com.linecorp.armeria.client.endpoint.AbstractDynamicEndpointGroupBuilder;
 import com.linecorp.armeria.client.endpoint.EndpointSelectionStrategy;
+import com.linecorp.armeria.client.endpoint.ZoneAwareAttributes;
 import com.linecorp.armeria.common.Flags;
 import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.annotation.UnstableApi;
@@ -59,6 +60,10 @@ public final class KubernetesEndpointGroupBuilder
     private Predicate<? super NodeAddress> nodeAddressFilter = nodeAddress ->
             "InternalIP".equals(nodeAddress.getType()) && !Strings.isNullOrEmpty(nodeAddress.getAddress());
     private long maxWatchAgeMillis = DEFAULT_MAX_WATCH_AGE_MILLIS;
+    private boolean shareWatches;
+    private boolean useEndpointSlices;
+    @Nullable
+    private String localZone;
 
     KubernetesEndpointGroupBuilder(KubernetesClient kubernetesClient, boolean autoClose) {
         super(Flags.defaultResponseTimeoutMillis());
@@ -142,14 +147,65 @@ public final class KubernetesEndpointGroupBuilder
         return maxWatchAgeMillis(maxWatchAge.toMillis());
     }
 
+    /**
+     * Sets whether to share the {@link Watch}es of services, pods and nodes with other
+     * {@link KubernetesEndpointGroup}s which use the same {@link KubernetesClient}, namespace and
+     * {@linkplain #maxWatchAgeMillis(long) max watch age}. If enabled, all such
+     * {@link KubernetesEndpointGroup}s are served by a single service watch, pod watch and node watch, and
+     * the watched resources are cached only once. The shared watches are closed when the last
+     * {@link KubernetesEndpointGroup} using them is closed. If unspecified, {@code false} is used.
+     *
+     * <p>This option is useful for a client which talks to many services in the same namespace because it
+     * reduces the number of connections to the Kubernetes API server and the memory footprint.
+     */
+    public KubernetesEndpointGroupBuilder shareWatches(boolean shareWatches) {
+        this.shareWatches = shareWatches;
+        return this;
+    }
+
+    /**
+     * Sets whether to discover the {@link Endpoint}s from the
+     * <a href="https://kubernetes.io/docs/concepts/services-networking/endpoint-slices/">EndpointSlices</a>
+     * ({@code discovery.k8s.io/v1}) of the service instead of joining its pods and nodes.
+     * If enabled, the {@link Endpoint}s are created with the pod IPs and the target port of the service,
+     * so the client should be able to reach the pod network directly. Only the ready and non-terminating
+     * endpoints are used, and each slice update is applied incrementally. The zone of each endpoint is set
+     * to the {@link ZoneAwareAttributes#ZONE} attribute so that it can be used with
+     * {@link EndpointSelectionStrategy#builderForZoneAware(String)}. If unspecified, {@code false} is used.
+     *
+     * <p>Note that the credentials should have permission to {@code get}, {@code list} and {@code watch}
+     * {@code endpointslices} in the {@code discovery.k8s.io} API group. Unlike the default mode, the
+     * permissions for {@code nodes} and {@code pods} are not required.
+     */
+    public KubernetesEndpointGroupBuilder useEndpointSlices(boolean useEndpointSlices) {
+        this.useEndpointSlices = useEndpointSlices;
+        return this;
+    }
+
+    /**
+     * Sets the <a href="https://kubernetes.io/docs/reference/labels-annotations-taints/#topologykubernetesiozone">zone</a>
+     * where this client runs. If specified with {@link #useEndpointSlices(boolean)}, only the
+     * {@link Endpoint}s hinted for the zone by
+     * <a href="https://kubernetes.io/docs/concepts/services-networking/topology-aware-routing/">topology aware
+     * routing</a> are used. Like {@code kube-proxy}, all {@link Endpoint}s are used if any of the endpoints has
+     * no hints or no endpoint is hinted for the zone.
+     */
+    public KubernetesEndpointGroupBuilder localZone(String localZone) {
+        this.localZone = requireNonNull(localZone, "localZone");
+        return this;
+    }
+
     /**
      * Returns a newly-created {@link KubernetesEndpointGroup} based on the properties of this builder.
      */
     public KubernetesEndpointGroup build() {
         checkState(serviceName != null, "serviceName not set");
+        checkState(!(shareWatches && useEndpointSlices),
+                   "shareWatches and useEndpointSlices cannot be enabled together.");
         return new KubernetesEndpointGroup(kubernetesClient, namespace, serviceName, portName,
                                            nodeAddressFilter, autoClose,
                                            selectionStrategy, shouldAllowEmptyEndpoints(),
-                                           selectionTimeoutMillis(), maxWatchAgeMillis);
+                                           selectionTimeoutMillis(), maxWatchAgeMillis, shareWatches,
+                                           useEndpointSlices, localZone);
     }
 }
@@ -0,0 +1,888 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.client.kubernetes.endpoints;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+
+import com.linecorp.armeria.client.retry.Backoff;
+import com.linecorp.armeria.common.CommonPools;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.internal.common.util.ReentrantShortLock;
+
+import io.fabric8.kubernetes.api.model.Node;
+import io.fabric8.kubernetes.api.model.NodeList;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.ServiceList;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.Watcher.Action;
+import io.fabric8.kubernetes.client.WatcherException;
+
+/**
+ * A reference-counted cache of the services, pods and nodes of a namespace, which is shared by all
+ * {@link KubernetesEndpointGroup}s that use the same {@link KubernetesClient}, namespace and max watch age.
+ *
+ * <p>Unlike a standalone {@link KubernetesEndpointGroup} which opens three watches per service, a
+ * {@link KubernetesWatchCache} opens a single service, pod and node watch regardless of the number of
+ * subscribed services. Pods are indexed by the label selectors of the subscribed services so that a pod event
+ * is only propagated to the {@link Listener}s of the services that select the pod. The {@link Listener}s are
+ * notified in order after the lock of the cache is released.
+ */
+final class KubernetesWatchCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(KubernetesWatchCache.class);
+
+    private static final AtomicIntegerFieldUpdater<KubernetesWatchCache> wipUpdater =
+            AtomicIntegerFieldUpdater.newUpdater(KubernetesWatchCache.class, "wip");
+    private static final AtomicIntegerFieldUpdater<KubernetesWatchCache> notificationWipUpdater =
+            AtomicIntegerFieldUpdater.newUpdater(KubernetesWatchCache.class, "notificationWip");
+
+    private static final ReentrantShortLock cachesLock = new ReentrantShortLock();
+    @GuardedBy("cachesLock")
+    private static final Map<CacheKey, KubernetesWatchCache> caches = new HashMap<>();
+
+    /**
+     * Returns the {@link KubernetesWatchCache} of the specified {@link KubernetesClient}, {@code namespace}
+     * and {@code maxWatchAgeMillis}, creating a new one if necessary. The returned
+     * {@link KubernetesWatchCache} must be released with {@link #unsubscribe(String, Listener)} when it is
+     * not used anymore.
+     */
+    static KubernetesWatchCache acquire(KubernetesClient client, @Nullable String namespace,
+                                        long maxWatchAgeMillis) {
+        final CacheKey key = new CacheKey(client, namespace,
+                                          maxWatchAgeMillis == Long.MAX_VALUE ? 0 : maxWatchAgeMillis);
+        cachesLock.lock();
+        try {
+            KubernetesWatchCache cache = caches.get(key);
+            if (cache == null) {
+                cache = new KubernetesWatchCache(key);
+                caches.put(key, cache);
+                cache.refCnt = 1;
+                final KubernetesWatchCache newCache = cache;
+                newCache.executeJob(() -> newCache.start(true));
+            } else {
+                cache.refCnt++;
+            }
+            return cache;
+        } finally {
+            cachesLock.unlock();
+        }
+    }
+
+    @VisibleForTesting
+    static int numCaches() {
+        cachesLock.lock();
+        try {
+            return caches.size();
+        } finally {
+            cachesLock.unlock();
+        }
+    }
+
+    private final ScheduledExecutorService worker = CommonPools.blockingTaskExecutor();
+
+    private final CacheKey key;
+    private final KubernetesClient client;
+    @Nullable
+    private final String namespace;
+    private final long maxWatchAgeMillis;
+
+    @GuardedBy("cachesLock")
+    private int refCnt;
+
+    @Nullable
+    private volatile Watch nodeWatch;
+    @Nullable
+    private volatile Watch serviceWatch;
+    @Nullable
+    private volatile Watch podWatch;
+
+    private final ReentrantShortLock lock = new ReentrantShortLock();
+    @GuardedBy("lock")
+    private long updateId;
+    @GuardedBy("lock")
+    private boolean initialized;
+    @GuardedBy("lock")
+    private final Map<String, Service> services = new HashMap<>();
+    @GuardedBy("lock")
+    private final Map<String, Pod> pods = new HashMap<>();
+    @GuardedBy("lock")
+    private final Map<String, Node> nodes = new HashMap<>();
+    @GuardedBy("lock")
+    private final Map<String, List<Listener>> listeners = new HashMap<>();
+
+    // The indexes of the subscribed services.
+    // label key -> label value -> the names of the services whose selector contains the label.
+    @GuardedBy("lock")
+    private final Map<String, Map<String, Set<String>>> selectorIndex = new HashMap<>();
+    // service name -> the names of the pods selected by the service.
+    @GuardedBy("lock")
+    private final Map<String, Set<String>> serviceToPods = new HashMap<>();
+    // pod name -> the names of the services selecting the pod.
+    @GuardedBy("lock")
+    private final Map<String, Set<String>> podToServices = new HashMap<>();
+
+    // The notifications enqueued while holding the lock, which are delivered after the lock is released
+    // in the order they were enqueued.
+    private final Queue<Runnable> notifications = new ConcurrentLinkedQueue<>();
+    // Used for serializing the delivery of the notifications.
+    private volatile int notificationWip;
+
+    private final ReentrantShortLock schedulerLock = new ReentrantShortLock();
+    @GuardedBy("schedulerLock")
+    @Nullable
+    private ScheduledFuture<?> scheduledFuture;
+
+    // Used for serializing the start() method.
+    private volatile int wip;
+    private volatile boolean closed;
+    private volatile int numStartFailures;
+    private final AtomicInteger numServiceFailures = new AtomicInteger();
+    private final AtomicInteger numNodeFailures = new AtomicInteger();
+    private final AtomicInteger numPodFailures = new AtomicInteger();
+
+    private KubernetesWatchCache(CacheKey key) {
+        this.key = key;
+        client = key.client;
+        namespace = key.namespace;
+        maxWatchAgeMillis = key.maxWatchAgeMillis;
+    }
+
+    /**
+     * Adds the specified {@link Listener} which is notified when the {@link Service} of the specified
+     * {@code serviceName}, its selected {@link Pod}s or the {@link Node}s running them are updated.
+     * If the cache is already initialized, the {@link Listener} is notified immediately.
+     */
+    void subscribe(String serviceName, Listener listener) {
+        lock.lock();
+        try {
+            final List<Listener> serviceListeners =
+                    listeners.computeIfAbsent(serviceName, unused -> new ArrayList<>());
+            serviceListeners.add(listener);
+            if (serviceListeners.size() == 1) {
+                indexService(serviceName);
+            }
+            if (initialized) {
+                final Snapshot snapshot = snapshot(serviceName);
+                notifications.add(() -> notify(serviceName, listener, snapshot));
+            }
+        } finally {
+            lock.unlock();
+        }
+        deliverNotifications();
+    }
+
+    /**
+     * Removes the specified {@link Listener} and decreases the reference count of this cache.
+     * The watches are closed when the reference count reaches zero.
+     */
+    void unsubscribe(String serviceName, Listener listener) {
+        lock.lock();
+        try {
+            final List<Listener> serviceListeners = listeners.get(serviceName);
+            if (serviceListeners != null && serviceListeners.remove(listener) &&
+                serviceListeners.isEmpty()) {
+                listeners.remove(serviceName);
+                unindexService(serviceName);
+            }
+        } finally {
+            lock.unlock();
+        }
+        release();
+    }
+
+    private void release() {
+        cachesLock.lock();
+        try {
+            checkState(refCnt > 0, "refCnt: %s (expected: > 0)", refCnt);
+            if (--refCnt > 0) {
+                return;
+            }
+            caches.remove(key);
+        } finally {
+            cachesLock.unlock();
+        }
+        closed = true;
+        closeResources();
+    }
+
+    @VisibleForTesting
+    int refCnt() {
+        cachesLock.lock();
+        try {
+            return refCnt;
+        } finally {
+            cachesLock.unlock();
+        }
+    }
+
+    private void start(boolean initial) {
+        if (wipUpdater.getAndIncrement(this) > 0) {
+            // Another thread is already starting.
+            return;
+        }
+
+        do {
+            if (closed) {
+                return;
+            }
+            doStart(initial);
+            initial = false;
+        } while (wipUpdater.decrementAndGet(this) > 0);
+    }
+
+    private void doStart(boolean initial) {
+        closeResources();
+        final long updateId;
+        lock.lock();
+        try {
+            // Change the updateId to ensure that outdated watchers do not update the cache.
+            updateId = ++this.updateId;
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            logger.info("[{}] Fetching the services, nodes and pods ...", namespace);
+            final ServiceList serviceList;
+            final PodList podList;
+            if (namespace == null) {
+                serviceList = client.services().list();
+                podList = client.pods().list();
+            } else {
+                serviceList = client.services().inNamespace(namespace).list();
+                podList = client.pods().inNamespace(namespace).list();
+            }
+            final NodeList nodeList = client.nodes().list();
+
+            withUpdateLock(updateId, () -> {
+                services.clear();
+                pods.clear();
+                nodes.clear();
+                for (Service service : serviceList.getItems()) {
+                    services.put(service.getMetadata().getName(), service);
+                }
+                for (Pod pod : podList.getItems()) {
+                    pods.put(pod.getMetadata().getName(), pod);
+                }
+                for (Node node : nodeList.getItems()) {
+                    nodes.put(node.getMetadata().getName(), node);
+                }
+                reindexAll();
+                initialized = true;
+                listeners.forEach((serviceName, serviceListeners) -> notifyListeners(serviceName));
+            });
+
+            final String serviceVersion = serviceList.getMetadata().getResourceVersion();
+            serviceWatch = watch(updateId, "Service", serviceVersion, numServiceFailures,
+                                 this::updateService, watcher -> {
+                                     if (namespace == null) {
+                                         return client.services().withResourceVersion(serviceVersion)
+                                                      .watch(watcher);
+                                     }
+                                     return client.services().inNamespace(namespace)
+                                                  .withResourceVersion(serviceVersion).watch(watcher);
+                                 });
+            final String nodeVersion = nodeList.getMetadata().getResourceVersion();
+            nodeWatch = watch(updateId, "Node", nodeVersion, numNodeFailures, this::updateNode,
+                              watcher -> client.nodes().withResourceVersion(nodeVersion).watch(watcher));
+            final String podVersion = podList.getMetadata().getResourceVersion();
+            podWatch = watch(updateId, "Pod", podVersion, numPodFailures, this::updatePod, watcher -> {
+                if (namespace == null) {
+                    return client.pods().withResourceVersion(podVersion).watch(watcher);
+                }
+                return client.pods().inNamespace(namespace).withResourceVersion(podVersion).watch(watcher);
+            });
+        } catch (Exception e) {
+            logger.warn("[{}] Failed to start {}. (initial: {})", namespace, this, initial, e);
+            if (initial) {
+                lock.lock();
+                try {
+                    listeners.values().forEach(serviceListeners -> {
+                        serviceListeners.forEach(listener -> notifications.add(
+                                () -> listener.onInitFailure(e)));
+                    });
+                } finally {
+                    lock.unlock();
+                }
+                deliverNotifications();
+            }
+            // Unlike KubernetesEndpointGroup, keep retrying even if the initialization fails because
+            // the cache may be acquired by other groups later.
+            scheduleRestartWithBackoff(++numStartFailures);
+            return;
+        }
+
+        if (closed) {
+            closeResources();
+            return;
+        }
+        if (maxWatchAgeMillis > 0) {
+            scheduleRestart(maxWatchAgeMillis);
+        }
+        numStartFailures = 0;
+    }
+
+    private <T> Watch watch(long updateId, String kind, String resourceVersion, AtomicInteger numFailures,
+                            EventHandler<T> handler, Function<Watcher<T>, Watch> watchFunction) {
+        logger.info("[{}] Start the {} watcher... (resource version: {})", namespace, kind, resourceVersion);
+        final Watcher<T> watcher = new Watcher<T>() {
+            @Override
+            public void eventReceived(Action action, T resource) {
+                if (closed) {
+                    return;
+                }
+                numFailures.set(0);
+                if (action == Action.ERROR || action == Action.BOOKMARK) {
+                    return;
+                }
+                withUpdateLock(updateId, () -> handler.handle(action, resource));
+            }
+
+            @Override
+            public void onClose(WatcherException cause) {
+                // Note: As per the JavaDoc of Watcher.onClose(), the method should not be implemented in a
+                //       blocking way.
+                if (closed) {
+                    return;
+                }
+                logger.warn("[{}] {} watcher is closed.", namespace, kind, cause);
+                scheduleRestartWithBackoff(numFailures.incrementAndGet());
+            }
+
+            @Override
+            public void onClose() {
+                logger.info("[{}] {} watcher is closed gracefully.", namespace, kind);
+            }
+        };
+
+        // watch() method will block until the watch connection is established.
+        final Watch watch = watchFunction.apply(watcher);
+        logger.info("[{}] {} watcher is started.", namespace, kind);
+        return watch;
+    }
+
+    @GuardedBy("lock")
+    private void updateService(Action action, Service service) {
+        final String serviceName = service.getMetadata().getName();
+        logger.debug("[{}] Service event received. action: {}, service: {}, resource version: {}",
+                     namespace, action, serviceName, service.getMetadata().getResourceVersion());
+        final Service oldService;
+        if (action == Action.DELETED) {
+            logger.warn("[{}/{}] service is deleted.", namespace, serviceName);
+            // Keep the last known endpoints as KubernetesEndpointGroup does.
+            oldService = services.remove(serviceName);
+        } else {
+            oldService = services.put(serviceName, service);
+        }
+
+        if (!listeners.containsKey(serviceName)) {
+            return;
+        }
+        if (oldService == null || action == Action.DELETED ||
+            !Objects.equals(selector(oldService), selector(service))) {
+            // Rebuild the index if the selector has been changed.
+            unindexService(serviceName);
+            indexService(serviceName);
+        }
+        if (action != Action.DELETED) {
+            notifyListeners(serviceName);
+        }
+    }
+
+    @GuardedBy("lock")
+    private void updatePod(Action action, Pod pod) {
+        final String podName = pod.getMetadata().getName();
+        logger.debug("[{}] Pod event received. action: {}, pod: {}, node: {}, resource version: {}",
+                     namespace, action, podName, pod.getSpec().getNodeName(),
+                     pod.getMetadata().getResourceVersion());
+        if (podName == null) {
+            return;
+        }
+
+        final Pod oldPod;
+        if (action == Action.DELETED) {
+            oldPod = pods.remove(podName);
+        } else {
+            oldPod = pods.put(podName, pod);
+        }
+
+        final Set<String> oldServices = podToServices.remove(podName);
+        final Set<String> newServices = action == Action.DELETED ? null : matchingServices(pod);
+        if (newServices != null) {
+            podToServices.put(podName, newServices);
+            for (String serviceName : newServices) {
+                serviceToPods.computeIfAbsent(serviceName, unused -> new HashSet<>()).add(podName);
+            }
+        }
+        if (oldServices != null) {
+            for (String serviceName : oldServices) {
+                if (newServices == null || !newServices.contains(serviceName)) {
+                    final Set<String> selectedPods = serviceToPods.get(serviceName);
+                    if (selectedPods != null) {
+                        selectedPods.remove(podName);
+                    }
+                }
+            }
+        }
+
+        final boolean nodeChanged =
+                oldPod == null || !Objects.equals(oldPod.getSpec().getNodeName(), pod.getSpec().getNodeName());
+        final Set<String> affected = new HashSet<>();
+        if (oldServices != null) {
+            for (String serviceName : oldServices) {
+                if (nodeChanged || newServices == null || !newServices.contains(serviceName)) {
+                    affected.add(serviceName);
+                }
+            }
+        }
+        if (newServices != null) {
+            for (String serviceName : newServices) {
+                if (nodeChanged || oldServices == null || !oldServices.contains(serviceName)) {
+                    affected.add(serviceName);
+                }
+            }
+        }
+        affected.forEach(this::notifyListeners);
+    }
+
+    @GuardedBy("lock")
+    private void updateNode(Action action, Node node) {
+        final String nodeName = node.getMetadata().getName();
+        logger.debug("[{}] Node event received. action: {}, node: {}, resource version: {}",
+                     namespace, action, nodeName, node.getMetadata().getResourceVersion());
+        final Node oldNode;
+        if (action == Action.DELETED) {
+            oldNode = nodes.remove(nodeName);
+        } else {
+            oldNode = nodes.put(nodeName, node);
+            if (oldNode != null && Objects.equals(oldNode.getStatus().getAddresses(),
+                                                  node.getStatus().getAddresses())) {
+                // Node status is updated periodically. Ignore the events which do not change the addresses.
+                return;
+            }
+        }
+
+        // Find the services which have a pod running on the node.
+        final Set<String> affected = new HashSet<>();
+        serviceToPods.forEach((serviceName, selectedPods) -> {
+            for (String podName : selectedPods) {
+                final Pod pod = pods.get(podName);
+                if (pod != null && nodeName.equals(pod.getSpec().getNodeName())) {
+                    affected.add(serviceName);
+                    break;
+                }
+            }
+        });
+        affected.forEach(this::notifyListeners);
+    }
+
+    @GuardedBy("lock")
+    private void reindexAll() {
+        selectorIndex.clear();
+        serviceToPods.clear();
+        podToServices.clear();
+        listeners.keySet().forEach(this::indexService);
+    }
+
+    @GuardedBy("lock")
+    private void indexService(String serviceName) {
+        final Service service = services.get(serviceName);
+        if (service == null) {
+            return;
+        }
+        final Map<String, String> selector = selector(service);
+        if (selector.isEmpty()) {
+            // A service without a selector does not select any pods.
+            return;
+        }
+        selector.forEach((key, value) -> {
+            selectorIndex.computeIfAbsent(key, unused -> new HashMap<>())
+                         .computeIfAbsent(value, unused -> new HashSet<>())
+                         .add(serviceName);
+        });
+        final Set<String> selectedPods = new HashSet<>();
+        pods.forEach((podName, pod) -> {
+            if (matches(selector, pod)) {
+                selectedPods.add(podName);
+                podToServices.computeIfAbsent(podName, unused -> new HashSet<>()).add(serviceName);
+            }
+        });
+        serviceToPods.put(serviceName, selectedPods);
+    }
+
+    @GuardedBy("lock")
+    private void unindexService(String serviceName) {
+        selectorIndex.values().removeIf(values -> {
+            values.values().removeIf(serviceNames -> serviceNames.remove(serviceName) &&
+                                                     serviceNames.isEmpty());
+            return values.isEmpty();
+        });
+        final Set<String> selectedPods = serviceToPods.remove(serviceName);
+        if (selectedPods == null) {
+            return;
+        }
+        for (String podName : selectedPods) {
+            final Set<String> serviceNames = podToServices.get(podName);
+            if (serviceNames != null && serviceNames.remove(serviceName) && serviceNames.isEmpty()) {
+                podToServices.remove(podName);
+            }
+        }
+    }
+
+    /**
+     * Returns the names of the subscribed services whose selector matches the labels of the specified
+     * {@link Pod}. Only the services which have at least one of the pod labels in their selector are
+     * evaluated.
+     */
+    @GuardedBy("lock")
+    @Nullable
+    private Set<String> matchingServices(Pod pod) {
+        final Map<String, String> labels = pod.getMetadata().getLabels();
+        if (labels == null || labels.isEmpty()) {
+            return null;
+        }
+        Set<String> matched = null;
+        for (Map.Entry<String, String> label : labels.entrySet()) {
+            final Map<String, Set<String>> values = selectorIndex.get(label.getKey());
+            if (values == null) {
+                continue;
+            }
+            final Set<String> candidates = values.get(label.getValue());
+            if (candidates == null) {
+                continue;
+            }
+            for (String serviceName : candidates) {
+                if (matched != null && matched.contains(serviceName)) {
+                    continue;
+                }
+                final Service service = services.get(serviceName);
+                if (service != null && matches(selector(service), pod)) {
+                    if (matched == null) {
+                        matched = new HashSet<>();
+                    }
+                    matched.add(serviceName);
+                }
+            }
+        }
+        return matched;
+    }
+
+    private static boolean matches(Map<String, String> selector, Pod pod) {
+        final Map<String, String> labels = pod.getMetadata().getLabels();
+        if (labels == null) {
+            return false;
+        }
+        for (Map.Entry<String, String> entry : selector.entrySet()) {
+            if (!entry.getValue().equals(labels.get(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, String> selector(Service service) {
+        final Map<String, String> selector = service.getSpec().getSelector();
+        return selector != null ? selector : ImmutableMap.of();
+    }
+
+    @GuardedBy("lock")
+    private void notifyListeners(String serviceName) {
+        final List<Listener> serviceListeners = listeners.get(serviceName);
+        if (serviceListeners == null || serviceListeners.isEmpty()) {
+            return;
+        }
+        final Snapshot snapshot = snapshot(serviceName);
+        for (Listener listener : serviceListeners) {
+            notifications.add(() -> notify(serviceName, listener, snapshot));
+        }
+    }
+
+    private void notify(String serviceName, Listener listener, Snapshot snapshot) {
+        try {
+            listener.onUpdate(snapshot);
+        } catch (Exception e) {
+            logger.warn("[{}/{}] Unexpected exception while notifying {}.",
+                        namespace, serviceName, listener, e);
+        }
+    }
+
+    /**
+     * Delivers the enqueued notifications. Must be invoked after releasing the lock. If another thread is
+     * delivering the notifications, the notifications enqueued by the current thread are delivered by
+     * that thread so that the {@link Listener}s observe the updates in order.
+     */
+    private void deliverNotifications() {
+        if (notificationWipUpdater.getAndIncrement(this) > 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            for (;;) {
+                final Runnable notification = notifications.poll();
+                if (notification == null) {
+                    break;
+                }
+                notification.run();
+            }
+            missed = notificationWipUpdater.addAndGet(this, -missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    @GuardedBy("lock")
+    private Snapshot snapshot(String serviceName) {
+        final Service service = services.get(serviceName);
+        final Set<String> selectedPods = serviceToPods.get(serviceName);
+        if (service == null || selectedPods == null) {
+            return new Snapshot(service, ImmutableList.of(), ImmutableMap.of());
+        }
+        final ImmutableList.Builder<Pod> podsBuilder = ImmutableList.builderWithExpectedSize(
+                selectedPods.size());
+        final Map<String, Node> selectedNodes = new HashMap<>();
+        for (String podName : selectedPods) {
+            final Pod pod = pods.get(podName);
+            if (pod == null) {
+                continue;
+            }
+            podsBuilder.add(pod);
+            final String nodeName = pod.getSpec().getNodeName();
+            if (nodeName != null && !selectedNodes.containsKey(nodeName)) {
+                final Node node = nodes.get(nodeName);
+                if (node != null) {
+                    selectedNodes.put(nodeName, node);
+                }
+            }
+        }
+        return new Snapshot(service, podsBuilder.build(), ImmutableMap.copyOf(selectedNodes));
+    }
+
+    private void executeJob(Runnable job) {
+        worker.execute(safeRunnable(job));
+    }
+
+    private void scheduleRestartWithBackoff(int numFailures) {
+        final long delayMillis = numFailures == 1 ? 0 : Backoff.ofDefault().nextDelayMillis(numFailures - 1);
+        logger.info("[{}] Reconnecting to the Kubernetes API in {} ms (numFailures: {})",
+                    namespace, delayMillis, numFailures);
+        scheduleRestart(delayMillis);
+    }
+
+    private void scheduleRestart(long delayMillis) {
+        schedulerLock.lock();
+        try {
+            final ScheduledFuture<?> scheduledFuture = this.scheduledFuture;
+            if (scheduledFuture != null) {
+                scheduledFuture.cancel(false);
+            }
+
+            if (closed) {
+                return;
+            }
+
+            if (delayMillis == 0) {
+                executeJob(() -> start(false));
+                return;
+            }
+            this.scheduledFuture = worker.schedule(safeRunnable(() -> start(false)), delayMillis,
+                                                   TimeUnit.MILLISECONDS);
+        } finally {
+            schedulerLock.unlock();
+        }
+    }
+
+    private Runnable safeRunnable(Runnable job) {
+        return () -> {
+            try {
+                job.run();
+            } catch (Exception e) {
+                logger.warn("[{}] Failed to run a watch job.", namespace, e);
+            }
+        };
+    }
+
+    private void closeResources() {
+        schedulerLock.lock();
+        try {
+            final ScheduledFuture<?> scheduledFuture = this.scheduledFuture;
+            if (scheduledFuture != null) {
+                scheduledFuture.cancel(false);
+            }
+        } finally {
+            schedulerLock.unlock();
+        }
+
+        final Watch serviceWatch = this.serviceWatch;
+        if (serviceWatch != null) {
+            serviceWatch.close();
+        }
+        final Watch nodeWatch = this.nodeWatch;
+        if (nodeWatch != null) {
+            nodeWatch.close();
+        }
+        final Watch podWatch = this.podWatch;
+        if (podWatch != null) {
+            podWatch.close();
+        }
+    }
+
+    private void withUpdateLock(long updateId, Runnable task) {
+        lock.lock();
+        try {
+            if (this.updateId != updateId) {
+                // The current update is outdated.
+                return;
+            }
+            task.run();
+        } finally {
+            lock.unlock();
+        }
+        deliverNotifications();
+    }
+
+    @Override
+    public String toString() {
+        return "KubernetesWatchCache{namespace=" + namespace + ", closed=" + closed + '}';
+    }
+
+    @FunctionalInterface
+    private interface EventHandler<T> {
+        void handle(Action action, T resource);
+    }
+
+    /**
+     * A listener which is notified when the resources related to a service are updated.
+     * The methods are invoked one at a time without holding the lock of the {@link KubernetesWatchCache},
+     * but the implementations should not block because they delay the notifications of other services.
+     * A {@link Listener} may still be notified shortly after it is unsubscribed.
+     */
+    interface Listener {
+
+        /**
+         * Invoked when the {@link Service}, the selected {@link Pod}s or their {@link Node}s are updated.
+         */
+        void onUpdate(Snapshot snapshot);
+
+        /**
+         * Invoked when the cache failed to fetch the initial resources.
+         */
+        void onInitFailure(Throwable cause);
+    }
+
+    /**
+     * An immutable view of a {@link Service}, the {@link Pod}s selected by the {@link Service} and the
+     * {@link Node}s running the {@link Pod}s.
+     */
+    static final class Snapshot {
+
+        @Nullable
+        private final Service service;
+        private final List<Pod> pods;
+        private final Map<String, Node> nodes;
+
+        Snapshot(@Nullable Service service, List<Pod> pods, Map<String, Node> nodes) {
+            this.service = service;
+            this.pods = pods;
+            this.nodes = nodes;
+        }
+
+        /**
+         * Returns the {@link Service}, or {@code null} if the {@link Service} does not exist.
+         */
+        @Nullable
+        Service service() {
+            return service;
+        }
+
+        /**
+         * Returns the {@link Pod}s selected by the {@link Service}.
+         */
+        List<Pod> pods() {
+            return pods;
+        }
+
+        /**
+         * Returns the {@link Node} of the specified name, or {@code null} if not found.
+         */
+        @Nullable
+        Node node(String nodeName) {
+            return nodes.get(nodeName);
+        }
+    }
+
+    private static final class CacheKey {
+
+        private final KubernetesClient client;
+        @Nullable
+        private final String namespace;
+        private final long maxWatchAgeMillis;
+
+        CacheKey(KubernetesClient client, @Nullable String namespace, long maxWatchAgeMillis) {
+            this.client = client;
+            this.namespace = namespace;
+            this.maxWatchAgeMillis = maxWatchAgeMillis;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            final CacheKey that = (CacheKey) o;
+            return client == that.client && Objects.equals(namespace, that.namespace) &&
+                   maxWatchAgeMillis == that.maxWatchAgeMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(client) * 31 + Objects.hashCode(namespace)) * 31 +
+                   Long.hashCode(maxWatchAgeMillis);
+        }
+    }
+}
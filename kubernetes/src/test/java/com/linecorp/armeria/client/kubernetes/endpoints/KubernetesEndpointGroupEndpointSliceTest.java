@@ -0,0 +1,173 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.client.kubernetes.endpoints;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.common.annotation.Nullable;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.discovery.v1.EndpointBuilder;
+import io.fabric8.kubernetes.api.model.discovery.v1.EndpointConditionsBuilder;
+import io.fabric8.kubernetes.api.model.discovery.v1.EndpointHintsBuilder;
+import io.fabric8.kubernetes.api.model.discovery.v1.EndpointPortBuilder;
+import io.fabric8.kubernetes.api.model.discovery.v1.EndpointSlice;
+import io.fabric8.kubernetes.api.model.discovery.v1.EndpointSliceBuilder;
+import io.fabric8.kubernetes.api.model.discovery.v1.ForZoneBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+
+@EnableKubernetesMockClient(crud = true)
+class KubernetesEndpointGroupEndpointSliceTest {
+
+    private KubernetesClient client;
+
+    @Test
+    void applyEndpointSliceDeltas() {
+        final EndpointSlice slice1 = newSlice("nginx-service-abc", ImmutableList.of(
+                newEndpoint("10.0.0.1", true, false, null),
+                newEndpoint("10.0.0.2", false, false, null),
+                newEndpoint("10.0.0.3", true, true, null)));
+        client.discovery().v1().endpointSlices().resource(slice1).create();
+
+        try (KubernetesEndpointGroup endpointGroup = KubernetesEndpointGroup.builder(client)
+                                                                            .serviceName("nginx-service")
+                                                                            .useEndpointSlices(true)
+                                                                            .build()) {
+            // Not ready and terminating endpoints should be excluded.
+            assertThat(endpointGroup.whenReady().join()).containsExactly(Endpoint.of("10.0.0.1", 8080));
+
+            // Add a new slice.
+            final EndpointSlice slice2 = newSlice("nginx-service-def", ImmutableList.of(
+                    newEndpoint("10.0.0.4", true, false, null)));
+            client.discovery().v1().endpointSlices().resource(slice2).create();
+            await().untilAsserted(() -> {
+                assertThat(endpointGroup.endpoints()).containsExactlyInAnyOrder(
+                        Endpoint.of("10.0.0.1", 8080), Endpoint.of("10.0.0.4", 8080));
+            });
+
+            // An endpoint becomes ready.
+            final EndpointSlice updatedSlice1 = newSlice("nginx-service-abc", ImmutableList.of(
+                    newEndpoint("10.0.0.1", true, false, null),
+                    newEndpoint("10.0.0.2", true, false, null)));
+            client.discovery().v1().endpointSlices().resource(updatedSlice1).update();
+            await().untilAsserted(() -> {
+                assertThat(endpointGroup.endpoints()).containsExactlyInAnyOrder(
+                        Endpoint.of("10.0.0.1", 8080), Endpoint.of("10.0.0.2", 8080),
+                        Endpoint.of("10.0.0.4", 8080));
+            });
+
+            // Remove a slice.
+            client.discovery().v1().endpointSlices().resource(slice2).delete();
+            await().untilAsserted(() -> {
+                assertThat(endpointGroup.endpoints()).containsExactlyInAnyOrder(
+                        Endpoint.of("10.0.0.1", 8080), Endpoint.of("10.0.0.2", 8080));
+            });
+        }
+    }
+
+    @Test
+    void publishEmptyEndpointsWithoutSlices() {
+        try (KubernetesEndpointGroup endpointGroup = KubernetesEndpointGroup.builder(client)
+                                                                            .serviceName("nginx-service")
+                                                                            .useEndpointSlices(true)
+                                                                            .allowEmptyEndpoints(true)
+                                                                            .build()) {
+            // The group should be ready even if the service has no endpoint slices.
+            assertThat(endpointGroup.whenReady().join()).isEmpty();
+
+            final EndpointSlice slice = newSlice("nginx-service-abc", ImmutableList.of(
+                    newEndpoint("10.0.0.1", true, false, null)));
+            client.discovery().v1().endpointSlices().resource(slice).create();
+            await().untilAsserted(() -> {
+                assertThat(endpointGroup.endpoints()).containsExactly(Endpoint.of("10.0.0.1", 8080));
+            });
+
+            // The endpoints of the last slice should be removed as well.
+            client.discovery().v1().endpointSlices().resource(slice).delete();
+            await().untilAsserted(() -> assertThat(endpointGroup.endpoints()).isEmpty());
+        }
+    }
+
+    @Test
+    void useTopologyHints() {
+        final EndpointSlice slice = newSlice("nginx-service-abc", ImmutableList.of(
+                newEndpoint("10.0.0.1", true, false, "zone-a"),
+                newEndpoint("10.0.0.2", true, false, "zone-b"),
+                newEndpoint("10.0.0.3", true, false, "zone-a")));
+        client.discovery().v1().endpointSlices().resource(slice).create();
+
+        try (KubernetesEndpointGroup endpointGroup = KubernetesEndpointGroup.builder(client)
+                                                                            .serviceName("nginx-service")
+                                                                            .useEndpointSlices(true)
+                                                                            .localZone("zone-a")
+                                                                            .build()) {
+            assertThat(endpointGroup.whenReady().join()).containsExactlyInAnyOrder(
+                    Endpoint.of("10.0.0.1", 8080), Endpoint.of("10.0.0.3", 8080));
+        }
+
+        try (KubernetesEndpointGroup endpointGroup = KubernetesEndpointGroup.builder(client)
+                                                                            .serviceName("nginx-service")
+                                                                            .useEndpointSlices(true)
+                                                                            .localZone("zone-c")
+                                                                            .build()) {
+            // Fall back to all endpoints if no endpoint is hinted for the local zone.
+            assertThat(endpointGroup.whenReady().join()).containsExactlyInAnyOrder(
+                    Endpoint.of("10.0.0.1", 8080), Endpoint.of("10.0.0.2", 8080),
+                    Endpoint.of("10.0.0.3", 8080));
+        }
+    }
+
+    private static EndpointSlice newSlice(
+            String name, List<io.fabric8.kubernetes.api.model.discovery.v1.Endpoint> endpoints) {
+        return new EndpointSliceBuilder()
+                .withMetadata(new ObjectMetaBuilder()
+                                      .withName(name)
+                                      .addToLabels("kubernetes.io/service-name", "nginx-service")
+                                      .build())
+                .withAddressType("IPv4")
+                .withPorts(new EndpointPortBuilder().withName("http").withPort(8080).build())
+                .withEndpoints(endpoints)
+                .build();
+    }
+
+    private static io.fabric8.kubernetes.api.model.discovery.v1.Endpoint newEndpoint(
+            String address, boolean ready, boolean terminating, @Nullable String hintedZone) {
+        final EndpointBuilder builder =
+                new EndpointBuilder().withAddresses(address)
+                                     .withConditions(new EndpointConditionsBuilder()
+                                                             .withReady(ready)
+                                                             .withServing(ready)
+                                                             .withTerminating(terminating)
+                                                             .build());
+        if (hintedZone != null) {
+            builder.withZone(hintedZone)
+                   .withHints(new EndpointHintsBuilder()
+                                      .withForZones(new ForZoneBuilder().withName(hintedZone).build())
+                                      .build());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.client.kubernetes.endpoints;
+
+import static com.linecorp.armeria.client.kubernetes.endpoints.KubernetesEndpointGroupMockServerTest.newDeployment;
+import static com.linecorp.armeria.client.kubernetes.endpoints.KubernetesEndpointGroupMockServerTest.newNode;
+import static com.linecorp.armeria.client.kubernetes.endpoints.KubernetesEndpointGroupMockServerTest.newPod;
+import static com.linecorp.armeria.client.kubernetes.endpoints.KubernetesEndpointGroupMockServerTest.newService;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.client.Endpoint;
+
+import io.fabric8.kubernetes.api.model.Node;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+
+@EnableKubernetesMockClient(crud = true)
+class KubernetesEndpointGroupSharedWatchTest {
+
+    private KubernetesClient client;
+
+    @Test
+    void shareWatchesBetweenServices() {
+        final Node node1 = newNode("1.1.1.1");
+        final Node node2 = newNode("2.2.2.2");
+        client.nodes().resource(node1).create();
+        client.nodes().resource(node2).create();
+
+        final Deployment nginx = newDeployment("nginx");
+        final Deployment redis = newDeployment("redis");
+        client.services().resource(newService(30000, "nginx", false)).create();
+        final Service redisService = newService(30001, "redis", false);
+        client.services().resource(redisService.toBuilder()
+                                               .withMetadata(new ObjectMetaBuilder()
+                                                                     .withName("redis-service")
+                                                                     .build())
+                                               .build()).create();
+        client.pods().resource(newPod(nginx.getSpec().getTemplate(), node1.getMetadata().getName()))
+              .create();
+        client.pods().resource(
+                      newPod(redis.getSpec().getTemplate(), node2.getMetadata().getName()).toBuilder()
+                              .editMetadata().withName("redis-pod").endMetadata()
+                              .build())
+              .create();
+
+        final KubernetesEndpointGroup nginxGroup = KubernetesEndpointGroup.builder(client)
+                                                                          .serviceName("nginx-service")
+                                                                          .shareWatches(true)
+                                                                          .build();
+        final KubernetesEndpointGroup redisGroup = KubernetesEndpointGroup.builder(client)
+                                                                          .serviceName("redis-service")
+                                                                          .shareWatches(true)
+                                                                          .build();
+        assertThat(nginxGroup.watchCache()).isNotNull();
+        assertThat(nginxGroup.watchCache()).isSameAs(redisGroup.watchCache());
+        assertThat(nginxGroup.watchCache().refCnt()).isEqualTo(2);
+
+        assertThat(nginxGroup.whenReady().join()).containsExactly(Endpoint.of("1.1.1.1", 30000));
+        assertThat(redisGroup.whenReady().join()).containsExactly(Endpoint.of("2.2.2.2", 30001));
+
+        // A new nginx pod should only be added to the nginx group.
+        client.pods().resource(newPod(nginx.getSpec().getTemplate(), node2.getMetadata().getName()))
+              .create();
+        await().untilAsserted(() -> {
+            assertThat(nginxGroup.endpoints()).containsExactlyInAnyOrder(Endpoint.of("1.1.1.1", 30000),
+                                                                         Endpoint.of("2.2.2.2", 30000));
+        });
+        assertThat(redisGroup.endpoints()).containsExactly(Endpoint.of("2.2.2.2", 30001));
+
+        final KubernetesWatchCache watchCache = nginxGroup.watchCache();
+        nginxGroup.close();
+        assertThat(watchCache.refCnt()).isOne();
+        assertThat(KubernetesWatchCache.numCaches()).isOne();
+        redisGroup.close();
+        assertThat(watchCache.refCnt()).isZero();
+        assertThat(KubernetesWatchCache.numCaches()).isZero();
+    }
+
+    @Test
+    void doNotShareWatchesWithDifferentMaxWatchAge() {
+        client.nodes().resource(newNode("1.1.1.1")).create();
+        client.services().resource(newService(30000, "nginx", false)).create();
+        try (KubernetesEndpointGroup group1 = KubernetesEndpointGroup.builder(client)
+                                                                     .serviceName("nginx-service")
+                                                                     .maxWatchAgeMillis(60_000)
+                                                                     .shareWatches(true)
+                                                                     .build();
+             KubernetesEndpointGroup group2 = KubernetesEndpointGroup.builder(client)
+                                                                     .serviceName("nginx-service")
+                                                                     .maxWatchAgeMillis(120_000)
+                                                                     .shareWatches(true)
+                                                                     .build();
+             KubernetesEndpointGroup group3 = KubernetesEndpointGroup.builder(client)
+                                                                     .serviceName("nginx-service")
+                                                                     .maxWatchAgeMillis(60_000)
+                                                                     .shareWatches(true)
+                                                                     .build()) {
+            assertThat(group1.watchCache()).isNotSameAs(group2.watchCache());
+            assertThat(group1.watchCache()).isSameAs(group3.watchCache());
+            assertThat(KubernetesWatchCache.numCaches()).isEqualTo(2);
+        }
+        assertThat(KubernetesWatchCache.numCaches()).isZero();
+    }
+
+    @Test
+    void failInitWhenServiceNotFound() {
+        client.nodes().resource(newNode("1.1.1.1")).create();
+        try (KubernetesEndpointGroup endpointGroup = KubernetesEndpointGroup.builder(client)
+                                                                            .serviceName("unknown-service")
+                                                                            .shareWatches(true)
+                                                                            .build()) {
+            await().untilAsserted(() -> {
+                assertThat(endpointGroup.whenReady()).isCompletedExceptionally();
+            });
+        }
+    }
+}
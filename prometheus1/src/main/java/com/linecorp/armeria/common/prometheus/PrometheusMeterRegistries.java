@@ -19,6 +19,8 @@ package com.linecorp.armeria.common.prometheus;
 import static java.util.Objects.requireNonNull;
 
 import com.linecorp.armeria.common.annotation.UnstableApi;
+import com.linecorp.armeria.common.metric.AbstractMetricCollectingBuilder;
+import com.linecorp.armeria.internal.common.prometheus.LogLinearHistogramCollector;
 
 import io.micrometer.core.instrument.Clock;
 import io.micrometer.prometheusmetrics.PrometheusConfig;
@@ -58,11 +60,15 @@ public final class PrometheusMeterRegistries {
 
     /**
      * Returns a newly-created {@link PrometheusMeterRegistry} instance with the specified
-     * {@link PrometheusRegistry} and {@link Clock}.
+     * {@link PrometheusRegistry} and {@link Clock}. The log-linear histograms enabled by
+     * {@link AbstractMetricCollectingBuilder#logLinearHistogram(boolean)} are exported to
+     * the {@link PrometheusRegistry} as native and classic histograms.
      */
     public static PrometheusMeterRegistry newRegistry(PrometheusRegistry registry, Clock clock) {
-        return new PrometheusMeterRegistry(
+        final PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(
                 PrometheusConfig.DEFAULT, requireNonNull(registry, "registry"), requireNonNull(clock, "clock"));
+        LogLinearHistogramCollector.register(meterRegistry, registry);
+        return meterRegistry;
     }
 
     private PrometheusMeterRegistries() {}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common.prometheus;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.linecorp.armeria.internal.common.metric.ExemplarReservoir;
+import com.linecorp.armeria.internal.common.metric.LogLinearHistogram;
+import com.linecorp.armeria.internal.common.metric.LogLinearHistogramTimer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.prometheus.metrics.model.registry.MultiCollector;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.ClassicHistogramBuckets;
+import io.prometheus.metrics.model.snapshots.Exemplar;
+import io.prometheus.metrics.model.snapshots.Exemplars;
+import io.prometheus.metrics.model.snapshots.HistogramSnapshot;
+import io.prometheus.metrics.model.snapshots.HistogramSnapshot.HistogramDataPointSnapshot;
+import io.prometheus.metrics.model.snapshots.Labels;
+import io.prometheus.metrics.model.snapshots.MetricMetadata;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import io.prometheus.metrics.model.snapshots.NativeHistogramBuckets;
+import io.prometheus.metrics.model.snapshots.PrometheusNaming;
+import io.prometheus.metrics.model.snapshots.Unit;
+
+/**
+ * A {@link MultiCollector} which exports the {@link LogLinearHistogramTimer}s registered to a
+ * {@link MeterRegistry} as Prometheus histograms. Each histogram has both the native buckets of schema
+ * {@value LogLinearHistogram#SCHEMA}, which are scraped with the protobuf format, and the classic buckets
+ * whose upper bounds are the powers of two seconds, which are scraped with the text formats. The classic
+ * buckets are exact because every power of two is also an upper bound of a native bucket. The slowest recent
+ * request of each classic bucket is attached as an exemplar with its request ID and trace ID, which is
+ * exposed with the OpenMetrics and protobuf formats.
+ */
+public final class LogLinearHistogramCollector implements MultiCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogLinearHistogramCollector.class);
+
+    private static final int SUB_BUCKETS = 1 << LogLinearHistogram.SCHEMA;
+    private static final String REQUEST_ID = "request_id";
+
+    /**
+     * Registers a new {@link LogLinearHistogramCollector} for the specified {@link MeterRegistry} to
+     * the specified {@link PrometheusRegistry}.
+     */
+    public static void register(MeterRegistry meterRegistry, PrometheusRegistry prometheusRegistry) {
+        requireNonNull(meterRegistry, "meterRegistry");
+        requireNonNull(prometheusRegistry, "prometheusRegistry");
+        LogLinearHistogramTimer.exportNatively(meterRegistry);
+        prometheusRegistry.register(new LogLinearHistogramCollector(meterRegistry));
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Set<String> clashedNames = ConcurrentHashMap.newKeySet();
+
+    private LogLinearHistogramCollector(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public MetricSnapshots collect() {
+        final Map<String, List<HistogramDataPointSnapshot>> families = new LinkedHashMap<>();
+        for (LogLinearHistogramTimer timer : LogLinearHistogramTimer.timers(meterRegistry)) {
+            if (!timer.exportedNatively()) {
+                // Exported as a summary by the PrometheusMeterRegistry already, or not registered at all.
+                continue;
+            }
+            final String name = timer.getId().getName();
+            if (meterRegistry.find(name).meter() != null) {
+                // The PrometheusMeterRegistry exports a regular meter with the same name, e.g. a Timer
+                // recorded without a log-linear histogram. Exporting both would fail the scrape.
+                if (clashedNames.add(name)) {
+                    logger.warn("Not exporting the log-linear histograms of '{}' because a meter with " +
+                                "the same name is registered.", name);
+                }
+                continue;
+            }
+            families.computeIfAbsent(metricName(name), unused -> new ArrayList<>())
+                    .add(dataPoint(timer));
+        }
+
+        final MetricSnapshots.Builder builder = MetricSnapshots.builder();
+        families.forEach((name, dataPoints) -> builder.metricSnapshot(
+                new HistogramSnapshot(new MetricMetadata(name, "", Unit.SECONDS), dataPoints)));
+        return builder.build();
+    }
+
+    /**
+     * Returns the same name with the one that {@code PrometheusMeterRegistry} uses for a {@code Timer}.
+     */
+    private static String metricName(String name) {
+        return PrometheusNaming.sanitizeMetricName(name.replace('.', '_')) + "_seconds";
+    }
+
+    private static HistogramDataPointSnapshot dataPoint(LogLinearHistogramTimer timer) {
+        final LogLinearHistogram.Snapshot snapshot = timer.histogram().snapshot();
+
+        final List<Integer> nativeIndexes = new ArrayList<>();
+        final List<Long> nativeCounts = new ArrayList<>();
+        // The count of the classic bucket whose upper bound is 2^exponent seconds, keyed by the exponent.
+        final TreeMap<Integer, Long> classicCounts = new TreeMap<>();
+        if (snapshot.zeroCount() > 0) {
+            classicCounts.put(Math.floorDiv(LogLinearHistogram.MIN_INDEX - 1, SUB_BUCKETS),
+                              snapshot.zeroCount());
+        }
+        snapshot.forEachBucket((index, count) -> {
+            nativeIndexes.add(index);
+            nativeCounts.add(count);
+            // The native bucket (2^((i - 1) / 8), 2^(i / 8)] belongs to the classic bucket of
+            // the upper bound 2^ceil(i / 8).
+            classicCounts.merge(-Math.floorDiv(-index, SUB_BUCKETS), count, Long::sum);
+        });
+
+        final double[] upperBounds = new double[classicCounts.size() + 1];
+        final long[] counts = new long[classicCounts.size() + 1];
+        int i = 0;
+        for (Map.Entry<Integer, Long> e : classicCounts.entrySet()) {
+            upperBounds[i] = Math.scalb(1.0, e.getKey());
+            counts[i] = e.getValue();
+            i++;
+        }
+        upperBounds[i] = Double.POSITIVE_INFINITY;
+
+        final Labels.Builder labels = Labels.builder();
+        for (Tag tag : timer.getId().getTagsAsIterable()) {
+            labels.label(PrometheusNaming.sanitizeLabelName(tag.getKey()), tag.getValue());
+        }
+
+        return new HistogramDataPointSnapshot(
+                ClassicHistogramBuckets.of(upperBounds, counts),
+                LogLinearHistogram.SCHEMA, snapshot.zeroCount(), LogLinearHistogram.ZERO_THRESHOLD,
+                NativeHistogramBuckets.of(nativeIndexes, nativeCounts), NativeHistogramBuckets.EMPTY,
+                snapshot.sumNanos() / 1e9, labels.build(), exemplars(timer), 0L);
+    }
+
+    private static Exemplars exemplars(LogLinearHistogramTimer timer) {
+        final List<ExemplarReservoir.Exemplar> exemplars = timer.exemplars().exemplars();
+        if (exemplars.isEmpty()) {
+            return Exemplars.EMPTY;
+        }
+        final List<Exemplar> converted = new ArrayList<>(exemplars.size());
+        for (ExemplarReservoir.Exemplar e : exemplars) {
+            final Exemplar.Builder builder = Exemplar.builder()
+                                                     .value(e.durationNanos() / 1e9)
+                                                     .labels(Labels.of(REQUEST_ID, e.requestId().text()))
+                                                     .timestampMillis(e.timestampMillis());
+            final String traceId = e.traceId();
+            if (traceId != null) {
+                builder.traceId(traceId);
+            }
+            converted.add(builder.build());
+        }
+        return Exemplars.of(converted);
+    }
+}
@@ -21,20 +21,16 @@ import java.util.Set;
 
 import com.google.common.collect.ImmutableSet;
 
-import com.linecorp.armeria.common.HttpData;
 import com.linecorp.armeria.common.HttpHeaderNames;
 import com.linecorp.armeria.common.HttpRequest;
 import com.linecorp.armeria.common.HttpResponse;
-import com.linecorp.armeria.common.HttpStatus;
-import com.linecorp.armeria.common.MediaType;
 import com.linecorp.armeria.common.annotation.UnstableApi;
+import com.linecorp.armeria.internal.server.MetricExposition;
 import com.linecorp.armeria.server.AbstractHttpService;
 import com.linecorp.armeria.server.ServiceRequestContext;
 import com.linecorp.armeria.server.TransientHttpService;
 import com.linecorp.armeria.server.TransientServiceOption;
 
-import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufOutputStream;
 import io.prometheus.metrics.expositionformats.ExpositionFormatWriter;
 import io.prometheus.metrics.expositionformats.ExpositionFormats;
 import io.prometheus.metrics.model.registry.PrometheusRegistry;
@@ -42,6 +38,13 @@ import io.prometheus.metrics.model.registry.PrometheusRegistry;
 /**
  * Exposes Prometheus metrics in <a href="https://prometheus.io/docs/instrumenting/exposition_formats/">
  * EXPOSITION FORMATS</a>.
+ *
+ * <p>The registry is scraped on the {@linkplain ServiceRequestContext#blockingTaskExecutor() blocking task
+ * executor} and then the exposition is streamed in fixed-size chunks as it's written, so that scraping a
+ * registry with many series neither blocks an event loop nor allocates a buffer as large as the whole
+ * exposition. If the scrape fails, a {@code 500 Internal Server Error} response is sent.
+ * See {@link PrometheusExpositionServiceBuilder} for compressing the exposition and reusing the last
+ * scrape.
  */
 @UnstableApi
 public final class PrometheusExpositionService extends AbstractHttpService
@@ -83,30 +86,23 @@ public final class PrometheusExpositionService extends AbstractHttpService
     private final PrometheusRegistry prometheusRegistry;
     private final ExpositionFormats expositionFormats = ExpositionFormats.init();
     private final Set<TransientServiceOption> transientServiceOptions;
+    private final MetricExposition exposition;
 
     PrometheusExpositionService(PrometheusRegistry prometheusRegistry,
-                                Set<TransientServiceOption> transientServiceOptions) {
+                                Set<TransientServiceOption> transientServiceOptions,
+                                MetricExposition exposition) {
         this.prometheusRegistry = prometheusRegistry;
         this.transientServiceOptions = ImmutableSet.copyOf(transientServiceOptions);
+        this.exposition = exposition;
     }
 
     @Override
     protected HttpResponse doGet(ServiceRequestContext ctx, HttpRequest req) throws Exception {
         final String accept = req.headers().get(HttpHeaderNames.ACCEPT);
-        final ByteBuf buffer = ctx.alloc().buffer();
-        final String format;
-        boolean success = false;
-        try (ByteBufOutputStream byteBufOutputStream = new ByteBufOutputStream(buffer)) {
-            final ExpositionFormatWriter writer = expositionFormats.findWriter(accept);
-            format = writer.getContentType();
-            writer.write(byteBufOutputStream, prometheusRegistry.scrape());
-            success = true;
-        } finally {
-            if (!success) {
-                buffer.release();
-            }
-        }
-        return HttpResponse.of(HttpStatus.OK, MediaType.parse(format), HttpData.wrap(buffer));
+        final ExpositionFormatWriter writer = expositionFormats.findWriter(accept);
+        // The registry is scraped on the blocking task executor before the exposition is streamed.
+        return exposition.serve(ctx, req, writer.getContentType(), prometheusRegistry::scrape,
+                                (snapshots, out) -> writer.write(out, snapshots));
     }
 
     @Override
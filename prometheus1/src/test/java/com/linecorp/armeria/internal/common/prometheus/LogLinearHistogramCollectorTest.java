@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common.prometheus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.awaitility.Awaitility.await;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.common.metric.MeterIdPrefixFunction;
+import com.linecorp.armeria.common.prometheus.PrometheusMeterRegistries;
+import com.linecorp.armeria.internal.common.metric.LogLinearHistogramTimer;
+import com.linecorp.armeria.server.ServerBuilder;
+import com.linecorp.armeria.server.ServiceRequestContext;
+import com.linecorp.armeria.server.metric.MetricCollectingService;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import io.prometheus.metrics.model.snapshots.Exemplar;
+import io.prometheus.metrics.model.snapshots.HistogramSnapshot;
+import io.prometheus.metrics.model.snapshots.HistogramSnapshot.HistogramDataPointSnapshot;
+import io.prometheus.metrics.model.snapshots.MetricSnapshot;
+
+class LogLinearHistogramCollectorTest {
+
+    private static final PrometheusMeterRegistry serverRegistry = PrometheusMeterRegistries.newRegistry();
+
+    @RegisterExtension
+    static final ServerExtension server = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) {
+            serverRegistry.config().commonTags("app", "foo");
+            sb.meterRegistry(serverRegistry);
+            sb.service("/hello", (ctx, req) -> HttpResponse.of(200));
+            sb.decorator(MetricCollectingService.builder(MeterIdPrefixFunction.ofDefault("baz"))
+                                                .logLinearHistogram(true)
+                                                .newDecorator());
+        }
+    };
+
+    @Test
+    void exportsNativeAndClassicBuckets() {
+        final PrometheusMeterRegistry registry = PrometheusMeterRegistries.newRegistry();
+        final LogLinearHistogramTimer timer = LogLinearHistogramTimer.register(
+                registry, "foo.request.duration", Tags.of("http.status", "200"));
+        timer.record(1, TimeUnit.MILLISECONDS);
+        timer.record(3, TimeUnit.MILLISECONDS);
+        timer.record(3, TimeUnit.MILLISECONDS);
+
+        assertThat(timer.exportedNatively()).isTrue();
+        final MetricSnapshot snapshot =
+                registry.getPrometheusRegistry().scrape(name -> name.startsWith("foo_request_duration"))
+                        .stream().findFirst().get();
+        assertThat(snapshot).isInstanceOf(HistogramSnapshot.class);
+        assertThat(snapshot.getMetadata().getPrometheusName()).isEqualTo("foo_request_duration_seconds");
+
+        final HistogramDataPointSnapshot dataPoint = ((HistogramSnapshot) snapshot).getDataPoints().get(0);
+        assertThat(dataPoint.getCount()).isEqualTo(3);
+        assertThat(dataPoint.getSum()).isCloseTo(0.007, within(1e-9));
+        assertThat(dataPoint.getNativeSchema()).isEqualTo(3);
+        assertThat(dataPoint.getNativeBucketsForPositiveValues().size()).isEqualTo(2);
+        // 1 ms is in (2^-10, 2^-9] and 3 ms is in (2^-9, 2^-8] seconds.
+        assertThat(dataPoint.getClassicBuckets().getUpperBound(0)).isEqualTo(Math.scalb(1.0, -9));
+        assertThat(dataPoint.getClassicBuckets().getCount(0)).isEqualTo(1);
+        assertThat(dataPoint.getClassicBuckets().getUpperBound(1)).isEqualTo(Math.scalb(1.0, -8));
+        assertThat(dataPoint.getClassicBuckets().getCount(1)).isEqualTo(2);
+        assertThat(dataPoint.getLabels().get("http_status")).isEqualTo("200");
+
+        assertThat(registry.scrape())
+                .contains("foo_request_duration_seconds_bucket{http_status=\"200\",le=\"0.001953125\"} 1")
+                .contains("foo_request_duration_seconds_count{http_status=\"200\"} 3");
+    }
+
+    @Test
+    void exportsExemplars() {
+        final PrometheusMeterRegistry registry = PrometheusMeterRegistries.newRegistry();
+        final LogLinearHistogramTimer timer = LogLinearHistogramTimer.register(
+                registry, "bar.request.duration", Tags.empty());
+        final ServiceRequestContext ctx = ServiceRequestContext.of(HttpRequest.of(
+                RequestHeaders.of(HttpMethod.GET, "/", "x-b3-traceid", "463ac35c9f6413ad")));
+        ctx.logBuilder().endRequest();
+        ctx.logBuilder().responseHeaders(ResponseHeaders.of(HttpStatus.OK));
+        ctx.logBuilder().endResponse();
+        timer.record(TimeUnit.MILLISECONDS.toNanos(3), ctx.log().ensureComplete());
+
+        final HistogramSnapshot snapshot =
+                (HistogramSnapshot) registry.getPrometheusRegistry()
+                                            .scrape(name -> name.startsWith("bar_request_duration"))
+                                            .stream().findFirst().get();
+        final Exemplar exemplar = snapshot.getDataPoints().get(0).getExemplars().getLatest();
+        assertThat(exemplar.getValue()).isCloseTo(0.003, within(1e-9));
+        assertThat(exemplar.getLabels().get("trace_id")).isEqualTo("463ac35c9f6413ad");
+        assertThat(exemplar.getLabels().get("request_id")).isEqualTo(ctx.id().text());
+    }
+
+    @Test
+    void skipsTimerWhoseNameClashesWithRegularMeter() {
+        final PrometheusMeterRegistry registry = PrometheusMeterRegistries.newRegistry();
+        registry.timer("qux.request.duration", "http.status", "500");
+        final LogLinearHistogramTimer timer = LogLinearHistogramTimer.register(
+                registry, "qux.request.duration", Tags.of("http.status", "200"));
+        timer.record(1, TimeUnit.MILLISECONDS);
+
+        // The scrape must not fail because of the duplicate metric name.
+        assertThat(registry.scrape())
+                .contains("qux_request_duration_seconds_count{http_status=\"500\"} 0")
+                .doesNotContain("qux_request_duration_seconds_count{http_status=\"200\"}");
+    }
+
+    @Test
+    void exportsRequestDurationsOfMetricCollectingService() {
+        final WebClient client = WebClient.of(server.httpUri());
+        assertThat(client.get("/hello").aggregate().join().status()).isSameAs(HttpStatus.OK);
+
+        await().untilAsserted(() -> {
+            final String scraped = serverRegistry.scrape();
+            assertThat(scraped).containsPattern(
+                    "baz_request_duration_seconds_bucket\\{app=\"foo\",[^}]*http_status=\"200\"");
+            assertThat(scraped).containsPattern(
+                    "baz_total_duration_seconds_count\\{app=\"foo\",[^}]*http_status=\"200\"[^}]*} 1");
+        });
+        assertThat(LogLinearHistogramTimer.timers(serverRegistry))
+                .allSatisfy(timer -> assertThat(timer.exportedNatively()).isTrue())
+                .isNotEmpty();
+    }
+}
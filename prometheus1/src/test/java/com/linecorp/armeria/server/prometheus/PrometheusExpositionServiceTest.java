@@ -24,16 +24,21 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 import org.slf4j.Logger;
 
+import com.google.common.io.ByteStreams;
+
 import com.linecorp.armeria.client.WebClient;
 import com.linecorp.armeria.common.AggregatedHttpResponse;
 import com.linecorp.armeria.common.HttpHeaderNames;
@@ -74,6 +79,15 @@ class PrometheusExpositionServiceTest {
                        PrometheusExpositionService.builder(registry.getPrometheusRegistry())
                                                   .transientServiceOptions(
                                                                   TransientServiceOption.allOf())
+                                                  .build())
+              .service("/gzip",
+                       PrometheusExpositionService.builder(registry.getPrometheusRegistry())
+                                                  .chunkSize(64)
+                                                  .gzip(true)
+                                                  .build())
+              .service("/snapshot",
+                       PrometheusExpositionService.builder(registry.getPrometheusRegistry())
+                                                  .snapshotInterval(Duration.ofHours(1))
                                                   .build());
             sb.accessLogWriter(logs::add, false);
             sb.decorator(LoggingService.builder()
@@ -157,4 +171,37 @@ class PrometheusExpositionServiceTest {
                     .isEqualTo(OpenMetricsTextFormatWriter.CONTENT_TYPE);
         }
     }
+
+    @Test
+    void gzip() throws Exception {
+        final WebClient client = WebClient.of(server.httpUri());
+        final AggregatedHttpResponse response =
+                client.execute(HttpRequest.builder()
+                                          .get("/gzip")
+                                          .header(HttpHeaderNames.ACCEPT_ENCODING, "deflate, gzip;q=0.5")
+                                          .build())
+                      .aggregate().join();
+        assertThat(response.headers().get(HttpHeaderNames.CONTENT_ENCODING)).isEqualTo("gzip");
+        final String content;
+        try (GZIPInputStream in = new GZIPInputStream(response.content().toInputStream())) {
+            content = new String(ByteStreams.toByteArray(in), StandardCharsets.UTF_8);
+        }
+        assertThat(content).contains("armeria_build_info{").endsWith("\n");
+
+        // Not compressed if not accepted.
+        final AggregatedHttpResponse uncompressed = client.get("/gzip").aggregate().join();
+        assertThat(uncompressed.headers().contains(HttpHeaderNames.CONTENT_ENCODING)).isFalse();
+        assertThat(uncompressed.contentUtf8()).contains("armeria_build_info{").endsWith("\n");
+    }
+
+    @Test
+    void snapshot() {
+        final WebClient client = WebClient.of(server.httpUri());
+        final String first = client.get("/snapshot").aggregate().join().contentUtf8();
+        registry.counter("snapshot.test").increment();
+        final String second = client.get("/snapshot").aggregate().join().contentUtf8();
+        assertThat(first).doesNotContain("snapshot_test");
+        // The last scrape is reused within the snapshot interval.
+        assertThat(second).isEqualTo(first);
+    }
 }
@@ -547,12 +547,11 @@ class ObservableResponseConverterFunctionTest {
                 assertThat(headers.status()).isEqualTo(HttpStatus.OK);
                 assertThat(headers.contentType()).isEqualTo(MediaType.JSON_SEQ);
                 // JSON Text Sequences: *(Record Separator[0x1E] JSON-text Line Feed[0x0A])
+                // The JSON texts emitted in the same task are written as a single chunk.
                 assertThat(((HttpData) it.next()).array())
-                        .isEqualTo(new byte[] { 0x1E, '\"', 'a', '\"', 0x0A });
-                assertThat(((HttpData) it.next()).array())
-                        .isEqualTo(new byte[] { 0x1E, '\"', 'b', '\"', 0x0A });
-                assertThat(((HttpData) it.next()).array())
-                        .isEqualTo(new byte[] { 0x1E, '\"', 'c', '\"', 0x0A });
+                        .isEqualTo(new byte[] { 0x1E, '\"', 'a', '\"', 0x0A,
+                                                0x1E, '\"', 'b', '\"', 0x0A,
+                                                0x1E, '\"', 'c', '\"', 0x0A });
                 assertThat(((HttpData) it.next()).isEmpty()).isTrue();
                 assertThat(it.hasNext()).isFalse();
                 isFinished.set(true);
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2025 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.internal.testing;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A TCP proxy which delays the traffic of both directions, emulating a link with a high round-trip time.
+ */
+public final class LatencyInjectingProxy implements Closeable {
+
+    private final ServerSocket serverSocket;
+    private final int targetPort;
+    private final long delayMillis;
+    private final ExecutorService readers = Executors.newCachedThreadPool();
+    // A single thread per direction keeps the order of the delayed writes.
+    private final ScheduledExecutorService upstreamWriter = Executors.newSingleThreadScheduledExecutor();
+    private final ScheduledExecutorService downstreamWriter =
+            Executors.newSingleThreadScheduledExecutor();
+
+    /**
+     * Creates a new proxy which relays the traffic to the specified port of the loopback address, delaying
+     * each direction by {@code delayMillis}.
+     */
+    public LatencyInjectingProxy(int targetPort, long delayMillis) throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.targetPort = targetPort;
+        this.delayMillis = delayMillis;
+        readers.execute(this::accept);
+    }
+
+    /**
+     * Returns the port which this proxy listens on.
+     */
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    private void accept() {
+        try {
+            for (;;) {
+                final Socket downstream = serverSocket.accept();
+                final Socket upstream = new Socket();
+                upstream.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), targetPort));
+                downstream.setTcpNoDelay(true);
+                upstream.setTcpNoDelay(true);
+                readers.execute(() -> relay(downstream, upstream, upstreamWriter));
+                readers.execute(() -> relay(upstream, downstream, downstreamWriter));
+            }
+        } catch (IOException ignored) {
+            // Closed.
+        }
+    }
+
+    private void relay(Socket in, Socket out, ScheduledExecutorService writer) {
+        final byte[] buf = new byte[65536];
+        try {
+            final InputStream inStream = in.getInputStream();
+            final OutputStream outStream = out.getOutputStream();
+            for (;;) {
+                final int numBytes = inStream.read(buf);
+                if (numBytes < 0) {
+                    writer.schedule(() -> closeQuietly(out), delayMillis, TimeUnit.MILLISECONDS);
+                    return;
+                }
+                final byte[] chunk = Arrays.copyOf(buf, numBytes);
+                writer.schedule(() -> {
+                    try {
+                        outStream.write(chunk);
+                    } catch (IOException e) {
+                        closeQuietly(in);
+                    }
+                }, delayMillis, TimeUnit.MILLISECONDS);
+            }
+        } catch (IOException e) {
+            closeQuietly(in);
+            closeQuietly(out);
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // Ignore.
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        readers.shutdownNow();
+        upstreamWriter.shutdownNow();
+        downstreamWriter.shutdownNow();
+    }
+}
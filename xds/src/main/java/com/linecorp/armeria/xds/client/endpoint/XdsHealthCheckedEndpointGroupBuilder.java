@@ -29,6 +29,7 @@ import com.linecorp.armeria.client.endpoint.healthcheck.AbstractHealthCheckedEnd
 import com.linecorp.armeria.client.endpoint.healthcheck.HealthCheckerContext;
 import com.linecorp.armeria.common.HttpMethod;
 import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.util.AsyncCloseable;
 import com.linecorp.armeria.internal.client.endpoint.healthcheck.DefaultHttpHealthChecker;
 
@@ -54,7 +55,22 @@ final class XdsHealthCheckedEndpointGroupBuilder
 
     @Override
     protected Function<? super HealthCheckerContext, ? extends AsyncCloseable> newCheckerFactory() {
-        return ctx -> {
+        return new XdsHttpHealthCheckerFactory(cluster, httpHealthCheck);
+    }
+
+    private static final class XdsHttpHealthCheckerFactory
+            implements Function<HealthCheckerContext, AsyncCloseable> {
+
+        private final Cluster cluster;
+        private final HttpHealthCheck httpHealthCheck;
+
+        XdsHttpHealthCheckerFactory(Cluster cluster, HttpHealthCheck httpHealthCheck) {
+            this.cluster = cluster;
+            this.httpHealthCheck = httpHealthCheck;
+        }
+
+        @Override
+        public AsyncCloseable apply(HealthCheckerContext ctx) {
             final LbEndpoint lbEndpoint = EndpointUtil.lbEndpoint(ctx.originalEndpoint());
             final HealthCheckConfig healthCheckConfig = lbEndpoint.getEndpoint().getHealthCheckConfig();
             if (healthCheckConfig.getDisableActiveHealthCheck()) {
@@ -70,7 +86,24 @@ final class XdsHealthCheckedEndpointGroupBuilder
                                                  protocol(cluster), host);
             checker.start();
             return checker;
-        };
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof XdsHttpHealthCheckerFactory)) {
+                return false;
+            }
+            final XdsHttpHealthCheckerFactory that = (XdsHttpHealthCheckerFactory) o;
+            return cluster.equals(that.cluster) && httpHealthCheck.equals(that.httpHealthCheck);
+        }
+
+        @Override
+        public int hashCode() {
+            return cluster.hashCode() * 31 + httpHealthCheck.hashCode();
+        }
     }
 
     private static HttpMethod httpMethod(HttpHealthCheck httpHealthCheck) {